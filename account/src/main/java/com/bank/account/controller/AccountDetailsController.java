@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -63,4 +64,14 @@ public class AccountDetailsController {
     public ResponseEntity<List<AccountDetailsDto>> readAll(@RequestParam List<Long> ids) {
         return ResponseEntity.ok(service.findAllById(ids));
     }
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return {@link ResponseEntity<AccountDetailsDto>} после списания
+     */
+    @PutMapping("/debit/{id}")
+    public ResponseEntity<AccountDetailsDto> debit(@PathVariable Long id, @RequestParam BigDecimal amount) {
+        return ResponseEntity.ok(service.debit(id, amount));
+    }
 }
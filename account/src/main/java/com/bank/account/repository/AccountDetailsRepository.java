@@ -2,9 +2,26 @@ package com.bank.account.repository;
 
 import com.bank.account.entity.AccountDetailsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
 
 /**
  * Репозиторий для {@link AccountDetailsEntity}
  */
 public interface AccountDetailsRepository extends JpaRepository<AccountDetailsEntity, Long> {
+
+    /**
+     * Списание одним UPDATE: проверка остатка и изменение выполняются атомарно
+     *
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return 1, если списание выполнено, 0 - если счёт не найден или средств недостаточно
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update AccountDetailsEntity a set a.money = a.money - :amount " +
+            "where a.id = :id and (a.negativeBalance = true or a.money >= :amount)")
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
@@ -3,6 +3,7 @@ package com.bank.account.service;
 import com.bank.account.dto.AccountDetailsDto;
 import com.bank.account.entity.AccountDetailsEntity;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -34,4 +35,11 @@ public interface AccountDetailsService {
      * @return {@link AccountDetailsDto}
      */
     AccountDetailsDto update(Long id, AccountDetailsDto accountDetails);
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return {@link AccountDetailsDto} после списания
+     */
+    AccountDetailsDto debit(Long id, BigDecimal amount);
 }
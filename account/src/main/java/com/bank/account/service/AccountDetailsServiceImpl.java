@@ -5,10 +5,13 @@ import com.bank.account.entity.AccountDetailsEntity;
 import com.bank.account.mapper.AccountDetailsMapper;
 import com.bank.account.repository.AccountDetailsRepository;
 import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.exception.ValidationException;
+import com.bank.common.util.BatchEntityFinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -19,10 +22,13 @@ import java.util.List;
 public class AccountDetailsServiceImpl implements AccountDetailsService {
 
     private static final String MESSAGE_PREFIX = "Не существующий id = ";
+    private static final String AMOUNT_MESSAGE = "Сумма списания должна быть больше нуля";
+    private static final String INSUFFICIENT_FUNDS_MESSAGE = "Недостаточно средств на счёте id = ";
     private final AccountDetailsMapper mapper;
     private final AccountDetailsRepository repository;
 
     private final ExceptionReturner exceptionReturner;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param id технический идентификатор {@link AccountDetailsEntity}
@@ -42,10 +48,8 @@ public class AccountDetailsServiceImpl implements AccountDetailsService {
     @Override
     public List<AccountDetailsDto> findAllById(List<Long> ids) {
 
-        final List<AccountDetailsEntity> accountDetailsList = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(MESSAGE_PREFIX + id)))
-                .toList();
+        final List<AccountDetailsEntity> accountDetailsList = batchFinder.findAllById(
+                ids, repository::findAllById, AccountDetailsEntity::getId, MESSAGE_PREFIX);
         return mapper.toDtoList(accountDetailsList);
     }
 
@@ -82,5 +86,27 @@ public class AccountDetailsServiceImpl implements AccountDetailsService {
 
         return mapper.toDto(updateAccountDetails);
     }
-}
 
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return {@link AccountDetailsDto} после списания
+     */
+    @Override
+    @Transactional
+    public AccountDetailsDto debit(Long id, BigDecimal amount) {
+
+        if (amount == null || amount.signum() <= 0) {
+            throw new ValidationException(AMOUNT_MESSAGE);
+        }
+
+        if (repository.debit(id, amount) == 0) {
+            repository.findById(id)
+                    .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(MESSAGE_PREFIX + id));
+
+            throw new IllegalStateException(INSUFFICIENT_FUNDS_MESSAGE + id);
+        }
+
+        return findById(id);
+    }
+}
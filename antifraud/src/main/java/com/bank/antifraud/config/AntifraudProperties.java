@@ -0,0 +1,418 @@
+package com.bank.antifraud.config;
+
+import com.bank.antifraud.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Настройки модуля antifraud с префиксом {@code antifraud}
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "antifraud")
+public class AntifraudProperties {
+
+    Velocity velocity = new Velocity();
+
+    Consumer consumer = new Consumer();
+
+    Blocklist blocklist = new Blocklist();
+
+    Verdicts verdicts = new Verdicts();
+
+    Profiles profiles = new Profiles();
+
+    Rules rules = new Rules();
+
+    Admission admission = new Admission();
+
+    Links links = new Links();
+
+    Backtest backtest = new Backtest();
+
+    /**
+     * Настройки скоростных правил: сколько переводов и на какую сумму проходит через счёт отправителя
+     * и через получателя за минуту, час и сутки
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Velocity {
+
+        /**
+         * на сколько частей с отдельной блокировкой делятся счётчики, чтобы проверки шли параллельно
+         */
+        int stripes = 64;
+
+        /**
+         * сколько счетов, карт и телефонов хранится в памяти, давно не встречавшиеся вытесняются
+         */
+        int maxKeys = 100_000;
+
+        /**
+         * на сколько корзин делится каждое окно, окно сдвигается с шагом в одну корзину
+         */
+        int buckets = 12;
+
+        /**
+         * сколько последних решений хранится, чтобы повторная проверка перевода не учитывала его второй раз
+         */
+        int recentVerdicts = 100_000;
+
+        Limits minute = new Limits(5, BigDecimal.valueOf(100_000), 20, BigDecimal.valueOf(1_000_000));
+
+        Limits hour = new Limits(30, BigDecimal.valueOf(300_000), 100, BigDecimal.valueOf(3_000_000));
+
+        Limits day = new Limits(100, BigDecimal.valueOf(1_000_000), 300, BigDecimal.valueOf(10_000_000));
+    }
+
+    /**
+     * Пороги одного окна, превышение порога подозрительности помечает перевод подозрительным,
+     * превышение порога блокировки блокирует его
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limits {
+
+        int suspiciousCount;
+
+        BigDecimal suspiciousAmount;
+
+        int blockedCount;
+
+        BigDecimal blockedAmount;
+
+        public Limits() {
+        }
+
+        public Limits(int suspiciousCount, BigDecimal suspiciousAmount, int blockedCount, BigDecimal blockedAmount) {
+            this.suspiciousCount = suspiciousCount;
+            this.suspiciousAmount = suspiciousAmount;
+            this.blockedCount = blockedCount;
+            this.blockedAmount = blockedAmount;
+        }
+    }
+
+    /**
+     * Настройки проверки переводов из событий kafka
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Consumer {
+
+        /**
+         * топик событий переводов модуля transfer
+         */
+        String topic = "transfer-events";
+
+        /**
+         * группа потребителей, смещения которой фиксируются после сохранения пачки
+         */
+        String groupId = "anti-fraud";
+
+        /**
+         * сколько потоков проверяют одну пачку событий
+         */
+        int concurrency = 4;
+
+        /**
+         * через сколько повторяется пачка, решения по которой не удалось сохранить
+         */
+        long retryIntervalMs = 5_000;
+    }
+
+    /**
+     * Настройки списка заблокированных получателей
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Blocklist {
+
+        /**
+         * сколько номеров каждого типа ожидается, под это число рассчитывается фильтр Блума
+         */
+        int expectedNumbers = 100_000;
+
+        /**
+         * доля ложных срабатываний фильтра Блума, при числе номеров больше ожидаемого она растёт
+         */
+        double falsePositiveRate = 0.01;
+    }
+
+    /**
+     * Настройки кэша решений по идентификатору перевода
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Verdicts {
+
+        /**
+         * сколько переводов хранится в кэше, в том числе переводов без решения
+         */
+        int cacheSize = 100_000;
+
+        /**
+         * сколько решение хранится в кэше, изменения на других экземплярах видны не позже этого срока
+         */
+        long ttlMs = 60_000;
+
+        /**
+         * сколько хранится отсутствие решения: решение по переводу может появиться на другом экземпляре
+         */
+        long negativeTtlMs = 5_000;
+    }
+
+    /**
+     * Настройки поведенческих профилей: экспоненциально взвешенные среднее и дисперсия сумм переводов
+     * и средний интервал между переводами счёта, карты и телефона
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Profiles {
+
+        /**
+         * сколько профилей помещается в таблицу, степень двойки
+         */
+        int capacity = 1 << 20;
+
+        /**
+         * на сколько частей со своей блокировкой делится таблица, степень двойки
+         */
+        int segments = 64;
+
+        /**
+         * сколько ячеек просматривается при поиске профиля, дальше вытесняется самый давний профиль
+         */
+        int maxProbes = 16;
+
+        /**
+         * вес нового перевода в среднем и дисперсии
+         */
+        double alpha = 0.05;
+
+        /**
+         * после скольких переводов профиль участвует в проверке
+         */
+        int minEvents = 10;
+
+        /**
+         * z-оценка суммы, начиная с которой перевод подозрителен
+         */
+        double suspiciousZScore = 4.0;
+
+        /**
+         * файл, в котором хранится таблица профилей, пусто - профили только в памяти и теряются при перезапуске
+         */
+        String snapshotPath;
+
+        /**
+         * как часто изменения таблицы сбрасываются в файл
+         */
+        long snapshotIntervalMs = 60_000;
+    }
+
+    /**
+     * Настройки правил проверки переводов из файла
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Rules {
+
+        /**
+         * файл правил, пусто - только встроенные пороги
+         */
+        String path;
+
+        /**
+         * как часто проверяется, изменился ли файл правил
+         */
+        long reloadIntervalMs = 10_000;
+    }
+
+    /**
+     * Настройки очереди синхронной проверки переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Admission {
+
+        /**
+         * сколько потоков проверяют переводы из очереди
+         */
+        int workers = 8;
+
+        /**
+         * сколько переводов может ждать проверки, при переполнении перевод не проверяется
+         */
+        int queueCapacity = 1_000;
+
+        /**
+         * за сколько должно быть готово решение, считая ожидание в очереди
+         */
+        long deadlineMs = 200;
+
+        /**
+         * что отвечать по непроверенному переводу каждого типа, по умолчанию FAIL_OPEN
+         */
+        Map<TransferType, FailurePolicy> policies = new EnumMap<>(TransferType.class);
+
+        /**
+         * сколько непроверенных переводов хранится для проверки позже, лишние теряются
+         */
+        int deferredCapacity = 100_000;
+
+        /**
+         * сколько отложенных переводов проверяется за один проход
+         */
+        int reviewBatchSize = 500;
+
+        /**
+         * как часто проверяются отложенные переводы, если очередь пуста
+         */
+        long reviewIntervalMs = 1_000;
+
+        /**
+         * Ответ по переводу, который не успели проверить
+         */
+        public enum FailurePolicy {
+
+            /**
+             * перевод не подозрителен, но отложен для проверки позже
+             */
+            FAIL_OPEN,
+
+            /**
+             * перевод заблокирован и отложен для проверки позже
+             */
+            FAIL_CLOSED
+        }
+    }
+
+    /**
+     * Настройки графа связей счетов с картами, телефонами и счетами получателей
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Links {
+
+        /**
+         * сколько счетов, карт и телефонов помещается в граф
+         */
+        int maxNodes = 1 << 18;
+
+        /**
+         * сколько связей счёт-получатель помещается в граф
+         */
+        int maxEdges = 1 << 18;
+
+        /**
+         * через сколько по времени переводов неповторявшаяся связь удаляется при пересборке
+         */
+        long maxAgeMs = 2_592_000_000L;
+
+        /**
+         * как часто по времени переводов граф пересобирается без устаревших связей
+         */
+        long compactionIntervalMs = 600_000;
+
+        /**
+         * как часто проверяется, пора ли пересобрать граф
+         */
+        long compactionCheckMs = 60_000;
+    }
+
+    /**
+     * Настройки повторной проверки истории переводов, запускается с профилем {@code backtest}
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Backtest {
+
+        /**
+         * откуда читается история переводов
+         */
+        Source source = Source.DATABASE;
+
+        /**
+         * файл истории для источников JSONL и CSV
+         */
+        String path;
+
+        /**
+         * начало периода включительно для источника DATABASE, пусто - без ограничения
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate from;
+
+        /**
+         * конец периода не включительно для источника DATABASE, пусто - без ограничения
+         */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate to;
+
+        /**
+         * сколько потоков проверяют переводы
+         */
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * сколько переводов читается, пока проверяется предыдущая порция
+         */
+        int chunkSize = 100_000;
+
+        /**
+         * сколько строк получается из БД за одно обращение курсора
+         */
+        int fetchSize = 10_000;
+
+        /**
+         * сколько подозрительных переводов каждого типа ожидается в сохранённых решениях
+         */
+        int expectedSuspicious = 100_000;
+
+        /**
+         * файл, в который пишется отчёт в JSON, пусто - отчёт только в журнале
+         */
+        String reportPath;
+
+        /**
+         * Источник истории переводов
+         */
+        public enum Source {
+
+            /**
+             * файл JSON Lines: события из топика переводов или выгрузка переводов модуля transfer
+             */
+            JSONL,
+
+            /**
+             * файл CSV с колонками type,id,account_details_id,number,amount,created_at
+             */
+            CSV,
+
+            /**
+             * таблицы переводов модуля transfer
+             */
+            DATABASE
+        }
+    }
+}
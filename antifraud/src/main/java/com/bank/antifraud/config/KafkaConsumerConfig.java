@@ -0,0 +1,21 @@
+package com.bank.antifraud.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Обработка ошибок слушателей kafka: пачка, решения по которой не удалось сохранить, повторяется
+ * через {@code antifraud.consumer.retry-interval-ms} до успеха, смещения до этого не фиксируются
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(AntifraudProperties properties) {
+        return new DefaultErrorHandler(new FixedBackOff(properties.getConsumer().getRetryIntervalMs(),
+                FixedBackOff.UNLIMITED_ATTEMPTS));
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.RuleSetDto;
+import com.bank.antifraud.service.ScoringRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер правил проверки переводов
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/rules")
+public class ScoringRuleController {
+
+    private final ScoringRuleService service;
+
+    /**
+     * @return {@link ResponseEntity} действующего {@link RuleSetDto}
+     */
+    @GetMapping
+    public ResponseEntity<RuleSetDto> read() {
+        return ResponseEntity.ok(service.find());
+    }
+
+    /**
+     * Перечитывает файл правил, не дожидаясь проверки изменений
+     *
+     * @return {@link ResponseEntity} загруженного {@link RuleSetDto}
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<RuleSetDto> reload() {
+        return ResponseEntity.ok(service.reload());
+    }
+}
@@ -1,6 +1,8 @@
 package com.bank.antifraud.controller;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
 import com.bank.antifraud.service.SuspiciousCardTransferService;
 import lombok.RequiredArgsConstructor;
@@ -45,6 +47,26 @@ public class SuspiciousCardTransferController {
         return ResponseEntity.ok(service.findAllById(ids));
     }
 
+    /**
+     * @param transferId технический идентификатор исходного перевода
+     * @return {@link ResponseEntity} {@link SuspiciousCardTransferDto}
+     */
+    @GetMapping("/by-transfer/{transferId}")
+    public ResponseEntity<SuspiciousCardTransferDto> readByTransferId(
+            @PathVariable("transferId") Long transferId) {
+        return ResponseEntity.ok(service.findByTransferId(transferId));
+    }
+
+    /**
+     * @param transferIds технические идентификаторы исходных переводов
+     * @return {@link ResponseEntity } c листом {@link SuspiciousCardTransferDto} по переводам с решением
+     */
+    @GetMapping("/by-transfer")
+    public ResponseEntity<List<SuspiciousCardTransferDto>> readAllByTransferId(
+            @RequestParam List<Long> transferIds) {
+        return ResponseEntity.ok(service.findAllByTransferId(transferIds));
+    }
+
     /**
      * @param suspiciousTransfer {@link SuspiciousCardTransferDto}
      * @return {@link ResponseEntity} {@link SuspiciousCardTransferDto}
@@ -66,4 +88,13 @@ public class SuspiciousCardTransferController {
             @PathVariable("id") Long id) {
         return ResponseEntity.ok(service.update(id, suspiciousTransfer));
     }
+
+    /**
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам
+     * @return {@link ResponseEntity} c листом {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    @PostMapping("/review")
+    public ResponseEntity<List<ReviewItemResultDto>> review(@RequestBody SuspiciousReviewDto review) {
+        return ResponseEntity.ok(service.review(review));
+    }
 }
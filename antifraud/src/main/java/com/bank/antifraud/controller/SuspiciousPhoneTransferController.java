@@ -1,6 +1,8 @@
 package com.bank.antifraud.controller;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousPhoneTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
 import com.bank.antifraud.service.SuspiciousPhoneTransferService;
 import lombok.RequiredArgsConstructor;
@@ -44,6 +46,26 @@ public class SuspiciousPhoneTransferController {
         return ResponseEntity.ok(service.findAllById(ids));
     }
 
+    /**
+     * @param transferId технический идентификатор исходного перевода
+     * @return {@link ResponseEntity} {@link SuspiciousPhoneTransferDto}
+     */
+    @GetMapping("/by-transfer/{transferId}")
+    public ResponseEntity<SuspiciousPhoneTransferDto> readByTransferId(
+            @PathVariable("transferId") Long transferId) {
+        return ResponseEntity.ok(service.findByTransferId(transferId));
+    }
+
+    /**
+     * @param transferIds технические идентификаторы исходных переводов
+     * @return {@link ResponseEntity } c листом {@link SuspiciousPhoneTransferDto} по переводам с решением
+     */
+    @GetMapping("/by-transfer")
+    public ResponseEntity<List<SuspiciousPhoneTransferDto>> readAllByTransferId(
+            @RequestParam List<Long> transferIds) {
+        return ResponseEntity.ok(service.findAllByTransferId(transferIds));
+    }
+
     /**
      * @param suspiciousTransfer {@link SuspiciousPhoneTransferDto}
      * @return {@link ResponseEntity} {@link SuspiciousPhoneTransferDto}
@@ -65,4 +87,13 @@ public class SuspiciousPhoneTransferController {
             @PathVariable("id") Long id) {
         return ResponseEntity.ok(service.update(id, suspiciousTransfer));
     }
+
+    /**
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам
+     * @return {@link ResponseEntity} c листом {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    @PostMapping("/review")
+    public ResponseEntity<List<ReviewItemResultDto>> review(@RequestBody SuspiciousReviewDto review) {
+        return ResponseEntity.ok(service.review(review));
+    }
 }
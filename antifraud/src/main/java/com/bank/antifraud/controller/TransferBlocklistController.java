@@ -0,0 +1,33 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.BlocklistEntryDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.antifraud.service.TransferBlocklistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер списка заблокированных получателей
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/blocklist")
+public class TransferBlocklistController {
+
+    private final TransferBlocklistService service;
+
+    /**
+     * @param type   {@link TransferType}
+     * @param number номер счёта, карты или телефона получателя
+     * @return {@link ResponseEntity} {@link BlocklistEntryDto}
+     */
+    @GetMapping("/{type}/{number}")
+    public ResponseEntity<BlocklistEntryDto> read(@PathVariable("type") TransferType type,
+                                                  @PathVariable("number") Long number) {
+        return ResponseEntity.ok(service.find(type, number));
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.service.TransferScoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер проверки переводов
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/scoring")
+public class TransferScoringController {
+
+    private final TransferScoringService service;
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link ResponseEntity} {@link TransferScoringResultDto} решение по переводу
+     */
+    @PostMapping
+    public ResponseEntity<TransferScoringResultDto> score(@RequestBody TransferScoringRequestDto request) {
+        return ResponseEntity.ok(service.score(request));
+    }
+}
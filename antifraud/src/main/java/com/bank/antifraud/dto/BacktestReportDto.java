@@ -0,0 +1,64 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Dto отчёта повторной проверки истории переводов: решения правил сравниваются с сохранёнными решениями
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BacktestReportDto implements Serializable {
+
+    /**
+     * сколько переводов проверено
+     */
+    Long transfers;
+
+    /**
+     * сколько записей пропущено источником или отклонено проверкой
+     */
+    Long skipped;
+
+    /**
+     * подозрительны и по правилам, и по сохранённым решениям
+     */
+    Long truePositives;
+
+    /**
+     * подозрительны только по правилам
+     */
+    Long falsePositives;
+
+    /**
+     * подозрительны только по сохранённым решениям
+     */
+    Long falseNegatives;
+
+    Long trueNegatives;
+
+    /**
+     * доля верных среди подозрительных по правилам, null - правила ничего не отметили
+     */
+    Double precision;
+
+    /**
+     * доля найденных правилами среди подозрительных по сохранённым решениям, null - таких нет
+     */
+    Double recall;
+
+    Double seconds;
+
+    Double transfersPerSecond;
+}
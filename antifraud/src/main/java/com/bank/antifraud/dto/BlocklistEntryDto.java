@@ -0,0 +1,33 @@
+package com.bank.antifraud.dto;
+
+import com.bank.antifraud.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Dto ответа о получателе в списке блокировки
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BlocklistEntryDto implements Serializable {
+
+    TransferType type;
+
+    /**
+     * номер счёта, карты или телефона получателя
+     */
+    Long number;
+
+    Boolean isBlocked;
+}
@@ -0,0 +1,37 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Dto действующего набора правил проверки переводов
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RuleSetDto implements Serializable {
+
+    /**
+     * номер загрузки, 0 - правила не загружались
+     */
+    Long version;
+
+    Timestamp loadedAt;
+
+    /**
+     * имена правил в порядке файла
+     */
+    List<String> rules;
+}
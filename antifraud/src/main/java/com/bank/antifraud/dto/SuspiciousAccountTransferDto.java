@@ -24,6 +24,7 @@ public class SuspiciousAccountTransferDto implements Serializable {
 
     Long id;
     Long accountTransferId;
+    Long accountNumber;
     Boolean isBlocked;
     Boolean isSuspicious;
     String blockedReason;
@@ -24,6 +24,7 @@ public class SuspiciousCardTransferDto implements Serializable {
 
     Long id;
     Long cardTransferId;
+    Long cardNumber;
     Boolean isBlocked;
     Boolean isSuspicious;
     String blockedReason;
@@ -24,6 +24,7 @@ public class SuspiciousPhoneTransferDto implements Serializable {
 
     Long id;
     Long phoneTransferId;
+    Long phoneNumber;
     Boolean isBlocked;
     Boolean isSuspicious;
     String blockedReason;
@@ -0,0 +1,32 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Dto решения аналитика по нескольким подозрительным переводам одного типа
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuspiciousReviewDto implements Serializable {
+
+    /**
+     * технические идентификаторы подозрительных переводов
+     */
+    List<Long> ids;
+
+    Boolean isBlocked;
+    String blockedReason;
+}
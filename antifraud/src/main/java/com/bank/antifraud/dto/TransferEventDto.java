@@ -0,0 +1,32 @@
+package com.bank.antifraud.dto;
+
+import com.bank.antifraud.entity.TransferEventType;
+import com.bank.antifraud.entity.TransferType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Dto события перевода, публикуемого модулем transfer в kafka. В том же виде читаются строки выгрузки
+ * переводов модуля transfer, у них нет вида события.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferEventDto implements Serializable {
+
+    TransferEventType event;
+    TransferType type;
+    TransferEventPayloadDto transfer;
+}
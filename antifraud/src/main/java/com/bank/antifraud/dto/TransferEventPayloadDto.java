@@ -0,0 +1,35 @@
+package com.bank.antifraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Dto перевода в событии модуля transfer, заполнен номер получателя того типа, что указан в событии
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferEventPayloadDto implements Serializable {
+
+    Long id;
+    Long accountNumber;
+    Long cardNumber;
+    Long phoneNumber;
+    BigDecimal amount;
+    Long accountDetailsId;
+    Timestamp createdAt;
+}
@@ -0,0 +1,36 @@
+package com.bank.antifraud.dto;
+
+import com.bank.antifraud.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Dto запроса проверки перевода
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferScoringRequestDto implements Serializable {
+
+    TransferType type;
+    Long transferId;
+    Long accountDetailsId;
+
+    /**
+     * номер счёта, карты или телефона получателя
+     */
+    Long number;
+
+    BigDecimal amount;
+}
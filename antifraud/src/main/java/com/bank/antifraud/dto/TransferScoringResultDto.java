@@ -0,0 +1,33 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Dto решения по переводу
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferScoringResultDto implements Serializable {
+
+    Boolean isBlocked;
+    Boolean isSuspicious;
+    String blockedReason;
+    String suspiciousReason;
+
+    /**
+     * перевод не успели проверить, решение принято по настройке типа перевода, проверка будет позже
+     */
+    Boolean isDeferred;
+}
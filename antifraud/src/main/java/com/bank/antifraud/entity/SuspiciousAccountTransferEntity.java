@@ -35,6 +35,9 @@ public class SuspiciousAccountTransferEntity {
     @Column(name = "account_transfer_id")
     Long accountTransferId;
 
+    @Column(name = "account_number")
+    Long accountNumber;
+
     @Column(name = "is_blocked")
     Boolean isBlocked;
 
@@ -61,12 +64,14 @@ public class SuspiciousAccountTransferEntity {
                 Objects.equals(isBlocked, transfer.isBlocked) &&
                 Objects.equals(isSuspicious, transfer.isSuspicious) &&
                 Objects.equals(blockedReason, transfer.blockedReason) &&
+                Objects.equals(accountNumber, transfer.accountNumber) &&
                 Objects.equals(suspiciousReason, transfer.suspiciousReason) &&
                 Objects.equals(accountTransferId, transfer.accountTransferId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, accountTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason);
+        return Objects.hash(id, accountTransferId, accountNumber, isBlocked, isSuspicious, blockedReason,
+                suspiciousReason);
     }
 }
@@ -35,6 +35,9 @@ public class SuspiciousCardTransferEntity {
     @Column(name = "card_transfer_id")
     Long cardTransferId;
 
+    @Column(name = "card_number")
+    Long cardNumber;
+
     @Column(name = "is_blocked")
     Boolean isBlocked;
 
@@ -64,12 +67,13 @@ public class SuspiciousCardTransferEntity {
                 Objects.equals(isBlocked, transfer.isBlocked) &&
                 Objects.equals(isSuspicious, transfer.isSuspicious) &&
                 Objects.equals(blockedReason, transfer.blockedReason) &&
+                Objects.equals(cardNumber, transfer.cardNumber) &&
                 Objects.equals(cardTransferId, transfer.cardTransferId) &&
                 Objects.equals(suspiciousReason, transfer.suspiciousReason);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, cardTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason);
+        return Objects.hash(id, cardTransferId, cardNumber, isBlocked, isSuspicious, blockedReason, suspiciousReason);
     }
 }
@@ -35,6 +35,9 @@ public class SuspiciousPhoneTransferEntity {
     @Column(name = "phone_transfer_id")
     Long phoneTransferId;
 
+    @Column(name = "phone_number")
+    Long phoneNumber;
+
     @Column(name = "is_blocked")
     Boolean isBlocked;
 
@@ -64,12 +67,13 @@ public class SuspiciousPhoneTransferEntity {
                 Objects.equals(isBlocked, transfer.isBlocked) &&
                 Objects.equals(isSuspicious, transfer.isSuspicious) &&
                 Objects.equals(blockedReason, transfer.blockedReason) &&
+                Objects.equals(phoneNumber, transfer.phoneNumber) &&
                 Objects.equals(phoneTransferId, transfer.phoneTransferId) &&
                 Objects.equals(suspiciousReason, transfer.suspiciousReason);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, phoneTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason);
+        return Objects.hash(id, phoneTransferId, phoneNumber, isBlocked, isSuspicious, blockedReason, suspiciousReason);
     }
 }
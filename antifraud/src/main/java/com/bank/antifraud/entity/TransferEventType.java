@@ -0,0 +1,11 @@
+package com.bank.antifraud.entity;
+
+/**
+ * Тип события перевода из модуля transfer
+ */
+public enum TransferEventType {
+
+    CREATED,
+
+    UPDATED
+}
@@ -0,0 +1,22 @@
+package com.bank.antifraud.entity;
+
+/**
+ * Тип проверяемого перевода
+ */
+public enum TransferType {
+
+    /**
+     * перевод по номеру счёта, решение хранится в {@link SuspiciousAccountTransferEntity}
+     */
+    ACCOUNT,
+
+    /**
+     * перевод по номеру карты, решение хранится в {@link SuspiciousCardTransferEntity}
+     */
+    CARD,
+
+    /**
+     * перевод по номеру телефона, решение хранится в {@link SuspiciousPhoneTransferEntity}
+     */
+    PHONE
+}
@@ -3,8 +3,30 @@ package com.bank.antifraud.repository;
 import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Репозиторий для {@link SuspiciousAccountTransferEntity}
  */
 public interface SuspiciousAccountTransferRepository extends JpaRepository<SuspiciousAccountTransferEntity, Long> {
+
+    /**
+     * @param accountNumber номер получателя
+     * @return true, если у получателя есть заблокированный перевод
+     */
+    boolean existsByAccountNumberAndIsBlockedTrue(Long accountNumber);
+
+    /**
+     * @param accountTransferId технический идентификатор исходного перевода
+     * @return {@link SuspiciousAccountTransferEntity} по уникальному индексу account_transfer_id
+     */
+    Optional<SuspiciousAccountTransferEntity> findByAccountTransferId(Long accountTransferId);
+
+    /**
+     * @param accountTransferIds технические идентификаторы исходных переводов
+     * @return список {@link SuspiciousAccountTransferEntity} по уникальному индексу account_transfer_id
+     */
+    List<SuspiciousAccountTransferEntity> findAllByAccountTransferIdIn(Collection<Long> accountTransferIds);
 }
@@ -3,8 +3,30 @@ package com.bank.antifraud.repository;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Репозиторий для {@link SuspiciousCardTransferEntity}
  */
 public interface SuspiciousCardTransferRepository extends JpaRepository<SuspiciousCardTransferEntity, Long> {
+
+    /**
+     * @param cardNumber номер получателя
+     * @return true, если у получателя есть заблокированный перевод
+     */
+    boolean existsByCardNumberAndIsBlockedTrue(Long cardNumber);
+
+    /**
+     * @param cardTransferId технический идентификатор исходного перевода
+     * @return {@link SuspiciousCardTransferEntity} по уникальному индексу card_transfer_id
+     */
+    Optional<SuspiciousCardTransferEntity> findByCardTransferId(Long cardTransferId);
+
+    /**
+     * @param cardTransferIds технические идентификаторы исходных переводов
+     * @return список {@link SuspiciousCardTransferEntity} по уникальному индексу card_transfer_id
+     */
+    List<SuspiciousCardTransferEntity> findAllByCardTransferIdIn(Collection<Long> cardTransferIds);
 }
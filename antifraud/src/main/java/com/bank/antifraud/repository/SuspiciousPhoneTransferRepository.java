@@ -3,8 +3,30 @@ package com.bank.antifraud.repository;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Репозиторий для {@link SuspiciousPhoneTransferEntity}
  */
 public interface SuspiciousPhoneTransferRepository extends JpaRepository<SuspiciousPhoneTransferEntity, Long> {
+
+    /**
+     * @param phoneNumber номер получателя
+     * @return true, если у получателя есть заблокированный перевод
+     */
+    boolean existsByPhoneNumberAndIsBlockedTrue(Long phoneNumber);
+
+    /**
+     * @param phoneTransferId технический идентификатор исходного перевода
+     * @return {@link SuspiciousPhoneTransferEntity} по уникальному индексу phone_transfer_id
+     */
+    Optional<SuspiciousPhoneTransferEntity> findByPhoneTransferId(Long phoneTransferId);
+
+    /**
+     * @param phoneTransferIds технические идентификаторы исходных переводов
+     * @return список {@link SuspiciousPhoneTransferEntity} по уникальному индексу phone_transfer_id
+     */
+    List<SuspiciousPhoneTransferEntity> findAllByPhoneTransferIdIn(Collection<Long> phoneTransferIds);
 }
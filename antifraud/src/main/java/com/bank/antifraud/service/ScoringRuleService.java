@@ -0,0 +1,19 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.RuleSetDto;
+
+/**
+ * Сервис правил проверки переводов
+ */
+public interface ScoringRuleService {
+
+    /**
+     * @return действующий {@link RuleSetDto}
+     */
+    RuleSetDto find();
+
+    /**
+     * @return загруженный {@link RuleSetDto}, при ошибке остаётся прежний набор
+     */
+    RuleSetDto reload();
+}
@@ -1,6 +1,8 @@
 package com.bank.antifraud.service;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousAccountTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
 
 import java.util.List;
@@ -34,4 +36,22 @@ public interface SuspiciousAccountTransferService {
      * @return лист {@link SuspiciousAccountTransferDto}
      */
     List<SuspiciousAccountTransferDto> findAllById(List<Long> ids);
+
+    /**
+     * @param transferId технический идентификатор исходного перевода по номеру cчёта
+     * @return {@link SuspiciousAccountTransferDto}
+     */
+    SuspiciousAccountTransferDto findByTransferId(Long transferId);
+
+    /**
+     * @param transferIds технические идентификаторы исходных переводов по номеру cчёта
+     * @return лист {@link SuspiciousAccountTransferDto} по переводам, у которых есть решение
+     */
+    List<SuspiciousAccountTransferDto> findAllByTransferId(List<Long> transferIds);
+
+    /**
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру cчёта
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    List<ReviewItemResultDto> review(SuspiciousReviewDto review);
 }
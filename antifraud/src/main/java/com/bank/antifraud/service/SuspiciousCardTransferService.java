@@ -1,6 +1,8 @@
 package com.bank.antifraud.service;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
 
 import java.util.List;
@@ -34,4 +36,22 @@ public interface SuspiciousCardTransferService {
      * @return лист {@link SuspiciousCardTransferDto}
      */
     List<SuspiciousCardTransferDto> findAllById(List<Long> ids);
+
+    /**
+     * @param transferId технический идентификатор исходного перевода по номеру карты
+     * @return {@link SuspiciousCardTransferDto}
+     */
+    SuspiciousCardTransferDto findByTransferId(Long transferId);
+
+    /**
+     * @param transferIds технические идентификаторы исходных переводов по номеру карты
+     * @return лист {@link SuspiciousCardTransferDto} по переводам, у которых есть решение
+     */
+    List<SuspiciousCardTransferDto> findAllByTransferId(List<Long> transferIds);
+
+    /**
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру карты
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    List<ReviewItemResultDto> review(SuspiciousReviewDto review);
 }
@@ -1,6 +1,8 @@
 package com.bank.antifraud.service;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousPhoneTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
 
 import java.util.List;
@@ -34,4 +36,22 @@ public interface SuspiciousPhoneTransferService {
      * @return лист {@link SuspiciousPhoneTransferDto}
      */
     List<SuspiciousPhoneTransferDto> findAllById(List<Long> ids);
+
+    /**
+     * @param transferId технический идентификатор исходного перевода по номеру телефона
+     * @return {@link SuspiciousPhoneTransferDto}
+     */
+    SuspiciousPhoneTransferDto findByTransferId(Long transferId);
+
+    /**
+     * @param transferIds технические идентификаторы исходных переводов по номеру телефона
+     * @return лист {@link SuspiciousPhoneTransferDto} по переводам, у которых есть решение
+     */
+    List<SuspiciousPhoneTransferDto> findAllByTransferId(List<Long> transferIds);
+
+    /**
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру телефона
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    List<ReviewItemResultDto> review(SuspiciousReviewDto review);
 }
@@ -0,0 +1,17 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.BlocklistEntryDto;
+import com.bank.antifraud.entity.TransferType;
+
+/**
+ * Сервис списка заблокированных получателей
+ */
+public interface TransferBlocklistService {
+
+    /**
+     * @param type   {@link TransferType}
+     * @param number номер счёта, карты или телефона получателя
+     * @return {@link BlocklistEntryDto}
+     */
+    BlocklistEntryDto find(TransferType type, Long number);
+}
@@ -0,0 +1,16 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+
+/**
+ * Сервис проверки переводов антифродом
+ */
+public interface TransferScoringService {
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link TransferScoringResultDto} решение по переводу
+     */
+    TransferScoringResultDto score(TransferScoringRequestDto request);
+}
@@ -0,0 +1,58 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.entity.TransferType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Сохранённые решения: идентификаторы переводов, признанных подозрительными, по типам перевода.
+ * Загружаются один раз и дальше только читаются, в том числе из нескольких потоков.
+ */
+@Slf4j
+class BacktestLabels {
+
+    private static final String LOAD = """
+            SELECT %1$s_transfer_id FROM anti_fraud.suspicious_%1$s_transfer
+            WHERE is_suspicious AND %1$s_transfer_id IS NOT NULL""";
+
+    private final Map<TransferType, LongHashSet> suspicious = new EnumMap<>(TransferType.class);
+
+    BacktestLabels(int expected) {
+        for (TransferType type : TransferType.values()) {
+            suspicious.put(type, new LongHashSet(expected));
+        }
+    }
+
+    /**
+     * @param jdbcTemplate {@link JdbcTemplate}
+     * @param expected     сколько подозрительных переводов каждого типа ожидается
+     * @return решения из таблиц подозрительных переводов
+     */
+    static BacktestLabels load(JdbcTemplate jdbcTemplate, int expected) {
+        final BacktestLabels labels = new BacktestLabels(expected);
+
+        for (Map.Entry<TransferType, LongHashSet> entry : labels.suspicious.entrySet()) {
+            final LongHashSet ids = entry.getValue();
+
+            jdbcTemplate.query(LOAD.formatted(entry.getKey().name().toLowerCase(Locale.ROOT)),
+                    (RowCallbackHandler) row -> ids.add(row.getLong(1)));
+
+            log.info("Загружено подозрительных переводов {}: {}", entry.getKey(), ids.size());
+        }
+
+        return labels;
+    }
+
+    void add(TransferType type, long transferId) {
+        suspicious.get(type).add(transferId);
+    }
+
+    boolean isSuspicious(TransferType type, long transferId) {
+        return suspicious.get(type).contains(transferId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.BacktestReportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Повторная проверка истории переводов текущими настройками правил, запускается с профилем {@code backtest}
+ * вместо обработки событий и запросов. Встроенные пороги и правила из {@link ScoringRules} проверяют историю
+ * с чистыми счётчиками и профилями, отдельными от рабочих. Список блокировки не применяется: он собран
+ * из тех же сохранённых решений, с которыми сравниваются правила. После отчёта приложение завершается.
+ * Запуск: {@code --spring.profiles.active=local,backtest --antifraud.backtest.source=CSV
+ * --antifraud.backtest.path=transfers.csv}.
+ */
+@Slf4j
+@Component
+@Profile("backtest")
+@RequiredArgsConstructor
+public class BacktestRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AntifraudProperties properties;
+    private final ScoringRules rules;
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * @param args аргументы запуска, настройки берутся из {@code antifraud.backtest}
+     * @throws Exception если историю или сохранённые решения не удалось прочитать
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        final AntifraudProperties.Backtest backtest = properties.getBacktest();
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final TransferLinkGraph linkGraph = new TransferLinkGraph(properties, meterRegistry);
+        final VelocityRuleEngine engine = new VelocityRuleEngine(new VelocityCounter(properties),
+                new TransferBlocklist(jdbcTemplate, properties, meterRegistry),
+                new BehaviourProfileStore(properties, meterRegistry), rules, linkGraph, properties, meterRegistry);
+        final BacktestLabels labels = BacktestLabels.load(jdbcTemplate, backtest.getExpectedSuspicious());
+
+        log.info("Повторная проверка истории переводов из {}, потоков: {}", backtest.getSource(),
+                backtest.getParallelism());
+
+        final BacktestReportDto report;
+        try (BacktestSource source = open(backtest)) {
+            report = new Backtester(engine, backtest.getParallelism(), backtest.getChunkSize(), linkGraph::compact)
+                    .run(source, labels);
+        }
+
+        log.info("Проверено переводов: {} за {} с ({} в секунду), пропущено: {}, precision: {}, recall: {}, " +
+                        "TP: {}, FP: {}, FN: {}, TN: {}", report.getTransfers(), report.getSeconds(),
+                report.getTransfersPerSecond(), report.getSkipped(), report.getPrecision(), report.getRecall(),
+                report.getTruePositives(), report.getFalsePositives(), report.getFalseNegatives(),
+                report.getTrueNegatives());
+
+        if (backtest.getReportPath() != null && !backtest.getReportPath().isBlank()) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(backtest.getReportPath()).toFile(),
+                    report);
+        }
+
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private BacktestSource open(AntifraudProperties.Backtest backtest) throws Exception {
+        return switch (backtest.getSource()) {
+            case JSONL -> new JsonLinesBacktestSource(
+                    Files.newBufferedReader(Path.of(backtest.getPath()), StandardCharsets.UTF_8), objectMapper);
+            case CSV -> new CsvBacktestSource(
+                    Files.newBufferedReader(Path.of(backtest.getPath()), StandardCharsets.UTF_8));
+            case DATABASE -> new JdbcBacktestSource(dataSource, backtest.getFrom(), backtest.getTo(),
+                    backtest.getFetchSize());
+            default -> throw new IllegalStateException("Неизвестный источник истории " + backtest.getSource());
+        };
+    }
+}
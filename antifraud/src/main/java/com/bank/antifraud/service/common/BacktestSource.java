@@ -0,0 +1,22 @@
+package com.bank.antifraud.service.common;
+
+import java.util.List;
+
+/**
+ * Источник истории переводов для повторной проверки. Переводы отдаются в порядке создания, иначе скоростные
+ * правила и профили увидят их не в той последовательности, в которой они проверялись.
+ */
+interface BacktestSource extends AutoCloseable {
+
+    /**
+     * @param max сколько переводов прочитать
+     * @return следующие переводы, пустой список - история закончилась
+     * @throws Exception если источник не удалось прочитать
+     */
+    List<BacktestTransfer> next(int max) throws Exception;
+
+    /**
+     * @return сколько записей пропущено: изменения переводов, записи без времени создания и неразобранные строки
+     */
+    long skipped();
+}
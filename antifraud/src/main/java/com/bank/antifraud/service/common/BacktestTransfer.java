@@ -0,0 +1,12 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+
+/**
+ * Перевод из истории для повторной проверки
+ *
+ * @param request     {@link TransferScoringRequestDto}
+ * @param createdAtMs когда перевод был создан, от этого момента отсчитываются окна правил
+ */
+record BacktestTransfer(TransferScoringRequestDto request, long createdAtMs) {
+}
@@ -0,0 +1,186 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.BacktestReportDto;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.common.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Повторная проверка истории переводов правилами {@link VelocityRuleEngine} и сравнение с сохранёнными решениями.
+ * Пока порция переводов проверяется в {@link ForkJoinPool}, читается следующая. Порция делится по счёту
+ * отправителя на части, части проверяются параллельно, переводы одной части - последовательно в порядке
+ * источника, поэтому переводы одного счёта учитываются правилами в порядке создания. Переводы одному получателю
+ * из разных частей могут прийти в его счётчики не по порядку, {@link VelocityCounter} учитывает опоздавшие
+ * переводы в их корзинах и не сбрасывает ими более новые. Окна правил и профили
+ * отсчитываются от времени создания перевода, а не от текущего. Между порциями выполняется обслуживание
+ * состояния правил, например пересборка {@link TransferLinkGraph}, которое в сервисе идёт по расписанию.
+ */
+class Backtester {
+
+    private static final int PARTS_PER_THREAD = 4;
+
+    private final VelocityRuleEngine engine;
+    private final int parallelism;
+    private final int chunkSize;
+    private final Runnable maintenance;
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+    private final LongAdder rejected = new LongAdder();
+
+    Backtester(VelocityRuleEngine engine, int parallelism, int chunkSize, Runnable maintenance) {
+        this.engine = engine;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.maintenance = maintenance;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param source {@link BacktestSource}
+     * @param labels сохранённые решения
+     * @return {@link BacktestReportDto}
+     * @throws Exception если источник не удалось прочитать
+     */
+    BacktestReportDto run(BacktestSource source, BacktestLabels labels) throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        final long start = System.nanoTime();
+
+        try {
+            ForkJoinTask<Void> scoring = null;
+            List<BacktestTransfer> chunk = source.next(chunkSize);
+
+            while (!chunk.isEmpty()) {
+                final List<List<BacktestTransfer>> parts = split(chunk);
+
+                if (scoring != null) {
+                    scoring.join();
+                    maintenance.run();
+                }
+                scoring = pool.submit(new ScoreTask(parts, 0, parts.size(), labels));
+                chunk = source.next(chunkSize);
+            }
+
+            if (scoring != null) {
+                scoring.join();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return report(source.skipped(), System.nanoTime() - start);
+    }
+
+    private List<List<BacktestTransfer>> split(List<BacktestTransfer> chunk) {
+        final int parts = Math.max(1, Math.min(parallelism * PARTS_PER_THREAD, chunk.size()));
+        final List<List<BacktestTransfer>> split = new ArrayList<>(parts);
+
+        for (int i = 0; i < parts; i++) {
+            split.add(new ArrayList<>(chunk.size() / parts + 1));
+        }
+
+        for (BacktestTransfer transfer : chunk) {
+            split.get(Math.floorMod(Objects.hashCode(transfer.request().getAccountDetailsId()), parts)).add(transfer);
+        }
+
+        return split;
+    }
+
+    /**
+     * Итоги части копятся локально и добавляются к общим один раз
+     */
+    private void score(List<BacktestTransfer> transfers, BacktestLabels labels) {
+        final long[] counts = new long[outcomes.length];
+        long invalid = 0;
+
+        for (BacktestTransfer transfer : transfers) {
+            final TransferScoringRequestDto request = transfer.request();
+
+            try {
+                final boolean predicted = Boolean.TRUE.equals(
+                        engine.scoreAt(request, transfer.createdAtMs()).getIsSuspicious());
+                final boolean actual = labels.isSuspicious(request.getType(), request.getTransferId());
+
+                counts[Outcome.of(predicted, actual).ordinal()]++;
+            } catch (ValidationException e) {
+                invalid++;
+            }
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            outcomes[i].add(counts[i]);
+        }
+        rejected.add(invalid);
+    }
+
+    private BacktestReportDto report(long skipped, long elapsedNanos) {
+        final long truePositives = outcomes[Outcome.TRUE_POSITIVE.ordinal()].sum();
+        final long falsePositives = outcomes[Outcome.FALSE_POSITIVE.ordinal()].sum();
+        final long falseNegatives = outcomes[Outcome.FALSE_NEGATIVE.ordinal()].sum();
+        final long trueNegatives = outcomes[Outcome.TRUE_NEGATIVE.ordinal()].sum();
+        final long transfers = truePositives + falsePositives + falseNegatives + trueNegatives;
+        final double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        return new BacktestReportDto(transfers, skipped + rejected.sum(), truePositives, falsePositives,
+                falseNegatives, trueNegatives, ratio(truePositives, truePositives + falsePositives),
+                ratio(truePositives, truePositives + falseNegatives), seconds, transfers / Math.max(seconds, 1e-9));
+    }
+
+    private static Double ratio(long part, long total) {
+        return total == 0 ? null : (double) part / total;
+    }
+
+    /**
+     * Сравнение решения правил с сохранённым решением
+     */
+    private enum Outcome {
+        TRUE_POSITIVE,
+        FALSE_POSITIVE,
+        FALSE_NEGATIVE,
+        TRUE_NEGATIVE;
+
+        static Outcome of(boolean predicted, boolean actual) {
+            if (predicted) {
+                return actual ? TRUE_POSITIVE : FALSE_POSITIVE;
+            }
+            return actual ? FALSE_NEGATIVE : TRUE_NEGATIVE;
+        }
+    }
+
+    /**
+     * Части порции делятся пополам, пока не останется одна часть
+     */
+    private final class ScoreTask extends RecursiveAction {
+
+        private final List<List<BacktestTransfer>> parts;
+        private final int from;
+        private final int to;
+        private final BacktestLabels labels;
+
+        ScoreTask(List<List<BacktestTransfer>> parts, int from, int to, BacktestLabels labels) {
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+            this.labels = labels;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                score(parts.get(from), labels);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(parts, from, middle, labels), new ScoreTask(parts, middle, to, labels));
+        }
+    }
+}
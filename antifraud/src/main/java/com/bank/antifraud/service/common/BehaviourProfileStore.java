@@ -0,0 +1,222 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Поведенческие профили получателей и отправителей вне кучи: для каждого ключа экспоненциально взвешенные
+ * среднее и дисперсия логарифма суммы перевода и средний интервал между переводами. Профиль обновляется за O(1).
+ * Таблица профилей - ячейки фиксированной ширины в одном буфере, миллионы профилей не нагружают сборщик мусора.
+ * Таблица делится на {@code segments} частей со своей блокировкой, ключ ищется линейным пробированием внутри
+ * своей части не дальше {@code max-probes} ячеек, при нехватке места вытесняется самый давний из просмотренных
+ * профилей, вытеснения пишутся в {@code antifraud.profiles.evictions}.
+ * Если задан {@code snapshot-path}, таблица отображается в этот файл: изменения сбрасываются на диск каждые
+ * {@code snapshot-interval-ms} и при остановке, после перезапуска профили читаются из файла. Файл с другой
+ * ёмкостью или форматом не используется, профили начинаются заново.
+ */
+@Slf4j
+@Component
+public class BehaviourProfileStore {
+
+    private static final long MAGIC = 0x414E_5446_5052_4F46L;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 64;
+
+    private static final int SLOT = 48;
+
+    private static final int KEY = 0;
+
+    private static final int TAG = 8;
+
+    private static final int COUNT = 12;
+
+    private static final int MEAN = 16;
+
+    private static final int VARIANCE = 24;
+
+    private static final int LAST = 32;
+
+    private static final int INTERVAL = 40;
+
+    private final ByteBuffer table;
+    private final Object[] locks;
+    private final int segmentSlots;
+    private final int maxProbes;
+    private final double alpha;
+    private final Counter evictions;
+
+    public BehaviourProfileStore(AntifraudProperties properties, MeterRegistry meterRegistry) {
+        final AntifraudProperties.Profiles profiles = properties.getProfiles();
+        final long size = HEADER + (long) profiles.getCapacity() * SLOT;
+
+        if (Integer.bitCount(profiles.getCapacity()) != 1 || Integer.bitCount(profiles.getSegments()) != 1 ||
+                profiles.getCapacity() < profiles.getSegments() || size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Ёмкость и число частей таблицы профилей должны быть степенями двойки, " +
+                    "таблица не больше 2 ГБ");
+        }
+
+        this.segmentSlots = profiles.getCapacity() / profiles.getSegments();
+        this.maxProbes = Math.min(profiles.getMaxProbes(), segmentSlots);
+        this.alpha = profiles.getAlpha();
+        this.locks = new Object[profiles.getSegments()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.table = profiles.getSnapshotPath() == null || profiles.getSnapshotPath().isBlank() ?
+                ByteBuffer.allocateDirect((int) size) :
+                map(Path.of(profiles.getSnapshotPath()), (int) size, profiles.getCapacity());
+        this.evictions = Counter.builder("antifraud.profiles.evictions")
+                .description("Профили, вытесненные из таблицы")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Перевод сравнивается с профилем до его учёта, затем учитывается в профиле
+     *
+     * @param subject {@link VelocityCounter.Subject}
+     * @param value   номер счёта, карты или телефона
+     * @param amount  сумма перевода в рублях
+     * @param nowMs   время перевода
+     * @return {@link Profile} до учёта перевода с z-оценкой его суммы
+     */
+    public Profile update(VelocityCounter.Subject subject, long value, double amount, long nowMs) {
+        final double x = Math.log1p(amount);
+        final int tag = subject.ordinal() + 1;
+        final long hash = BloomFilter.mix(value * 31 + tag);
+        final int segment = (int) (hash >>> 32) & (locks.length - 1);
+
+        synchronized (locks[segment]) {
+            final int offset = find(segment, (int) hash, tag, value);
+            final int count = table.getInt(offset + COUNT);
+            final double mean = table.getDouble(offset + MEAN);
+            final double variance = table.getDouble(offset + VARIANCE);
+            final double interval = table.getDouble(offset + INTERVAL);
+            final double deviation = Math.sqrt(variance);
+            final Profile profile = new Profile(count, mean, deviation, interval,
+                    deviation > 0 ? (x - mean) / deviation : 0);
+
+            if (count == 0) {
+                table.putDouble(offset + MEAN, x);
+                table.putDouble(offset + VARIANCE, 0);
+                table.putDouble(offset + INTERVAL, 0);
+            } else {
+                final double diff = x - mean;
+                final double increment = alpha * diff;
+                final double elapsed = Math.max(0, nowMs - table.getLong(offset + LAST));
+
+                table.putDouble(offset + MEAN, mean + increment);
+                table.putDouble(offset + VARIANCE, (1 - alpha) * (variance + diff * increment));
+                table.putDouble(offset + INTERVAL, count == 1 ? elapsed : interval + alpha * (elapsed - interval));
+            }
+            table.putInt(offset + COUNT, count == Integer.MAX_VALUE ? count : count + 1);
+            table.putLong(offset + LAST, nowMs);
+
+            return profile;
+        }
+    }
+
+    /**
+     * Сбрасывает изменения таблицы в файл
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${antifraud.profiles.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (table instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Смещение ячейки ключа, при отсутствии ключа ячейка занимается под новый профиль
+     */
+    private int find(int segment, int hash, int tag, long value) {
+        final int mask = segmentSlots - 1;
+        final int base = segment * segmentSlots;
+        int victim = -1;
+        long oldest = Long.MAX_VALUE;
+
+        for (int probe = 0; probe < maxProbes; probe++) {
+            final int offset = HEADER + (base + ((hash + probe) & mask)) * SLOT;
+            final int slotTag = table.getInt(offset + TAG);
+
+            if (slotTag == 0) {
+                return claim(offset, tag, value);
+            }
+            if (slotTag == tag && table.getLong(offset + KEY) == value) {
+                return offset;
+            }
+
+            final long last = table.getLong(offset + LAST);
+            if (last < oldest) {
+                oldest = last;
+                victim = offset;
+            }
+        }
+
+        evictions.increment();
+        return claim(victim, tag, value);
+    }
+
+    private int claim(int offset, int tag, long value) {
+        table.putLong(offset + KEY, value);
+        table.putInt(offset + TAG, tag);
+        table.putInt(offset + COUNT, 0);
+        return offset;
+    }
+
+    private static MappedByteBuffer map(Path path, int size, int capacity) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final boolean restored = channel.size() == size;
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            if (restored && mapped.getLong(0) == MAGIC && mapped.getInt(8) == VERSION && mapped.getInt(12) == SLOT &&
+                    mapped.getInt(16) == capacity) {
+                log.info("Поведенческие профили восстановлены из {}", path);
+                return mapped;
+            }
+
+            log.info("Поведенческие профили начинаются заново в {}", path);
+            for (int offset = 0; offset < size; offset += Long.BYTES) {
+                mapped.putLong(offset, 0);
+            }
+            mapped.putLong(0, MAGIC);
+            mapped.putInt(8, VERSION);
+            mapped.putInt(12, SLOT);
+            mapped.putInt(16, capacity);
+            return mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть файл профилей " + path, e);
+        }
+    }
+
+    /**
+     * Профиль ключа до учёта перевода
+     *
+     * @param count          сколько переводов учтено
+     * @param mean           взвешенное среднее логарифма суммы
+     * @param deviation      взвешенное стандартное отклонение логарифма суммы
+     * @param meanIntervalMs взвешенный средний интервал между переводами
+     * @param zScore         z-оценка суммы проверяемого перевода
+     */
+    public record Profile(int count, double mean, double deviation, double meanIntervalMs, double zScore) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.antifraud.service.common;
+
+/**
+ * Фильтр Блума над {@code long}: отрицательный ответ точен, положительный ошибается с заданной вероятностью
+ * при числе ключей не больше ожидаемого. Ключи из фильтра не удаляются, удалённый из списка ключ отсекается
+ * уже точной проверкой. Не потокобезопасно на запись, запись синхронизирует {@link TransferBlocklist}.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expected, double falsePositiveRate) {
+        final long keys = Math.max(expected, 1);
+        final long optimalBits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (LN2 * LN2));
+
+        this.bits = new long[(int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE)];
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * LN2));
+    }
+
+    void put(long key) {
+        final long hash = mix(key);
+        final long step = Long.rotateLeft(hash, Integer.SIZE) | 1;
+
+        for (int i = 1; i <= hashCount; i++) {
+            final long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long key) {
+        final long hash = mix(key);
+        final long step = Long.rotateLeft(hash, Integer.SIZE) | 1;
+
+        for (int i = 1; i <= hashCount; i++) {
+            final long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Перемешивание битов из MurmurHash3, соседние номера карт и телефонов расходятся по всему диапазону
+     */
+    static long mix(long key) {
+        long hash = key;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.entity.TransferType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * История переводов из файла CSV с заголовком {@code type,id,account_details_id,number,amount,created_at},
+ * например выгруженного {@code COPY ... TO ... CSV HEADER} из таблиц переводов. Время создания в формате
+ * {@code yyyy-mm-dd hh:mm:ss[.f]}, пустые поля и неразобранные строки пропускаются.
+ */
+@Slf4j
+class CsvBacktestSource implements BacktestSource {
+
+    private static final String DELIMITER = ",";
+
+    private static final int COLUMNS = 6;
+
+    private final BufferedReader reader;
+    private boolean headerRead;
+    private long skipped;
+
+    CsvBacktestSource(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public List<BacktestTransfer> next(int max) throws IOException {
+        if (!headerRead) {
+            reader.readLine();
+            headerRead = true;
+        }
+
+        final List<BacktestTransfer> transfers = new ArrayList<>(max);
+        String line;
+
+        while (transfers.size() < max && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            final String[] columns = line.split(DELIMITER, -1);
+
+            try {
+                if (columns.length != COLUMNS) {
+                    throw new IllegalArgumentException("ожидалось колонок " + COLUMNS + ", получено " + columns.length);
+                }
+
+                transfers.add(new BacktestTransfer(new TransferScoringRequestDto(TransferType.valueOf(columns[0]),
+                        Long.valueOf(columns[1]), Long.valueOf(columns[2]), Long.valueOf(columns[3]),
+                        new BigDecimal(columns[4])), Timestamp.valueOf(columns[5]).getTime()));
+            } catch (IllegalArgumentException e) {
+                skipped++;
+                log.debug("Пропущена строка истории переводов: {}", e.getMessage());
+            }
+        }
+
+        return transfers;
+    }
+
+    @Override
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.entity.TransferType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * История переводов из таблиц модуля transfer за период. Строки читаются курсором по {@code fetch-size}
+ * на отдельном соединении в одной транзакции только для чтения, поэтому в памяти не больше одной порции,
+ * а условие на created_at ограничивает чтение месячными секциями периода.
+ */
+class JdbcBacktestSource implements BacktestSource {
+
+    private static final String SELECT = """
+            SELECT type, id, account_details_id, number, amount, created_at FROM (
+                SELECT 'ACCOUNT' AS type, id, account_details_id, account_number AS number, amount, created_at
+                FROM transfer.account_transfer WHERE created_at >= ? AND created_at < ?
+                UNION ALL
+                SELECT 'CARD', id, account_details_id, card_number, amount, created_at
+                FROM transfer.card_transfer WHERE created_at >= ? AND created_at < ?
+                UNION ALL
+                SELECT 'PHONE', id, account_details_id, phone_number, amount, created_at
+                FROM transfer.phone_transfer WHERE created_at >= ? AND created_at < ?
+            ) transfers ORDER BY created_at""";
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 1, 1);
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet rows;
+
+    JdbcBacktestSource(DataSource dataSource, LocalDate from, LocalDate to, int fetchSize) throws SQLException {
+        final Timestamp fromTime = Timestamp.valueOf((from == null ? MIN_DATE : from).atStartOfDay());
+        final Timestamp toTime = Timestamp.valueOf((to == null ? MAX_DATE : to).atStartOfDay());
+
+        this.connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            this.statement = connection.prepareStatement(SELECT, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 1; i <= TransferType.values().length * 2; i += 2) {
+                statement.setTimestamp(i, fromTime);
+                statement.setTimestamp(i + 1, toTime);
+            }
+            this.rows = statement.executeQuery();
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<BacktestTransfer> next(int max) throws SQLException {
+        final List<BacktestTransfer> transfers = new ArrayList<>(max);
+
+        while (transfers.size() < max && rows.next()) {
+            transfers.add(new BacktestTransfer(new TransferScoringRequestDto(TransferType.valueOf(rows.getString(1)),
+                    rows.getLong(2), rows.getLong(3), rows.getObject(4, Long.class), rows.getBigDecimal(5)),
+                    rows.getTimestamp(6).getTime()));
+        }
+
+        return transfers;
+    }
+
+    /**
+     * Строки с пустыми полями не пропускаются источником, их отбрасывает проверка перевода
+     */
+    @Override
+    public long skipped() {
+        return 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            connection.rollback();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.TransferEventDto;
+import com.bank.antifraud.entity.TransferEventType;
+import com.bank.common.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * История переводов из файла JSON Lines: в каждой строке событие из топика переводов или строка выгрузки
+ * переводов модуля transfer. События изменения переводов пропускаются, как и при проверке из kafka.
+ */
+@Slf4j
+class JsonLinesBacktestSource implements BacktestSource {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long skipped;
+
+    JsonLinesBacktestSource(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<BacktestTransfer> next(int max) throws IOException {
+        final List<BacktestTransfer> transfers = new ArrayList<>(max);
+        String line;
+
+        while (transfers.size() < max && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                final TransferEventDto event = objectMapper.readValue(line, TransferEventDto.class);
+
+                if (event.getEvent() == TransferEventType.UPDATED || event.getTransfer() == null ||
+                        event.getTransfer().getCreatedAt() == null) {
+                    skipped++;
+                    continue;
+                }
+
+                transfers.add(new BacktestTransfer(TransferEventConsumer.toRequest(event),
+                        event.getTransfer().getCreatedAt().getTime()));
+            } catch (JsonProcessingException | ValidationException e) {
+                skipped++;
+                log.debug("Пропущена строка истории переводов: {}", e.getMessage());
+            }
+        }
+
+        return transfers;
+    }
+
+    @Override
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
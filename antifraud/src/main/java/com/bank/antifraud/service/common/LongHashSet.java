@@ -0,0 +1,140 @@
+package com.bank.antifraud.service.common;
+
+/**
+ * Множество примитивных {@code long} с открытой адресацией и линейным пробированием, без упаковки в {@link Long}.
+ * Пустая ячейка обозначается нулём, сам ноль хранится отдельным флагом. При удалении следующие ключи цепочки
+ * сдвигаются назад, поэтому поиск не встречает удалённых меток. Не потокобезопасно, запись синхронизирует
+ * {@link TransferBlocklist}, {@link BacktestLabels} после загрузки только читаются.
+ */
+final class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    LongHashSet(int expected) {
+        allocate(capacityFor(expected));
+    }
+
+    boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+
+        final long[] table = keys;
+        final int tableMask = table.length - 1;
+
+        for (int slot = slot(key, tableMask); ; slot = (slot + 1) & tableMask) {
+            final long current = table[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return true, если ключа ещё не было
+     */
+    boolean add(long key) {
+        if (key == 0) {
+            final boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return true, если ключ был
+     */
+    boolean remove(long key) {
+        if (key == 0) {
+            final boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        shiftBack(slot);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * Сдвигает назад ключи, стоящие за освободившейся ячейкой не на своём месте
+     */
+    private void shiftBack(int freed) {
+        int gap = freed;
+        int slot = (gap + 1) & mask;
+
+        while (keys[slot] != 0) {
+            final int home = slot(keys[slot], mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        final long[] old = keys;
+
+        allocate(capacity);
+        size = 0;
+        for (long key : old) {
+            if (key != 0) {
+                add(key);
+            }
+        }
+    }
+
+    /**
+     * Новый массив публикуется целиком, так что читатель со старым массивом видит согласованные данные
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expected) {
+        final long needed = (long) Math.ceil(Math.max(expected, 1) / LOAD_FACTOR);
+        return (int) Math.min(1L << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) (BloomFilter.mix(key) & mask);
+    }
+}
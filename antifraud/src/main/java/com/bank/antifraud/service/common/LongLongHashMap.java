@@ -0,0 +1,91 @@
+package com.bank.antifraud.service.common;
+
+/**
+ * Отображение примитивных {@code long} в {@code long} с открытой адресацией и линейным пробированием
+ * на фиксированный объём: таблица выделяется сразу под {@code maxSize} ключей и не растёт, новый ключ сверх
+ * объёма не добавляется. Ключ ноль не поддерживается, пустая ячейка обозначается нулём. Удаления нет,
+ * устаревшие ключи убираются пересборкой в новое отображение. Не потокобезопасно, запись синхронизирует
+ * {@link TransferLinkGraph}: новые ключи - под блокировкой записи, значения существующих ключей - под блокировкой
+ * чтения, такая запись меняет только ячейку значения.
+ */
+final class LongLongHashMap {
+
+    private final long[] keys;
+    private final long[] values;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+
+    LongLongHashMap(int maxSize) {
+        final int capacity = (int) Math.min(1L << 30, Long.highestOneBit(Math.max(maxSize, 1) * 2L - 1) << 1);
+
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.maxSize = Math.min(maxSize, capacity / 2);
+    }
+
+    /**
+     * @param key     ключ, не ноль
+     * @param missing что вернуть, если ключа нет
+     * @return значение ключа
+     */
+    long get(long key, long missing) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == 0) {
+                return missing;
+            }
+        }
+    }
+
+    /**
+     * @param key   ключ, не ноль
+     * @param value значение
+     * @return false, если ключа не было и объём исчерпан
+     */
+    boolean put(long key, long value) {
+        int slot = slot(key);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == 0) {
+            if (size == maxSize) {
+                return false;
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == maxSize;
+    }
+
+    /**
+     * @return копия ячеек ключей, пустые ячейки - нули
+     */
+    long[] copyKeys() {
+        return keys.clone();
+    }
+
+    /**
+     * @return копия ячеек значений в порядке {@link #copyKeys()}
+     */
+    long[] copyValues() {
+        return values.clone();
+    }
+
+    private int slot(long key) {
+        return (int) (BloomFilter.mix(key) & mask);
+    }
+}
@@ -0,0 +1,520 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Компилятор правил проверки переводов. Одна строка - одно правило:
+ * <pre>
+ * rule имя suspicious|block when условие
+ * </pre>
+ * Условие строится из сравнений {@code > >= < <= == !=}, {@code and}, {@code or}, {@code not} и скобок.
+ * В сравнениях участвуют числа и значения:
+ * <ul>
+ *     <li>{@code amount} - сумма перевода в рублях, {@code amount % 1000} - остаток от деления;</li>
+ *     <li>{@code count(sender|recipient, minute|hour|day)} - сколько переводов за окно вместе с проверяемым;</li>
+ *     <li>{@code sum(sender|recipient, minute|hour|day)} - сумма переводов за окно в рублях;</li>
+ *     <li>{@code zscore(sender|recipient)} - z-оценка суммы по поведенческому профилю;</li>
+ *     <li>{@code events(sender|recipient)} - сколько переводов учтено в профиле;</li>
+ *     <li>{@code fanin} - сколько разных счетов переводили получателю;</li>
+ *     <li>{@code linked_accounts} - сколько счетов связано с получателем через общие карты, телефоны и счета.</li>
+ * </ul>
+ * Кроме сравнений есть {@code blocklisted} - получатель в списке блокировки, и {@code type == CARD}
+ * или {@code type != PHONE}. Пустые строки и строки, начинающиеся с {@code #}, пропускаются.
+ * Число, слитое с именем ({@code 5abc}), считается ошибкой, а не числом и именем подряд.
+ * Например:
+ * <pre>
+ * rule round_card suspicious when type == CARD and amount >= 10000 and amount % 1000 == 0
+ * rule burst block when count(sender, minute) > 10 and (blocklisted or zscore(recipient) > 6)
+ * rule mule suspicious when fanin >= 5 or linked_accounts >= 20
+ * </pre>
+ * Правило компилируется один раз в цепочку лямбд под конкретные операторы и значения, сравнения с числом
+ * и выражения из одних чисел сворачиваются, поэтому при проверке перевода ничего не разбирается.
+ */
+final class RuleCompiler {
+
+    private static final Pattern TOKEN = Pattern.compile(
+            "\\d++(?:\\.\\d++)?+(?![A-Za-z_])|[A-Za-z_][A-Za-z_0-9]*|>=|<=|==|!=|[<>%(),]");
+
+    private static final Pattern GLUED_NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?[A-Za-z_]");
+
+    private static final String LINE_MESSAGE = "Строка %d: %s";
+
+    private static final String OPEN = "(";
+
+    private static final String CLOSE = ")";
+
+    private static final double KOPECKS = 100.0;
+
+    private final List<String> tokens;
+    private int position;
+
+    private RuleCompiler(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @param text текст правил
+     * @return {@link RuleSet} без номера загрузки
+     * @throws ValidationException с номером строки, если правило не удалось скомпилировать
+     */
+    static RuleSet compile(String text) {
+        final List<RuleSet.Rule> rules = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        final String[] lines = text.split("\\R");
+
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                final RuleSet.Rule rule = new RuleCompiler(tokenize(lines[i])).rule();
+                if (!names.add(rule.name())) {
+                    throw new ValidationException("правило " + rule.name() + " уже объявлено");
+                }
+                rules.add(rule);
+            } catch (ValidationException e) {
+                throw new ValidationException(LINE_MESSAGE.formatted(i + 1, e.getMessage()));
+            }
+        }
+
+        return new RuleSet(0, 0, rules);
+    }
+
+    /**
+     * Позиции в ошибках считаются от начала строки файла с единицы
+     */
+    private static List<String> tokenize(String line) {
+        final List<String> tokens = new ArrayList<>();
+        final Matcher matcher = TOKEN.matcher(line);
+        int offset = 0;
+
+        while (true) {
+            while (offset < line.length() && Character.isWhitespace(line.charAt(offset))) {
+                offset++;
+            }
+            if (offset == line.length()) {
+                return tokens;
+            }
+
+            if (!matcher.region(offset, line.length()).lookingAt()) {
+                if (GLUED_NUMBER.matcher(line).region(offset, line.length()).lookingAt()) {
+                    throw new ValidationException("число слитно с именем в позиции " + (offset + 1));
+                }
+                throw new ValidationException("непонятный символ в позиции " + (offset + 1));
+            }
+            tokens.add(matcher.group());
+            offset = matcher.end();
+        }
+    }
+
+    private RuleSet.Rule rule() {
+        expect("rule");
+        final String name = next();
+        if (!Character.isLetter(name.charAt(0))) {
+            throw error("ожидалось имя правила вместо " + name);
+        }
+
+        final RuleSet.Action action = switch (next()) {
+            case "suspicious" -> RuleSet.Action.SUSPICIOUS;
+            case "block" -> RuleSet.Action.BLOCK;
+            default -> throw error("ожидалось suspicious или block");
+        };
+
+        expect("when");
+        final RuleSet.Condition condition = or();
+        if (position < tokens.size()) {
+            throw error("лишнее " + tokens.get(position));
+        }
+
+        return new RuleSet.Rule(name, action, condition);
+    }
+
+    private RuleSet.Condition or() {
+        final List<RuleSet.Condition> conditions = new ArrayList<>();
+        conditions.add(and());
+        while (accept("or")) {
+            conditions.add(and());
+        }
+
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+
+        final RuleSet.Condition[] any = conditions.toArray(new RuleSet.Condition[0]);
+        return context -> {
+            for (RuleSet.Condition condition : any) {
+                if (condition.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private RuleSet.Condition and() {
+        final List<RuleSet.Condition> conditions = new ArrayList<>();
+        conditions.add(unary());
+        while (accept("and")) {
+            conditions.add(unary());
+        }
+
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+
+        final RuleSet.Condition[] all = conditions.toArray(new RuleSet.Condition[0]);
+        return context -> {
+            for (RuleSet.Condition condition : all) {
+                if (!condition.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private RuleSet.Condition unary() {
+        if (accept("not")) {
+            final RuleSet.Condition negated = unary();
+            return context -> !negated.test(context);
+        }
+
+        if (accept(OPEN)) {
+            final RuleSet.Condition grouped = or();
+            expect(CLOSE);
+            return grouped;
+        }
+
+        if (accept("blocklisted")) {
+            return RuleContext::blocklisted;
+        }
+
+        if (accept("type")) {
+            return type();
+        }
+
+        return comparison();
+    }
+
+    private RuleSet.Condition type() {
+        final Comparison comparison = Comparison.of(next());
+        if (comparison != Comparison.EQ && comparison != Comparison.NE) {
+            throw error("тип перевода сравнивается только через == и !=");
+        }
+
+        final String name = next();
+        final TransferType type = Arrays.stream(TransferType.values())
+                .filter(value -> value.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> error("неизвестный тип перевода " + name));
+
+        return comparison == Comparison.EQ ? context -> context.type() == type : context -> context.type() != type;
+    }
+
+    private RuleSet.Condition comparison() {
+        final Term left = term();
+        final String operator = next();
+        final Comparison comparison = Comparison.of(operator);
+        if (comparison == null) {
+            throw error("ожидалось сравнение вместо " + operator);
+        }
+        final Term right = term();
+
+        if (left.constant() && right.constant()) {
+            final boolean result = comparison.test(left.value(), right.value());
+            return context -> result;
+        }
+        if (right.constant()) {
+            return comparison.compile(left.operand(), right.value());
+        }
+        if (left.constant()) {
+            return comparison.flip().compile(right.operand(), left.value());
+        }
+        return comparison.compile(left.operand(), right.operand());
+    }
+
+    private Term term() {
+        Term term = factor();
+
+        while (accept("%")) {
+            final Term divisor = factor();
+            if (divisor.constant() && divisor.value() == 0) {
+                throw error("остаток от деления на ноль");
+            }
+
+            final RuleSet.Operand dividend = term.operand();
+            if (term.constant() && divisor.constant()) {
+                term = Term.of(term.value() % divisor.value());
+            } else if (divisor.constant()) {
+                final double value = divisor.value();
+                term = Term.of(context -> dividend.value(context) % value);
+            } else {
+                final RuleSet.Operand operand = divisor.operand();
+                term = Term.of(context -> dividend.value(context) % operand.value(context));
+            }
+        }
+
+        return term;
+    }
+
+    private Term factor() {
+        final String token = next();
+
+        if (Character.isDigit(token.charAt(0))) {
+            return Term.of(Double.parseDouble(token));
+        }
+
+        return switch (token) {
+            case "amount" -> Term.of(RuleContext::amount);
+            case "count" -> velocity(true);
+            case "sum" -> velocity(false);
+            case "zscore" -> profile(true);
+            case "events" -> profile(false);
+            case "fanin" -> Term.of(context -> context.links().fanIn());
+            case "linked_accounts" -> Term.of(context -> context.links().linkedAccounts());
+            default -> throw error("неизвестное значение " + token);
+        };
+    }
+
+    private Term velocity(boolean count) {
+        expect(OPEN);
+        final boolean sender = subject();
+        expect(",");
+        final String name = next();
+        final VelocityWindow window = Arrays.stream(VelocityWindow.values())
+                .filter(value -> value.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> error("ожидалось minute, hour или day вместо " + name));
+        expect(CLOSE);
+
+        if (count) {
+            return Term.of(sender ?
+                    context -> context.sender().count(window) :
+                    context -> context.recipient().count(window));
+        }
+        return Term.of(sender ?
+                context -> context.sender().amount(window) / KOPECKS :
+                context -> context.recipient().amount(window) / KOPECKS);
+    }
+
+    private Term profile(boolean zScore) {
+        expect(OPEN);
+        final boolean sender = subject();
+        expect(CLOSE);
+
+        if (zScore) {
+            return Term.of(sender ?
+                    context -> context.senderProfile().zScore() :
+                    context -> context.recipientProfile().zScore());
+        }
+        return Term.of(sender ?
+                context -> context.senderProfile().count() :
+                context -> context.recipientProfile().count());
+    }
+
+    private boolean subject() {
+        return switch (next()) {
+            case "sender" -> true;
+            case "recipient" -> false;
+            default -> throw error("ожидалось sender или recipient");
+        };
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw error("неожиданный конец правила");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        final String actual = next();
+        if (!actual.equals(token)) {
+            throw error("ожидалось " + token + " вместо " + actual);
+        }
+    }
+
+    private static ValidationException error(String message) {
+        return new ValidationException(message);
+    }
+
+    /**
+     * Значение в сравнении: число, известное при компиляции, или выражение над переводом
+     */
+    private record Term(RuleSet.Operand operand, boolean constant, double value) {
+
+        static Term of(double value) {
+            return new Term(context -> value, true, value);
+        }
+
+        static Term of(RuleSet.Operand operand) {
+            return new Term(operand, false, 0);
+        }
+    }
+
+    /**
+     * Оператор сравнения, у каждого свои лямбды, чтобы в скомпилированном правиле не было выбора оператора
+     */
+    private enum Comparison {
+
+        GT(">") {
+            @Override
+            boolean test(double left, double right) {
+                return left > right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) > right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) > right.value(context);
+            }
+        },
+
+        GE(">=") {
+            @Override
+            boolean test(double left, double right) {
+                return left >= right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) >= right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) >= right.value(context);
+            }
+        },
+
+        LT("<") {
+            @Override
+            boolean test(double left, double right) {
+                return left < right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) < right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) < right.value(context);
+            }
+        },
+
+        LE("<=") {
+            @Override
+            boolean test(double left, double right) {
+                return left <= right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) <= right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) <= right.value(context);
+            }
+        },
+
+        EQ("==") {
+            @Override
+            boolean test(double left, double right) {
+                return left == right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) == right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) == right.value(context);
+            }
+        },
+
+        NE("!=") {
+            @Override
+            boolean test(double left, double right) {
+                return left != right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, double right) {
+                return context -> left.value(context) != right;
+            }
+
+            @Override
+            RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right) {
+                return context -> left.value(context) != right.value(context);
+            }
+        };
+
+        private static final Map<String, Comparison> BY_SYMBOL = Arrays.stream(values())
+                .collect(Collectors.toMap(comparison -> comparison.symbol, Function.identity()));
+
+        private final String symbol;
+
+        Comparison(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * @return оператор по символу, null - не оператор сравнения
+         */
+        static Comparison of(String symbol) {
+            return BY_SYMBOL.get(symbol);
+        }
+
+        /**
+         * @return оператор для сравнения с переставленными сторонами
+         */
+        Comparison flip() {
+            return switch (this) {
+                case GT -> LT;
+                case GE -> LE;
+                case LT -> GT;
+                case LE -> GE;
+                case EQ, NE -> this;
+                default -> throw new IllegalStateException("Неизвестный оператор " + this);
+            };
+        }
+
+        abstract boolean test(double left, double right);
+
+        abstract RuleSet.Condition compile(RuleSet.Operand left, double right);
+
+        abstract RuleSet.Condition compile(RuleSet.Operand left, RuleSet.Operand right);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.entity.TransferType;
+
+/**
+ * Всё, что видят правила из {@link RuleSet} о проверяемом переводе. Собирается один раз на перевод
+ * из уже посчитанных для встроенных правил итогов окон и профилей.
+ *
+ * @param type             {@link TransferType}
+ * @param amount           сумма перевода в рублях
+ * @param sender           итоги окон счёта отправителя вместе с переводом
+ * @param recipient        итоги окон получателя вместе с переводом
+ * @param senderProfile    профиль счёта отправителя до учёта перевода
+ * @param recipientProfile профиль получателя до учёта перевода
+ * @param blocklisted      получатель в {@link TransferBlocklist}
+ * @param links            признаки получателя из {@link TransferLinkGraph} вместе с переводом
+ */
+record RuleContext(TransferType type, double amount, VelocityCounter.Totals sender, VelocityCounter.Totals recipient,
+                   BehaviourProfileStore.Profile senderProfile, BehaviourProfileStore.Profile recipientProfile,
+                   boolean blocklisted, TransferLinkGraph.Links links) {
+}
@@ -0,0 +1,107 @@
+package com.bank.antifraud.service.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Скомпилированный набор правил из {@link ScoringRules}. Неизменяем, поэтому проверки читают его
+ * без блокировок, а перезагрузка подменяет набор целиком.
+ */
+public final class RuleSet {
+
+    static final RuleSet EMPTY = new RuleSet(0, 0, List.of());
+
+    private static final String REASON = "правило %s";
+
+    private final long version;
+    private final long loadedAtMs;
+    private final Rule[] rules;
+
+    RuleSet(long version, long loadedAtMs, List<Rule> rules) {
+        this.version = version;
+        this.loadedAtMs = loadedAtMs;
+        this.rules = rules.toArray(new Rule[0]);
+    }
+
+    /**
+     * @return номер загрузки, 0 - правила не загружались
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return когда набор был загружен
+     */
+    public long getLoadedAtMs() {
+        return loadedAtMs;
+    }
+
+    /**
+     * @return имена правил в порядке файла
+     */
+    public List<String> getNames() {
+        return Arrays.stream(rules).map(Rule::name).toList();
+    }
+
+    boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    RuleSet withVersion(long newVersion, long newLoadedAtMs) {
+        return new RuleSet(newVersion, newLoadedAtMs, List.of(rules));
+    }
+
+    /**
+     * Сработавшее правило блокировки попадает и в причины блокировки, и в причины подозрения
+     */
+    void evaluate(RuleContext context, List<String> blocked, List<String> suspicious) {
+        for (Rule rule : rules) {
+            if (rule.condition().test(context)) {
+                suspicious.add(rule.reason());
+                if (rule.action() == Action.BLOCK) {
+                    blocked.add(rule.reason());
+                }
+            }
+        }
+    }
+
+    /**
+     * Что делает сработавшее правило
+     */
+    enum Action {
+        SUSPICIOUS,
+        BLOCK
+    }
+
+    /**
+     * Скомпилированное условие правила
+     */
+    @FunctionalInterface
+    interface Condition {
+
+        boolean test(RuleContext context);
+    }
+
+    /**
+     * Скомпилированное числовое выражение условия
+     */
+    @FunctionalInterface
+    interface Operand {
+
+        double value(RuleContext context);
+    }
+
+    /**
+     * @param name      имя правила
+     * @param action    {@link Action}
+     * @param condition {@link Condition}
+     * @param reason    причина в решении по переводу
+     */
+    record Rule(String name, Action action, Condition condition, String reason) {
+
+        Rule(String name, Action action, Condition condition) {
+            this(name, action, condition, REASON.formatted(name));
+        }
+    }
+}
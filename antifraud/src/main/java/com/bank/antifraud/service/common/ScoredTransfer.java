@@ -0,0 +1,13 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+
+/**
+ * Проверенный перевод и решение по нему
+ *
+ * @param request {@link TransferScoringRequestDto}
+ * @param result  {@link TransferScoringResultDto}
+ */
+public record ScoredTransfer(TransferScoringRequestDto request, TransferScoringResultDto result) {
+}
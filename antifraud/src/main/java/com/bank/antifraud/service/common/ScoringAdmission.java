@@ -0,0 +1,220 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Синхронная проверка перевода через ограниченную очередь с отдельным пулом потоков, чтобы при всплеске
+ * запросов задержка проверки не передавалась на исполнение переводов. Перевод, который не поместился
+ * в очередь или не был проверен за {@code deadline-ms}, не проверяется: ответ по нему выбирается настройкой
+ * типа перевода, FAIL_OPEN - не подозрителен, FAIL_CLOSED - заблокирован, в обоих случаях с признаком
+ * {@code isDeferred}. Такое решение не сохраняется, а перевод откладывается и проверяется позже, когда очередь
+ * пуста, с записью настоящего решения.
+ * Размер очереди пишется в {@code antifraud.scoring.queue.size}, ожидание в очереди
+ * в {@code antifraud.scoring.queue.wait}, непроверенные переводы в {@code antifraud.scoring.shed} с типом
+ * перевода, причиной и ответом, отложенные в {@code antifraud.scoring.deferred.size}, потерянные
+ * при переполнении отложенных в {@code antifraud.scoring.deferred.dropped}.
+ */
+@Slf4j
+@Component
+public class ScoringAdmission {
+
+    private static final String UNCHECKED_REASON = "Перевод не проверен: %s, проверка отложена";
+
+    private final VelocityRuleEngine engine;
+    private final SuspiciousTransferWriter writer;
+    private final ThreadPoolExecutor workers;
+    private final long deadlineNanos;
+    private final Map<TransferType, AntifraudProperties.Admission.FailurePolicy> policies =
+            new EnumMap<>(TransferType.class);
+    private final BlockingQueue<TransferScoringRequestDto> deferred;
+    private final int reviewBatchSize;
+    private final Timer queueWait;
+    private final MeterRegistry meterRegistry;
+    private final Counter dropped;
+
+    public ScoringAdmission(VelocityRuleEngine engine, SuspiciousTransferWriter writer,
+                            AntifraudProperties properties, MeterRegistry meterRegistry) {
+        final AntifraudProperties.Admission admission = properties.getAdmission();
+
+        this.engine = engine;
+        this.writer = writer;
+        this.workers = new ThreadPoolExecutor(admission.getWorkers(), admission.getWorkers(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(admission.getQueueCapacity()),
+                new CustomizableThreadFactory("antifraud-admission-"), new ThreadPoolExecutor.AbortPolicy());
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(admission.getDeadlineMs());
+        for (TransferType type : TransferType.values()) {
+            policies.put(type, admission.getPolicies().getOrDefault(type,
+                    AntifraudProperties.Admission.FailurePolicy.FAIL_OPEN));
+        }
+        this.deferred = new ArrayBlockingQueue<>(admission.getDeferredCapacity());
+        this.reviewBatchSize = admission.getReviewBatchSize();
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("antifraud.scoring.queue.wait")
+                .description("Ожидание перевода в очереди проверки")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("antifraud.scoring.deferred.dropped")
+                .description("Непроверенные переводы, не поместившиеся в отложенные")
+                .register(meterRegistry);
+
+        Gauge.builder("antifraud.scoring.queue.size", workers, executor -> executor.getQueue().size())
+                .description("Переводы в очереди проверки")
+                .register(meterRegistry);
+        Gauge.builder("antifraud.scoring.deferred.size", deferred, BlockingQueue::size)
+                .description("Отложенные непроверенные переводы")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link TransferScoringResultDto}, при переполнении очереди или истёкшем сроке - решение
+     * по настройке типа перевода с признаком {@code isDeferred}
+     * @throws com.bank.common.exception.ValidationException если перевод заполнен некорректно
+     */
+    public TransferScoringResultDto score(TransferScoringRequestDto request) {
+        engine.check(request);
+
+        final long enqueuedAt = System.nanoTime();
+        final Future<TransferScoringResultDto> scored;
+
+        try {
+            scored = workers.submit(() -> scoreQueued(request, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            return shed(request, Shed.OVERFLOW);
+        }
+
+        try {
+            final TransferScoringResultDto result = scored.get(
+                    deadlineNanos - (System.nanoTime() - enqueuedAt), TimeUnit.NANOSECONDS);
+            return result == null ? shed(request, Shed.DEADLINE) : result;
+        } catch (TimeoutException e) {
+            scored.cancel(false);
+            return shed(request, Shed.DEADLINE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scored.cancel(false);
+            return shed(request, Shed.DEADLINE);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Проверяет отложенные переводы, пока очередь проверки пуста
+     */
+    @Scheduled(fixedDelayString = "${antifraud.admission.review-interval-ms:1000}")
+    public void review() {
+        while (!deferred.isEmpty() && workers.getQueue().isEmpty()) {
+            final List<TransferScoringRequestDto> batch = new ArrayList<>(reviewBatchSize);
+            deferred.drainTo(batch, reviewBatchSize);
+
+            final List<ScoredTransfer> suspicious = new ArrayList<>();
+            for (TransferScoringRequestDto request : batch) {
+                final TransferScoringResultDto result = engine.score(request);
+                if (Boolean.TRUE.equals(result.getIsSuspicious())) {
+                    suspicious.add(new ScoredTransfer(request, result));
+                }
+            }
+
+            if (!suspicious.isEmpty()) {
+                writer.writeAll(suspicious);
+            }
+            log.info("Проверено отложенных переводов: {}, подозрительных: {}", batch.size(), suspicious.size());
+        }
+    }
+
+    /**
+     * Останавливает проверку
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Перевод, дождавшийся потока после срока, не проверяется: вызывающий уже получил решение по настройке
+     */
+    private TransferScoringResultDto scoreQueued(TransferScoringRequestDto request, long enqueuedAt) {
+        final long waited = System.nanoTime() - enqueuedAt;
+        queueWait.record(waited, TimeUnit.NANOSECONDS);
+
+        if (waited >= deadlineNanos) {
+            return null;
+        }
+
+        final TransferScoringResultDto result = engine.score(request);
+        if (Boolean.TRUE.equals(result.getIsSuspicious())) {
+            writer.writeAll(List.of(new ScoredTransfer(request, result)));
+        }
+        return result;
+    }
+
+    private TransferScoringResultDto shed(TransferScoringRequestDto request, Shed reason) {
+        final AntifraudProperties.Admission.FailurePolicy policy = policies.get(request.getType());
+
+        Counter.builder("antifraud.scoring.shed")
+                .description("Переводы, не проверенные из-за перегрузки")
+                .tag("type", request.getType().name())
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+
+        if (!deferred.offer(request)) {
+            dropped.increment();
+        }
+
+        final String message = UNCHECKED_REASON.formatted(reason.getLabel());
+        return switch (policy) {
+            case FAIL_OPEN -> new TransferScoringResultDto(false, false, null, null, true);
+            case FAIL_CLOSED -> new TransferScoringResultDto(true, true, message, message, true);
+            default -> throw new IllegalStateException("Неизвестная настройка " + policy);
+        };
+    }
+
+    /**
+     * Почему перевод не проверен
+     */
+    private enum Shed {
+
+        OVERFLOW("очередь проверки переполнена"),
+
+        DEADLINE("истёк срок проверки");
+
+        private final String label;
+
+        Shed(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Правила проверки переводов из файла {@code antifraud.rules.path} на языке {@link RuleCompiler}, дополняют
+ * встроенные пороги {@link VelocityRuleEngine}. Файл компилируется при старте, дальше раз
+ * в {@code reload-interval-ms} перечитывается, если изменился, или по запросу.
+ * Новый набор подменяет прежний одной записью ссылки: проверки не ждут перезагрузку и видят либо старый
+ * набор целиком, либо новый. Если файл не удалось прочитать или скомпилировать, остаётся прежний набор,
+ * ошибка пишется в журнал и в {@code antifraud.rules.reloads} с {@code result=failure}, а тот же файл
+ * повторно не перечитывается, пока не изменится.
+ * При старте ошибка в правилах не даёт запуститься, пустой путь - только встроенные пороги.
+ */
+@Slf4j
+@Component
+public class ScoringRules {
+
+    private final Path path;
+    private final Counter loaded;
+    private final Counter failed;
+    private volatile RuleSet active = RuleSet.EMPTY;
+    private FileTime lastModified;
+
+    public ScoringRules(AntifraudProperties properties, MeterRegistry meterRegistry) {
+        final String rulesPath = properties.getRules().getPath();
+
+        this.path = rulesPath == null || rulesPath.isBlank() ? null : Path.of(rulesPath);
+        this.loaded = reloads(meterRegistry, "success");
+        this.failed = reloads(meterRegistry, "failure");
+
+        Gauge.builder("antifraud.rules.active", this, rules -> rules.current().getNames().size())
+                .description("Количество действующих правил проверки переводов")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Компилирует правила при старте
+     *
+     * @throws ValidationException если правила не компилируются
+     */
+    @PostConstruct
+    public void load() {
+        if (path != null) {
+            reload();
+        }
+    }
+
+    /**
+     * Перечитывает файл, если он изменился с прошлой загрузки
+     */
+    @Scheduled(fixedDelayString = "${antifraud.rules.reload-interval-ms:10000}")
+    public synchronized void reloadIfChanged() {
+        if (path == null) {
+            return;
+        }
+
+        try {
+            if (!Files.getLastModifiedTime(path).equals(lastModified)) {
+                reload();
+            }
+        } catch (IOException | UncheckedIOException | ValidationException e) {
+            log.error("Правила проверки переводов из {} не загружены, действует версия {}: {}", path,
+                    active.getVersion(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return загруженный {@link RuleSet}
+     * @throws ValidationException  если путь к правилам не задан или правила не компилируются
+     * @throws UncheckedIOException если файл не удалось прочитать
+     */
+    public synchronized RuleSet reload() {
+        if (path == null) {
+            throw new ValidationException("Путь к правилам проверки переводов не задан");
+        }
+
+        try {
+            lastModified = Files.getLastModifiedTime(path);
+            final RuleSet compiled = RuleCompiler.compile(Files.readString(path, StandardCharsets.UTF_8))
+                    .withVersion(active.getVersion() + 1, System.currentTimeMillis());
+
+            active = compiled;
+            loaded.increment();
+            log.info("Загружены правила проверки переводов версии {}: {}", compiled.getVersion(),
+                    compiled.getNames());
+            return compiled;
+        } catch (IOException e) {
+            failed.increment();
+            throw new UncheckedIOException(e);
+        } catch (ValidationException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * @return действующий {@link RuleSet}
+     */
+    public RuleSet current() {
+        return active;
+    }
+
+    private static Counter reloads(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("antifraud.rules.reloads")
+                .description("Загрузки правил проверки переводов")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
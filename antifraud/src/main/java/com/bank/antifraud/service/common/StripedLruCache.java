@@ -0,0 +1,91 @@
+package com.bank.antifraud.service.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный LRU-кэш, разбитый на части со своей блокировкой, чтобы обращения к разным ключам
+ * не ждали друг друга. Удаление увеличивает поколение части: значение, прочитанное до удаления,
+ * кладётся через {@link #putIfUnchanged} и не затирает удаление.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ */
+final class StripedLruCache<K, V> {
+
+    private final Map<K, V>[] stripes;
+    private final long[] generations;
+
+    @SuppressWarnings("unchecked")
+    StripedLruCache(int stripeCount, int maxSize) {
+        final int maxStripeSize = Math.max(1, maxSize / stripeCount);
+
+        this.stripes = new Map[stripeCount];
+        this.generations = new long[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxStripeSize;
+                }
+            };
+        }
+    }
+
+    V get(K key) {
+        final Map<K, V> stripe = stripe(key);
+
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    void put(K key, V value) {
+        final Map<K, V> stripe = stripe(key);
+
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    /**
+     * @return поколение части ключа, его нужно прочитать до загрузки значения
+     */
+    long generation(K key) {
+        final int index = index(key);
+
+        synchronized (stripes[index]) {
+            return generations[index];
+        }
+    }
+
+    /**
+     * Кладёт значение, только если с чтения {@code generation} в части ключа ничего не удалялось
+     */
+    void putIfUnchanged(K key, V value, long generation) {
+        final int index = index(key);
+
+        synchronized (stripes[index]) {
+            if (generations[index] == generation) {
+                stripes[index].put(key, value);
+            }
+        }
+    }
+
+    void remove(K key) {
+        final int index = index(key);
+
+        synchronized (stripes[index]) {
+            stripes[index].remove(key);
+            generations[index]++;
+        }
+    }
+
+    private Map<K, V> stripe(K key) {
+        return stripes[index(key)];
+    }
+
+    private int index(K key) {
+        return Math.floorMod(key.hashCode() * 0x9E3779B9, stripes.length);
+    }
+}
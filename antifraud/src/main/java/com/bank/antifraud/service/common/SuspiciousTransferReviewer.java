@@ -0,0 +1,153 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.dto.ReviewItemResultDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Блокировка и разблокировка нескольких подозрительных переводов одного типа одним оператором
+ * UPDATE ... WHERE id = ANY(?) RETURNING, без чтения переводов перед изменением.
+ * Список блокировки и кэш решений обновляются один раз на весь запрос после фиксации транзакции.
+ * При разблокировке получатель остаётся в списке, если у него есть другие заблокированные переводы,
+ * это проверяется одним запросом по всем получателям уже после фиксации: проверка внутри транзакции
+ * не увидела бы блокировку из параллельной транзакции, зафиксированной раньше нашей, и убрала бы получателя
+ * из списка после того, как та транзакция его добавила.
+ */
+@Component
+@RequiredArgsConstructor
+public class SuspiciousTransferReviewer {
+
+    private static final String IDS_MESSAGE = "Не заполнены идентификаторы переводов";
+
+    private static final String BLOCKED_MESSAGE = "Не заполнено решение о блокировке";
+
+    private static final String NOT_FOUND_MESSAGE = "Подозрительный перевод не найден";
+
+    private static final String UPDATE = """
+            UPDATE anti_fraud.suspicious_%1$s_transfer SET is_blocked = ?, blocked_reason = ?
+            WHERE id = ANY(?)
+            RETURNING id, %1$s_transfer_id, %1$s_number""";
+
+    private static final String STILL_BLOCKED = """
+            SELECT DISTINCT %1$s_number FROM anti_fraud.suspicious_%1$s_transfer
+            WHERE is_blocked AND %1$s_number = ANY(?)""";
+
+    private static final String BIGINT = "bigint";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferBlocklist blocklist;
+    private final SuspiciousVerdictCache verdictCache;
+
+    /**
+     * @param type   {@link TransferType}
+     * @param review {@link SuspiciousReviewDto}
+     * @return результат по каждому идентификатору в порядке запроса, повторы идентификаторов схлопываются
+     * @throws ValidationException если не заполнены идентификаторы или решение о блокировке
+     */
+    @Transactional
+    public List<ReviewItemResultDto> review(TransferType type, SuspiciousReviewDto review) {
+        if (review.getIds() == null || review.getIds().isEmpty() ||
+                review.getIds().stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException(IDS_MESSAGE);
+        }
+        if (review.getIsBlocked() == null) {
+            throw new ValidationException(BLOCKED_MESSAGE);
+        }
+
+        final String table = type.name().toLowerCase(Locale.ROOT);
+        final Set<Long> ids = new LinkedHashSet<>(review.getIds());
+
+        final List<Reviewed> reviewed = jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(UPDATE.formatted(table));
+            statement.setBoolean(1, review.getIsBlocked());
+            statement.setString(2, review.getBlockedReason());
+            statement.setArray(3, connection.createArrayOf(BIGINT, ids.toArray()));
+            return statement;
+        }, (row, rowNum) -> new Reviewed(row.getLong(1), row.getLong(2), row.getObject(3, Long.class)));
+
+        refresh(type, table, review.getIsBlocked(), reviewed);
+
+        final Set<Long> updated = reviewed.stream()
+                .map(Reviewed::id)
+                .collect(Collectors.toSet());
+
+        return ids.stream()
+                .map(id -> updated.contains(id) ?
+                        new ReviewItemResultDto(id, true, null) :
+                        new ReviewItemResultDto(id, false, NOT_FOUND_MESSAGE))
+                .toList();
+    }
+
+    private void refresh(TransferType type, String table, boolean blocked, List<Reviewed> reviewed) {
+        final List<Long> transferIds = new ArrayList<>();
+        final Set<Long> numbers = new LinkedHashSet<>();
+
+        for (Reviewed transfer : reviewed) {
+            transferIds.add(transfer.transferId());
+            if (transfer.number() != null) {
+                numbers.add(transfer.number());
+            }
+        }
+
+        verdictCache.invalidateAll(type, transferIds);
+
+        if (blocked) {
+            blocklist.updateAll(type, numbers, List.of());
+            return;
+        }
+
+        if (numbers.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unblock(type, table, numbers);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                unblock(type, table, numbers);
+            }
+        });
+    }
+
+    /**
+     * Убирает из списка блокировки получателей без других заблокированных переводов. После фиксации запрос идёт
+     * через соединение завершённой транзакции и видит все зафиксированные блокировки.
+     */
+    private void unblock(TransferType type, String table, Set<Long> numbers) {
+        final List<Long> stillBlocked = jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(STILL_BLOCKED.formatted(table));
+            statement.setArray(1, connection.createArrayOf(BIGINT, numbers.toArray()));
+            return statement;
+        }, (row, rowNum) -> row.getLong(1));
+
+        numbers.removeAll(new HashSet<>(stillBlocked));
+        blocklist.apply(type, List.of(), numbers);
+    }
+
+    /**
+     * Изменённый подозрительный перевод: его идентификатор, идентификатор исходного перевода и номер получателя
+     */
+    private record Reviewed(Long id, Long transferId, Long number) {
+    }
+}
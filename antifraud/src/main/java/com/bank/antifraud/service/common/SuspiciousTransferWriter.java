@@ -0,0 +1,67 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.entity.TransferType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Сохранение решений по подозрительным переводам: по одному пакетному insert на тип перевода.
+ * Решение по уже сохранённому переводу пропускается, поэтому повторное сохранение той же пачки безопасно.
+ * После фиксации транзакции получатели заблокированных переводов попадают в {@link TransferBlocklist},
+ * а записи переводов сбрасываются из {@link SuspiciousVerdictCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SuspiciousTransferWriter {
+
+    private static final String INSERT = """
+            INSERT INTO anti_fraud.suspicious_%1$s_transfer
+                (%1$s_transfer_id, %1$s_number, is_blocked, is_suspicious, blocked_reason, suspicious_reason)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (%1$s_transfer_id) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferBlocklist blocklist;
+    private final SuspiciousVerdictCache verdictCache;
+
+    /**
+     * @param transfers подозрительные и заблокированные переводы с решениями
+     */
+    @Transactional
+    public void writeAll(List<ScoredTransfer> transfers) {
+        final Map<TransferType, List<ScoredTransfer>> byType = transfers.stream()
+                .collect(Collectors.groupingBy(transfer -> transfer.request().getType(),
+                        () -> new EnumMap<>(TransferType.class), Collectors.toList()));
+
+        byType.forEach(this::insert);
+    }
+
+    private void insert(TransferType type, List<ScoredTransfer> transfers) {
+        final String sql = INSERT.formatted(type.name().toLowerCase(Locale.ROOT));
+
+        jdbcTemplate.batchUpdate(sql, transfers, transfers.size(), (statement, transfer) -> {
+            statement.setLong(1, transfer.request().getTransferId());
+            statement.setLong(2, transfer.request().getNumber());
+            statement.setBoolean(3, transfer.result().getIsBlocked());
+            statement.setBoolean(4, transfer.result().getIsSuspicious());
+            statement.setString(5, transfer.result().getBlockedReason());
+            statement.setString(6, transfer.result().getSuspiciousReason());
+        });
+
+        verdictCache.invalidateAll(type, transfers.stream()
+                .map(transfer -> transfer.request().getTransferId())
+                .toList());
+        blocklist.updateAll(type, transfers.stream()
+                .filter(transfer -> Boolean.TRUE.equals(transfer.result().getIsBlocked()))
+                .map(transfer -> transfer.request().getNumber())
+                .toList(), List.of());
+    }
+}
@@ -0,0 +1,175 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Ограниченный кэш решений антифрода по типу и идентификатору исходного перевода.
+ * Запоминается и отсутствие решения: большинство переводов чистые, и повторный вопрос о них не доходит до БД.
+ * Запись сбрасывается после фиксации транзакции, в которой решение по переводу создано или изменено.
+ * Прочитанное из БД кладётся в кэш, только если за время чтения запись не сбрасывалась, иначе сброс
+ * затёрло бы решение, прочитанное до фиксации. Решения, изменённые на других экземплярах, видны не позже
+ * {@code ttl-ms}, а появившиеся там решения по чистым переводам - не позже {@code negative-ttl-ms}.
+ * Попадания и промахи пишутся в {@code antifraud.verdict.cache} с тегом {@code result}.
+ */
+@Component
+public class SuspiciousVerdictCache {
+
+    private static final int STRIPES = 64;
+
+    private static final String METRIC = "antifraud.verdict.cache";
+
+    private static final String RESULT_TAG = "result";
+
+    private final StripedLruCache<Key, Entry> cache;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SuspiciousVerdictCache(AntifraudProperties properties, MeterRegistry meterRegistry) {
+        this.cache = new StripedLruCache<>(STRIPES, properties.getVerdicts().getCacheSize());
+        this.ttlMs = properties.getVerdicts().getTtlMs();
+        this.negativeTtlMs = properties.getVerdicts().getNegativeTtlMs();
+        this.hits = Counter.builder(METRIC).tag(RESULT_TAG, "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC).tag(RESULT_TAG, "miss").register(meterRegistry);
+    }
+
+    /**
+     * @param type       {@link TransferType}
+     * @param transferId технический идентификатор исходного перевода
+     * @param loader     чтение решения из БД при промахе
+     * @param <D>        тип ДТО решения
+     * @return решение по переводу, пустое, если перевод не подозрительный
+     */
+    @SuppressWarnings("unchecked")
+    public <D> Optional<D> find(TransferType type, Long transferId, Function<Long, Optional<D>> loader) {
+        final Key key = new Key(type, transferId);
+        final long now = System.currentTimeMillis();
+        final Entry cached = cache.get(key);
+
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return (Optional<D>) cached.verdict();
+        }
+
+        misses.increment();
+        final long generation = cache.generation(key);
+        final Optional<D> loaded = loader.apply(transferId);
+        put(key, loaded, generation, now);
+        return loaded;
+    }
+
+    /**
+     * Промахи читаются из БД одним запросом
+     *
+     * @param type        {@link TransferType}
+     * @param transferIds технические идентификаторы исходных переводов
+     * @param loader      чтение решений из БД по списку идентификаторов
+     * @param transferId  получение идентификатора перевода из ДТО решения
+     * @param <D>         тип ДТО решения
+     * @return решения в порядке запрошенных идентификаторов, переводы без решения пропускаются
+     */
+    @SuppressWarnings("unchecked")
+    public <D> List<D> findAll(TransferType type, List<Long> transferIds, Function<List<Long>, List<D>> loader,
+                               Function<D, Long> transferId) {
+        final long now = System.currentTimeMillis();
+        final Set<Long> unique = new LinkedHashSet<>(transferIds);
+        final Map<Long, Optional<D>> found = new HashMap<>();
+        final Map<Long, Long> missed = new LinkedHashMap<>();
+
+        for (Long id : unique) {
+            final Key key = new Key(type, id);
+            final Entry cached = cache.get(key);
+            if (cached == null || cached.expiresAt() <= now) {
+                missed.put(id, cache.generation(key));
+            } else {
+                found.put(id, (Optional<D>) cached.verdict());
+            }
+        }
+
+        hits.increment(found.size());
+        misses.increment(missed.size());
+
+        if (!missed.isEmpty()) {
+            loader.apply(new ArrayList<>(missed.keySet()))
+                    .forEach(verdict -> found.put(transferId.apply(verdict), Optional.of(verdict)));
+            missed.forEach((id, generation) -> put(new Key(type, id),
+                    found.computeIfAbsent(id, absent -> Optional.empty()), generation, now));
+        }
+
+        return unique.stream()
+                .map(found::get)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Внутри транзакции запись сбрасывается после её фиксации, вне транзакции - сразу
+     *
+     * @param type       {@link TransferType}
+     * @param transferId технический идентификатор исходного перевода, null пропускается
+     */
+    public void invalidate(TransferType type, Long transferId) {
+        if (transferId != null) {
+            invalidateAll(type, List.of(transferId));
+        }
+    }
+
+    /**
+     * Внутри транзакции записи сбрасываются после её фиксации, вне транзакции - сразу
+     *
+     * @param type        {@link TransferType}
+     * @param transferIds технические идентификаторы исходных переводов
+     */
+    public void invalidateAll(TransferType type, Collection<Long> transferIds) {
+        if (transferIds.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transferIds.forEach(transferId -> cache.remove(new Key(type, transferId)));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transferIds.forEach(transferId -> cache.remove(new Key(type, transferId)));
+            }
+        });
+    }
+
+    private void put(Key key, Optional<?> verdict, long generation, long now) {
+        cache.putIfUnchanged(key, new Entry(verdict, now + (verdict.isPresent() ? ttlMs : negativeTtlMs)),
+                generation);
+    }
+
+    /**
+     * Ключ записи кэша
+     */
+    private record Key(TransferType type, Long transferId) {
+    }
+
+    /**
+     * Решение или его отсутствие и срок, до которого запись кэша действует
+     */
+    private record Entry(Optional<?> verdict, long expiresAt) {
+    }
+}
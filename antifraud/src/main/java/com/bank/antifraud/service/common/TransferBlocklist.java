@@ -0,0 +1,198 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Список заблокированных получателей: номера счетов, карт и телефонов, у которых есть перевод
+ * с {@code is_blocked = true}. Загружается из таблиц подозрительных переводов при старте, до запуска слушателей
+ * и приёма запросов, дальше поддерживается при блокировке и разблокировке.
+ * Номер сначала проверяется фильтром Блума, большинство чистых номеров отсекаются на нём, затем точно
+ * множеством примитивных {@code long}. Проверка не берёт блокировку: читатель повторяет её под блокировкой
+ * только если одновременно шла запись.
+ * Размер списка каждого типа пишется в {@code antifraud.blocklist.size}.
+ */
+@Slf4j
+@Component
+public class TransferBlocklist {
+
+    private static final String LOAD = """
+            SELECT DISTINCT %1$s_number FROM anti_fraud.suspicious_%1$s_transfer
+            WHERE is_blocked AND %1$s_number IS NOT NULL""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<TransferType, Numbers> numbers = new EnumMap<>(TransferType.class);
+
+    public TransferBlocklist(JdbcTemplate jdbcTemplate, AntifraudProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        for (TransferType type : TransferType.values()) {
+            final Numbers typeNumbers = new Numbers(properties.getBlocklist());
+            numbers.put(type, typeNumbers);
+
+            Gauge.builder("antifraud.blocklist.size", typeNumbers, Numbers::size)
+                    .description("Количество заблокированных получателей")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Загружает заблокированные номера из БД
+     */
+    @PostConstruct
+    public void load() {
+        for (Map.Entry<TransferType, Numbers> entry : numbers.entrySet()) {
+            final Numbers typeNumbers = entry.getValue();
+
+            jdbcTemplate.query(LOAD.formatted(entry.getKey().name().toLowerCase(Locale.ROOT)),
+                    (RowCallbackHandler) row -> typeNumbers.add(row.getLong(1)));
+
+            log.info("Загружено заблокированных получателей {}: {}", entry.getKey(), typeNumbers.size());
+        }
+    }
+
+    /**
+     * @param type   {@link TransferType}
+     * @param number номер счёта, карты или телефона получателя
+     * @return true, если получатель заблокирован
+     */
+    public boolean contains(TransferType type, long number) {
+        return numbers.get(type).contains(number);
+    }
+
+    /**
+     * Внутри транзакции изменение применяется после её фиксации, вне транзакции - сразу
+     *
+     * @param type    {@link TransferType}
+     * @param number  номер получателя, null пропускается
+     * @param blocked заблокирован ли получатель
+     */
+    public void update(TransferType type, Long number, boolean blocked) {
+        if (number == null) {
+            return;
+        }
+
+        updateAll(type, blocked ? List.of(number) : List.of(), blocked ? List.of() : List.of(number));
+    }
+
+    /**
+     * Номера применяются под одной блокировкой записи. Внутри транзакции изменение применяется после её фиксации,
+     * вне транзакции - сразу
+     *
+     * @param type      {@link TransferType}
+     * @param blocked   заблокированные номера получателей
+     * @param unblocked разблокированные номера получателей
+     */
+    public void updateAll(TransferType type, Collection<Long> blocked, Collection<Long> unblocked) {
+        if (blocked.isEmpty() && unblocked.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(type, blocked, unblocked);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(type, blocked, unblocked);
+            }
+        });
+    }
+
+    /**
+     * Применяет изменение сразу, в том числе из обработчика фиксации транзакции,
+     * где {@link #updateAll} отложил бы его до фиксации, которая уже прошла
+     *
+     * @param type      {@link TransferType}
+     * @param blocked   заблокированные номера получателей
+     * @param unblocked разблокированные номера получателей
+     */
+    public void apply(TransferType type, Collection<Long> blocked, Collection<Long> unblocked) {
+        numbers.get(type).apply(blocked, unblocked);
+    }
+
+    /**
+     * Номера одного типа. Из фильтра Блума номера не удаляются: разблокированный номер отсекает множество,
+     * а фильтр очищается при следующей загрузке на старте.
+     */
+    private static final class Numbers {
+
+        private final StampedLock lock = new StampedLock();
+        private final BloomFilter filter;
+        private final LongHashSet set;
+
+        Numbers(AntifraudProperties.Blocklist properties) {
+            this.filter = new BloomFilter(properties.getExpectedNumbers(), properties.getFalsePositiveRate());
+            this.set = new LongHashSet(properties.getExpectedNumbers());
+        }
+
+        boolean contains(long number) {
+            final long optimistic = lock.tryOptimisticRead();
+            final boolean found = filter.mightContain(number) && set.contains(number);
+
+            if (lock.validate(optimistic)) {
+                return found;
+            }
+
+            final long stamp = lock.readLock();
+            try {
+                return filter.mightContain(number) && set.contains(number);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void add(long number) {
+            final long stamp = lock.writeLock();
+            try {
+                filter.put(number);
+                set.add(number);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void apply(Collection<Long> blocked, Collection<Long> unblocked) {
+            final long stamp = lock.writeLock();
+            try {
+                for (Long number : blocked) {
+                    filter.put(number);
+                    set.add(number);
+                }
+                for (Long number : unblocked) {
+                    set.remove(number);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            final long stamp = lock.readLock();
+            try {
+                return set.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.TransferEventDto;
+import com.bank.antifraud.dto.TransferEventPayloadDto;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.entity.TransferEventType;
+import com.bank.common.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка переводов по событиям из топика {@code antifraud.consumer.topic}.
+ * Пачка событий одного опроса делится по ключу записи на {@code concurrency} частей, части проверяются
+ * параллельно, события одной части - последовательно в порядке смещений. Модуль transfer публикует все события
+ * счёта с ключом счёта отправителя, поэтому они лежат в одной секции, а kafka сохраняет порядок внутри секции:
+ * переводы одного счёта учитываются скоростными правилами в том порядке, в котором были созданы.
+ * Между разными счетами и секциями порядок не гарантируется.
+ * Решения по подозрительным переводам пачки сохраняются одной транзакцией, по одному пакетному insert на тип,
+ * и только после этого фиксируются смещения. Если сохранить не удалось, пачка повторяется, уже проверенные
+ * переводы второй раз в счётчиках не учитываются, уже сохранённые решения не дублируются.
+ * Событие, которое не удалось разобрать или которое заполнено некорректно, пропускается с записью в журнал.
+ */
+@Slf4j
+@Component
+public class TransferEventConsumer {
+
+    private final VelocityRuleEngine engine;
+    private final SuspiciousTransferWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+    private final ThreadPoolExecutor scorers;
+
+    public TransferEventConsumer(VelocityRuleEngine engine, SuspiciousTransferWriter writer,
+                                 ObjectMapper objectMapper, AntifraudProperties properties) {
+        this.engine = engine;
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.concurrency = properties.getConsumer().getConcurrency();
+        this.scorers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("antifraud-scoring-"));
+    }
+
+    /**
+     * @param records        события переводов одного опроса
+     * @param acknowledgment фиксация смещений пачки
+     */
+    @KafkaListener(topics = "${antifraud.consumer.topic:transfer-events}",
+            groupId = "${antifraud.consumer.group-id:anti-fraud}", batch = "true")
+    public void consume(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        final List<CompletableFuture<List<ScoredTransfer>>> scored = split(records).stream()
+                .map(part -> CompletableFuture.supplyAsync(() -> scoreAll(part), scorers))
+                .toList();
+
+        final List<ScoredTransfer> suspicious = scored.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+
+        if (!suspicious.isEmpty()) {
+            writer.writeAll(suspicious);
+        }
+
+        acknowledgment.acknowledge();
+        log.debug("Проверено событий переводов: {}, подозрительных: {}", records.size(), suspicious.size());
+    }
+
+    /**
+     * Останавливает проверку
+     */
+    @PreDestroy
+    public void shutdown() {
+        scorers.shutdownNow();
+    }
+
+    /**
+     * Записи с одним ключом попадают в одну часть в порядке смещений
+     */
+    private List<List<ConsumerRecord<String, String>>> split(List<ConsumerRecord<String, String>> records) {
+        final int parts = Math.max(1, Math.min(concurrency, records.size()));
+        final List<List<ConsumerRecord<String, String>>> split = new ArrayList<>(parts);
+
+        for (int i = 0; i < parts; i++) {
+            split.add(new ArrayList<>());
+        }
+
+        for (ConsumerRecord<String, String> record : records) {
+            split.get(Math.floorMod(Objects.hashCode(record.key()), parts)).add(record);
+        }
+
+        return split;
+    }
+
+    private List<ScoredTransfer> scoreAll(List<ConsumerRecord<String, String>> records) {
+        final List<ScoredTransfer> suspicious = new ArrayList<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                final TransferEventDto event = objectMapper.readValue(record.value(), TransferEventDto.class);
+                if (event.getEvent() != TransferEventType.CREATED) {
+                    continue;
+                }
+
+                final TransferScoringRequestDto request = toRequest(event);
+                final TransferScoringResultDto result = engine.score(request);
+                if (Boolean.TRUE.equals(result.getIsSuspicious())) {
+                    suspicious.add(new ScoredTransfer(request, result));
+                }
+            } catch (JsonProcessingException | ValidationException e) {
+                log.warn("Пропущено событие перевода {}-{}@{}: {}", record.topic(), record.partition(),
+                        record.offset(), e.getMessage());
+            }
+        }
+
+        return suspicious;
+    }
+
+    /**
+     * @param event {@link TransferEventDto}
+     * @return {@link TransferScoringRequestDto} с номером получателя того типа, что указан в событии
+     * @throws ValidationException если в событии нет типа или перевода
+     */
+    static TransferScoringRequestDto toRequest(TransferEventDto event) {
+        final TransferEventPayloadDto transfer = event.getTransfer();
+
+        if (event.getType() == null || transfer == null) {
+            throw new ValidationException("Не заполнен тип или перевод в событии");
+        }
+
+        final Long number = switch (event.getType()) {
+            case ACCOUNT -> transfer.getAccountNumber();
+            case CARD -> transfer.getCardNumber();
+            case PHONE -> transfer.getPhoneNumber();
+            default -> throw new IllegalStateException("Неизвестный тип перевода " + event.getType());
+        };
+
+        return new TransferScoringRequestDto(event.getType(), transfer.getId(), transfer.getAccountDetailsId(),
+                number, transfer.getAmount());
+    }
+}
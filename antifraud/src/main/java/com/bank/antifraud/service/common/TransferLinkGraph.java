@@ -0,0 +1,386 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Граф связей для поиска дропов: счета отправителей связываются с номерами счетов, карт и телефонов,
+ * на которые они переводят. Связные компоненты ведутся системой непересекающихся множеств с объединением
+ * по размеру и сокращением пути, поэтому учёт перевода и признаки для правил стоят O(α(n)):
+ * <ul>
+ *     <li>{@code fanin} - сколько разных счетов переводили получателю;</li>
+ *     <li>{@code linked_accounts} - сколько счетов в компоненте получателя через общие карты, телефоны и счета.</li>
+ * </ul>
+ * Узлы и рёбра хранятся в отображениях примитивных {@code long} и массивах фиксированного объёма
+ * {@code max-nodes} и {@code max-edges}. Удалять ребро из системы множеств нельзя, поэтому раз
+ * в {@code compaction-interval-ms} по времени переводов граф пересобирается из рёбер не старше
+ * {@code max-age-ms}, при заполнении объёма - сразу, из самых новых рёбер на три четверти объёма.
+ * Перевод по уже известной связи - самый частый случай - учитывается под блокировкой чтения параллельно
+ * с другими такими же: он только сдвигает время ребра и сокращает пути, а каждая запись пути перевешивает узел
+ * на предка в том же дереве. Новые узлы и рёбра, объединение компонент и учёт во время пересборки идут
+ * под блокировкой записи. Пересборка идёт без блокировки, переводы, учтённые за это время, затем доигрываются
+ * в новый граф. Перевод, не поместившийся в объём до пересборки, не связывается и пишется
+ * в {@code antifraud.links.dropped}, размер графа - в {@code antifraud.links.nodes} и {@code antifraud.links.edges},
+ * время учёта перевода вместе с ожиданием блокировки - в {@code antifraud.scoring.links},
+ * оно входит в {@code antifraud.scoring.latency}.
+ */
+@Slf4j
+@Component
+public class TransferLinkGraph {
+
+    private static final int TAG_BITS = 3;
+
+    private static final int JOURNAL_ENTRY = 3;
+
+    private static final Links NONE = new Links(0, 0);
+
+    private final StampedLock lock = new StampedLock();
+    private final int maxNodes;
+    private final int maxEdges;
+    private final long maxAgeMs;
+    private final long compactionIntervalMs;
+    private final Counter dropped;
+    private final Timer latency;
+    private volatile State state;
+    private long[] journal = new long[JOURNAL_ENTRY * 1024];
+    private int journalSize;
+    private boolean compacting;
+    private long compactedAtMs = Long.MIN_VALUE;
+
+    public TransferLinkGraph(AntifraudProperties properties, MeterRegistry meterRegistry) {
+        final AntifraudProperties.Links links = properties.getLinks();
+
+        this.maxNodes = links.getMaxNodes();
+        this.maxEdges = links.getMaxEdges();
+        this.maxAgeMs = links.getMaxAgeMs();
+        this.compactionIntervalMs = links.getCompactionIntervalMs();
+        this.state = new State(maxNodes, maxEdges);
+        this.dropped = Counter.builder("antifraud.links.dropped")
+                .description("Переводы, не учтённые в графе связей из-за исчерпания объёма")
+                .register(meterRegistry);
+        this.latency = Timer.builder("antifraud.scoring.links")
+                .description("Время учёта перевода в графе связей вместе с ожиданием блокировки")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        Gauge.builder("antifraud.links.nodes", this, graph -> graph.state.nodeCount)
+                .description("Счета, карты и телефоны в графе связей")
+                .register(meterRegistry);
+        Gauge.builder("antifraud.links.edges", this, graph -> graph.state.edges.size())
+                .description("Связи счетов с получателями в графе связей")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Учитывает перевод и возвращает признаки получателя вместе с ним
+     *
+     * @param accountDetailsId технический идентификатор счёта отправителя
+     * @param recipient        {@link VelocityCounter.Subject} получателя
+     * @param number           номер счёта, карты или телефона получателя
+     * @param nowMs            время перевода
+     * @return {@link Links}
+     */
+    public Links link(long accountDetailsId, VelocityCounter.Subject recipient, long number, long nowMs) {
+        final long start = System.nanoTime();
+        final long accountKey = key(VelocityCounter.Subject.ACCOUNT_DETAILS, accountDetailsId);
+        final long recipientKey = key(recipient, number);
+
+        try {
+            final Links known = linkKnown(accountKey, recipientKey, nowMs);
+            return known != null ? known : linkNew(accountKey, recipientKey, nowMs);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Пересобирает граф без устаревших рёбер, если подошёл срок по времени переводов или объём исчерпан
+     */
+    @Scheduled(fixedDelayString = "${antifraud.links.compaction-check-ms:60000}")
+    public void compact() {
+        final long[] edgeKeys;
+        final long[] edgeSeen;
+        final long[] nodeKeys;
+        final long latestMs;
+
+        long stamp = lock.writeLock();
+        try {
+            latestMs = state.latestMs.get();
+            if (!state.isFull() && latestMs - compactedAtMs < compactionIntervalMs) {
+                return;
+            }
+
+            edgeKeys = state.edges.copyKeys();
+            edgeSeen = state.edges.copyValues();
+            nodeKeys = state.nodeKeys.clone();
+            compacting = true;
+            journalSize = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        final State compacted = rebuild(edgeKeys, edgeSeen, nodeKeys, latestMs - maxAgeMs);
+
+        stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < journalSize; i += JOURNAL_ENTRY) {
+                compacted.link(journal[i], journal[i + 1], journal[i + 2]);
+            }
+
+            state = compacted;
+            compacting = false;
+            compactedAtMs = latestMs;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        log.info("Граф связей пересобран: узлов {}, рёбер {}", compacted.nodeCount, compacted.edges.size());
+    }
+
+    /**
+     * Во время пересборки каждый перевод пишется в журнал, поэтому быстрый путь не используется
+     *
+     * @return признаки получателя, null - связи ещё нет или идёт пересборка
+     */
+    private Links linkKnown(long accountKey, long recipientKey, long nowMs) {
+        final long stamp = lock.readLock();
+        try {
+            return compacting ? null : state.linkKnown(accountKey, recipientKey, nowMs);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Links linkNew(long accountKey, long recipientKey, long nowMs) {
+        final long stamp = lock.writeLock();
+        try {
+            if (compacting) {
+                journal(accountKey, recipientKey, nowMs);
+            }
+
+            final Links links = state.link(accountKey, recipientKey, nowMs);
+            if (links != null) {
+                return links;
+            }
+
+            dropped.increment();
+            return state.links(recipientKey);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Во время пересборки журнал ограничен объёмом рёбер, переводы сверх него в новый граф не попадут
+     */
+    private void journal(long accountKey, long recipientKey, long nowMs) {
+        if (journalSize + JOURNAL_ENTRY > journal.length) {
+            if (journal.length >= (long) maxEdges * JOURNAL_ENTRY) {
+                dropped.increment();
+                return;
+            }
+            journal = Arrays.copyOf(journal, journal.length * 2);
+        }
+
+        journal[journalSize++] = accountKey;
+        journal[journalSize++] = recipientKey;
+        journal[journalSize++] = nowMs;
+    }
+
+    private State rebuild(long[] edgeKeys, long[] edgeSeen, long[] nodeKeys, long minSeenMs) {
+        final long cutoff = cutoff(edgeKeys, edgeSeen, minSeenMs);
+        final State compacted = new State(maxNodes, maxEdges);
+
+        for (int i = 0; i < edgeKeys.length; i++) {
+            if (edgeKeys[i] != 0 && edgeSeen[i] >= cutoff) {
+                compacted.link(nodeKeys[(int) (edgeKeys[i] >>> Integer.SIZE)], nodeKeys[(int) edgeKeys[i]],
+                        edgeSeen[i]);
+            }
+        }
+
+        return compacted;
+    }
+
+    /**
+     * Порог времени рёбер: не старше {@code max-age-ms} и не больше трёх четвертей объёма самых новых
+     */
+    private long cutoff(long[] edgeKeys, long[] edgeSeen, long minSeenMs) {
+        final long[] live = new long[edgeKeys.length];
+        int count = 0;
+
+        for (int i = 0; i < edgeKeys.length; i++) {
+            if (edgeKeys[i] != 0 && edgeSeen[i] >= minSeenMs) {
+                live[count++] = edgeSeen[i];
+            }
+        }
+
+        final int keep = maxEdges / 4 * 3;
+        if (count <= keep) {
+            return minSeenMs;
+        }
+
+        Arrays.sort(live, 0, count);
+        return live[count - keep];
+    }
+
+    private static long key(VelocityCounter.Subject subject, long value) {
+        return value << TAG_BITS | (subject.ordinal() + 1);
+    }
+
+    /**
+     * Признаки получателя
+     *
+     * @param fanIn          сколько разных счетов переводили получателю
+     * @param linkedAccounts сколько счетов в компоненте получателя
+     */
+    public record Links(int fanIn, int linkedAccounts) {
+    }
+
+    /**
+     * Граф одного поколения между пересборками, узлы нумеруются с единицы
+     */
+    private static final class State {
+
+        private final LongLongHashMap nodes;
+        private final LongLongHashMap edges;
+        private final long[] nodeKeys;
+        private final int[] parent;
+        private final int[] size;
+        private final int[] accounts;
+        private final int[] fanIn;
+        private final AtomicLong latestMs = new AtomicLong(Long.MIN_VALUE);
+        private int nodeCount;
+
+        State(int maxNodes, int maxEdges) {
+            this.nodes = new LongLongHashMap(maxNodes);
+            this.edges = new LongLongHashMap(maxEdges);
+            this.nodeKeys = new long[maxNodes + 1];
+            this.parent = new int[maxNodes + 1];
+            this.size = new int[maxNodes + 1];
+            this.accounts = new int[maxNodes + 1];
+            this.fanIn = new int[maxNodes + 1];
+        }
+
+        /**
+         * @return признаки получателя, null - узел или ребро не поместились в объём
+         */
+        Links link(long accountKey, long recipientKey, long nowMs) {
+            latestMs.accumulateAndGet(nowMs, Math::max);
+
+            final int account = node(accountKey, 1);
+            final int recipient = node(recipientKey, 0);
+            if (account == 0 || recipient == 0) {
+                return null;
+            }
+
+            final long edge = (long) account << Integer.SIZE | recipient;
+            final long seen = edges.get(edge, Long.MIN_VALUE);
+
+            if (!edges.put(edge, Math.max(seen, nowMs))) {
+                return null;
+            }
+            if (seen == Long.MIN_VALUE) {
+                fanIn[recipient]++;
+                union(account, recipient);
+            }
+
+            return new Links(fanIn[recipient], accounts[find(recipient)]);
+        }
+
+        /**
+         * Учёт перевода по существующему ребру, вызывается параллельно под блокировкой чтения: запись времени
+         * ребра по существующему ключу не меняет таблицу, при гонке остаётся одно из близких времён
+         *
+         * @return признаки получателя, null - узла или ребра нет
+         */
+        Links linkKnown(long accountKey, long recipientKey, long nowMs) {
+            final int account = (int) nodes.get(accountKey, 0);
+            final int recipient = (int) nodes.get(recipientKey, 0);
+            if (account == 0 || recipient == 0) {
+                return null;
+            }
+
+            final long edge = (long) account << Integer.SIZE | recipient;
+            final long seen = edges.get(edge, Long.MIN_VALUE);
+            if (seen == Long.MIN_VALUE) {
+                return null;
+            }
+
+            if (nowMs > seen) {
+                edges.put(edge, nowMs);
+            }
+            if (nowMs > latestMs.get()) {
+                latestMs.accumulateAndGet(nowMs, Math::max);
+            }
+            return new Links(fanIn[recipient], accounts[find(recipient)]);
+        }
+
+        Links links(long recipientKey) {
+            final int recipient = (int) nodes.get(recipientKey, 0);
+            return recipient == 0 ? NONE : new Links(fanIn[recipient], accounts[find(recipient)]);
+        }
+
+        boolean isFull() {
+            return nodes.isFull() || edges.isFull();
+        }
+
+        /**
+         * @return номер узла, 0 - новый узел не поместился в объём
+         */
+        private int node(long key, int account) {
+            final int existing = (int) nodes.get(key, 0);
+            if (existing != 0 || !nodes.put(key, nodeCount + 1)) {
+                return existing;
+            }
+
+            final int created = ++nodeCount;
+            nodeKeys[created] = key;
+            parent[created] = created;
+            size[created] = 1;
+            accounts[created] = account;
+            return created;
+        }
+
+        /**
+         * Сокращение пути вдвое: каждый пройденный узел перевешивается на деда. Параллельные вызовы
+         * под блокировкой чтения перевешивают узлы только на предков в том же дереве, корень не меняется.
+         */
+        private int find(int node) {
+            int current = node;
+            while (parent[current] != current) {
+                parent[current] = parent[parent[current]];
+                current = parent[current];
+            }
+            return current;
+        }
+
+        private void union(int first, int second) {
+            int root = find(first);
+            int other = find(second);
+            if (root == other) {
+                return;
+            }
+
+            if (size[root] < size[other]) {
+                final int swap = root;
+                root = other;
+                other = swap;
+            }
+
+            parent[other] = root;
+            size[root] += size[other];
+            accounts[root] += accounts[other];
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Скользящие счётчики количества и суммы переводов по счёту, карте или телефону за каждое {@link VelocityWindow}.
+ * Окно делится на {@code buckets} корзин и сдвигается с шагом в одну корзину, поэтому учёт и чтение перевода -
+ * несколько десятков сложений без обращения к БД. Счётчики разбиты на {@code stripes} частей со своей
+ * блокировкой: проверки разных ключей идут параллельно и ждут друг друга, только если попали в одну часть.
+ * В каждой части не больше {@code max-keys / stripes} ключей, давно не встречавшиеся вытесняются по LRU.
+ * События могут приходить не по порядку, например при повторном прогоне истории: опоздавший перевод
+ * учитывается в своей корзине, если она ещё в окне, иначе пропускается и не обнуляет более новую корзину,
+ * а итоги считаются на время самого перевода без более поздних корзин.
+ */
+@Component
+public class VelocityCounter {
+
+    private static final VelocityWindow[] WINDOWS = VelocityWindow.values();
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final int buckets;
+    private final long[] bucketMs;
+    private final Stripe[] stripes;
+
+    public VelocityCounter(AntifraudProperties properties) {
+        final AntifraudProperties.Velocity velocity = properties.getVelocity();
+
+        this.buckets = velocity.getBuckets();
+        this.bucketMs = new long[WINDOWS.length];
+        this.stripes = new Stripe[velocity.getStripes()];
+
+        for (VelocityWindow window : WINDOWS) {
+            bucketMs[window.ordinal()] = Math.max(1L, window.getDurationMs() / buckets);
+        }
+
+        final int keysPerStripe = Math.max(1, velocity.getMaxKeys() / stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Учитывает перевод и возвращает итоги окон вместе с ним
+     *
+     * @param subject чей счётчик
+     * @param value   технический идентификатор счёта или номер счёта, карты или телефона
+     * @param nowMs   время перевода
+     * @param amount  сумма перевода в копейках
+     * @return {@link Totals}
+     */
+    public Totals add(Subject subject, long value, long nowMs, long amount) {
+        final Key key = new Key(subject, value);
+        final Stripe stripe = stripes[Math.floorMod(Long.hashCode((value + subject.ordinal()) * HASH_MULTIPLIER),
+                stripes.length)];
+
+        synchronized (stripe) {
+            return stripe.counters.computeIfAbsent(key, k -> new Counters(WINDOWS.length * buckets))
+                    .add(nowMs, amount);
+        }
+    }
+
+    /**
+     * Чей счётчик: счёт отправителя или получатель по типу перевода
+     */
+    public enum Subject {
+
+        /**
+         * счёт отправителя, по техническому идентификатору
+         */
+        ACCOUNT_DETAILS,
+
+        /**
+         * получатель по номеру счёта
+         */
+        ACCOUNT,
+
+        /**
+         * получатель по номеру карты
+         */
+        CARD,
+
+        /**
+         * получатель по номеру телефона
+         */
+        PHONE
+    }
+
+    /**
+     * Количество и сумма переводов за каждое окно
+     */
+    public static final class Totals {
+
+        private final long[] counts = new long[WINDOWS.length];
+        private final long[] amounts = new long[WINDOWS.length];
+
+        /**
+         * @param window {@link VelocityWindow}
+         * @return сколько переводов за окно
+         */
+        public long count(VelocityWindow window) {
+            return counts[window.ordinal()];
+        }
+
+        /**
+         * @param window {@link VelocityWindow}
+         * @return сумма переводов за окно в копейках
+         */
+        public long amount(VelocityWindow window) {
+            return amounts[window.ordinal()];
+        }
+    }
+
+    private record Key(Subject subject, long value) {
+    }
+
+    /**
+     * Часть счётчиков под одной блокировкой
+     */
+    private static final class Stripe {
+
+        private final Map<Key, Counters> counters;
+
+        Stripe(int maxKeys) {
+            this.counters = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Counters> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    /**
+     * Корзины всех окон одного ключа подряд: корзины окна с номером w занимают индексы
+     * с {@code w * buckets} по {@code (w + 1) * buckets - 1}. Номер интервала в slots отличает
+     * актуальную корзину от оставшейся с прошлого круга, а от корзины следующего круга - опоздавший перевод.
+     */
+    private final class Counters {
+
+        private final long[] slots;
+        private final long[] counts;
+        private final long[] amounts;
+
+        Counters(int size) {
+            this.slots = new long[size];
+            this.counts = new long[size];
+            this.amounts = new long[size];
+            Arrays.fill(slots, -1L);
+        }
+
+        Totals add(long nowMs, long amount) {
+            final Totals totals = new Totals();
+
+            for (VelocityWindow window : WINDOWS) {
+                final int w = window.ordinal();
+                final int offset = w * buckets;
+                final long slot = nowMs / bucketMs[w];
+                final int index = offset + (int) (slot % buckets);
+
+                if (slots[index] < slot) {
+                    slots[index] = slot;
+                    counts[index] = 0;
+                    amounts[index] = 0;
+                }
+                if (slots[index] == slot) {
+                    counts[index]++;
+                    amounts[index] += amount;
+                }
+
+                for (int i = offset; i < offset + buckets; i++) {
+                    if (slots[i] > slot - buckets && slots[i] <= slot) {
+                        totals.counts[w] += counts[i];
+                        totals.amounts[w] += amounts[i];
+                    }
+                }
+            }
+            return totals;
+        }
+    }
+}
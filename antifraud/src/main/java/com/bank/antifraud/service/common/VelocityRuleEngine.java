@@ -0,0 +1,254 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка перевода скоростными правилами: количество и сумма переводов со счёта отправителя и на получателя
+ * за каждое {@link VelocityWindow} сравниваются с порогами из настроек. Проверяемый перевод учитывается
+ * в счётчиках до сравнения, в том числе заблокированный: попытки перевода тоже важны для правил.
+ * Перевод получателю из {@link TransferBlocklist} блокируется.
+ * Сумма перевода сравнивается с поведенческими профилями отправителя и получателя из {@link BehaviourProfileStore}:
+ * перевод с z-оценкой суммы выше {@code suspicious-z-score} подозрителен.
+ * Перевод учитывается в {@link TransferLinkGraph}, признаки связности получателя доступны правилам.
+ * Затем перевод проверяется действующим набором правил из {@link ScoringRules}, сработавшее правило попадает
+ * в причины по своему имени.
+ * Проверка идёт в памяти, время проверки пишется в {@code antifraud.scoring.latency}, из него время учёта
+ * в графе связей - в {@code antifraud.scoring.links}.
+ * Последние {@code recent-verdicts} решений запоминаются по типу и идентификатору перевода: повторная проверка
+ * того же перевода, например при повторной доставке события, возвращает прежнее решение и не учитывает перевод
+ * в счётчиках второй раз.
+ */
+@Component
+public class VelocityRuleEngine {
+
+    private static final String REQUIRED_MESSAGE = "Не заполнены тип, перевод, счёт, получатель или сумма перевода";
+
+    private static final String AMOUNT_MESSAGE = "Сумма перевода должна быть больше нуля";
+
+    private static final String COUNT_REASON = "%s: %d переводов за %s, порог %d";
+
+    private static final String AMOUNT_REASON = "%s: переводы на %s за %s, порог %s";
+
+    private static final String BLOCKLIST_REASON = "%s в списке блокировки";
+
+    private static final String PROFILE_REASON = "%s: сумма нетипична, z-оценка %.1f, обычная сумма около %.2f";
+
+    private static final String REASON_DELIMITER = "; ";
+
+    private static final String SENDER = "счёт отправителя";
+
+    private static final Map<VelocityCounter.Subject, String> RECIPIENTS = Map.of(
+            VelocityCounter.Subject.ACCOUNT, "получатель по номеру счёта",
+            VelocityCounter.Subject.CARD, "получатель по номеру карты",
+            VelocityCounter.Subject.PHONE, "получатель по номеру телефона");
+
+    private final VelocityCounter counter;
+    private final TransferBlocklist blocklist;
+    private final BehaviourProfileStore profiles;
+    private final ScoringRules rules;
+    private final TransferLinkGraph linkGraph;
+    private final int profileMinEvents;
+    private final double suspiciousZScore;
+    private final Map<VelocityWindow, Thresholds> thresholds = new EnumMap<>(VelocityWindow.class);
+    private final StripedLruCache<Verdict, TransferScoringResultDto> verdicts;
+    private final Timer latency;
+
+    public VelocityRuleEngine(VelocityCounter counter, TransferBlocklist blocklist, BehaviourProfileStore profiles,
+                              ScoringRules rules, TransferLinkGraph linkGraph, AntifraudProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.counter = counter;
+        this.blocklist = blocklist;
+        this.profiles = profiles;
+        this.rules = rules;
+        this.linkGraph = linkGraph;
+        this.profileMinEvents = properties.getProfiles().getMinEvents();
+        this.suspiciousZScore = properties.getProfiles().getSuspiciousZScore();
+        this.thresholds.put(VelocityWindow.MINUTE, new Thresholds(properties.getVelocity().getMinute()));
+        this.thresholds.put(VelocityWindow.HOUR, new Thresholds(properties.getVelocity().getHour()));
+        this.thresholds.put(VelocityWindow.DAY, new Thresholds(properties.getVelocity().getDay()));
+        this.verdicts = new StripedLruCache<>(properties.getVelocity().getStripes(),
+                properties.getVelocity().getRecentVerdicts());
+        this.latency = Timer.builder("antifraud.scoring.latency")
+                .description("Время проверки перевода скоростными правилами")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link TransferScoringResultDto}, причина подозрения заполнена и у заблокированного перевода
+     * @throws ValidationException если перевод заполнен некорректно
+     */
+    public TransferScoringResultDto score(TransferScoringRequestDto request) {
+        check(request);
+
+        final Verdict verdict = new Verdict(request.getType(), request.getTransferId());
+        final TransferScoringResultDto known = verdicts.get(verdict);
+        if (known != null) {
+            return known;
+        }
+
+        final TransferScoringResultDto result = rate(request, System.currentTimeMillis());
+
+        verdicts.put(verdict, result);
+        return result;
+    }
+
+    /**
+     * Проверка на заданный момент без запоминания решения, для повторного прогона истории переводов
+     *
+     * @param request {@link TransferScoringRequestDto}
+     * @param nowMs   время перевода, окна правил отсчитываются от него
+     * @return {@link TransferScoringResultDto}
+     * @throws ValidationException если перевод заполнен некорректно
+     */
+    public TransferScoringResultDto scoreAt(TransferScoringRequestDto request, long nowMs) {
+        check(request);
+
+        return rate(request, nowMs);
+    }
+
+    private TransferScoringResultDto rate(TransferScoringRequestDto request, long now) {
+        final long start = System.nanoTime();
+        final long amount = toKopecks(request.getAmount());
+        final List<String> blocked = new ArrayList<>();
+        final List<String> suspicious = new ArrayList<>();
+        final VelocityCounter.Subject recipient = VelocityCounter.Subject.valueOf(request.getType().name());
+        final VelocityCounter.Totals senderTotals = counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS,
+                request.getAccountDetailsId(), now, amount);
+        final VelocityCounter.Totals recipientTotals = counter.add(recipient, request.getNumber(), now, amount);
+        final BehaviourProfileStore.Profile senderProfile = profiles.update(VelocityCounter.Subject.ACCOUNT_DETAILS,
+                request.getAccountDetailsId(), request.getAmount().doubleValue(), now);
+        final BehaviourProfileStore.Profile recipientProfile = profiles.update(recipient, request.getNumber(),
+                request.getAmount().doubleValue(), now);
+        final boolean blocklisted = blocklist.contains(request.getType(), request.getNumber());
+        final TransferLinkGraph.Links links = linkGraph.link(request.getAccountDetailsId(), recipient,
+                request.getNumber(), now);
+
+        evaluate(SENDER, senderTotals, blocked, suspicious);
+        evaluate(RECIPIENTS.get(recipient), recipientTotals, blocked, suspicious);
+        evaluateProfile(SENDER, senderProfile, suspicious);
+        evaluateProfile(RECIPIENTS.get(recipient), recipientProfile, suspicious);
+        evaluateBlocklist(RECIPIENTS.get(recipient), blocklisted, blocked, suspicious);
+
+        final RuleSet ruleSet = rules.current();
+        if (!ruleSet.isEmpty()) {
+            ruleSet.evaluate(new RuleContext(request.getType(), request.getAmount().doubleValue(), senderTotals,
+                    recipientTotals, senderProfile, recipientProfile, blocklisted, links), blocked, suspicious);
+        }
+
+        final TransferScoringResultDto result = new TransferScoringResultDto(!blocked.isEmpty(),
+                !blocked.isEmpty() || !suspicious.isEmpty(), join(blocked), join(suspicious), false);
+
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @throws ValidationException если перевод заполнен некорректно
+     */
+    public void check(TransferScoringRequestDto request) {
+        if (request == null || request.getType() == null || request.getTransferId() == null ||
+                request.getAccountDetailsId() == null || request.getNumber() == null || request.getAmount() == null) {
+            throw new ValidationException(REQUIRED_MESSAGE);
+        }
+
+        if (request.getAmount().signum() <= 0) {
+            throw new ValidationException(AMOUNT_MESSAGE);
+        }
+    }
+
+    /**
+     * Превышенный порог блокировки попадает и в причины блокировки, и в причины подозрения
+     */
+    private void evaluate(String subject, VelocityCounter.Totals totals, List<String> blocked,
+                          List<String> suspicious) {
+        for (Map.Entry<VelocityWindow, Thresholds> entry : thresholds.entrySet()) {
+            final VelocityWindow window = entry.getKey();
+            final Thresholds limits = entry.getValue();
+            final long count = totals.count(window);
+            final long amount = totals.amount(window);
+
+            if (count > limits.suspiciousCount()) {
+                final String reason = COUNT_REASON.formatted(subject, count, window.getLabel(),
+                        count > limits.blockedCount() ? limits.blockedCount() : limits.suspiciousCount());
+                suspicious.add(reason);
+                if (count > limits.blockedCount()) {
+                    blocked.add(reason);
+                }
+            }
+
+            if (amount > limits.suspiciousAmount()) {
+                final String reason = AMOUNT_REASON.formatted(subject, toRubles(amount), window.getLabel(),
+                        toRubles(amount > limits.blockedAmount() ? limits.blockedAmount() : limits.suspiciousAmount()));
+                suspicious.add(reason);
+                if (amount > limits.blockedAmount()) {
+                    blocked.add(reason);
+                }
+            }
+        }
+    }
+
+    /**
+     * Перевод сравнивается с профилем до учёта в нём, подозрительна только сумма выше обычной
+     */
+    private void evaluateProfile(String subject, BehaviourProfileStore.Profile profile, List<String> suspicious) {
+        if (profile.count() >= profileMinEvents && profile.zScore() > suspiciousZScore) {
+            suspicious.add(PROFILE_REASON.formatted(subject, profile.zScore(), Math.expm1(profile.mean())));
+        }
+    }
+
+    private static void evaluateBlocklist(String subject, boolean blocklisted, List<String> blocked,
+                                          List<String> suspicious) {
+        if (blocklisted) {
+            final String reason = BLOCKLIST_REASON.formatted(subject);
+            blocked.add(reason);
+            suspicious.add(reason);
+        }
+    }
+
+    private static String join(List<String> reasons) {
+        return reasons.isEmpty() ? null : String.join(REASON_DELIMITER, reasons);
+    }
+
+    private static long toKopecks(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.UP).longValueExact();
+    }
+
+    private static BigDecimal toRubles(long kopecks) {
+        return BigDecimal.valueOf(kopecks, 2);
+    }
+
+    /**
+     * Пороги одного окна, суммы в копейках
+     */
+    private record Thresholds(long suspiciousCount, long suspiciousAmount, long blockedCount, long blockedAmount) {
+
+        Thresholds(AntifraudProperties.Limits limits) {
+            this(limits.getSuspiciousCount(), toKopecks(limits.getSuspiciousAmount()), limits.getBlockedCount(),
+                    toKopecks(limits.getBlockedAmount()));
+        }
+    }
+
+    /**
+     * Ключ запомненного решения
+     */
+    private record Verdict(TransferType type, Long transferId) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.antifraud.service.common;
+
+/**
+ * Окно скоростных правил
+ */
+public enum VelocityWindow {
+
+    MINUTE(60_000L, "1 мин"),
+
+    HOUR(3_600_000L, "1 ч"),
+
+    DAY(86_400_000L, "24 ч");
+
+    private final long durationMs;
+
+    private final String label;
+
+    VelocityWindow(long durationMs, String label) {
+        this.durationMs = durationMs;
+        this.label = label;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
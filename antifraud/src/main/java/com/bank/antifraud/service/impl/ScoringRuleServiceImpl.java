@@ -0,0 +1,43 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.RuleSetDto;
+import com.bank.antifraud.service.ScoringRuleService;
+import com.bank.antifraud.service.common.RuleSet;
+import com.bank.antifraud.service.common.ScoringRules;
+import com.bank.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+
+/**
+ * Реализация {@link ScoringRuleService}
+ */
+@Service
+@RequiredArgsConstructor
+public class ScoringRuleServiceImpl implements ScoringRuleService {
+
+    private final ScoringRules rules;
+
+    /**
+     * @return действующий {@link RuleSetDto}
+     */
+    @Override
+    public RuleSetDto find() {
+        return toDto(rules.current());
+    }
+
+    /**
+     * @return загруженный {@link RuleSetDto}
+     * @throws ValidationException если путь к правилам не задан или правила не компилируются
+     */
+    @Override
+    public RuleSetDto reload() {
+        return toDto(rules.reload());
+    }
+
+    private static RuleSetDto toDto(RuleSet ruleSet) {
+        return new RuleSetDto(ruleSet.getVersion(),
+                ruleSet.getVersion() == 0 ? null : new Timestamp(ruleSet.getLoadedAtMs()), ruleSet.getNames());
+    }
+}
@@ -1,16 +1,25 @@
 package com.bank.antifraud.service.impl;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousAccountTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
+import com.bank.antifraud.entity.TransferType;
 import com.bank.antifraud.mappers.SuspiciousAccountTransferMapper;
 import com.bank.antifraud.repository.SuspiciousAccountTransferRepository;
 import com.bank.antifraud.service.SuspiciousAccountTransferService;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.antifraud.service.common.SuspiciousTransferReviewer;
+import com.bank.antifraud.service.common.SuspiciousVerdictCache;
+import com.bank.antifraud.service.common.TransferBlocklist;
+import com.bank.common.util.BatchEntityFinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Реализация {@link SuspiciousAccountTransferService}
@@ -20,10 +29,16 @@ import java.util.List;
 public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTransferService {
 
     private static final String MESSAGE = "SuspiciousAccountTransfer по данному id не существует";
+    private static final String MESSAGE_IDS = "SuspiciousAccountTransfer не существует для id ";
+    private static final String MESSAGE_TRANSFER = "SuspiciousAccountTransfer не существует для перевода ";
 
     private final SuspiciousAccountTransferRepository repository;
     private final SuspiciousAccountTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBlocklist blocklist;
+    private final SuspiciousVerdictCache verdictCache;
+    private final SuspiciousTransferReviewer reviewer;
 
     /**
      * @param accountTransfer {@link SuspiciousAccountTransferDto}
@@ -37,6 +52,11 @@ public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTr
                 mapper.toEntity(accountTransfer)
         );
 
+        if (Boolean.TRUE.equals(suspiciousTransfer.getIsBlocked())) {
+            blocklist.update(TransferType.ACCOUNT, suspiciousTransfer.getAccountNumber(), true);
+        }
+        verdictCache.invalidate(TransferType.ACCOUNT, suspiciousTransfer.getAccountTransferId());
+
         return mapper.toDto(suspiciousTransfer);
     }
 
@@ -64,9 +84,24 @@ public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTr
         final SuspiciousAccountTransferEntity suspiciousTransfer = repository.findById(id)
                 .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
 
+        final Long oldNumber = suspiciousTransfer.getAccountNumber();
+        final Long oldTransferId = suspiciousTransfer.getAccountTransferId();
+
         final SuspiciousAccountTransferEntity transfer = mapper.mergeToEntity(accountTransfer, suspiciousTransfer);
 
-        return mapper.toDto(repository.save(transfer));
+        final SuspiciousAccountTransferEntity saved = repository.save(transfer);
+
+        refreshBlocklist(oldNumber);
+        if (!Objects.equals(oldNumber, saved.getAccountNumber())) {
+            refreshBlocklist(saved.getAccountNumber());
+        }
+
+        verdictCache.invalidate(TransferType.ACCOUNT, oldTransferId);
+        if (!Objects.equals(oldTransferId, saved.getAccountTransferId())) {
+            verdictCache.invalidate(TransferType.ACCOUNT, saved.getAccountTransferId());
+        }
+
+        return mapper.toDto(saved);
     }
 
     /**
@@ -76,11 +111,56 @@ public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTr
     @Override
     public List<SuspiciousAccountTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousAccountTransferEntity> suspiciousAccountTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousAccountTransferEntity> suspiciousAccountTransfers = batchFinder.findAllById(
+                ids, repository::findAllById, SuspiciousAccountTransferEntity::getId, MESSAGE_IDS);
 
         return mapper.toListDto(suspiciousAccountTransfers);
     }
+
+    /**
+     * Решение читается по уникальному индексу account_transfer_id через {@link SuspiciousVerdictCache}
+     *
+     * @param transferId технический идентификатор исходного перевода по номеру cчёта
+     * @return {@link SuspiciousAccountTransferDto}
+     */
+    @Override
+    public SuspiciousAccountTransferDto findByTransferId(Long transferId) {
+        final Optional<SuspiciousAccountTransferDto> verdict = verdictCache.find(TransferType.ACCOUNT, transferId,
+                id -> repository.findByAccountTransferId(id).map(mapper::toDto));
+
+        return verdict.orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE_TRANSFER + transferId));
+    }
+
+    /**
+     * Решения, которых нет в {@link SuspiciousVerdictCache}, читаются одним запросом
+     *
+     * @param transferIds технические идентификаторы исходных переводов по номеру cчёта
+     * @return лист {@link SuspiciousAccountTransferDto} по переводам, у которых есть решение
+     */
+    @Override
+    public List<SuspiciousAccountTransferDto> findAllByTransferId(List<Long> transferIds) {
+        return verdictCache.findAll(TransferType.ACCOUNT, transferIds,
+                ids -> mapper.toListDto(repository.findAllByAccountTransferIdIn(ids)),
+                SuspiciousAccountTransferDto::getAccountTransferId);
+    }
+
+    /**
+     * Одним оператором UPDATE для всех идентификаторов, без чтения переводов перед изменением
+     *
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру cчёта
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    @Override
+    public List<ReviewItemResultDto> review(SuspiciousReviewDto review) {
+        return reviewer.review(TransferType.ACCOUNT, review);
+    }
+
+    /**
+     * Получатель остаётся в списке блокировки, пока у него есть хотя бы один заблокированный перевод
+     */
+    private void refreshBlocklist(Long number) {
+        if (number != null) {
+            blocklist.update(TransferType.ACCOUNT, number, repository.existsByAccountNumberAndIsBlockedTrue(number));
+        }
+    }
 }
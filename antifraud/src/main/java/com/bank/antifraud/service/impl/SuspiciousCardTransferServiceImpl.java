@@ -1,16 +1,25 @@
 package com.bank.antifraud.service.impl;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
+import com.bank.antifraud.entity.TransferType;
 import com.bank.antifraud.mappers.SuspiciousCardTransferMapper;
 import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
 import com.bank.antifraud.service.SuspiciousCardTransferService;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.antifraud.service.common.SuspiciousTransferReviewer;
+import com.bank.antifraud.service.common.SuspiciousVerdictCache;
+import com.bank.antifraud.service.common.TransferBlocklist;
+import com.bank.common.util.BatchEntityFinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Реализация {@link SuspiciousCardTransferService}
@@ -20,10 +29,16 @@ import java.util.List;
 public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransferService {
 
     private static final String MESSAGE = "SuspiciousCardTransfer по данному id не существует";
+    private static final String MESSAGE_IDS = "SuspiciousCardTransfer не существует для id ";
+    private static final String MESSAGE_TRANSFER = "SuspiciousCardTransfer не существует для перевода ";
 
     private final SuspiciousCardTransferRepository repository;
     private final SuspiciousCardTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBlocklist blocklist;
+    private final SuspiciousVerdictCache verdictCache;
+    private final SuspiciousTransferReviewer reviewer;
 
     /**
      * @param cardTransfer {@link SuspiciousCardTransferDto}
@@ -37,6 +52,11 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
                 mapper.toEntity(cardTransfer)
         );
 
+        if (Boolean.TRUE.equals(suspiciousTransfer.getIsBlocked())) {
+            blocklist.update(TransferType.CARD, suspiciousTransfer.getCardNumber(), true);
+        }
+        verdictCache.invalidate(TransferType.CARD, suspiciousTransfer.getCardTransferId());
+
         return mapper.toDto(suspiciousTransfer);
     }
 
@@ -64,9 +84,24 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
         final SuspiciousCardTransferEntity suspiciousTransfer = repository.findById(id)
                 .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
 
+        final Long oldNumber = suspiciousTransfer.getCardNumber();
+        final Long oldTransferId = suspiciousTransfer.getCardTransferId();
+
         final SuspiciousCardTransferEntity transfer = mapper.mergeToEntity(cardTransfer, suspiciousTransfer);
 
-        return mapper.toDto(repository.save(transfer));
+        final SuspiciousCardTransferEntity saved = repository.save(transfer);
+
+        refreshBlocklist(oldNumber);
+        if (!Objects.equals(oldNumber, saved.getCardNumber())) {
+            refreshBlocklist(saved.getCardNumber());
+        }
+
+        verdictCache.invalidate(TransferType.CARD, oldTransferId);
+        if (!Objects.equals(oldTransferId, saved.getCardTransferId())) {
+            verdictCache.invalidate(TransferType.CARD, saved.getCardTransferId());
+        }
+
+        return mapper.toDto(saved);
     }
 
     /**
@@ -76,11 +111,56 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
     @Override
     public List<SuspiciousCardTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousCardTransferEntity> suspiciousCardTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousCardTransferEntity> suspiciousCardTransfers = batchFinder.findAllById(
+                ids, repository::findAllById, SuspiciousCardTransferEntity::getId, MESSAGE_IDS);
 
         return mapper.toListDto(suspiciousCardTransfers);
     }
+
+    /**
+     * Решение читается по уникальному индексу card_transfer_id через {@link SuspiciousVerdictCache}
+     *
+     * @param transferId технический идентификатор исходного перевода по номеру карты
+     * @return {@link SuspiciousCardTransferDto}
+     */
+    @Override
+    public SuspiciousCardTransferDto findByTransferId(Long transferId) {
+        final Optional<SuspiciousCardTransferDto> verdict = verdictCache.find(TransferType.CARD, transferId,
+                id -> repository.findByCardTransferId(id).map(mapper::toDto));
+
+        return verdict.orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE_TRANSFER + transferId));
+    }
+
+    /**
+     * Решения, которых нет в {@link SuspiciousVerdictCache}, читаются одним запросом
+     *
+     * @param transferIds технические идентификаторы исходных переводов по номеру карты
+     * @return лист {@link SuspiciousCardTransferDto} по переводам, у которых есть решение
+     */
+    @Override
+    public List<SuspiciousCardTransferDto> findAllByTransferId(List<Long> transferIds) {
+        return verdictCache.findAll(TransferType.CARD, transferIds,
+                ids -> mapper.toListDto(repository.findAllByCardTransferIdIn(ids)),
+                SuspiciousCardTransferDto::getCardTransferId);
+    }
+
+    /**
+     * Одним оператором UPDATE для всех идентификаторов, без чтения переводов перед изменением
+     *
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру карты
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    @Override
+    public List<ReviewItemResultDto> review(SuspiciousReviewDto review) {
+        return reviewer.review(TransferType.CARD, review);
+    }
+
+    /**
+     * Получатель остаётся в списке блокировки, пока у него есть хотя бы один заблокированный перевод
+     */
+    private void refreshBlocklist(Long number) {
+        if (number != null) {
+            blocklist.update(TransferType.CARD, number, repository.existsByCardNumberAndIsBlockedTrue(number));
+        }
+    }
 }
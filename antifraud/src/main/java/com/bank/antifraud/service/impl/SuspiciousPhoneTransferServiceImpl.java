@@ -1,16 +1,25 @@
 package com.bank.antifraud.service.impl;
 
+import com.bank.antifraud.dto.ReviewItemResultDto;
 import com.bank.antifraud.dto.SuspiciousPhoneTransferDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
+import com.bank.antifraud.entity.TransferType;
 import com.bank.antifraud.mappers.SuspiciousPhoneTransferMapper;
 import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
 import com.bank.antifraud.service.SuspiciousPhoneTransferService;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.antifraud.service.common.SuspiciousTransferReviewer;
+import com.bank.antifraud.service.common.SuspiciousVerdictCache;
+import com.bank.antifraud.service.common.TransferBlocklist;
+import com.bank.common.util.BatchEntityFinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Реализация {@link SuspiciousPhoneTransferService}
@@ -20,10 +29,16 @@ import java.util.List;
 public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransferService {
 
     private static final String MESSAGE = "SuspiciousPhoneTransfer по данному id не существует";
+    private static final String MESSAGE_IDS = "SuspiciousPhoneTransfer не существует для id ";
+    private static final String MESSAGE_TRANSFER = "SuspiciousPhoneTransfer не существует для перевода ";
 
     private final SuspiciousPhoneTransferRepository repository;
     private final SuspiciousPhoneTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBlocklist blocklist;
+    private final SuspiciousVerdictCache verdictCache;
+    private final SuspiciousTransferReviewer reviewer;
 
     /**
      * @param phoneTransfer {@link SuspiciousPhoneTransferDto}
@@ -37,6 +52,11 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
                 mapper.toEntity(phoneTransfer)
         );
 
+        if (Boolean.TRUE.equals(suspiciousTransfer.getIsBlocked())) {
+            blocklist.update(TransferType.PHONE, suspiciousTransfer.getPhoneNumber(), true);
+        }
+        verdictCache.invalidate(TransferType.PHONE, suspiciousTransfer.getPhoneTransferId());
+
         return mapper.toDto(suspiciousTransfer);
     }
 
@@ -65,9 +85,24 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
         final SuspiciousPhoneTransferEntity suspiciousTransfer = repository.findById(id)
                 .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
 
+        final Long oldNumber = suspiciousTransfer.getPhoneNumber();
+        final Long oldTransferId = suspiciousTransfer.getPhoneTransferId();
+
         final SuspiciousPhoneTransferEntity transfer = mapper.mergeToEntity(phoneTransfer, suspiciousTransfer);
 
-        return mapper.toDto(repository.save(transfer));
+        final SuspiciousPhoneTransferEntity saved = repository.save(transfer);
+
+        refreshBlocklist(oldNumber);
+        if (!Objects.equals(oldNumber, saved.getPhoneNumber())) {
+            refreshBlocklist(saved.getPhoneNumber());
+        }
+
+        verdictCache.invalidate(TransferType.PHONE, oldTransferId);
+        if (!Objects.equals(oldTransferId, saved.getPhoneTransferId())) {
+            verdictCache.invalidate(TransferType.PHONE, saved.getPhoneTransferId());
+        }
+
+        return mapper.toDto(saved);
     }
 
     /**
@@ -77,11 +112,56 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
     @Override
     public List<SuspiciousPhoneTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousPhoneTransferEntity> suspiciousPhoneTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousPhoneTransferEntity> suspiciousPhoneTransfers = batchFinder.findAllById(
+                ids, repository::findAllById, SuspiciousPhoneTransferEntity::getId, MESSAGE_IDS);
 
         return mapper.toListDto(suspiciousPhoneTransfers);
     }
+
+    /**
+     * Решение читается по уникальному индексу phone_transfer_id через {@link SuspiciousVerdictCache}
+     *
+     * @param transferId технический идентификатор исходного перевода по номеру телефона
+     * @return {@link SuspiciousPhoneTransferDto}
+     */
+    @Override
+    public SuspiciousPhoneTransferDto findByTransferId(Long transferId) {
+        final Optional<SuspiciousPhoneTransferDto> verdict = verdictCache.find(TransferType.PHONE, transferId,
+                id -> repository.findByPhoneTransferId(id).map(mapper::toDto));
+
+        return verdict.orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE_TRANSFER + transferId));
+    }
+
+    /**
+     * Решения, которых нет в {@link SuspiciousVerdictCache}, читаются одним запросом
+     *
+     * @param transferIds технические идентификаторы исходных переводов по номеру телефона
+     * @return лист {@link SuspiciousPhoneTransferDto} по переводам, у которых есть решение
+     */
+    @Override
+    public List<SuspiciousPhoneTransferDto> findAllByTransferId(List<Long> transferIds) {
+        return verdictCache.findAll(TransferType.PHONE, transferIds,
+                ids -> mapper.toListDto(repository.findAllByPhoneTransferIdIn(ids)),
+                SuspiciousPhoneTransferDto::getPhoneTransferId);
+    }
+
+    /**
+     * Одним оператором UPDATE для всех идентификаторов, без чтения переводов перед изменением
+     *
+     * @param review {@link SuspiciousReviewDto} решение по нескольким подозрительным переводам по номеру телефона
+     * @return лист {@link ReviewItemResultDto} по каждому идентификатору
+     */
+    @Override
+    public List<ReviewItemResultDto> review(SuspiciousReviewDto review) {
+        return reviewer.review(TransferType.PHONE, review);
+    }
+
+    /**
+     * Получатель остаётся в списке блокировки, пока у него есть хотя бы один заблокированный перевод
+     */
+    private void refreshBlocklist(Long number) {
+        if (number != null) {
+            blocklist.update(TransferType.PHONE, number, repository.existsByPhoneNumberAndIsBlockedTrue(number));
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.BlocklistEntryDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.antifraud.service.TransferBlocklistService;
+import com.bank.antifraud.service.common.TransferBlocklist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Реализация {@link TransferBlocklistService}, ответ из памяти без обращения к БД
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferBlocklistServiceImpl implements TransferBlocklistService {
+
+    private final TransferBlocklist blocklist;
+
+    /**
+     * @param type   {@link TransferType}
+     * @param number номер счёта, карты или телефона получателя
+     * @return {@link BlocklistEntryDto}
+     */
+    @Override
+    public BlocklistEntryDto find(TransferType type, Long number) {
+        return new BlocklistEntryDto(type, number, blocklist.contains(type, number));
+    }
+}
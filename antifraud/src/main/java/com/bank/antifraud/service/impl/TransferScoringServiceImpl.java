@@ -0,0 +1,29 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.service.TransferScoringService;
+import com.bank.antifraud.service.common.ScoringAdmission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Реализация {@link TransferScoringService}.
+ * Перевод проверяется через очередь {@link ScoringAdmission}. Решение по подозрительному или заблокированному
+ * переводу сохраняется в таблицу подозрительных переводов его типа, чистые переводы в БД не пишутся.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferScoringServiceImpl implements TransferScoringService {
+
+    private final ScoringAdmission admission;
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link TransferScoringResultDto} решение по переводу
+     */
+    @Override
+    public TransferScoringResultDto score(TransferScoringRequestDto request) {
+        return admission.score(request);
+    }
+}
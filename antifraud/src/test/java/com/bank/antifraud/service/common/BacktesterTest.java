@@ -0,0 +1,100 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.BacktestReportDto;
+import com.bank.antifraud.entity.TransferType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Тесты для {@link Backtester}
+ */
+class BacktesterTest {
+
+    private Backtester backtester;
+
+    @BeforeEach
+    void init() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getVelocity().getMinute().setSuspiciousCount(2);
+        properties.getProfiles().setCapacity(1024);
+        properties.getBlocklist().setExpectedNumbers(16);
+        properties.getLinks().setMaxNodes(1024);
+        properties.getLinks().setMaxEdges(1024);
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final VelocityRuleEngine engine = new VelocityRuleEngine(new VelocityCounter(properties),
+                new TransferBlocklist(mock(JdbcTemplate.class), properties, meterRegistry),
+                new BehaviourProfileStore(properties, meterRegistry), new ScoringRules(properties, meterRegistry),
+                new TransferLinkGraph(properties, meterRegistry), properties, meterRegistry);
+
+        backtester = new Backtester(engine, 2, 2, () -> { });
+    }
+
+    @Test
+    @DisplayName("повторная проверка истории из CSV, позитивный сценарий")
+    void runCsvPositiveTest() throws Exception {
+        final String csv = """
+                type,id,account_details_id,number,amount,created_at
+                CARD,1,10,100,10.00,2024-01-01 10:00:00
+                CARD,2,10,101,10.00,2024-01-01 10:00:10
+                CARD,3,10,102,10.00,2024-01-01 10:00:20
+                CARD,4,10,103,10.00,2024-01-01 10:00:30
+                CARD,5,20,104,10.00,2024-01-01 10:00:40
+                CARD,6,,105,10.00,2024-01-01 10:00:50
+                """;
+        final BacktestLabels labels = new BacktestLabels(16);
+        labels.add(TransferType.CARD, 3L);
+        labels.add(TransferType.CARD, 5L);
+
+        final BacktestReportDto report = backtester.run(
+                new CsvBacktestSource(new BufferedReader(new StringReader(csv))), labels);
+
+        assertAll(
+                () -> assertEquals(5L, report.getTransfers()),
+                () -> assertEquals(1L, report.getSkipped()),
+                () -> assertEquals(1L, report.getTruePositives()),
+                () -> assertEquals(1L, report.getFalsePositives()),
+                () -> assertEquals(1L, report.getFalseNegatives()),
+                () -> assertEquals(2L, report.getTrueNegatives()),
+                () -> assertEquals(0.5, report.getPrecision()),
+                () -> assertEquals(0.5, report.getRecall())
+        );
+    }
+
+    @Test
+    @DisplayName("изменения переводов и неразобранные строки JSON Lines пропускаются, негативный сценарий")
+    void runJsonLinesWithSkippedLinesNegativeTest() throws Exception {
+        final String jsonLines = """
+                {"event":"CREATED","type":"PHONE","transfer":{"id":1,"phoneNumber":79000000000,\
+                "amount":10.00,"accountDetailsId":10,"createdAt":1704103200000}}
+                {"event":"UPDATED","type":"PHONE","transfer":{"id":1,"phoneNumber":79000000000,\
+                "amount":20.00,"accountDetailsId":10,"createdAt":1704103200000}}
+                {"type":"PHONE","transfer":{"id":2,"phoneNumber":79000000001,"amount":10.00,"accountDetailsId":10}}
+                not a json
+                """;
+
+        final BacktestReportDto report = backtester.run(new JsonLinesBacktestSource(
+                new BufferedReader(new StringReader(jsonLines)), new ObjectMapper()), new BacktestLabels(16));
+
+        assertAll(
+                () -> assertEquals(1L, report.getTransfers()),
+                () -> assertEquals(3L, report.getSkipped()),
+                () -> assertEquals(1L, report.getTrueNegatives()),
+                () -> assertNull(report.getPrecision()),
+                () -> assertNull(report.getRecall())
+        );
+    }
+}
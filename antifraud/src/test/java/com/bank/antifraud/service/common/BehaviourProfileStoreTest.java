@@ -0,0 +1,92 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link BehaviourProfileStore}
+ */
+class BehaviourProfileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private AntifraudProperties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new AntifraudProperties();
+        properties.getProfiles().setCapacity(256);
+        properties.getProfiles().setSegments(4);
+    }
+
+    @Test
+    @DisplayName("сумма намного выше обычной получает высокую z-оценку, позитивный сценарий")
+    void updatePositiveTest() {
+        final BehaviourProfileStore store = new BehaviourProfileStore(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            store.update(VelocityCounter.Subject.CARD, 4000L, i % 2 == 0 ? 900 : 1_100, i * 60_000L);
+        }
+
+        final BehaviourProfileStore.Profile usual = store.update(VelocityCounter.Subject.CARD, 4000L, 1_000,
+                50 * 60_000L);
+        final BehaviourProfileStore.Profile spike = store.update(VelocityCounter.Subject.CARD, 4000L, 100_000,
+                51 * 60_000L);
+        final BehaviourProfileStore.Profile other = store.update(VelocityCounter.Subject.PHONE, 4000L, 100_000,
+                51 * 60_000L);
+
+        assertAll(
+                () -> assertEquals(50, usual.count()),
+                () -> assertTrue(Math.abs(usual.zScore()) < 1),
+                () -> assertTrue(spike.zScore() > 4),
+                () -> assertEquals(60_000, spike.meanIntervalMs(), 1),
+                () -> assertEquals(0, other.count())
+        );
+    }
+
+    @Test
+    @DisplayName("профили восстанавливаются из файла после перезапуска, позитивный сценарий")
+    void snapshotPositiveTest() {
+        properties.getProfiles().setSnapshotPath(directory.resolve("profiles.bin").toString());
+
+        final BehaviourProfileStore store = new BehaviourProfileStore(properties, new SimpleMeterRegistry());
+        store.update(VelocityCounter.Subject.ACCOUNT_DETAILS, 10L, 500, 1_000L);
+        store.update(VelocityCounter.Subject.ACCOUNT_DETAILS, 10L, 700, 2_000L);
+        store.snapshot();
+
+        final BehaviourProfileStore restored = new BehaviourProfileStore(properties, new SimpleMeterRegistry());
+        final BehaviourProfileStore.Profile profile = restored.update(VelocityCounter.Subject.ACCOUNT_DETAILS, 10L,
+                600, 3_000L);
+
+        assertAll(
+                () -> assertEquals(2, profile.count()),
+                () -> assertEquals(1_000, profile.meanIntervalMs(), 0.001)
+        );
+    }
+
+    @Test
+    @DisplayName("файл профилей другой ёмкости не используется, негативный сценарий")
+    void snapshotOtherCapacityNegativeTest() {
+        properties.getProfiles().setSnapshotPath(directory.resolve("profiles.bin").toString());
+
+        new BehaviourProfileStore(properties, new SimpleMeterRegistry())
+                .update(VelocityCounter.Subject.PHONE, 79990000000L, 500, 1_000L);
+
+        properties.getProfiles().setCapacity(512);
+        final BehaviourProfileStore.Profile profile = new BehaviourProfileStore(properties, new SimpleMeterRegistry())
+                .update(VelocityCounter.Subject.PHONE, 79990000000L, 500, 2_000L);
+
+        assertEquals(0, profile.count());
+    }
+}
@@ -0,0 +1,189 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link RuleCompiler}
+ */
+class RuleCompilerTest {
+
+    /**
+     * fanin у получателя в проверяемых переводах
+     */
+    private static final int FAN_IN = 3;
+
+    @Test
+    @DisplayName("сравнение значения с числом справа, позитивный сценарий")
+    void compareConstantRightPositiveTest() {
+        assertAll(
+                () -> assertEquals(List.of(false, false, true), around("amount > 100")),
+                () -> assertEquals(List.of(false, true, true), around("amount >= 100")),
+                () -> assertEquals(List.of(true, false, false), around("amount < 100")),
+                () -> assertEquals(List.of(true, true, false), around("amount <= 100")),
+                () -> assertEquals(List.of(false, true, false), around("amount == 100")),
+                () -> assertEquals(List.of(true, false, true), around("amount != 100"))
+        );
+    }
+
+    @Test
+    @DisplayName("сравнение с числом слева переворачивает оператор, позитивный сценарий")
+    void compareConstantLeftPositiveTest() {
+        assertAll(
+                () -> assertEquals(List.of(true, false, false), around("100 > amount")),
+                () -> assertEquals(List.of(true, true, false), around("100 >= amount")),
+                () -> assertEquals(List.of(false, false, true), around("100 < amount")),
+                () -> assertEquals(List.of(false, true, true), around("100 <= amount")),
+                () -> assertEquals(List.of(false, true, false), around("100 == amount")),
+                () -> assertEquals(List.of(true, false, true), around("100 != amount"))
+        );
+    }
+
+    @Test
+    @DisplayName("сравнение двух значений и двух чисел, позитивный сценарий")
+    void compareOperandsPositiveTest() {
+        assertAll(
+                () -> assertTrue(matches("amount > fanin", TransferType.CARD, FAN_IN + 1, false)),
+                () -> assertFalse(matches("amount > fanin", TransferType.CARD, FAN_IN, false)),
+                () -> assertTrue(matches("2 > 1", TransferType.CARD, 0, false)),
+                () -> assertFalse(matches("1 >= 2", TransferType.CARD, 0, false))
+        );
+    }
+
+    @Test
+    @DisplayName("остаток от деления на число, на значение и между числами, позитивный сценарий")
+    void moduloPositiveTest() {
+        assertAll(
+                () -> assertTrue(matches("amount % 1000 == 0", TransferType.CARD, 5000, false)),
+                () -> assertFalse(matches("amount % 1000 == 0", TransferType.CARD, 5001, false)),
+                () -> assertTrue(matches("amount % fanin == 1", TransferType.CARD, 7, false)),
+                () -> assertTrue(matches("10 % 3 == 1", TransferType.CARD, 0, false)),
+                () -> assertTrue(matches("amount % 100 % 7 == 2", TransferType.CARD, 1009, false))
+        );
+    }
+
+    @Test
+    @DisplayName("остаток от деления на ноль, негативный сценарий")
+    void moduloByZeroNegativeTest() {
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule zero block when amount % 0 == 0"));
+
+        assertEquals("Строка 1: остаток от деления на ноль", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("not, скобки и and раньше or, позитивный сценарий")
+    void notParenthesesPrecedencePositiveTest() {
+        assertAll(
+                () -> assertTrue(matches("not amount > 100", TransferType.CARD, 50, false)),
+                () -> assertFalse(matches("not not amount > 100", TransferType.CARD, 50, false)),
+                () -> assertTrue(matches("not (amount > 100 or blocklisted)", TransferType.CARD, 50, false)),
+                () -> assertTrue(matches("blocklisted or amount > 100 and amount < 50", TransferType.CARD, 200,
+                        true)),
+                () -> assertFalse(matches("(blocklisted or amount > 100) and amount < 50", TransferType.CARD, 200,
+                        true)),
+                () -> assertTrue(matches("((amount > 100))", TransferType.CARD, 200, false))
+        );
+    }
+
+    @Test
+    @DisplayName("сравнение типа перевода через == и !=, позитивный сценарий")
+    void typePositiveTest() {
+        assertAll(
+                () -> assertTrue(matches("type == CARD", TransferType.CARD, 0, false)),
+                () -> assertFalse(matches("type == CARD", TransferType.PHONE, 0, false)),
+                () -> assertFalse(matches("type != PHONE", TransferType.PHONE, 0, false)),
+                () -> assertTrue(matches("type != PHONE", TransferType.ACCOUNT, 0, false))
+        );
+    }
+
+    @Test
+    @DisplayName("тип перевода с другим оператором или неизвестный, негативный сценарий")
+    void typeNegativeTest() {
+        final ValidationException operator = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule kind block when type > CARD"));
+        final ValidationException unknown = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule kind block when type == BANK"));
+
+        assertAll(
+                () -> assertEquals("Строка 1: тип перевода сравнивается только через == и !=",
+                        operator.getMessage()),
+                () -> assertEquals("Строка 1: неизвестный тип перевода BANK", unknown.getMessage())
+        );
+    }
+
+    @Test
+    @DisplayName("повторное имя правила, негативный сценарий")
+    void duplicateNameNegativeTest() {
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("""
+                        # комментарий
+                        rule twice suspicious when amount > 1
+
+                        rule twice block when amount > 2
+                        """));
+
+        assertEquals("Строка 4: правило twice уже объявлено", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("лишнее после условия, негативный сценарий")
+    void trailingTokenNegativeTest() {
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule ok block when amount > 1\nrule tail block when amount > 1 2"));
+
+        assertEquals("Строка 2: лишнее 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("непонятный символ, позиция считается от начала строки, негативный сценарий")
+    void unknownCharacterNegativeTest() {
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("  rule amp block when amount > 1 & blocklisted"));
+
+        assertEquals("Строка 1: непонятный символ в позиции 34", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("число слитно с именем, негативный сценарий")
+    void numberGluedToNameNegativeTest() {
+        final ValidationException integer = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule glued block when amount > 55abc"));
+        final ValidationException decimal = assertThrows(ValidationException.class,
+                () -> RuleCompiler.compile("rule glued block when amount > 5.5_x"));
+
+        assertAll(
+                () -> assertEquals("Строка 1: число слитно с именем в позиции 32", integer.getMessage()),
+                () -> assertEquals("Строка 1: число слитно с именем в позиции 32", decimal.getMessage())
+        );
+    }
+
+    /**
+     * @return срабатывание условия для сумм 99, 100 и 101
+     */
+    private static List<Boolean> around(String condition) {
+        return List.of(matches(condition, TransferType.CARD, 99, false),
+                matches(condition, TransferType.CARD, 100, false),
+                matches(condition, TransferType.CARD, 101, false));
+    }
+
+    private static boolean matches(String condition, TransferType type, double amount, boolean blocklisted) {
+        final List<String> blocked = new ArrayList<>();
+        final BehaviourProfileStore.Profile profile = new BehaviourProfileStore.Profile(0, 0, 0, 0, 0);
+
+        RuleCompiler.compile("rule check block when " + condition).evaluate(new RuleContext(type, amount, null, null,
+                profile, profile, blocklisted, new TransferLinkGraph.Links(FAN_IN, 0)), blocked, new ArrayList<>());
+        return !blocked.isEmpty();
+    }
+}
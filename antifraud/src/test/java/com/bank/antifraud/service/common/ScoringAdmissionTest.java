@@ -0,0 +1,105 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link ScoringAdmission}
+ */
+class ScoringAdmissionTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private VelocityRuleEngine engine;
+
+    private SuspiciousTransferWriter writer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ScoringAdmission admission;
+
+    @BeforeEach
+    void init() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getAdmission().setWorkers(1);
+        properties.getAdmission().setQueueCapacity(1);
+        properties.getAdmission().setDeadlineMs(50);
+        properties.getAdmission().getPolicies().put(TransferType.CARD,
+                AntifraudProperties.Admission.FailurePolicy.FAIL_CLOSED);
+
+        engine = mock(VelocityRuleEngine.class);
+        writer = mock(SuspiciousTransferWriter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new ScoringAdmission(engine, writer, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void destroy() {
+        release.countDown();
+        admission.shutdown();
+    }
+
+    @Test
+    @DisplayName("перевод проверяется в пуле и решение сохраняется, позитивный сценарий")
+    void scorePositiveTest() {
+        final TransferScoringRequestDto request = request(TransferType.PHONE);
+        final TransferScoringResultDto verdict = new TransferScoringResultDto(false, true, null, "причина", false);
+        when(engine.score(request)).thenReturn(verdict);
+
+        final TransferScoringResultDto result = admission.score(request);
+
+        assertSame(verdict, result);
+        verify(writer).writeAll(List.of(new ScoredTransfer(request, verdict)));
+    }
+
+    @Test
+    @DisplayName("при истёкшем сроке и переполнении решение по настройке типа, негативный сценарий")
+    void scoreOverloadedNegativeTest() {
+        when(engine.score(any())).thenAnswer(invocation -> {
+            release.await();
+            return new TransferScoringResultDto(false, false, null, null, false);
+        });
+
+        final TransferScoringResultDto timedOut = admission.score(request(TransferType.CARD));
+        final TransferScoringResultDto queued = admission.score(request(TransferType.PHONE));
+        final TransferScoringResultDto rejected = admission.score(request(TransferType.CARD));
+
+        assertAll(
+                () -> assertTrue(timedOut.getIsBlocked()),
+                () -> assertTrue(timedOut.getIsDeferred()),
+                () -> assertFalse(queued.getIsSuspicious()),
+                () -> assertTrue(queued.getIsDeferred()),
+                () -> assertTrue(rejected.getBlockedReason().contains("переполнена")),
+                () -> assertEquals(1.0, meterRegistry.get("antifraud.scoring.shed")
+                        .tags("type", "CARD", "reason", "deadline").counter().count()),
+                () -> assertEquals(1.0, meterRegistry.get("antifraud.scoring.shed")
+                        .tags("type", "CARD", "reason", "overflow", "policy", "fail_closed").counter().count()),
+                () -> assertEquals(3.0, meterRegistry.get("antifraud.scoring.deferred.size").gauge().value())
+        );
+    }
+
+    private static TransferScoringRequestDto request(TransferType type) {
+        return new TransferScoringRequestDto(type, 1L, 10L, 100L, new BigDecimal("1000.00"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link ScoringRules}
+ */
+class ScoringRulesTest {
+
+    private static final String RULES = """
+            # правила для теста
+            rule round suspicious when type == CARD and amount >= 5000 and amount % 1000 == 0
+            rule burst block when count(sender, minute) > 2 or (blocklisted and zscore(recipient) > 3)
+            """;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    private ScoringRules rules;
+
+    @BeforeEach
+    void init() throws Exception {
+        file = directory.resolve("rules.txt");
+        Files.writeString(file, RULES);
+
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getRules().setPath(file.toString());
+
+        rules = new ScoringRules(properties, new SimpleMeterRegistry());
+        rules.load();
+    }
+
+    @Test
+    @DisplayName("сработавшие правила попадают в причины, позитивный сценарий")
+    void evaluatePositiveTest() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        final VelocityCounter counter = new VelocityCounter(properties);
+        counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L, 1_000L, 100);
+        counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L, 2_000L, 100);
+        final BehaviourProfileStore.Profile profile = new BehaviourProfileStore.Profile(0, 0, 0, 0, 0);
+
+        final List<String> blocked = new ArrayList<>();
+        final List<String> suspicious = new ArrayList<>();
+        rules.current().evaluate(new RuleContext(TransferType.CARD, 7000,
+                counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L, 3_000L, 700_000),
+                counter.add(VelocityCounter.Subject.CARD, 42L, 3_000L, 700_000), profile, profile, false,
+                new TransferLinkGraph.Links(0, 0)), blocked, suspicious);
+
+        assertAll(
+                () -> assertEquals(1L, rules.current().getVersion()),
+                () -> assertEquals(List.of("round", "burst"), rules.current().getNames()),
+                () -> assertEquals(List.of("правило burst"), blocked),
+                () -> assertEquals(List.of("правило round", "правило burst"), suspicious)
+        );
+    }
+
+    @Test
+    @DisplayName("правила с ошибкой не заменяют действующие, негативный сценарий")
+    void reloadInvalidNegativeTest() throws Exception {
+        Files.writeString(file, RULES + "rule broken block when count(sender, week) > 1\n");
+
+        final ValidationException exception = assertThrows(ValidationException.class, () -> rules.reload());
+
+        assertAll(
+                () -> assertTrue(exception.getMessage().startsWith("Строка 4")),
+                () -> assertEquals(1L, rules.current().getVersion()),
+                () -> assertEquals(List.of("round", "burst"), rules.current().getNames()),
+                () -> assertDoesNotThrow(() -> rules.reloadIfChanged())
+        );
+    }
+}
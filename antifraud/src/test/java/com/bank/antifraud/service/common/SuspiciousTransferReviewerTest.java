@@ -0,0 +1,120 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.ReviewItemResultDto;
+import com.bank.antifraud.dto.SuspiciousReviewDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link SuspiciousTransferReviewer}
+ */
+class SuspiciousTransferReviewerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransferBlocklist blocklist;
+
+    private SuspiciousTransferReviewer reviewer;
+
+    @BeforeEach
+    void init() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        blocklist = new TransferBlocklist(jdbcTemplate, properties, meterRegistry);
+        reviewer = new SuspiciousTransferReviewer(jdbcTemplate, blocklist,
+                new SuspiciousVerdictCache(properties, meterRegistry));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("блокировка нескольких переводов одним запросом, позитивный сценарий")
+    void reviewPositiveTest() throws Exception {
+        final ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(1L);
+        when(row.getLong(2)).thenReturn(100L);
+        when(row.getObject(3, Long.class)).thenReturn(4000L);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(
+                invocation -> List.of(invocation.getArgument(1, RowMapper.class).mapRow(row, 0)));
+
+        final List<ReviewItemResultDto> result = reviewer.review(TransferType.CARD,
+                new SuspiciousReviewDto(List.of(1L, 2L, 1L), true, "mule"));
+
+        assertAll(
+                () -> assertEquals(List.of(new ReviewItemResultDto(1L, true, null),
+                        new ReviewItemResultDto(2L, false, "Подозрительный перевод не найден")), result),
+                () -> assertTrue(blocklist.contains(TransferType.CARD, 4000L))
+        );
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("разблокировка проверяет другие блокировки получателя после фиксации, позитивный сценарий")
+    void reviewUnblockAfterCommitPositiveTest() throws Exception {
+        final ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(1L);
+        when(row.getLong(2)).thenReturn(100L);
+        when(row.getObject(3, Long.class)).thenReturn(4000L);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(
+                invocation -> List.of(invocation.getArgument(1, RowMapper.class).mapRow(row, 0)));
+        blocklist.update(TransferType.CARD, 4000L, true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reviewer.review(TransferType.CARD, new SuspiciousReviewDto(List.of(1L), false, null));
+
+            verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+            assertTrue(blocklist.contains(TransferType.CARD, 4000L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        assertFalse(blocklist.contains(TransferType.CARD, 4000L));
+    }
+
+    @Test
+    @DisplayName("решение с пустым идентификатором, негативный сценарий")
+    void reviewWithNullIdNegativeTest() {
+        final SuspiciousReviewDto review = new SuspiciousReviewDto(Arrays.asList(1L, null), true, null);
+
+        assertThrows(ValidationException.class, () -> reviewer.review(TransferType.CARD, review));
+    }
+
+    @Test
+    @DisplayName("решение без идентификаторов, негативный сценарий")
+    void reviewWithoutIdsNegativeTest() {
+        final SuspiciousReviewDto review = new SuspiciousReviewDto(List.of(), false, null);
+
+        assertThrows(ValidationException.class, () -> reviewer.review(TransferType.PHONE, review));
+    }
+}
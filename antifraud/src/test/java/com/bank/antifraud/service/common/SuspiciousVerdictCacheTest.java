@@ -0,0 +1,118 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link SuspiciousVerdictCache}
+ */
+class SuspiciousVerdictCacheTest {
+
+    private SuspiciousVerdictCache cache;
+
+    private List<List<Long>> loaded;
+
+    @BeforeEach
+    void init() {
+        cache = new SuspiciousVerdictCache(new AntifraudProperties(), new SimpleMeterRegistry());
+        loaded = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("решения и их отсутствие читаются из БД один раз, позитивный сценарий")
+    void findAllPositiveTest() {
+        final Function<List<Long>, List<SuspiciousCardTransferDto>> loader = ids -> {
+            loaded.add(ids);
+            return ids.contains(1L) ? List.of(verdict(1L)) : List.of();
+        };
+
+        final List<SuspiciousCardTransferDto> first = cache.findAll(TransferType.CARD, List.of(2L, 1L, 2L), loader,
+                SuspiciousCardTransferDto::getCardTransferId);
+        final List<SuspiciousCardTransferDto> second = cache.findAll(TransferType.CARD, List.of(1L, 2L, 3L), loader,
+                SuspiciousCardTransferDto::getCardTransferId);
+
+        assertEquals(List.of(verdict(1L)), first);
+        assertEquals(List.of(verdict(1L)), second);
+        assertEquals(List.of(List.of(2L, 1L), List.of(3L)), loaded);
+    }
+
+    @Test
+    @DisplayName("после фиксации изменения решение читается заново, позитивный сценарий")
+    void invalidatePositiveTest() {
+        assertTrue(cache.find(TransferType.CARD, 1L, this::load).isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(TransferType.CARD, 1L);
+            assertTrue(cache.find(TransferType.CARD, 1L, this::load).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.find(TransferType.CARD, 1L, this::load);
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    @DisplayName("решение, прочитанное до сброса записи, не попадает в кэш, негативный сценарий")
+    void findInvalidatedWhileLoadingNegativeTest() {
+        cache.find(TransferType.CARD, 1L, id -> {
+            cache.invalidate(TransferType.CARD, id);
+            return load(id);
+        });
+        cache.find(TransferType.CARD, 1L, this::load);
+
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    @DisplayName("отсутствие решения хранится меньше, чем решение, негативный сценарий")
+    void findNegativeExpiredNegativeTest() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getVerdicts().setNegativeTtlMs(0);
+        cache = new SuspiciousVerdictCache(properties, new SimpleMeterRegistry());
+
+        cache.find(TransferType.CARD, 1L, this::load);
+        cache.find(TransferType.CARD, 1L, this::load);
+        cache.find(TransferType.CARD, 2L, id -> Optional.of(verdict(id)));
+        final Optional<SuspiciousCardTransferDto> cached = cache.find(TransferType.CARD, 2L, this::load);
+
+        assertEquals(Optional.of(verdict(2L)), cached);
+        assertEquals(List.of(List.of(1L), List.of(1L)), loaded);
+    }
+
+    @Test
+    @DisplayName("решение другого типа перевода не берётся из кэша, негативный сценарий")
+    void findOtherTypeNegativeTest() {
+        cache.find(TransferType.CARD, 1L, id -> Optional.of(verdict(id)));
+
+        assertTrue(cache.find(TransferType.PHONE, 1L, this::load).isEmpty());
+        assertEquals(1, loaded.size());
+    }
+
+    private Optional<SuspiciousCardTransferDto> load(Long transferId) {
+        loaded.add(List.of(transferId));
+        return Optional.empty();
+    }
+
+    private static SuspiciousCardTransferDto verdict(Long transferId) {
+        return new SuspiciousCardTransferDto(10L, transferId, 4000L, true, true, "blocked", "suspicious");
+    }
+}
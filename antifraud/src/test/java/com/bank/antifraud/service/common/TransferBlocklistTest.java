@@ -0,0 +1,95 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferBlocklist}
+ */
+class TransferBlocklistTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransferBlocklist blocklist;
+
+    @BeforeEach
+    void init() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getBlocklist().setExpectedNumbers(16);
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        blocklist = new TransferBlocklist(jdbcTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("заблокированные номера загружаются из БД по типам, позитивный сценарий")
+    void loadPositiveTest() throws Exception {
+        final ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(4000L);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(contains("suspicious_card_transfer"), any(RowCallbackHandler.class));
+
+        blocklist.load();
+
+        assertAll(
+                () -> assertTrue(blocklist.contains(TransferType.CARD, 4000L)),
+                () -> assertFalse(blocklist.contains(TransferType.PHONE, 4000L)),
+                () -> assertFalse(blocklist.contains(TransferType.CARD, 4001L))
+        );
+    }
+
+    @Test
+    @DisplayName("номера блокируются и разблокируются сверх ожидаемого количества, позитивный сценарий")
+    void updatePositiveTest() {
+        LongStream.rangeClosed(0, 1_000).forEach(number -> blocklist.update(TransferType.PHONE, number, true));
+        LongStream.rangeClosed(0, 1_000).filter(number -> number % 2 == 0)
+                .forEach(number -> blocklist.update(TransferType.PHONE, number, false));
+
+        assertAll(
+                () -> assertTrue(LongStream.rangeClosed(0, 1_000).filter(number -> number % 2 == 1)
+                        .allMatch(number -> blocklist.contains(TransferType.PHONE, number))),
+                () -> assertTrue(LongStream.rangeClosed(0, 1_000).filter(number -> number % 2 == 0)
+                        .noneMatch(number -> blocklist.contains(TransferType.PHONE, number))),
+                () -> assertFalse(blocklist.contains(TransferType.ACCOUNT, 1L))
+        );
+    }
+
+    @Test
+    @DisplayName("блокировка в откаченной транзакции не применяется, негативный сценарий")
+    void updateRolledBackNegativeTest() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blocklist.update(TransferType.CARD, 4000L, true);
+
+            assertFalse(blocklist.contains(TransferType.CARD, 4000L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(blocklist.contains(TransferType.CARD, 4000L));
+    }
+}
@@ -0,0 +1,182 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.config.KafkaConsumerConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link TransferEventConsumer} на встроенном брокере kafka
+ */
+@EmbeddedKafka(partitions = 3, topics = TransferEventConsumerTest.TOPIC)
+class TransferEventConsumerTest {
+
+    static final String TOPIC = "transfer-events-test";
+
+    private SuspiciousTransferWriter writer;
+
+    private AntifraudProperties properties;
+
+    private TransferEventConsumer consumer;
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private KafkaMessageListenerContainer<String, String> container;
+
+    @BeforeEach
+    void init() {
+        writer = mock(SuspiciousTransferWriter.class);
+
+        properties = new AntifraudProperties();
+        properties.getConsumer().setTopic(TOPIC);
+        properties.getConsumer().setConcurrency(2);
+        properties.getConsumer().setRetryIntervalMs(100);
+        properties.getProfiles().setCapacity(1024);
+        properties.getLinks().setMaxNodes(1024);
+        properties.getLinks().setMaxEdges(1024);
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final TransferBlocklist blocklist = new TransferBlocklist(mock(JdbcTemplate.class), properties, meterRegistry);
+
+        final BehaviourProfileStore profiles = new BehaviourProfileStore(properties, meterRegistry);
+
+        consumer = new TransferEventConsumer(new VelocityRuleEngine(new VelocityCounter(properties), blocklist,
+                profiles, new ScoringRules(properties, meterRegistry), new TransferLinkGraph(properties, meterRegistry),
+                properties, meterRegistry), writer,
+                new ObjectMapper(), properties);
+    }
+
+    @AfterEach
+    void destroy() {
+        if (container != null) {
+            container.stop();
+        }
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+        consumer.shutdown();
+    }
+
+    @Test
+    @DisplayName("подозрительные переводы сохраняются, смещения фиксируются после сохранения, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void consumePositiveTest(EmbeddedKafkaBroker broker) throws Exception {
+        start(broker, "transfer-event-consumer-test");
+
+        send(broker, "10", event("CREATED", "CARD", "\"cardNumber\":4000", 1L, "200000.00", 10L));
+        send(broker, "20", event("CREATED", "ACCOUNT", "\"accountNumber\":5000", 2L, "100.00", 20L));
+        send(broker, "10", event("UPDATED", "CARD", "\"cardNumber\":4000", 1L, "2000000.00", 10L));
+        send(broker, "30", "not a json");
+
+        assertEquals(4L, awaitCommitted(broker, "transfer-event-consumer-test", 4L));
+
+        final ArgumentCaptor<List<ScoredTransfer>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, atLeast(1)).writeAll(captor.capture());
+
+        final List<ScoredTransfer> written = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertAll(
+                () -> assertEquals(1, written.size()),
+                () -> assertEquals(1L, written.get(0).request().getTransferId()),
+                () -> assertEquals(4000L, written.get(0).request().getNumber()),
+                () -> assertTrue(written.get(0).result().getIsSuspicious())
+        );
+    }
+
+    @Test
+    @DisplayName("решения не сохранились, пачка повторяется, смещения не фиксируются, негативный сценарий")
+    void consumeFailedWriteNegativeTest(EmbeddedKafkaBroker broker) throws Exception {
+        doThrow(new IllegalStateException("database is down")).when(writer).writeAll(anyList());
+
+        start(broker, "transfer-event-consumer-failed-test");
+
+        send(broker, "10", event("CREATED", "PHONE", "\"phoneNumber\":79990000000", 5L, "500000.00", 10L));
+
+        verify(writer, timeout(10_000).atLeast(2)).writeAll(anyList());
+        assertEquals(0L, committed(broker, "transfer-event-consumer-failed-test"));
+    }
+
+    private void start(EmbeddedKafkaBroker broker, String groupId) {
+        final Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(groupId, "false", broker);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        final ContainerProperties containerProperties = new ContainerProperties(TOPIC);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setMessageListener(
+                (BatchAcknowledgingMessageListener<String, String>) consumer::consume);
+
+        container = new KafkaMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer()), containerProperties);
+        container.setCommonErrorHandler(new KafkaConsumerConfig().kafkaErrorHandler(properties));
+        container.start();
+    }
+
+    private void send(EmbeddedKafkaBroker broker, String key, String value) throws Exception {
+        if (kafkaTemplate == null) {
+            kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                    KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()));
+        }
+        kafkaTemplate.send(TOPIC, key, value).get();
+    }
+
+    private long awaitCommitted(EmbeddedKafkaBroker broker, String groupId, long expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        long committed = committed(broker, groupId);
+
+        while (committed < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            committed = committed(broker, groupId);
+        }
+
+        return committed;
+    }
+
+    private static long committed(EmbeddedKafkaBroker broker, String groupId) throws Exception {
+        try (AdminClient admin = AdminClient.create(
+                Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+            return admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata().get().values().stream()
+                    .mapToLong(OffsetAndMetadata::offset)
+                    .sum();
+        }
+    }
+
+    private static String event(String event, String type, String number, Long id, String amount,
+                                Long accountDetailsId) {
+        return """
+                {"event":"%s","type":"%s","transfer":{"id":%d,%s,"amount":%s,"purpose":"test",\
+                "accountDetailsId":%d,"version":0}}""".formatted(event, type, id, number, amount, accountDetailsId);
+    }
+}
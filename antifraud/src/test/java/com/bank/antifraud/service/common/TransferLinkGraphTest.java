@@ -0,0 +1,115 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты для {@link TransferLinkGraph}
+ */
+class TransferLinkGraphTest {
+
+    private AntifraudProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        properties = new AntifraudProperties();
+        properties.getLinks().setMaxNodes(8);
+        properties.getLinks().setMaxEdges(4);
+        properties.getLinks().setMaxAgeMs(1_000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("счета с общими картами и телефонами попадают в одну компоненту, позитивный сценарий")
+    void linkPositiveTest() {
+        properties.getLinks().setMaxNodes(64);
+        properties.getLinks().setMaxEdges(64);
+        final TransferLinkGraph graph = new TransferLinkGraph(properties, meterRegistry);
+
+        graph.link(1L, VelocityCounter.Subject.CARD, 100L, 1_000L);
+        graph.link(2L, VelocityCounter.Subject.CARD, 100L, 1_001L);
+        graph.link(3L, VelocityCounter.Subject.CARD, 100L, 1_002L);
+        graph.link(3L, VelocityCounter.Subject.PHONE, 200L, 1_003L);
+        final TransferLinkGraph.Links repeated = graph.link(3L, VelocityCounter.Subject.CARD, 100L, 1_004L);
+        final TransferLinkGraph.Links shared = graph.link(4L, VelocityCounter.Subject.PHONE, 200L, 1_005L);
+        final TransferLinkGraph.Links other = graph.link(5L, VelocityCounter.Subject.ACCOUNT, 200L, 1_006L);
+
+        assertAll(
+                () -> assertEquals(new TransferLinkGraph.Links(3, 3), repeated),
+                () -> assertEquals(new TransferLinkGraph.Links(2, 4), shared),
+                () -> assertEquals(new TransferLinkGraph.Links(1, 1), other),
+                () -> assertEquals(8, meterRegistry.get("antifraud.links.nodes").gauge().value()),
+                () -> assertEquals(6, meterRegistry.get("antifraud.links.edges").gauge().value())
+        );
+    }
+
+    @Test
+    @DisplayName("повторные переводы по известным связям из нескольких потоков, позитивный сценарий")
+    void linkKnownConcurrentPositiveTest() throws Exception {
+        properties.getLinks().setMaxNodes(64);
+        properties.getLinks().setMaxEdges(64);
+        final TransferLinkGraph graph = new TransferLinkGraph(properties, meterRegistry);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (long account = 1; account <= 4; account++) {
+            graph.link(account, VelocityCounter.Subject.CARD, 100L, 1_000L);
+        }
+
+        try {
+            final List<Future<TransferLinkGraph.Links>> results = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                final long account = i % 4 + 1;
+                final long nowMs = 2_000L + i;
+                results.add(executor.submit(() -> graph.link(account, VelocityCounter.Subject.CARD, 100L, nowMs)));
+            }
+            for (Future<TransferLinkGraph.Links> result : results) {
+                assertEquals(new TransferLinkGraph.Links(4, 4), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertAll(
+                () -> assertEquals(5, meterRegistry.get("antifraud.links.nodes").gauge().value()),
+                () -> assertEquals(4, meterRegistry.get("antifraud.links.edges").gauge().value()),
+                () -> assertEquals(1_004L, meterRegistry.get("antifraud.scoring.links").timer().count())
+        );
+    }
+
+    @Test
+    @DisplayName("перевод сверх объёма не связывается, устаревшие связи удаляются пересборкой, негативный сценарий")
+    void compactNegativeTest() {
+        final TransferLinkGraph graph = new TransferLinkGraph(properties, meterRegistry);
+
+        for (long account = 1; account <= 4; account++) {
+            graph.link(account, VelocityCounter.Subject.CARD, 100L, 0L);
+        }
+        final TransferLinkGraph.Links overflow = graph.link(5L, VelocityCounter.Subject.CARD, 100L, 0L);
+        graph.link(1L, VelocityCounter.Subject.CARD, 100L, 10_000L);
+
+        graph.compact();
+        final TransferLinkGraph.Links compacted = graph.link(2L, VelocityCounter.Subject.CARD, 100L, 10_001L);
+
+        assertAll(
+                () -> assertEquals(new TransferLinkGraph.Links(4, 4), overflow),
+                () -> assertEquals(1, meterRegistry.get("antifraud.links.dropped").counter().count()),
+                () -> assertEquals(new TransferLinkGraph.Links(2, 2), compacted),
+                () -> assertEquals(3, meterRegistry.get("antifraud.links.nodes").gauge().value()),
+                () -> assertEquals(2, meterRegistry.get("antifraud.links.edges").gauge().value())
+        );
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты для {@link VelocityCounter}
+ */
+class VelocityCounterTest {
+
+    /**
+     * начало суток, поэтому корзины всех окон начинаются с него
+     */
+    private static final long START = 20_000L * VelocityWindow.DAY.getDurationMs();
+
+    /**
+     * длина корзины минутного окна при 12 корзинах
+     */
+    private static final long MINUTE_BUCKET = 5_000L;
+
+    private AntifraudProperties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new AntifraudProperties();
+        properties.getVelocity().setStripes(1);
+        properties.getVelocity().setMaxKeys(2);
+    }
+
+    @Test
+    @DisplayName("переводы в одной и в соседних корзинах суммируются за окно, позитивный сценарий")
+    void addBucketRolloverPositiveTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L, START, 100L);
+        counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L, START + MINUTE_BUCKET - 1, 200L);
+        final VelocityCounter.Totals totals = counter.add(VelocityCounter.Subject.ACCOUNT_DETAILS, 1L,
+                START + MINUTE_BUCKET, 300L);
+
+        assertAll(
+                () -> assertEquals(3L, totals.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(600L, totals.amount(VelocityWindow.MINUTE)),
+                () -> assertEquals(3L, totals.count(VelocityWindow.HOUR)),
+                () -> assertEquals(600L, totals.amount(VelocityWindow.DAY))
+        );
+    }
+
+    @Test
+    @DisplayName("корзина прошлого круга обнуляется, негативный сценарий")
+    void addStaleBucketNegativeTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 100L, START, 100L);
+        final VelocityCounter.Totals totals = counter.add(VelocityCounter.Subject.CARD, 100L,
+                START + VelocityWindow.MINUTE.getDurationMs(), 200L);
+
+        assertAll(
+                () -> assertEquals(1L, totals.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(200L, totals.amount(VelocityWindow.MINUTE)),
+                () -> assertEquals(2L, totals.count(VelocityWindow.HOUR)),
+                () -> assertEquals(300L, totals.amount(VelocityWindow.HOUR))
+        );
+    }
+
+    @Test
+    @DisplayName("корзины, вышедшие из окна, не учитываются, негативный сценарий")
+    void addWindowExpiryNegativeTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 100L, START, 100L);
+        final VelocityCounter.Totals totals = counter.add(VelocityCounter.Subject.CARD, 100L,
+                START + VelocityWindow.MINUTE.getDurationMs() + MINUTE_BUCKET, 200L);
+
+        assertAll(
+                () -> assertEquals(1L, totals.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(200L, totals.amount(VelocityWindow.MINUTE)),
+                () -> assertEquals(2L, totals.count(VelocityWindow.DAY)),
+                () -> assertEquals(300L, totals.amount(VelocityWindow.DAY))
+        );
+    }
+
+    @Test
+    @DisplayName("опоздавший перевод не обнуляет более новую корзину, негативный сценарий")
+    void addLateEventNegativeTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 100L, START + VelocityWindow.MINUTE.getDurationMs(), 100L);
+        final VelocityCounter.Totals late = counter.add(VelocityCounter.Subject.CARD, 100L, START, 200L);
+        final VelocityCounter.Totals next = counter.add(VelocityCounter.Subject.CARD, 100L,
+                START + VelocityWindow.MINUTE.getDurationMs() + 1, 300L);
+
+        assertAll(
+                () -> assertEquals(0L, late.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(2L, late.count(VelocityWindow.HOUR)),
+                () -> assertEquals(2L, next.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(400L, next.amount(VelocityWindow.MINUTE)),
+                () -> assertEquals(3L, next.count(VelocityWindow.HOUR))
+        );
+    }
+
+    @Test
+    @DisplayName("опоздавший перевод в окне учитывается без более поздних корзин, позитивный сценарий")
+    void addLateEventInWindowPositiveTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 100L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 100L, START + 2 * MINUTE_BUCKET, 200L);
+        final VelocityCounter.Totals late = counter.add(VelocityCounter.Subject.CARD, 100L,
+                START + MINUTE_BUCKET, 300L);
+
+        assertAll(
+                () -> assertEquals(2L, late.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(400L, late.amount(VelocityWindow.MINUTE))
+        );
+    }
+
+    @Test
+    @DisplayName("счётчики разных субъектов с одним номером не смешиваются, позитивный сценарий")
+    void addSubjectsSeparatePositiveTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 100L, START, 100L);
+        final VelocityCounter.Totals phone = counter.add(VelocityCounter.Subject.PHONE, 100L, START, 200L);
+
+        assertEquals(1L, phone.count(VelocityWindow.MINUTE));
+    }
+
+    @Test
+    @DisplayName("в части счётчиков вытесняется давно не встречавшийся ключ, негативный сценарий")
+    void addLruEvictionNegativeTest() {
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        counter.add(VelocityCounter.Subject.CARD, 1L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 2L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 1L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 3L, START, 100L);
+
+        final VelocityCounter.Totals evicted = counter.add(VelocityCounter.Subject.CARD, 2L, START, 100L);
+        final VelocityCounter.Totals kept = counter.add(VelocityCounter.Subject.CARD, 3L, START, 100L);
+
+        assertAll(
+                () -> assertEquals(1L, evicted.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(2L, kept.count(VelocityWindow.MINUTE))
+        );
+    }
+
+    @Test
+    @DisplayName("ключ вытесняется только ключами своей части, позитивный сценарий")
+    void addLruPerStripePositiveTest() {
+        properties.getVelocity().setStripes(2);
+        final VelocityCounter counter = new VelocityCounter(properties);
+
+        // карты 1 и 2 попадают в одну часть, карта 3 - в другую, в каждой части помещается один ключ
+        counter.add(VelocityCounter.Subject.CARD, 1L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 3L, START, 100L);
+        counter.add(VelocityCounter.Subject.CARD, 2L, START, 100L);
+
+        final VelocityCounter.Totals kept = counter.add(VelocityCounter.Subject.CARD, 3L, START, 100L);
+        final VelocityCounter.Totals evicted = counter.add(VelocityCounter.Subject.CARD, 1L, START, 100L);
+
+        assertAll(
+                () -> assertEquals(2L, kept.count(VelocityWindow.MINUTE)),
+                () -> assertEquals(1L, evicted.count(VelocityWindow.MINUTE))
+        );
+    }
+}
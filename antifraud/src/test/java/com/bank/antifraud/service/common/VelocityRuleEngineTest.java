@@ -0,0 +1,177 @@
+package com.bank.antifraud.service.common;
+
+import com.bank.antifraud.config.AntifraudProperties;
+import com.bank.antifraud.dto.TransferScoringRequestDto;
+import com.bank.antifraud.dto.TransferScoringResultDto;
+import com.bank.antifraud.entity.TransferType;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Тесты для {@link VelocityRuleEngine}
+ */
+class VelocityRuleEngineTest {
+
+    private static final long START = 20_000L * VelocityWindow.DAY.getDurationMs();
+
+    private static final Long ACCOUNT_DETAILS_ID = 10L;
+
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VelocityRuleEngine engine;
+
+    private long transferId;
+
+    @BeforeEach
+    void init() {
+        final AntifraudProperties properties = new AntifraudProperties();
+        properties.getVelocity().setMinute(new AntifraudProperties.Limits(2, new BigDecimal("100.00"), 3,
+                new BigDecimal("500.00")));
+        properties.getProfiles().setCapacity(1024);
+        properties.getBlocklist().setExpectedNumbers(16);
+        properties.getLinks().setMaxNodes(1024);
+        properties.getLinks().setMaxEdges(1024);
+
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new VelocityRuleEngine(new VelocityCounter(properties),
+                new TransferBlocklist(mock(JdbcTemplate.class), properties, meterRegistry),
+                new BehaviourProfileStore(properties, meterRegistry), new ScoringRules(properties, meterRegistry),
+                new TransferLinkGraph(properties, meterRegistry), properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("количество переводов на пороге подозрительности не подозрительно, позитивный сценарий")
+    void scoreCountAtSuspiciousThresholdPositiveTest() {
+        scoreAt(100L, AMOUNT, START);
+        final TransferScoringResultDto result = scoreAt(101L, AMOUNT, START + 1);
+
+        assertAll(
+                () -> assertFalse(result.getIsSuspicious()),
+                () -> assertFalse(result.getIsBlocked()),
+                () -> assertNull(result.getSuspiciousReason())
+        );
+    }
+
+    @Test
+    @DisplayName("количество переводов выше порога подозрительности, негативный сценарий")
+    void scoreCountSuspiciousNegativeTest() {
+        scoreAt(100L, AMOUNT, START);
+        scoreAt(101L, AMOUNT, START + 1);
+        final TransferScoringResultDto result = scoreAt(102L, AMOUNT, START + 2);
+
+        assertAll(
+                () -> assertTrue(result.getIsSuspicious()),
+                () -> assertFalse(result.getIsBlocked()),
+                () -> assertEquals("счёт отправителя: 3 переводов за 1 мин, порог 2", result.getSuspiciousReason()),
+                () -> assertNull(result.getBlockedReason())
+        );
+    }
+
+    @Test
+    @DisplayName("количество переводов выше порога блокировки, негативный сценарий")
+    void scoreCountBlockedNegativeTest() {
+        scoreAt(100L, AMOUNT, START);
+        scoreAt(101L, AMOUNT, START + 1);
+        scoreAt(102L, AMOUNT, START + 2);
+        final TransferScoringResultDto atBlocked = scoreAt(103L, AMOUNT, START + 3);
+
+        assertAll(
+                () -> assertTrue(atBlocked.getIsSuspicious()),
+                () -> assertTrue(atBlocked.getIsBlocked()),
+                () -> assertEquals("счёт отправителя: 4 переводов за 1 мин, порог 3", atBlocked.getBlockedReason())
+        );
+    }
+
+    @Test
+    @DisplayName("сумма на пороге подозрительности не подозрительна, выше порога - подозрительна, негативный сценарий")
+    void scoreAmountSuspiciousNegativeTest() {
+        final TransferScoringResultDto atThreshold = scoreAt(100L, new BigDecimal("100.00"), START);
+        final TransferScoringResultDto aboveThreshold = scoreAt(101L, new BigDecimal("0.01"), START + 1);
+
+        assertAll(
+                () -> assertFalse(atThreshold.getIsSuspicious()),
+                () -> assertTrue(aboveThreshold.getIsSuspicious()),
+                () -> assertFalse(aboveThreshold.getIsBlocked()),
+                () -> assertEquals("счёт отправителя: переводы на 100.01 за 1 мин, порог 100.00",
+                        aboveThreshold.getSuspiciousReason())
+        );
+    }
+
+    @Test
+    @DisplayName("сумма выше порога блокировки, негативный сценарий")
+    void scoreAmountBlockedNegativeTest() {
+        final TransferScoringResultDto atThreshold = scoreAt(100L, new BigDecimal("500.00"), START);
+        final TransferScoringResultDto aboveThreshold = scoreAt(101L, new BigDecimal("0.01"), START + 1);
+
+        assertAll(
+                () -> assertFalse(atThreshold.getIsBlocked()),
+                () -> assertTrue(aboveThreshold.getIsBlocked()),
+                () -> assertEquals("счёт отправителя: переводы на 500.01 за 1 мин, порог 500.00",
+                        aboveThreshold.getBlockedReason())
+        );
+    }
+
+    @Test
+    @DisplayName("переводы, вышедшие из окна, не учитываются, позитивный сценарий")
+    void scoreWindowExpiryPositiveTest() {
+        scoreAt(100L, AMOUNT, START);
+        scoreAt(101L, AMOUNT, START + 1);
+        scoreAt(102L, AMOUNT, START + 2);
+        final TransferScoringResultDto result = scoreAt(103L, AMOUNT,
+                START + VelocityWindow.MINUTE.getDurationMs() + 5_000L);
+
+        assertFalse(result.getIsSuspicious());
+    }
+
+    @Test
+    @DisplayName("повторная проверка перевода возвращает прежнее решение и не учитывает его, позитивный сценарий")
+    void scoreRepeatedPositiveTest() {
+        final TransferScoringRequestDto request = request(100L, AMOUNT);
+
+        final TransferScoringResultDto first = engine.score(request);
+        engine.score(request);
+        final TransferScoringResultDto repeated = engine.score(request);
+
+        assertAll(
+                () -> assertSame(first, repeated),
+                () -> assertFalse(repeated.getIsSuspicious()),
+                () -> assertEquals(1L, meterRegistry.get("antifraud.scoring.latency").timer().count())
+        );
+    }
+
+    @Test
+    @DisplayName("проверка перевода с нулевой суммой, негативный сценарий")
+    void scoreZeroAmountNegativeTest() {
+        final TransferScoringRequestDto request = request(100L, BigDecimal.ZERO);
+
+        assertThrows(ValidationException.class, () -> engine.score(request));
+    }
+
+    /**
+     * Каждый перевод - новому получателю, поэтому пороги срабатывают только по счёту отправителя
+     */
+    private TransferScoringResultDto scoreAt(Long number, BigDecimal amount, long nowMs) {
+        return engine.scoreAt(request(number, amount), nowMs);
+    }
+
+    private TransferScoringRequestDto request(Long number, BigDecimal amount) {
+        return new TransferScoringRequestDto(TransferType.CARD, ++transferId, ACCOUNT_DETAILS_ID, number, amount);
+    }
+}
@@ -4,6 +4,7 @@ import com.bank.authorization.dto.UserDto;
 import com.bank.authorization.repository.entity.UserEntity;
 import com.bank.authorization.mapper.UserMapper;
 import com.bank.authorization.repository.UserRepository;
+import com.bank.common.util.BatchEntityFinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ public class UserServiceImpl implements UserService {
     private final static String ENTITY_CONFLICT_MESSAGE = "Не был найден пользователь с ID ";
     private final UserMapper mapper;
     private final UserRepository repository;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param id технический идентификатор {@link UserEntity}
@@ -76,12 +78,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<UserDto> findAllByIds(List<Long> ids) {
-        final List<UserEntity> users = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(
-                                () -> getEntityException(id))
-                )
-                .toList();
+        final List<UserEntity> users = batchFinder.findAllById(
+                ids, repository::findAllById, UserEntity::getId, ENTITY_CONFLICT_MESSAGE);
 
         return mapper.toDtoList(users);
     }
@@ -0,0 +1,80 @@
+package com.bank.benchmarks.transfer;
+
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.mapper.CardTransferMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость маппинга перевода по карте между entity и ДТО: одного перевода и списка из 1, 100 и 10 000 переводов,
+ * как в пакетном чтении по идентификаторам
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CardTransferMapperBenchmark {
+
+    private final CardTransferMapper mapper = Mappers.getMapper(CardTransferMapper.class);
+
+    private CardTransferDto dto;
+
+    private CardTransferEntity entity;
+
+    @Setup
+    public void setUp() {
+        final Random random = TransferPayloads.random();
+
+        dto = TransferPayloads.cardTransferDto(random);
+        entity = TransferPayloads.cardTransferEntity(random);
+    }
+
+    @Benchmark
+    public CardTransferDto toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public CardTransferEntity toEntity() {
+        return mapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public List<CardTransferDto> toDtoList(Entities entities) {
+        return mapper.toDtoList(entities.transfers);
+    }
+
+    /**
+     * Список entity для {@link #toDtoList}, размер меняется только у этого бенчмарка
+     */
+    @State(Scope.Benchmark)
+    public static class Entities {
+
+        @Param({"1", "100", "10000"})
+        public int size;
+
+        private List<CardTransferEntity> transfers;
+
+        @Setup
+        public void setUp() {
+            transfers = TransferPayloads.cardTransferEntities(size);
+        }
+    }
+}
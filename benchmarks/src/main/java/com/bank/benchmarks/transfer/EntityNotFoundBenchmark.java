@@ -0,0 +1,48 @@
+package com.bank.benchmarks.transfer;
+
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость ответа "перевод не найден": создание {@link EntityNotFoundException} со стеком вызовов
+ * и сообщением, а также создание вместе с выбросом и перехватом, как в сервисах переводов
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EntityNotFoundBenchmark {
+
+    private static final String MESSAGE = "Не найден перевод по номеру карты с ID ";
+
+    private final EntityNotFoundReturner notFoundReturner = new EntityNotFoundReturner();
+
+    private long id = 1_000_000L;
+
+    @Benchmark
+    public EntityNotFoundException create() {
+        return notFoundReturner.getEntityNotFoundException(id++, MESSAGE);
+    }
+
+    @Benchmark
+    public String throwAndCatch() {
+        try {
+            throw notFoundReturner.getEntityNotFoundException(id++, MESSAGE);
+        } catch (EntityNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+}
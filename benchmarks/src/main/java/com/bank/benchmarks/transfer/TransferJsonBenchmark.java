@@ -0,0 +1,79 @@
+package com.bank.benchmarks.transfer;
+
+import com.bank.transfer.dto.AccountTransferDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость JSON-сериализации перевода со счёта с суммой {@link java.math.BigDecimal}. ObjectMapper собирается
+ * тем же {@link Jackson2ObjectMapperBuilder}, что и в Spring Boot, поэтому настройки совпадают с контроллерами.
+ * Ответ со списком - пакетное чтение из 1, 100 и 10 000 переводов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TransferJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private AccountTransferDto transfer;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        transfer = TransferPayloads.accountTransferDto(TransferPayloads.random());
+        json = objectMapper.writeValueAsBytes(transfer);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transfer);
+    }
+
+    @Benchmark
+    public AccountTransferDto deserialize() throws IOException {
+        return objectMapper.readValue(json, AccountTransferDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeList(Transfers transfers) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transfers.transfers);
+    }
+
+    /**
+     * Список переводов для {@link #serializeList}
+     */
+    @State(Scope.Benchmark)
+    public static class Transfers {
+
+        @Param({"1", "100", "10000"})
+        public int size;
+
+        private List<AccountTransferDto> transfers;
+
+        @Setup
+        public void setUp() {
+            transfers = TransferPayloads.accountTransferDtos(size);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.benchmarks.transfer;
+
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.entity.CardTransferEntity;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Переводы для бенчмарков. Значения похожи на боевые: суммы с копейками до миллиона, номера карт
+ * из 16 цифр, назначения платежа разной длины на кириллице. Генератор с фиксированным seed,
+ * поэтому прогоны разных сборок получают одинаковые данные.
+ */
+final class TransferPayloads {
+
+    private static final long SEED = 20_240_301L;
+
+    private static final long MAX_KOPECKS = 100_000_000L;
+
+    private static final long CARD_NUMBER_BASE = 4_000_000_000_000_000L;
+
+    private static final long ACCOUNT_NUMBER_BASE = 40_817_810_000_000L;
+
+    private static final int ACCOUNTS = 10_000;
+
+    private static final long CREATED_AT = Timestamp.valueOf("2024-03-01 00:00:00").getTime();
+
+    private static final long MONTH_MS = 30L * 24 * 60 * 60 * 1_000;
+
+    private static final String[] PURPOSES = {
+        "Перевод",
+        "Возврат долга",
+        "Оплата аренды квартиры за март",
+        "Перевод между своими счетами",
+        "Оплата по договору оказания услуг № 2024-03/117 от 01.03.2024, НДС не облагается",
+        "Подарок на день рождения, с наилучшими пожеланиями от всей семьи и коллег из отдела продаж"
+    };
+
+    private TransferPayloads() {
+    }
+
+    static Random random() {
+        return new Random(SEED);
+    }
+
+    static CardTransferDto cardTransferDto(Random random) {
+        return new CardTransferDto(id(random), CARD_NUMBER_BASE + random.nextInt(Integer.MAX_VALUE), amount(random),
+                purpose(random), accountDetailsId(random), createdAt(random), 0L);
+    }
+
+    static CardTransferEntity cardTransferEntity(Random random) {
+        return new CardTransferEntity(id(random), CARD_NUMBER_BASE + random.nextInt(Integer.MAX_VALUE),
+                amount(random), purpose(random), accountDetailsId(random), createdAt(random), 0L);
+    }
+
+    static List<CardTransferEntity> cardTransferEntities(int size) {
+        final Random random = random();
+        final List<CardTransferEntity> transfers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            transfers.add(cardTransferEntity(random));
+        }
+        return transfers;
+    }
+
+    static AccountTransferDto accountTransferDto(Random random) {
+        return new AccountTransferDto(id(random), ACCOUNT_NUMBER_BASE + random.nextInt(Integer.MAX_VALUE),
+                amount(random), purpose(random), accountDetailsId(random), createdAt(random), 0L);
+    }
+
+    static List<AccountTransferDto> accountTransferDtos(int size) {
+        final Random random = random();
+        final List<AccountTransferDto> transfers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            transfers.add(accountTransferDto(random));
+        }
+        return transfers;
+    }
+
+    private static Long id(Random random) {
+        return 1L + random.nextInt(Integer.MAX_VALUE);
+    }
+
+    private static BigDecimal amount(Random random) {
+        return BigDecimal.valueOf(1L + (long) (random.nextDouble() * MAX_KOPECKS), 2);
+    }
+
+    private static String purpose(Random random) {
+        return PURPOSES[random.nextInt(PURPOSES.length)];
+    }
+
+    private static Long accountDetailsId(Random random) {
+        return 1L + random.nextInt(ACCOUNTS);
+    }
+
+    private static Timestamp createdAt(Random random) {
+        return new Timestamp(CREATED_AT + (long) (random.nextDouble() * MONTH_MS));
+    }
+}
@@ -4,6 +4,7 @@ import com.bank.common.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.TypeMismatchException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -151,6 +152,16 @@ public class GlobalRestExceptionHandler {
         return new ResponseEntity<>(CONFLICT_MESSAGE, HttpStatus.CONFLICT);
     }
 
+    /**
+     * @param ex {@link OptimisticLockingFailureException}.
+     * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.CONFLICT.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.error(ex.getMessage(), ex);
+        return new ResponseEntity<>(CONFLICT_MESSAGE, HttpStatus.CONFLICT);
+    }
+
     /**
      * @param ex {@link DataIntegrityViolationException}.
      * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.CONFLICT.
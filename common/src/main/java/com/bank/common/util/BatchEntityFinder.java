@@ -0,0 +1,61 @@
+package com.bank.common.util;
+
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Пакетный поиск сущностей по списку технических идентификаторов.
+ * Идентификаторы дедуплицируются и запрашиваются пачками по {@link #CHUNK_SIZE},
+ * чтобы один запрос не превышал лимит bind-параметров PostgreSQL (32767).
+ */
+@Component
+public class BatchEntityFinder {
+
+    /**
+     * Количество идентификаторов в одном IN-запросе.
+     */
+    public static final int CHUNK_SIZE = 1000;
+
+    /**
+     * @param ids         список технических идентификаторов, допускаются повторы
+     * @param loader      загрузка пачки сущностей, например {@code repository::findAllById}
+     * @param idExtractor получение технического идентификатора сущности
+     * @param message     префикс сообщения {@link EntityNotFoundException}
+     * @param <T>         тип сущности
+     * @return сущности в порядке первого появления идентификатора в запросе, без повторов
+     * @throws EntityNotFoundException со списком не найденных идентификаторов
+     */
+    public <T> List<T> findAllById(List<Long> ids, Function<List<Long>, List<T>> loader,
+                                   Function<T, Long> idExtractor, String message) {
+
+        final List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        final Map<Long, T> found = new HashMap<>();
+
+        for (int from = 0; from < uniqueIds.size(); from += CHUNK_SIZE) {
+            final List<Long> chunk = uniqueIds.subList(from, Math.min(from + CHUNK_SIZE, uniqueIds.size()));
+
+            for (T entity : loader.apply(chunk)) {
+                found.put(idExtractor.apply(entity), entity);
+            }
+        }
+
+        final List<Long> missingIds = uniqueIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException(message + missingIds);
+        }
+
+        return uniqueIds.stream()
+                .map(found::get)
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link BatchEntityFinder}
+ */
+class BatchEntityFinderTest {
+
+    private final BatchEntityFinder finder = new BatchEntityFinder();
+
+    @Test
+    @DisplayName("поиск сохраняет порядок запроса и убирает повторы, позитивный сценарий")
+    void findAllByIdKeepsOrderPositiveTest() {
+        final List<List<Long>> calls = new ArrayList<>();
+        final Function<List<Long>, List<Long>> loader = chunk -> {
+            calls.add(List.copyOf(chunk));
+            return chunk.stream().sorted().toList();
+        };
+
+        final List<Long> result = finder.findAllById(List.of(3L, 1L, 3L, 2L), loader, Function.identity(), "");
+
+        assertAll(
+                () -> assertEquals(List.of(3L, 1L, 2L), result),
+                () -> assertEquals(List.of(List.of(3L, 1L, 2L)), calls)
+        );
+    }
+
+    @Test
+    @DisplayName("поиск большого списка разбивается на пачки, позитивный сценарий")
+    void findAllByIdChunksPositiveTest() {
+        final List<Long> ids = LongStream.rangeClosed(1, BatchEntityFinder.CHUNK_SIZE * 2L + 1).boxed().toList();
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final Function<List<Long>, List<Long>> loader = chunk -> {
+            chunkSizes.add(chunk.size());
+            return List.copyOf(chunk);
+        };
+
+        final List<Long> result = finder.findAllById(ids, loader, Function.identity(), "");
+
+        assertAll(
+                () -> assertEquals(ids, result),
+                () -> assertEquals(List.of(BatchEntityFinder.CHUNK_SIZE, BatchEntityFinder.CHUNK_SIZE, 1), chunkSizes)
+        );
+    }
+
+    @Test
+    @DisplayName("поиск по несуществующим id, негативный сценарий")
+    void findAllByNonExistIdNegativeTest() {
+        final Function<List<Long>, List<Long>> loader = chunk -> List.of(2L);
+
+        final EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> finder.findAllById(List.of(1L, 2L, 3L), loader, Function.identity(), "Не найдены ID "));
+
+        assertTrue(exception.getMessage().endsWith("[1, 3]"));
+    }
+}
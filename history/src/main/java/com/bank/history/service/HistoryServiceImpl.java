@@ -1,5 +1,6 @@
 package com.bank.history.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 import com.bank.history.mapper.HistoryMapper;
@@ -20,6 +21,7 @@ public class HistoryServiceImpl implements HistoryService {
 
     private final HistoryMapper mapper;
     private final HistoryRepository repository;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param id технический идентификатор {@link HistoryEntity}.
@@ -39,11 +41,8 @@ public class HistoryServiceImpl implements HistoryService {
     @Override
     public List<HistoryDto> readAllById(List<Long> id) {
 
-        final List<HistoryEntity> histories = repository.findAllById(id);
-
-        if (id.size() > histories.size()) {
-            throw returnEntityNotFoundException("истории по указанным id не найдены");
-        }
+        final List<HistoryEntity> histories = batchFinder.findAllById(
+                id, repository::findAllById, HistoryEntity::getId, "истории не найдены по id ");
 
         return mapper.toListDto(histories);
     }
@@ -1,5 +1,6 @@
 package com.bank.history.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 import com.bank.history.mapper.HistoryMapper;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
@@ -36,6 +38,9 @@ public class HistoryServiceTest {
     @Mock
     private HistoryRepository repository;
 
+    @Spy
+    private BatchEntityFinder batchFinder;
+
     @InjectMocks
     private HistoryServiceImpl service;
 
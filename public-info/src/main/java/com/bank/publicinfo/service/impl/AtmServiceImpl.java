@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service.impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.AtmDto;
 import com.bank.publicinfo.entity.AtmEntity;
 import com.bank.publicinfo.mapper.AtmMapper;
@@ -24,6 +25,7 @@ public class AtmServiceImpl implements AtmService {
     private final AtmRepository repository;
     private final AtmMapper mapper;
     private final EntityNotFoundSupplier supplierNotFound;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param ids список технических идентификаторов {@link AtmEntity}
@@ -31,8 +33,8 @@ public class AtmServiceImpl implements AtmService {
      */
     @Override
     public List<AtmDto> findAllById(List<Long> ids) {
-        final List<AtmEntity> atms = repository.findAllById(ids);
-        supplierNotFound.checkForSizeAndLogging(MESSAGE, ids, atms);
+        final List<AtmEntity> atms = batchFinder.findAllById(
+                ids, repository::findAllById, AtmEntity::getId, MESSAGE);
         return mapper.toDtoList(atms);
     }
 
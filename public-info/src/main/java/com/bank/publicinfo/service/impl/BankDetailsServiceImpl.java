@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service.impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.BankDetailsDto;
 import com.bank.publicinfo.entity.BankDetailsEntity;
 import com.bank.publicinfo.mapper.BankDetailsMapper;
@@ -24,6 +25,7 @@ public class BankDetailsServiceImpl implements BankDetailsService {
     private final BankDetailsRepository repository;
     private final BankDetailsMapper mapper;
     private final EntityNotFoundSupplier supplierNotFound;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param ids список техничских идентификаторов {@link BankDetailsEntity}
@@ -31,8 +33,8 @@ public class BankDetailsServiceImpl implements BankDetailsService {
      */
     @Override
     public List<BankDetailsDto> findAllById(List<Long> ids) {
-        final List<BankDetailsEntity> bankDetails = repository.findAllById(ids);
-        supplierNotFound.checkForSizeAndLogging(MESSAGE, ids, bankDetails);
+        final List<BankDetailsEntity> bankDetails = batchFinder.findAllById(
+                ids, repository::findAllById, BankDetailsEntity::getId, MESSAGE);
         return mapper.toDtoList(bankDetails);
     }
 
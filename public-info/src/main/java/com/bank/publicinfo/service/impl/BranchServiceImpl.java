@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service.impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.BranchDto;
 import com.bank.publicinfo.entity.BranchEntity;
 import com.bank.publicinfo.mapper.BranchMapper;
@@ -24,6 +25,7 @@ public class BranchServiceImpl implements BranchService {
     private final BranchRepository repository;
     private final BranchMapper mapper;
     private final EntityNotFoundSupplier supplierNotFound;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param ids список технических идентификаторов {@link BranchEntity}
@@ -31,8 +33,8 @@ public class BranchServiceImpl implements BranchService {
      */
     @Override
     public List<BranchDto> findAllById(List<Long> ids) {
-        final List<BranchEntity> branches = repository.findAllById(ids);
-        supplierNotFound.checkForSizeAndLogging(MESSAGE, ids, branches);
+        final List<BranchEntity> branches = batchFinder.findAllById(
+                ids, repository::findAllById, BranchEntity::getId, MESSAGE);
         return mapper.toDtoList(branches);
     }
 
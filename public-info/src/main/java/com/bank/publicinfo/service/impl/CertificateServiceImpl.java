@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service.impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.CertificateDto;
 import com.bank.publicinfo.entity.CertificateEntity;
 import com.bank.publicinfo.mapper.CertificateMapper;
@@ -24,6 +25,7 @@ public class CertificateServiceImpl implements CertificateService {
     private final CertificateRepository repository;
     private final CertificateMapper mapper;
     private final EntityNotFoundSupplier supplierNotFound;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param ids список технических идентификаторов {@link CertificateEntity}
@@ -31,8 +33,8 @@ public class CertificateServiceImpl implements CertificateService {
      */
     @Override
     public List<CertificateDto> findAllById(List<Long> ids) {
-        final List<CertificateEntity> certificates = repository.findAllById(ids);
-        supplierNotFound.checkForSizeAndLogging(MESSAGE, ids, certificates);
+        final List<CertificateEntity> certificates = batchFinder.findAllById(
+                ids, repository::findAllById, CertificateEntity::getId, MESSAGE);
         return mapper.toDtoList(certificates);
     }
 
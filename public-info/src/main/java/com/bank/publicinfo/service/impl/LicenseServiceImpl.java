@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service.impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.LicenseDto;
 import com.bank.publicinfo.entity.LicenseEntity;
 import com.bank.publicinfo.mapper.LicenseMapper;
@@ -24,6 +25,7 @@ public class LicenseServiceImpl implements LicenseService {
     private final LicenseRepository repository;
     private final LicenseMapper mapper;
     private final EntityNotFoundSupplier supplierNotFound;
+    private final BatchEntityFinder batchFinder;
 
     /**
      * @param ids технический идентификатор {@link LicenseEntity}
@@ -31,8 +33,8 @@ public class LicenseServiceImpl implements LicenseService {
      */
     @Override
     public List<LicenseDto> findAllById(List<Long> ids) {
-        final List<LicenseEntity> licenses = repository.findAllById(ids);
-        supplierNotFound.checkForSizeAndLogging(MESSAGE, ids, licenses);
+        final List<LicenseEntity> licenses = batchFinder.findAllById(
+                ids, repository::findAllById, LicenseEntity::getId, MESSAGE);
         return mapper.toDtoList(licenses);
     }
 
@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.AtmDto;
 import com.bank.publicinfo.entity.AtmEntity;
 import com.bank.publicinfo.mapper.AtmMapper;
@@ -36,6 +37,8 @@ class AtmServiceTest {
     private AtmMapper mapper;
     @Spy
     private EntityNotFoundSupplier supplier;
+    @Spy
+    private BatchEntityFinder batchFinder;
     @InjectMocks
     private AtmServiceImpl service;
 
@@ -43,7 +46,9 @@ class AtmServiceTest {
     @DisplayName("Чтение по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
         final List<Long> ids = List.of(1L);
-        final List<AtmEntity> atmEntities = List.of(new AtmEntity());
+        final AtmEntity atm = new AtmEntity();
+        atm.setId(1L);
+        final List<AtmEntity> atmEntities = List.of(atm);
         final List<AtmDto> atmDtos = List.of(new AtmDto());
         when(repository.findAllById(ids)).thenReturn(atmEntities);
         when(mapper.toDtoList(atmEntities)).thenReturn(atmDtos);
@@ -59,8 +64,10 @@ class AtmServiceTest {
     @Test
     @DisplayName("Чтение по нескольким несуществующим id, негативный сценарий")
     void findAllByNonExistIdNegativeTest() {
-        final List<Long> ids = List.of(1L, 1L);
-        final List<AtmEntity> atmEntities = List.of(new AtmEntity());
+        final List<Long> ids = List.of(1L, 2L);
+        final AtmEntity atm = new AtmEntity();
+        atm.setId(1L);
+        final List<AtmEntity> atmEntities = List.of(atm);
         when(repository.findAllById(ids)).thenReturn(atmEntities);
 
         assertThrows(EntityNotFoundException.class, () -> service.findAllById(ids));
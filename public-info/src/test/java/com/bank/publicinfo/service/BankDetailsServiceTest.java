@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.BankDetailsDto;
 import com.bank.publicinfo.entity.BankDetailsEntity;
 import com.bank.publicinfo.mapper.BankDetailsMapper;
@@ -36,6 +37,8 @@ class BankDetailsServiceTest {
     private BankDetailsMapper mapper;
     @Spy
     private EntityNotFoundSupplier supplier;
+    @Spy
+    private BatchEntityFinder batchFinder;
     @InjectMocks
     private BankDetailsServiceImpl service;
 
@@ -43,7 +46,9 @@ class BankDetailsServiceTest {
     @DisplayName("Чтение по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
         final List<Long> ids = List.of(1L);
-        final List<BankDetailsEntity> bankDetailsEntities = List.of(new BankDetailsEntity());
+        final BankDetailsEntity bankDetails = new BankDetailsEntity();
+        bankDetails.setId(1L);
+        final List<BankDetailsEntity> bankDetailsEntities = List.of(bankDetails);
         final List<BankDetailsDto> bankDetailsDtos = List.of(new BankDetailsDto());
         when(repository.findAllById(ids)).thenReturn(bankDetailsEntities);
         when(mapper.toDtoList(bankDetailsEntities)).thenReturn(bankDetailsDtos);
@@ -59,8 +64,10 @@ class BankDetailsServiceTest {
     @Test
     @DisplayName("Чтение по нескольким несуществующим id, негативный сценарий")
     void findAllByNonExistIdNegativeTest() {
-        final List<Long> ids = List.of(1L, 1L);
-        final List<BankDetailsEntity> bankDetailsEntities = List.of(new BankDetailsEntity());
+        final List<Long> ids = List.of(1L, 2L);
+        final BankDetailsEntity bankDetails = new BankDetailsEntity();
+        bankDetails.setId(1L);
+        final List<BankDetailsEntity> bankDetailsEntities = List.of(bankDetails);
         when(repository.findAllById(ids)).thenReturn(bankDetailsEntities);
 
         assertThrows(EntityNotFoundException.class, () -> service.findAllById(ids));
@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.BranchDto;
 import com.bank.publicinfo.entity.BranchEntity;
 import com.bank.publicinfo.mapper.BranchMapper;
@@ -36,6 +37,8 @@ class BranchServiceTest {
     private BranchMapper mapper;
     @Spy
     private EntityNotFoundSupplier supplier;
+    @Spy
+    private BatchEntityFinder batchFinder;
     @InjectMocks
     private BranchServiceImpl service;
 
@@ -43,7 +46,9 @@ class BranchServiceTest {
     @DisplayName("Чтение по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
         final List<Long> ids = List.of(1L);
-        final List<BranchEntity> branchEntities = List.of(new BranchEntity());
+        final BranchEntity branch = new BranchEntity();
+        branch.setId(1L);
+        final List<BranchEntity> branchEntities = List.of(branch);
         final List<BranchDto> branchDtos = List.of(new BranchDto());
         when(repository.findAllById(ids)).thenReturn(branchEntities);
         when(mapper.toDtoList(branchEntities)).thenReturn(branchDtos);
@@ -59,8 +64,10 @@ class BranchServiceTest {
     @Test
     @DisplayName("Чтение по нескольким несуществующим id, негативный сценарий")
     void findAllByNonExistIdNegativeTest() {
-        final List<Long> ids = List.of(1L, 1L);
-        final List<BranchEntity> branchEntities = List.of(new BranchEntity());
+        final List<Long> ids = List.of(1L, 2L);
+        final BranchEntity branch = new BranchEntity();
+        branch.setId(1L);
+        final List<BranchEntity> branchEntities = List.of(branch);
         when(repository.findAllById(ids)).thenReturn(branchEntities);
 
         assertThrows(EntityNotFoundException.class, () -> service.findAllById(ids));
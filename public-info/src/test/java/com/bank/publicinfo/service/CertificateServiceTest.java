@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.CertificateDto;
 import com.bank.publicinfo.entity.CertificateEntity;
 import com.bank.publicinfo.mapper.CertificateMapper;
@@ -36,6 +37,8 @@ class CertificateServiceTest {
     private CertificateMapper mapper;
     @Spy
     private EntityNotFoundSupplier supplier;
+    @Spy
+    private BatchEntityFinder batchFinder;
     @InjectMocks
     private CertificateServiceImpl service;
 
@@ -43,7 +46,9 @@ class CertificateServiceTest {
     @DisplayName("Чтение по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
         final List<Long> ids = List.of(1L);
-        final List<CertificateEntity> certificateEntities = List.of(new CertificateEntity());
+        final CertificateEntity certificate = new CertificateEntity();
+        certificate.setId(1L);
+        final List<CertificateEntity> certificateEntities = List.of(certificate);
         final List<CertificateDto> certificateDtos = List.of(new CertificateDto());
         when(repository.findAllById(ids)).thenReturn(certificateEntities);
         when(mapper.toDtoList(certificateEntities)).thenReturn(certificateDtos);
@@ -59,8 +64,10 @@ class CertificateServiceTest {
     @Test
     @DisplayName("Чтение по нескольким несуществующим id, негативный сценарий")
     void findAllByNonExistIdNegativeTest() {
-        final List<Long> ids = List.of(1L, 1L);
-        final List<CertificateEntity> certificateEntities = List.of(new CertificateEntity());
+        final List<Long> ids = List.of(1L, 2L);
+        final CertificateEntity certificate = new CertificateEntity();
+        certificate.setId(1L);
+        final List<CertificateEntity> certificateEntities = List.of(certificate);
         when(repository.findAllById(ids)).thenReturn(certificateEntities);
 
         assertThrows(EntityNotFoundException.class, () -> service.findAllById(ids));
@@ -1,5 +1,6 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.publicinfo.dto.LicenseDto;
 import com.bank.publicinfo.entity.LicenseEntity;
 import com.bank.publicinfo.mapper.LicenseMapper;
@@ -36,6 +37,8 @@ class LicenseServiceTest {
     private LicenseMapper mapper;
     @Spy
     private EntityNotFoundSupplier supplier;
+    @Spy
+    private BatchEntityFinder batchFinder;
     @InjectMocks
     private LicenseServiceImpl service;
 
@@ -43,7 +46,9 @@ class LicenseServiceTest {
     @DisplayName("Чтение по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
         final List<Long> ids = List.of(1L);
-        final List<LicenseEntity> licenseEntities = List.of(new LicenseEntity());
+        final LicenseEntity license = new LicenseEntity();
+        license.setId(1L);
+        final List<LicenseEntity> licenseEntities = List.of(license);
         final List<LicenseDto> licenseDtos = List.of(new LicenseDto());
         when(repository.findAllById(ids)).thenReturn(licenseEntities);
         when(mapper.toDtoList(licenseEntities)).thenReturn(licenseDtos);
@@ -59,8 +64,10 @@ class LicenseServiceTest {
     @Test
     @DisplayName("Чтение по нескольким несуществующим id, негативный сценарий")
     void findAllByNonExistIdNegativeTest() {
-        final List<Long> ids = List.of(1L, 1L);
-        final List<LicenseEntity> licenseEntities = List.of(new LicenseEntity());
+        final List<Long> ids = List.of(1L, 2L);
+        final LicenseEntity license = new LicenseEntity();
+        license.setId(1L);
+        final List<LicenseEntity> licenseEntities = List.of(license);
         when(repository.findAllById(ids)).thenReturn(licenseEntities);
 
         assertThrows(EntityNotFoundException.class, () -> service.findAllById(ids));
@@ -0,0 +1,24 @@
+package com.bank.transfer.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.math.BigDecimal;
+
+/**
+ * Клиент модуля account
+ */
+@FeignClient(name = "account-app", path = "/api/account")
+public interface AccountClient {
+
+    /**
+     * Списание со счёта. Недостаточно средств - ответ 409, счёт не найден - 404.
+     *
+     * @param id     технический идентификатор банковского счета
+     * @param amount сумма списания
+     */
+    @PutMapping("/details/debit/{id}")
+    void debit(@PathVariable("id") Long id, @RequestParam("amount") BigDecimal amount);
+}
@@ -0,0 +1,21 @@
+package com.bank.transfer.client;
+
+import com.bank.transfer.dto.TransferScoringRequestDto;
+import com.bank.transfer.dto.TransferScoringResultDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Клиент модуля antifraud
+ */
+@FeignClient(name = "anti-fraud-app", path = "/api/anti-fraud")
+public interface AntifraudClient {
+
+    /**
+     * @param request {@link TransferScoringRequestDto}
+     * @return {@link TransferScoringResultDto} решение по переводу
+     */
+    @PostMapping("/scoring")
+    TransferScoringResultDto score(@RequestBody TransferScoringRequestDto request);
+}
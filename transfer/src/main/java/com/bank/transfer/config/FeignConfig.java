@@ -0,0 +1,12 @@
+package com.bank.transfer.config;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Клиенты других модулей банка, вызываемые через eureka
+ */
+@Configuration
+@EnableFeignClients(basePackages = "com.bank.transfer.client")
+public class FeignConfig {
+}
@@ -0,0 +1,329 @@
+package com.bank.transfer.config;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки модуля transfer с префиксом {@code transfer}
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "transfer")
+public class TransferProperties {
+
+    Idempotency idempotency = new Idempotency();
+
+    Export export = new Export();
+
+    Partition partition = new Partition();
+
+    Outbox outbox = new Outbox();
+
+    Execution execution = new Execution();
+
+    GroupCommit groupCommit = new GroupCommit();
+
+    Usage usage = new Usage();
+
+    Ledger ledger = new Ledger();
+
+    Recent recent = new Recent();
+
+    StandingOrder standingOrder = new StandingOrder();
+
+    Stream stream = new Stream();
+
+    /**
+     * Настройки идемпотентного создания переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Idempotency {
+
+        /**
+         * сколько последних ключей хранится в памяти
+         */
+        int cacheSize = 10_000;
+
+        /**
+         * сколько хранится ключ, после этого тот же ключ создаёт новый перевод
+         */
+        long retentionHours = 24;
+    }
+
+    /**
+     * Настройки потоковой выгрузки переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Export {
+
+        /**
+         * сколько строк читается из БД за один запрос
+         */
+        int pageSize = 500;
+    }
+
+    /**
+     * Настройки месячных секций таблиц переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Partition {
+
+        /**
+         * на сколько месяцев вперёд создаются секции
+         */
+        int monthsAhead = 3;
+
+        /**
+         * сколько месяцев хранятся секции, 0 - не удалять
+         */
+        int retentionMonths;
+
+        /**
+         * сколько устаревших строк секции *_legacy удаляется одной транзакцией
+         */
+        int deleteBatchSize = 10_000;
+    }
+
+    /**
+     * Настройки публикации событий переводов из outbox
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Outbox {
+
+        /**
+         * топик событий переводов
+         */
+        String topic = "transfer-events";
+
+        /**
+         * сколько событий публикуется за одну транзакцию
+         */
+        int batchSize = 500;
+
+        /**
+         * сколько ждать подтверждения брокера
+         */
+        long sendTimeoutMs = 10_000;
+    }
+
+    /**
+     * Настройки асинхронного исполнения переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Execution {
+
+        /**
+         * сколько переводов исполняется одновременно
+         */
+        int concurrency = 16;
+
+        /**
+         * сколько переводов может ждать свободного обработчика
+         */
+        int queueCapacity = 1_000;
+
+        /**
+         * через сколько повторно обрабатывается перевод, застрявший в NEW
+         */
+        long retryIntervalMs = 5_000;
+
+        /**
+         * через сколько перевод, застрявший в SCREENED, считается прерванным во время списания
+         * и переводится в UNKNOWN, должно быть больше таймаута вызова счёта
+         */
+        long debitTimeoutMs = 60_000;
+    }
+
+    /**
+     * Настройки групповой фиксации одиночных переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class GroupCommit {
+
+        /**
+         * включена ли групповая фиксация
+         */
+        boolean enabled;
+
+        /**
+         * сколько первый перевод пачки ждёт остальных
+         */
+        long maxWaitMicros = 300;
+
+        /**
+         * сколько переводов фиксируется одной транзакцией
+         */
+        int maxBatchSize = 64;
+
+        /**
+         * сколько переводов одного типа может ждать фиксации, при переполнении перевод сохраняется сразу
+         */
+        int queueCapacity = 10_000;
+    }
+
+    /**
+     * Настройки дневных сумм переводов по счёту
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Usage {
+
+        /**
+         * сколько пар счёт-день хранится в памяти
+         */
+        int cacheSize = 10_000;
+
+        /**
+         * сколько прочитанная сумма считается актуальной
+         */
+        long cacheTtlMs = 1_000;
+    }
+
+    /**
+     * Настройки общей ленты переводов счёта
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Ledger {
+
+        /**
+         * размер страницы, если клиент его не передал
+         */
+        int defaultLimit = 100;
+
+        /**
+         * наибольший размер страницы
+         */
+        int maxLimit = 1_000;
+    }
+
+    /**
+     * Настройки кэша последних переводов счёта
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Recent {
+
+        /**
+         * сколько счетов хранится в памяти
+         */
+        int accounts = 10_000;
+
+        /**
+         * сколько последних переводов хранится на счёт, более длинные выборки читаются из БД
+         */
+        int size = 20;
+
+        /**
+         * сколько последних переводов возвращается по умолчанию
+         */
+        int defaultLimit = 10;
+
+        /**
+         * сколько загруженный из БД буфер считается актуальным
+         */
+        long cacheTtlMs = 60_000;
+    }
+
+    /**
+     * Настройки выполнения регулярных переводов
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class StandingOrder {
+
+        /**
+         * шаг нижнего уровня колеса таймеров
+         */
+        long tickMs = 1_000;
+
+        /**
+         * сколько ячеек в каждом уровне колеса таймеров
+         */
+        int wheelSize = 60;
+
+        /**
+         * на сколько вперёд сроки загружаются из БД в колесо
+         */
+        long horizonMs = 600_000;
+
+        /**
+         * как часто загружается следующий срез сроков
+         */
+        long loadIntervalMs = 60_000;
+
+        /**
+         * сколько переводов читается из БД за один запрос
+         */
+        int batchSize = 1_000;
+
+        /**
+         * сколько переводов выполняется одновременно
+         */
+        int concurrency = 8;
+
+        /**
+         * сколько наступивших переводов может ждать свободного обработчика
+         */
+        int queueCapacity = 1_000;
+
+        /**
+         * через сколько повторяется невыполненный перевод
+         */
+        long retryDelayMs = 30_000;
+    }
+
+    /**
+     * Настройки потока событий переводов счёта
+     */
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Stream {
+
+        /**
+         * сколько неотправленных событий хранится на подписчика, при переполнении вытесняются самые старые
+         */
+        int bufferSize = 256;
+
+        /**
+         * сколько подписок одновременно может быть у одного счёта
+         */
+        int maxSubscribersPerAccount = 8;
+
+        /**
+         * сколько потоков отправляют события подписчикам
+         */
+        int senderThreads = 4;
+
+        /**
+         * за сколько подписчик должен принять событие, иначе он отключается и события ему больше не отправляются
+         */
+        long sendTimeoutMs = 5_000;
+
+        /**
+         * через сколько подписка закрывается, клиент переподключается сам
+         */
+        long timeoutMs = 600_000;
+    }
+}
@@ -1,15 +1,18 @@
 package com.bank.transfer.controller;
 
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.entity.AccountTransferEntity;
 import com.bank.transfer.service.AccountTransferService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,11 +49,30 @@ public class AccountTransferController {
 
     /**
      * @param accountTransfer {@link AccountTransferDto}
+     * @param idempotencyKey ключ идемпотентности, повтор запроса с ним вернёт ранее созданный перевод
      * @return {@link ResponseEntity } {@link AccountTransferDto}
      */
     @PostMapping("/create")
-    public ResponseEntity<AccountTransferDto> create(@RequestBody AccountTransferDto accountTransfer) {
-        return ResponseEntity.ok(service.save(accountTransfer));
+    public ResponseEntity<AccountTransferDto> create(@RequestBody AccountTransferDto accountTransfer,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false)
+                                                     String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(accountTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(accountTransfer, idempotencyKey));
+    }
+
+    /**
+     * Ошибка БД при сохранении откатывает весь пакет, валидные переводы сохраняются все или ни один
+     *
+     * @param accountTransfers список {@link AccountTransferDto}
+     * @return {@link ResponseEntity} c результатом сохранения по каждому {@link AccountTransferDto}
+     */
+    @PostMapping("/create/batch")
+    public ResponseEntity<List<BatchItemResultDto<AccountTransferDto>>> createAll(
+            @RequestBody List<AccountTransferDto> accountTransfers) {
+        return ResponseEntity.ok(service.saveAll(accountTransfers));
     }
 
     /**
@@ -63,4 +85,17 @@ public class AccountTransferController {
                                                      @RequestBody AccountTransferDto accountTransfer) {
         return ResponseEntity.ok(service.update(id, accountTransfer));
     }
+
+    /**
+     * Меняет только переданные поля одним запросом к БД, version обязательна, при устаревшей версии - 409
+     *
+     * @param accountTransfer {@link AccountTransferDto}
+     * @param id              технический идентификатор {@link AccountTransferEntity}
+     * @return {@link ResponseEntity} {@link AccountTransferDto}
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<AccountTransferDto> patch(@PathVariable("id") Long id,
+                                                    @RequestBody AccountTransferDto accountTransfer) {
+        return ResponseEntity.ok(service.patch(id, accountTransfer));
+    }
 }
@@ -1,15 +1,18 @@
 package com.bank.transfer.controller;
 
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.CardTransferDto;
 import com.bank.transfer.entity.CardTransferEntity;
 import com.bank.transfer.service.CardTransferService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,11 +49,30 @@ public class CardTransferController {
 
     /**
      * @param cardTransfer {@link CardTransferDto}
+     * @param idempotencyKey ключ идемпотентности, повтор запроса с ним вернёт ранее созданный перевод
      * @return {@link ResponseEntity } {@link CardTransferDto}
      */
     @PostMapping("/create")
-    public ResponseEntity<CardTransferDto> create(@RequestBody CardTransferDto cardTransfer) {
-        return ResponseEntity.ok(service.save(cardTransfer));
+    public ResponseEntity<CardTransferDto> create(@RequestBody CardTransferDto cardTransfer,
+                                                  @RequestHeader(value = "Idempotency-Key", required = false)
+                                                  String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(cardTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(cardTransfer, idempotencyKey));
+    }
+
+    /**
+     * Ошибка БД при сохранении откатывает весь пакет, валидные переводы сохраняются все или ни один
+     *
+     * @param cardTransfers список {@link CardTransferDto}
+     * @return {@link ResponseEntity} c результатом сохранения по каждому {@link CardTransferDto}
+     */
+    @PostMapping("/create/batch")
+    public ResponseEntity<List<BatchItemResultDto<CardTransferDto>>> createAll(
+            @RequestBody List<CardTransferDto> cardTransfers) {
+        return ResponseEntity.ok(service.saveAll(cardTransfers));
     }
 
     /**
@@ -63,4 +85,17 @@ public class CardTransferController {
                                                   @RequestBody CardTransferDto cardTransfer) {
         return ResponseEntity.ok(service.update(id, cardTransfer));
     }
+
+    /**
+     * Меняет только переданные поля одним запросом к БД, version обязательна, при устаревшей версии - 409
+     *
+     * @param cardTransfer {@link CardTransferDto}
+     * @param id           технический идентификатор {@link CardTransferEntity}
+     * @return {@link ResponseEntity} {@link CardTransferDto}
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<CardTransferDto> patch(@PathVariable("id") Long id,
+                                                 @RequestBody CardTransferDto cardTransfer) {
+        return ResponseEntity.ok(service.patch(id, cardTransfer));
+    }
 }
@@ -1,15 +1,18 @@
 package com.bank.transfer.controller;
 
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.PhoneTransferDto;
 import com.bank.transfer.entity.PhoneTransferEntity;
 import com.bank.transfer.service.PhoneTransferService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,11 +49,30 @@ public class PhoneTransferController {
 
     /**
      * @param phoneTransfer {@link PhoneTransferDto}
+     * @param idempotencyKey ключ идемпотентности, повтор запроса с ним вернёт ранее созданный перевод
      * @return {@link ResponseEntity } {@link PhoneTransferDto}
      */
     @PostMapping("/create")
-    public ResponseEntity<PhoneTransferDto> create(@RequestBody PhoneTransferDto phoneTransfer) {
-        return ResponseEntity.ok(service.save(phoneTransfer));
+    public ResponseEntity<PhoneTransferDto> create(@RequestBody PhoneTransferDto phoneTransfer,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false)
+                                                   String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(phoneTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(phoneTransfer, idempotencyKey));
+    }
+
+    /**
+     * Ошибка БД при сохранении откатывает весь пакет, валидные переводы сохраняются все или ни один
+     *
+     * @param phoneTransfers список {@link PhoneTransferDto}
+     * @return {@link ResponseEntity} c результатом сохранения по каждому {@link PhoneTransferDto}
+     */
+    @PostMapping("/create/batch")
+    public ResponseEntity<List<BatchItemResultDto<PhoneTransferDto>>> createAll(
+            @RequestBody List<PhoneTransferDto> phoneTransfers) {
+        return ResponseEntity.ok(service.saveAll(phoneTransfers));
     }
 
     /**
@@ -63,4 +85,17 @@ public class PhoneTransferController {
                                                    @RequestBody PhoneTransferDto phoneTransfer) {
         return ResponseEntity.ok(service.update(id, phoneTransfer));
     }
+
+    /**
+     * Меняет только переданные поля одним запросом к БД, version обязательна, при устаревшей версии - 409
+     *
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @param id            технический идентификатор {@link PhoneTransferEntity}
+     * @return {@link ResponseEntity} {@link PhoneTransferDto}
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<PhoneTransferDto> patch(@PathVariable("id") Long id,
+                                                  @RequestBody PhoneTransferDto phoneTransfer) {
+        return ResponseEntity.ok(service.patch(id, phoneTransfer));
+    }
 }
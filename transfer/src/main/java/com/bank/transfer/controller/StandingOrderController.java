@@ -0,0 +1,52 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.service.StandingOrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер регулярных переводов
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/standing-order")
+public class StandingOrderController {
+
+    private final StandingOrderService service;
+
+    /**
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return {@link ResponseEntity} {@link StandingOrderDto}
+     */
+    @GetMapping("/read/{id}")
+    public ResponseEntity<StandingOrderDto> read(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.findById(id));
+    }
+
+    /**
+     * @param order {@link StandingOrderDto}
+     * @return {@link ResponseEntity} созданный {@link StandingOrderDto}
+     */
+    @PostMapping("/create")
+    public ResponseEntity<StandingOrderDto> create(@RequestBody StandingOrderDto order) {
+        return ResponseEntity.ok(service.create(order));
+    }
+
+    /**
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return {@link ResponseEntity} отменённый {@link StandingOrderDto}
+     */
+    @PutMapping("/cancel/{id}")
+    public ResponseEntity<StandingOrderDto> cancel(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.cancel(id));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.service.TransferExecutionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Контроллер асинхронного исполнения переводов.
+ * Создание возвращает 202 Accepted и адрес статуса исполнения в заголовке Location.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/execution")
+public class TransferExecutionController {
+
+    private final TransferExecutionService service;
+
+    /**
+     * @param accountTransfer {@link AccountTransferDto}
+     * @return {@link ResponseEntity} {@link TransferExecutionDto} в статусе NEW
+     */
+    @PostMapping("/account")
+    public ResponseEntity<TransferExecutionDto> executeAccount(@RequestBody AccountTransferDto accountTransfer) {
+        return accepted(service.submit(accountTransfer));
+    }
+
+    /**
+     * @param cardTransfer {@link CardTransferDto}
+     * @return {@link ResponseEntity} {@link TransferExecutionDto} в статусе NEW
+     */
+    @PostMapping("/card")
+    public ResponseEntity<TransferExecutionDto> executeCard(@RequestBody CardTransferDto cardTransfer) {
+        return accepted(service.submit(cardTransfer));
+    }
+
+    /**
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @return {@link ResponseEntity} {@link TransferExecutionDto} в статусе NEW
+     */
+    @PostMapping("/phone")
+    public ResponseEntity<TransferExecutionDto> executePhone(@RequestBody PhoneTransferDto phoneTransfer) {
+        return accepted(service.submit(phoneTransfer));
+    }
+
+    /**
+     * @param id технический идентификатор {@link TransferExecutionEntity}
+     * @return {@link TransferExecutionDto}
+     */
+    @GetMapping("/{id}")
+    public TransferExecutionDto read(@PathVariable("id") Long id) {
+        return service.findById(id);
+    }
+
+    /**
+     * Сверка исполнения, результат списания которого неизвестен. Уже завершённое исполнение - 409.
+     *
+     * @param id     технический идентификатор {@link TransferExecutionEntity}
+     * @param posted списаны ли деньги по данным счёта
+     * @return {@link TransferExecutionDto} в статусе POSTED или REJECTED
+     */
+    @PostMapping("/{id}/resolve")
+    public TransferExecutionDto resolve(@PathVariable("id") Long id, @RequestParam("posted") boolean posted) {
+        return service.resolve(id, posted);
+    }
+
+    private static ResponseEntity<TransferExecutionDto> accepted(TransferExecutionDto execution) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/execution/{id}")
+                        .buildAndExpand(execution.getId())
+                        .toUri())
+                .body(execution);
+    }
+}
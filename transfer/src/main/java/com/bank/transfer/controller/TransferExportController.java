@@ -0,0 +1,50 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.service.TransferExportService;
+import com.bank.transfer.service.common.ExportCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Контроллер потоковой выгрузки переводов
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/export")
+public class TransferExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final TransferExportService service;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param from             начало периода включительно
+     * @param to               конец периода не включительно
+     * @param cursor           токен из последней полученной строки, чтобы продолжить прерванную выгрузку
+     * @return {@link ResponseEntity} с переводами счёта, по одному JSON-объекту на строку
+     */
+    @GetMapping(value = "/account-details/{accountDetailsId}", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable("accountDetailsId") Long accountDetailsId,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) String cursor) {
+        final ExportCursor start = ExportCursor.decode(cursor);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> service.export(accountDetailsId, from, to, start, out));
+    }
+}
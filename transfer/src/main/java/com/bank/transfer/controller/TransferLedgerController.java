@@ -0,0 +1,68 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.dto.TransferLedgerPageDto;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.service.TransferLedgerService;
+import com.bank.transfer.service.common.LedgerCursor;
+import com.bank.transfer.service.common.TransferLedgerQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Контроллер общей ленты переводов счёта всех типов
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/ledger")
+public class TransferLedgerController {
+
+    private final TransferLedgerService service;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param type             типы переводов, по умолчанию все
+     * @param from             начало периода включительно
+     * @param to               конец периода не включительно
+     * @param minAmount        минимальная сумма включительно
+     * @param maxAmount        максимальная сумма включительно
+     * @param cursor           токен следующей страницы из предыдущего ответа
+     * @param limit            размер страницы
+     * @return {@link TransferLedgerPageDto}
+     */
+    @GetMapping("/account-details/{accountDetailsId}")
+    public TransferLedgerPageDto read(@PathVariable("accountDetailsId") Long accountDetailsId,
+                                      @RequestParam(required = false) Set<TransferType> type,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(required = false) BigDecimal minAmount,
+                                      @RequestParam(required = false) BigDecimal maxAmount,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit) {
+        return service.find(accountDetailsId, new TransferLedgerQuery.Filter(type, from, to, minAmount, maxAmount),
+                LedgerCursor.decode(cursor), limit);
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param limit            сколько последних переводов вернуть
+     * @return последние переводы счёта всех типов от новых к старым
+     */
+    @GetMapping("/account-details/{accountDetailsId}/recent")
+    public List<TransferLedgerEntryDto> readRecent(@PathVariable("accountDetailsId") Long accountDetailsId,
+                                                   @RequestParam(required = false) Integer limit) {
+        return service.findRecent(accountDetailsId, limit);
+    }
+}
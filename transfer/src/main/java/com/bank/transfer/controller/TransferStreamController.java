@@ -0,0 +1,30 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.service.TransferStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Контроллер потока событий переводов счёта, заменяет повторное чтение перевода в ожидании изменений
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/stream")
+public class TransferStreamController {
+
+    private final TransferStreamService service;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @return {@link SseEmitter} с событиями CREATED и UPDATED, данные события - {@code TransferEventDto}
+     */
+    @GetMapping(value = "/account-details/{accountDetailsId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable("accountDetailsId") Long accountDetailsId) {
+        return service.subscribe(accountDetailsId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.TransferDailyUsageDto;
+import com.bank.transfer.service.TransferUsageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Контроллер дневных сумм переводов по счёту
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/usage")
+public class TransferUsageController {
+
+    private final TransferUsageService service;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param date             день, по умолчанию сегодня
+     * @return {@link TransferDailyUsageDto}
+     */
+    @GetMapping("/account-details/{accountDetailsId}")
+    public TransferDailyUsageDto readDaily(@PathVariable("accountDetailsId") Long accountDetailsId,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return service.findDaily(accountDetailsId, date);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.transfer.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * ДТО результата обработки одного элемента пакетного запроса
+ *
+ * @param <T> тип ДТО перевода
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchItemResultDto<T> implements Serializable {
+
+    Integer index;
+
+    Boolean success;
+
+    T transfer;
+
+    String error;
+}
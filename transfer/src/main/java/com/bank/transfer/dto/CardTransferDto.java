@@ -11,6 +11,7 @@ import lombok.experimental.FieldDefaults;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 
 /**
  * ДТО {@link CardTransferEntity}
@@ -31,4 +32,11 @@ public class CardTransferDto implements Serializable {
 
     String purpose;
     Long accountDetailsId;
+
+    Timestamp createdAt;
+
+    /**
+     * версия перевода, обязательна при частичном изменении
+     */
+    Long version;
 }
@@ -11,6 +11,7 @@ import lombok.experimental.FieldDefaults;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 
 /**
  * ДТО {@link PhoneTransferEntity}
@@ -30,4 +31,11 @@ public class PhoneTransferDto implements Serializable {
 
     String purpose;
     Long accountDetailsId;
+
+    Timestamp createdAt;
+
+    /**
+     * версия перевода, обязательна при частичном изменении
+     */
+    Long version;
 }
@@ -0,0 +1,58 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.entity.StandingOrderPeriod;
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * ДТО {@link StandingOrderEntity}
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StandingOrderDto implements Serializable {
+
+    Long id;
+
+    TransferType transferType;
+
+    /**
+     * номер счёта, карты или телефона получателя в зависимости от типа
+     */
+    Long number;
+
+    BigDecimal amount;
+
+    String purpose;
+
+    Long accountDetailsId;
+
+    StandingOrderPeriod period;
+
+    /**
+     * срок первого выполнения
+     */
+    Timestamp startAt;
+
+    Timestamp nextRunAt;
+
+    Long runs;
+
+    Boolean active;
+
+    Long version;
+}
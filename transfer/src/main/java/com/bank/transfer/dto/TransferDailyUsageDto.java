@@ -0,0 +1,40 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.TransferDailyUsageEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * ДТО {@link TransferDailyUsageEntity}
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferDailyUsageDto implements Serializable {
+
+    Long accountDetailsId;
+
+    LocalDate usageDate;
+
+    /**
+     * сумма переводов всех типов за день
+     */
+    BigDecimal totalAmount;
+
+    /**
+     * количество переводов всех типов за день
+     */
+    Long transferCount;
+}
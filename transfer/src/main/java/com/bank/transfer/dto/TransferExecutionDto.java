@@ -0,0 +1,41 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * ДТО {@link TransferExecutionEntity}
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferExecutionDto implements Serializable {
+
+    Long id;
+
+    TransferType transferType;
+
+    Long transferId;
+
+    TransferStatus status;
+
+    String reason;
+
+    Timestamp createdAt;
+
+    Timestamp updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * ДТО одной строки NDJSON-выгрузки переводов
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferExportLineDto implements Serializable {
+
+    TransferType type;
+
+    /**
+     * токен для продолжения выгрузки после этой строки
+     */
+    String cursor;
+
+    Object transfer;
+}
@@ -0,0 +1,43 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * ДТО одной строки общей ленты переводов счёта
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferLedgerEntryDto implements Serializable {
+
+    TransferType type;
+
+    Long id;
+
+    /**
+     * номер счёта, карты или телефона получателя в зависимости от типа
+     */
+    Long number;
+
+    BigDecimal amount;
+
+    String purpose;
+
+    Long accountDetailsId;
+
+    Timestamp createdAt;
+}
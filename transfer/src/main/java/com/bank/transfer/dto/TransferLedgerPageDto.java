@@ -0,0 +1,31 @@
+package com.bank.transfer.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * ДТО страницы общей ленты переводов счёта
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferLedgerPageDto implements Serializable {
+
+    List<TransferLedgerEntryDto> entries;
+
+    /**
+     * токен следующей страницы, null - страница последняя
+     */
+    String nextCursor;
+}
@@ -0,0 +1,38 @@
+package com.bank.transfer.dto;
+
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * ДТО запроса проверки перевода антифродом
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferScoringRequestDto implements Serializable {
+
+    TransferType type;
+
+    Long transferId;
+
+    Long accountDetailsId;
+
+    /**
+     * номер счёта, карты или телефона получателя
+     */
+    Long number;
+
+    BigDecimal amount;
+}
@@ -6,14 +6,18 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.Objects;
 
 /**
@@ -29,7 +33,9 @@ import java.util.Objects;
 public class CardTransferEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_transfer_id_seq")
+    @SequenceGenerator(name = "card_transfer_id_seq", sequenceName = "card_transfer_id_seq",
+            schema = "transfer", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
@@ -45,6 +51,20 @@ public class CardTransferEntity {
     @Column(name = "account_details_id")
     Long accountDetailsId;
 
+    /**
+     * ключ секционирования таблицы по месяцам
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Timestamp createdAt;
+
+    /**
+     * версия строки для оптимистической блокировки
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
+
     @Override
     public boolean equals(Object o) {
 
@@ -60,12 +80,15 @@ public class CardTransferEntity {
                 cardTransfer.getCardNumber()) && Objects.equals(getAmount(),
                 cardTransfer.getAmount()) && Objects.equals(getPurpose(),
                 cardTransfer.getPurpose()) && Objects.equals(getAccountDetailsId(),
-                cardTransfer.getAccountDetailsId()
+                cardTransfer.getAccountDetailsId()) && Objects.equals(getCreatedAt(),
+                cardTransfer.getCreatedAt()) && Objects.equals(getVersion(),
+                cardTransfer.getVersion()
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getCardNumber(), getAmount(), getPurpose(), getAccountDetailsId());
+        return Objects.hash(getId(), getCardNumber(), getAmount(), getPurpose(), getAccountDetailsId(),
+                getCreatedAt(), getVersion());
     }
 }
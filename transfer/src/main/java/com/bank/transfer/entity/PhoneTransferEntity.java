@@ -6,14 +6,18 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.Objects;
 
 /**
@@ -29,7 +33,9 @@ import java.util.Objects;
 public class PhoneTransferEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phone_transfer_id_seq")
+    @SequenceGenerator(name = "phone_transfer_id_seq", sequenceName = "phone_transfer_id_seq",
+            schema = "transfer", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
@@ -45,6 +51,20 @@ public class PhoneTransferEntity {
     @Column(name = "account_details_id")
     Long accountDetailsId;
 
+    /**
+     * ключ секционирования таблицы по месяцам
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Timestamp createdAt;
+
+    /**
+     * версия строки для оптимистической блокировки
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
+
     @Override
     public boolean equals(Object o) {
 
@@ -60,12 +80,15 @@ public class PhoneTransferEntity {
                 phoneTransfer.getPhoneNumber()) && Objects.equals(getAmount(),
                 phoneTransfer.getAmount()) && Objects.equals(getPurpose(),
                 phoneTransfer.getPurpose()) && Objects.equals(getAccountDetailsId(),
-                phoneTransfer.getAccountDetailsId()
+                phoneTransfer.getAccountDetailsId()) && Objects.equals(getCreatedAt(),
+                phoneTransfer.getCreatedAt()) && Objects.equals(getVersion(),
+                phoneTransfer.getVersion()
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getPhoneNumber(), getAmount(), getPurpose(), getAccountDetailsId());
+        return Objects.hash(getId(), getPhoneNumber(), getAmount(), getPurpose(), getAccountDetailsId(),
+                getCreatedAt(), getVersion());
     }
 }
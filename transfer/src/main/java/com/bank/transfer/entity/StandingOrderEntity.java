@@ -0,0 +1,121 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы standing_order
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "standing_order", schema = "transfer")
+public class StandingOrderEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "standing_order_id_seq")
+    @SequenceGenerator(name = "standing_order_id_seq", sequenceName = "standing_order_id_seq",
+            schema = "transfer", allocationSize = 50)
+    @Column(name = "id")
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transfer_type")
+    TransferType transferType;
+
+    /**
+     * номер счёта, карты или телефона получателя в зависимости от типа
+     */
+    @Column(name = "number")
+    Long number;
+
+    @Column(name = "amount")
+    BigDecimal amount;
+
+    @Column(name = "purpose")
+    String purpose;
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period")
+    StandingOrderPeriod period;
+
+    /**
+     * срок первого выполнения, от него считаются следующие
+     */
+    @Column(name = "start_at")
+    Timestamp startAt;
+
+    /**
+     * срок следующего выполнения
+     */
+    @Column(name = "next_run_at")
+    Timestamp nextRunAt;
+
+    /**
+     * сколько раз перевод выполнен
+     */
+    @Column(name = "runs")
+    Long runs;
+
+    @Column(name = "active")
+    Boolean active;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof StandingOrderEntity order)) {
+            return false;
+        }
+
+        return Objects.equals(getId(), order.getId()) && getTransferType() == order.getTransferType() &&
+                Objects.equals(getNumber(), order.getNumber()) &&
+                Objects.equals(getAmount(), order.getAmount()) &&
+                Objects.equals(getPurpose(), order.getPurpose()) &&
+                Objects.equals(getAccountDetailsId(), order.getAccountDetailsId()) &&
+                getPeriod() == order.getPeriod() &&
+                Objects.equals(getStartAt(), order.getStartAt()) &&
+                Objects.equals(getNextRunAt(), order.getNextRunAt()) &&
+                Objects.equals(getRuns(), order.getRuns()) &&
+                Objects.equals(getActive(), order.getActive()) &&
+                Objects.equals(getVersion(), order.getVersion());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getTransferType(), getNumber(), getAmount(), getPurpose(),
+                getAccountDetailsId(), getPeriod(), getStartAt(), getNextRunAt(), getRuns(), getActive(),
+                getVersion());
+    }
+}
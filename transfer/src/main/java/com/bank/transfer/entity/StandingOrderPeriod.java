@@ -0,0 +1,43 @@
+package com.bank.transfer.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Периодичность регулярного перевода, {@link StandingOrderEntity}
+ */
+public enum StandingOrderPeriod {
+
+    /**
+     * каждый день
+     */
+    DAILY(ChronoUnit.DAYS),
+
+    /**
+     * каждую неделю
+     */
+    WEEKLY(ChronoUnit.WEEKS),
+
+    /**
+     * каждый месяц
+     */
+    MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    StandingOrderPeriod(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Срок считается от первого, а не от предыдущего, поэтому перевод 31-го числа
+     * в феврале выполнится 28-го, а в марте снова 31-го
+     *
+     * @param start  срок первого выполнения
+     * @param number номер выполнения, начиная с 0
+     * @return срок выполнения с номером number
+     */
+    public LocalDateTime occurrence(LocalDateTime start, long number) {
+        return start.plus(number, unit);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы transfer_daily_usage
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "transfer_daily_usage", schema = "transfer")
+public class TransferDailyUsageEntity {
+
+    @EmbeddedId
+    TransferDailyUsageId id;
+
+    @Column(name = "total_amount")
+    BigDecimal totalAmount;
+
+    @Column(name = "transfer_count")
+    Long transferCount;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TransferDailyUsageEntity usage)) {
+            return false;
+        }
+
+        return Objects.equals(getId(), usage.getId()) && Objects.equals(getTotalAmount(),
+                usage.getTotalAmount()) && Objects.equals(getTransferCount(),
+                usage.getTransferCount());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getTotalAmount(), getTransferCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Составной ключ {@link TransferDailyUsageEntity}
+ */
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferDailyUsageId implements Serializable {
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "usage_date")
+    LocalDate usageDate;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TransferDailyUsageId id)) {
+            return false;
+        }
+
+        return Objects.equals(getAccountDetailsId(), id.getAccountDetailsId()) && Objects.equals(getUsageDate(),
+                id.getUsageDate());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getAccountDetailsId(), getUsageDate());
+    }
+}
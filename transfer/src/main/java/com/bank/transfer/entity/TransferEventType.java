@@ -0,0 +1,17 @@
+package com.bank.transfer.entity;
+
+/**
+ * Тип события перевода, публикуемого через {@link OutboxEventEntity}
+ */
+public enum TransferEventType {
+
+    /**
+     * перевод создан
+     */
+    CREATED,
+
+    /**
+     * перевод изменён
+     */
+    UPDATED
+}
@@ -0,0 +1,97 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы transfer_execution
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "transfer_execution", schema = "transfer")
+public class TransferExecutionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_execution_id_seq")
+    @SequenceGenerator(name = "transfer_execution_id_seq", sequenceName = "transfer_execution_id_seq",
+            schema = "transfer", allocationSize = 50)
+    @Column(name = "id")
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transfer_type")
+    TransferType transferType;
+
+    @Column(name = "transfer_id")
+    Long transferId;
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "number")
+    Long number;
+
+    @Column(name = "amount")
+    BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    TransferStatus status;
+
+    @Column(name = "reason")
+    String reason;
+
+    @Column(name = "created_at")
+    Timestamp createdAt;
+
+    @Column(name = "updated_at")
+    Timestamp updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TransferExecutionEntity execution)) {
+            return false;
+        }
+
+        return Objects.equals(getId(), execution.getId()) && getTransferType() == execution.getTransferType() &&
+                Objects.equals(getTransferId(), execution.getTransferId()) &&
+                Objects.equals(getAccountDetailsId(), execution.getAccountDetailsId()) &&
+                Objects.equals(getNumber(), execution.getNumber()) &&
+                Objects.equals(getAmount(), execution.getAmount()) && getStatus() == execution.getStatus() &&
+                Objects.equals(getReason(), execution.getReason()) &&
+                Objects.equals(getCreatedAt(), execution.getCreatedAt()) &&
+                Objects.equals(getUpdatedAt(), execution.getUpdatedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getTransferType(), getTransferId(), getAccountDetailsId(), getNumber(),
+                getAmount(), getStatus(), getReason(), getCreatedAt(), getUpdatedAt());
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.transfer.entity;
+
+/**
+ * Статус исполнения перевода, {@link TransferExecutionEntity}.
+ * Допустимые переходы: NEW → SCREENED | REJECTED, SCREENED → POSTED | REJECTED | UNKNOWN,
+ * UNKNOWN → POSTED | REJECTED после сверки со счётом.
+ */
+public enum TransferStatus {
+
+    /**
+     * перевод создан и ждёт проверки антифродом
+     */
+    NEW,
+
+    /**
+     * проверка антифродом пройдена, ждёт списания со счёта
+     */
+    SCREENED,
+
+    /**
+     * деньги списаны со счёта
+     */
+    POSTED,
+
+    /**
+     * перевод отклонён антифродом или счётом
+     */
+    REJECTED,
+
+    /**
+     * счёт не ответил на списание или исполнение прервалось во время списания: деньги могли быть списаны,
+     * исполнение ждёт сверки
+     */
+    UNKNOWN;
+
+    /**
+     * @param next следующий статус
+     * @return допустим ли переход из текущего статуса в next
+     */
+    public boolean canMoveTo(TransferStatus next) {
+        return switch (this) {
+            case NEW -> next == SCREENED || next == REJECTED;
+            case SCREENED -> next == POSTED || next == REJECTED || next == UNKNOWN;
+            case UNKNOWN -> next == POSTED || next == REJECTED;
+            case POSTED, REJECTED -> false;
+        };
+    }
+}
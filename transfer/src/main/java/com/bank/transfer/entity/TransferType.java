@@ -0,0 +1,22 @@
+package com.bank.transfer.entity;
+
+/**
+ * Тип перевода
+ */
+public enum TransferType {
+
+    /**
+     * перевод по номеру счёта, {@link AccountTransferEntity}
+     */
+    ACCOUNT,
+
+    /**
+     * перевод по номеру карты, {@link CardTransferEntity}
+     */
+    CARD,
+
+    /**
+     * перевод по номеру телефона, {@link PhoneTransferEntity}
+     */
+    PHONE
+}
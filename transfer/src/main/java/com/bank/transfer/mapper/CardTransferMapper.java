@@ -2,6 +2,7 @@ package com.bank.transfer.mapper;
 
 import com.bank.transfer.dto.AccountTransferDto;
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
 import com.bank.transfer.entity.AccountTransferEntity;
 import com.bank.transfer.entity.CardTransferEntity;
 import org.mapstruct.Mapper;
@@ -21,6 +22,8 @@ public interface CardTransferMapper {
      * @return {@link CardTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CardTransferEntity toEntity(CardTransferDto transfer);
 
     /**
@@ -35,6 +38,8 @@ public interface CardTransferMapper {
      * @return {@link AccountTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CardTransferEntity mergeToEntity (CardTransferDto transferDto,
                                          @MappingTarget CardTransferEntity transfer);
 
@@ -43,4 +48,12 @@ public interface CardTransferMapper {
      * @return {@link List<CardTransferDto>}
      */
     List<CardTransferDto> toDtoList(List<CardTransferEntity> transfers);
+
+    /**
+     * @param transfer {@link CardTransferDto}
+     * @return {@link TransferLedgerEntryDto}
+     */
+    @Mapping(target = "type", constant = "CARD")
+    @Mapping(target = "number", source = "cardNumber")
+    TransferLedgerEntryDto toLedgerEntry(CardTransferDto transfer);
 }
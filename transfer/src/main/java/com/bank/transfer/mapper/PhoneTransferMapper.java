@@ -1,6 +1,7 @@
 package com.bank.transfer.mapper;
 
 import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
 import com.bank.transfer.entity.PhoneTransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -19,6 +20,8 @@ public interface PhoneTransferMapper {
      * @return {@link PhoneTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     PhoneTransferEntity toEntity(PhoneTransferDto dto);
 
     /**
@@ -33,6 +36,8 @@ public interface PhoneTransferMapper {
      * @return {@link PhoneTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     PhoneTransferEntity mergeToEntity (PhoneTransferDto transferDto,
                                       @MappingTarget PhoneTransferEntity transfer);
 
@@ -41,4 +46,12 @@ public interface PhoneTransferMapper {
      * @return {@link List<PhoneTransferDto>}
      */
     List<PhoneTransferDto> toDtoList(List<PhoneTransferEntity> transfers);
+
+    /**
+     * @param transfer {@link PhoneTransferDto}
+     * @return {@link TransferLedgerEntryDto}
+     */
+    @Mapping(target = "type", constant = "PHONE")
+    @Mapping(target = "number", source = "phoneNumber")
+    TransferLedgerEntryDto toLedgerEntry(PhoneTransferDto transfer);
 }
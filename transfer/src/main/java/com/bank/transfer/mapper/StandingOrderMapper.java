@@ -0,0 +1,30 @@
+package com.bank.transfer.mapper;
+
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper для {@link StandingOrderEntity}
+ */
+@Mapper(componentModel = "spring")
+public interface StandingOrderMapper {
+
+    /**
+     * @param order {@link StandingOrderDto}
+     * @return {@link StandingOrderEntity} без срока следующего выполнения и состояния
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "nextRunAt", ignore = true)
+    @Mapping(target = "runs", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    StandingOrderEntity toEntity(StandingOrderDto order);
+
+    /**
+     * @param order {@link StandingOrderEntity}
+     * @return {@link StandingOrderDto}
+     */
+    StandingOrderDto toDto(StandingOrderEntity order);
+}
@@ -0,0 +1,18 @@
+package com.bank.transfer.mapper;
+
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper для {@link TransferExecutionEntity}
+ */
+@Mapper(componentModel = "spring")
+public interface TransferExecutionMapper {
+
+    /**
+     * @param execution {@link TransferExecutionEntity}
+     * @return {@link TransferExecutionDto}
+     */
+    TransferExecutionDto toDto(TransferExecutionEntity execution);
+}
@@ -0,0 +1,35 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import com.bank.transfer.entity.TransferType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link IdempotencyKeyEntity}
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    /**
+     * @param transferType   {@link TransferType}
+     * @param idempotencyKey ключ идемпотентности клиента
+     * @return {@link IdempotencyKeyEntity}, если перевод с таким ключом уже создан
+     */
+    Optional<IdempotencyKeyEntity> findByTransferTypeAndIdempotencyKey(TransferType transferType,
+                                                                      String idempotencyKey);
+
+    /**
+     * @param createdAt граница времени создания
+     * @return сколько ключей удалено
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKeyEntity k where k.createdAt < :createdAt")
+    int deleteCreatedBefore(@Param("createdAt") Timestamp createdAt);
+}
@@ -0,0 +1,32 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Репозиторий для {@link OutboxEventEntity}
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * @param lockId идентификатор advisory lock
+     * @return true, если блокировка взята до конца транзакции, false - её держит другая транзакция
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockId)", nativeQuery = true)
+    boolean tryLock(@Param("lockId") long lockId);
+
+    /**
+     * Блокирует самые старые события до конца транзакции. Строки, заблокированные другим
+     * экземпляром сервиса, пропускаются, поэтому несколько relay не публикуют одно событие одновременно.
+     *
+     * @param limit размер пачки
+     * @return лист {@link OutboxEventEntity} в порядке создания
+     */
+    @Query(value = "SELECT * FROM transfer.outbox_event ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> lockBatch(@Param("limit") int limit);
+}
@@ -1,10 +1,33 @@
 package com.bank.transfer.repository;
 
 import com.bank.transfer.entity.PhoneTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * Репозиторий для {@link PhoneTransferEntity}
  */
 public interface PhoneTransferRepository extends JpaRepository<PhoneTransferEntity, Long> {
+
+    /**
+     * Страница keyset-выборки по индексу (account_details_id, id).
+     * Условие по created_at отсекает месячные секции за пределами периода.
+     *
+     * @param accountDetailsId технический идентификатор счёта
+     * @param id               технический идентификатор последнего выгруженного перевода
+     * @param from             начало периода включительно
+     * @param to               конец периода не включительно
+     * @param pageable         размер страницы, смещение всегда 0
+     * @return лист {@link PhoneTransferEntity} с id больше переданного в порядке возрастания id
+     */
+    @Query("select t from PhoneTransferEntity t where t.accountDetailsId = :accountDetailsId and t.id > :id " +
+            "and t.createdAt >= :from and t.createdAt < :to order by t.id")
+    List<PhoneTransferEntity> findExportPage(@Param("accountDetailsId") Long accountDetailsId, @Param("id") Long id,
+                                             @Param("from") Timestamp from, @Param("to") Timestamp to,
+                                             Pageable pageable);
 }
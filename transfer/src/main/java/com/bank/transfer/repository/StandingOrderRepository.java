@@ -0,0 +1,46 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.StandingOrderEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link StandingOrderEntity}
+ */
+public interface StandingOrderRepository extends JpaRepository<StandingOrderEntity, Long> {
+
+    /**
+     * Keyset-страница действующих переводов со сроком в [from, until) по индексу (next_run_at, id)
+     *
+     * @param from          начало среза включительно
+     * @param until         конец среза не включительно
+     * @param lastNextRunAt срок последнего перевода предыдущей страницы
+     * @param lastId        технический идентификатор последнего перевода предыдущей страницы
+     * @param pageable      размер страницы
+     * @return переводы в порядке (next_run_at, id)
+     */
+    @Query("select o from StandingOrderEntity o where o.active = true and o.nextRunAt >= :from and " +
+            "o.nextRunAt < :until and (o.nextRunAt > :lastNextRunAt or " +
+            "o.nextRunAt = :lastNextRunAt and o.id > :lastId) order by o.nextRunAt, o.id")
+    List<StandingOrderEntity> findDueSlice(@Param("from") Timestamp from, @Param("until") Timestamp until,
+                                           @Param("lastNextRunAt") Timestamp lastNextRunAt,
+                                           @Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * Блокирует строку до конца транзакции, одновременные выполнения одного перевода идут по очереди
+     *
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return {@link StandingOrderEntity}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from StandingOrderEntity o where o.id = :id")
+    Optional<StandingOrderEntity> lockById(@Param("id") Long id);
+}
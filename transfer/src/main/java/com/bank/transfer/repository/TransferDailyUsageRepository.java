@@ -0,0 +1,36 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.TransferDailyUsageEntity;
+import com.bank.transfer.entity.TransferDailyUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Репозиторий для {@link TransferDailyUsageEntity}
+ */
+public interface TransferDailyUsageRepository extends JpaRepository<TransferDailyUsageEntity, TransferDailyUsageId> {
+
+    /**
+     * Атомарно прибавляет к дневным суммам счёта. Строка за день создаётся первым переводом,
+     * одновременные переводы того же счёта ждут блокировку строки, а не перечитывают таблицы переводов.
+     *
+     * @param accountDetailsId технический идентификатор счёта
+     * @param usageDate        день создания переводов
+     * @param amount           изменение суммы, может быть отрицательным
+     * @param count            изменение количества, может быть отрицательным
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transfer.transfer_daily_usage AS u " +
+            "(account_details_id, usage_date, total_amount, transfer_count) " +
+            "VALUES (:accountDetailsId, :usageDate, :amount, :count) " +
+            "ON CONFLICT (account_details_id, usage_date) DO UPDATE " +
+            "SET total_amount = u.total_amount + EXCLUDED.total_amount, " +
+            "transfer_count = u.transfer_count + EXCLUDED.transfer_count", nativeQuery = true)
+    void upsert(@Param("accountDetailsId") Long accountDetailsId, @Param("usageDate") LocalDate usageDate,
+                @Param("amount") BigDecimal amount, @Param("count") long count);
+}
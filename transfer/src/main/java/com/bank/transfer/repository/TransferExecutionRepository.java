@@ -0,0 +1,43 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Репозиторий для {@link TransferExecutionEntity}
+ */
+public interface TransferExecutionRepository extends JpaRepository<TransferExecutionEntity, Long> {
+
+    /**
+     * Переход статуса с проверкой текущего: из нескольких одновременных обработчиков переход выполнит один
+     *
+     * @param id      технический идентификатор {@link TransferExecutionEntity}
+     * @param current ожидаемый текущий статус
+     * @param next    новый статус
+     * @param reason  причина отклонения
+     * @param now     время перехода
+     * @return 1, если переход выполнен, 0 - если статус уже изменён
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TransferExecutionEntity e set e.status = :next, e.reason = :reason, e.updatedAt = :now " +
+            "where e.id = :id and e.status = :current")
+    int transition(@Param("id") Long id, @Param("current") TransferStatus current,
+                   @Param("next") TransferStatus next, @Param("reason") String reason, @Param("now") Timestamp now);
+
+    /**
+     * @param status    статус
+     * @param updatedAt граница времени последнего перехода
+     * @return до 100 исполнений в статусе status, не менявшихся с updatedAt
+     */
+    List<TransferExecutionEntity> findTop100ByStatusAndUpdatedAtBeforeOrderById(TransferStatus status,
+                                                                                Timestamp updatedAt);
+}
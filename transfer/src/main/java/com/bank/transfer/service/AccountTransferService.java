@@ -1,6 +1,8 @@
 package com.bank.transfer.service;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.entity.AccountTransferEntity;
 
 import java.util.List;
@@ -28,10 +30,36 @@ public interface AccountTransferService {
      */
     AccountTransferDto save(AccountTransferDto accountTransfer);
 
+    /**
+     * @param accountTransfer {@link AccountTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link AccountTransferDto}
+     * @throws ValidationException если ключ уже использован с другим переводом
+     */
+    AccountTransferDto save(AccountTransferDto accountTransfer, String idempotencyKey);
+
     /**
      * @param accountTransfer {@link AccountTransferDto}
      * @param id              технический идентификатор {@link AccountTransferEntity}
      * @return {@link AccountTransferDto}
      */
     AccountTransferDto update(Long id, AccountTransferDto accountTransfer);
+
+    /**
+     * Меняет только переданные поля перевода, если его версия совпадает с accountTransfer.version
+     *
+     * @param accountTransfer {@link AccountTransferDto} с изменяемыми полями и версией
+     * @param id              технический идентификатор {@link AccountTransferEntity}
+     * @return {@link AccountTransferDto} с новой версией
+     */
+    AccountTransferDto patch(Long id, AccountTransferDto accountTransfer);
+
+    /**
+     * Невалидные переводы отбрасываются по одному, а ошибка БД при сохранении валидных откатывает весь пакет
+     * и возвращается как ошибка запроса, без результатов по переводам
+     *
+     * @param accountTransfers список {@link AccountTransferDto}
+     * @return результат сохранения по каждому {@link AccountTransferDto}
+     */
+    List<BatchItemResultDto<AccountTransferDto>> saveAll(List<AccountTransferDto> accountTransfers);
 }
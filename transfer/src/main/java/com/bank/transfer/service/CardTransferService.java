@@ -1,5 +1,7 @@
 package com.bank.transfer.service;
 
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.CardTransferDto;
 import com.bank.transfer.entity.CardTransferEntity;
 
@@ -28,10 +30,36 @@ public interface CardTransferService {
      */
     CardTransferDto save(CardTransferDto cardTransfer);
 
+    /**
+     * @param cardTransfer {@link CardTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link CardTransferDto}
+     * @throws ValidationException если ключ уже использован с другим переводом
+     */
+    CardTransferDto save(CardTransferDto cardTransfer, String idempotencyKey);
+
     /**
      * @param cardTransfer {@link CardTransferDto}
      * @param id           технический идентификатор {@link CardTransferEntity}
      * @return {@link CardTransferDto}
      */
     CardTransferDto update(Long id, CardTransferDto cardTransfer);
+
+    /**
+     * Меняет только переданные поля перевода, если его версия совпадает с cardTransfer.version
+     *
+     * @param cardTransfer {@link CardTransferDto} с изменяемыми полями и версией
+     * @param id           технический идентификатор {@link CardTransferEntity}
+     * @return {@link CardTransferDto} с новой версией
+     */
+    CardTransferDto patch(Long id, CardTransferDto cardTransfer);
+
+    /**
+     * Невалидные переводы отбрасываются по одному, а ошибка БД при сохранении валидных откатывает весь пакет
+     * и возвращается как ошибка запроса, без результатов по переводам
+     *
+     * @param cardTransfers список {@link CardTransferDto}
+     * @return результат сохранения по каждому {@link CardTransferDto}
+     */
+    List<BatchItemResultDto<CardTransferDto>> saveAll(List<CardTransferDto> cardTransfers);
 }
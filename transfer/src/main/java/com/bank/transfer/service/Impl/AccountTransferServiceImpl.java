@@ -1,18 +1,32 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.util.BatchEntityFinder;
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.mapper.AccountTransferMapper;
 import com.bank.transfer.repository.AccountTransferRepository;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyExecutor;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferDailyUsage;
+import com.bank.transfer.service.common.TransferEventStream;
+import com.bank.transfer.service.common.TransferGroupCommitter;
+import com.bank.transfer.service.common.TransferOutbox;
+import com.bank.transfer.service.common.TransferPatcher;
+import com.bank.transfer.service.common.TransferRecentCache;
 import com.bank.transfer.service.AccountTransferService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Реализация {@link AccountTransferService}
@@ -27,6 +41,15 @@ public class AccountTransferServiceImpl implements AccountTransferService {
     private final AccountTransferRepository repository;
     private final AccountTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBatchSaver batchSaver;
+    private final IdempotencyExecutor idempotency;
+    private final TransferOutbox outbox;
+    private final TransferGroupCommitter groupCommitter;
+    private final TransferDailyUsage dailyUsage;
+    private final TransferPatcher patcher;
+    private final TransferRecentCache recentCache;
+    private final TransferEventStream eventStream;
 
     /**
      * @param ids список технических идентификаторов {@link AccountTransferEntity}
@@ -34,13 +57,10 @@ public class AccountTransferServiceImpl implements AccountTransferService {
      */
     @Override
     public List<AccountTransferDto> findAllById(List<Long> ids) {
-        final List<AccountTransferDto> accountTransferDtoList = new ArrayList<>();
+        final List<AccountTransferEntity> transfers = batchFinder.findAllById(
+                ids, repository::findAllById, AccountTransferEntity::getId, MESSAGE);
 
-        for (Long id : ids) {
-            accountTransferDtoList.add(findById(id));
-        }
-
-        return accountTransferDtoList;
+        return mapper.toDtoList(transfers);
     }
 
     /**
@@ -56,16 +76,25 @@ public class AccountTransferServiceImpl implements AccountTransferService {
     }
 
     /**
+     * При включённой групповой фиксации перевод сохраняется одной транзакцией с другими одновременными запросами
+     *
      * @param accountTransfer {@link AccountTransferDto}
      * @return {@link AccountTransferDto}
      */
     @Override
-    @Transactional
     public AccountTransferDto save(AccountTransferDto accountTransfer) {
-        final AccountTransferEntity transfer = repository.save(
-                mapper.toEntity(accountTransfer));
+        return groupCommitter.save(TransferType.ACCOUNT, accountTransfer, this::insert, this::insertAll);
+    }
 
-        return mapper.toDto(transfer);
+    /**
+     * @param accountTransfer {@link AccountTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link AccountTransferDto}
+     */
+    @Override
+    public AccountTransferDto save(AccountTransferDto accountTransfer, String idempotencyKey) {
+        return idempotency.execute(TransferType.ACCOUNT, idempotencyKey, accountTransfer, () -> save(accountTransfer),
+                AccountTransferDto::getId, this::findById);
     }
 
     /**
@@ -79,8 +108,107 @@ public class AccountTransferServiceImpl implements AccountTransferService {
         final AccountTransferEntity transfer = repository.findById(id)
                 .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
 
+        final Long oldAccountDetailsId = transfer.getAccountDetailsId();
+        final BigDecimal oldAmount = transfer.getAmount();
+
         final AccountTransferEntity accountTransferEntity = mapper.mergeToEntity(accountTransfer, transfer);
 
-        return mapper.toDto(repository.save(accountTransferEntity));
+        final AccountTransferDto updated = mapper.toDto(repository.save(accountTransferEntity));
+
+        outbox.add(TransferType.ACCOUNT, TransferEventType.UPDATED, updated, AccountTransferDto::getAccountDetailsId);
+        dailyUsage.change(oldAccountDetailsId, oldAmount, updated.getAccountDetailsId(), updated.getAmount(),
+                updated.getCreatedAt());
+        recentCache.change(oldAccountDetailsId, mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.ACCOUNT, TransferEventType.UPDATED, updated,
+                AccountTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * Одним оператором UPDATE ... RETURNING, без чтения перевода перед изменением
+     *
+     * @param accountTransfer {@link AccountTransferDto} с изменяемыми полями и версией
+     * @param id              технический идентификатор {@link AccountTransferEntity}
+     * @return {@link AccountTransferDto} с новой версией
+     */
+    @Override
+    @Transactional
+    public AccountTransferDto patch(Long id, AccountTransferDto accountTransfer) {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("account_number", accountTransfer.getAccountNumber());
+        columns.put("amount", accountTransfer.getAmount());
+        columns.put("purpose", accountTransfer.getPurpose());
+        columns.put("account_details_id", accountTransfer.getAccountDetailsId());
+
+        final TransferPatcher.Patched<AccountTransferEntity> patched = patcher.patch(AccountTransferEntity.class, id,
+                accountTransfer.getVersion(), columns, () -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        final AccountTransferDto updated = mapper.toDto(patched.transfer());
+
+        outbox.add(TransferType.ACCOUNT, TransferEventType.UPDATED, updated, AccountTransferDto::getAccountDetailsId);
+        dailyUsage.change(patched.oldAccountDetailsId(), patched.oldAmount(), updated.getAccountDetailsId(),
+                updated.getAmount(), updated.getCreatedAt());
+        recentCache.change(patched.oldAccountDetailsId(), mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.ACCOUNT, TransferEventType.UPDATED, updated,
+                AccountTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * @param accountTransfers список {@link AccountTransferDto}
+     * @return результат сохранения по каждому {@link AccountTransferDto}
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResultDto<AccountTransferDto>> saveAll(List<AccountTransferDto> accountTransfers) {
+        final List<BatchItemResultDto<AccountTransferDto>> results = batchSaver.saveAll(accountTransfers,
+                transfer -> batchSaver.checkTransfer(
+                        transfer.getAccountNumber(), transfer.getAmount(), transfer.getAccountDetailsId()),
+                mapper::toEntity, repository::saveAll, mapper::toDto);
+
+        final List<AccountTransferDto> saved = results.stream()
+                .filter(BatchItemResultDto::getSuccess)
+                .map(BatchItemResultDto::getTransfer)
+                .toList();
+
+        outbox.addAll(TransferType.ACCOUNT, TransferEventType.CREATED, saved, AccountTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, AccountTransferDto::getAccountDetailsId, AccountTransferDto::getAmount,
+                AccountTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.ACCOUNT, TransferEventType.CREATED, saved,
+                AccountTransferDto::getAccountDetailsId);
+
+        return results;
+    }
+
+    private AccountTransferDto insert(AccountTransferDto accountTransfer) {
+        final AccountTransferDto saved = mapper.toDto(repository.save(
+                mapper.toEntity(accountTransfer)));
+
+        outbox.add(TransferType.ACCOUNT, TransferEventType.CREATED, saved, AccountTransferDto::getAccountDetailsId);
+        dailyUsage.add(saved, AccountTransferDto::getAccountDetailsId, AccountTransferDto::getAmount,
+                AccountTransferDto::getCreatedAt);
+        recentCache.add(mapper.toLedgerEntry(saved));
+        eventStream.publish(TransferType.ACCOUNT, TransferEventType.CREATED, saved,
+                AccountTransferDto::getAccountDetailsId);
+
+        return saved;
+    }
+
+    private List<AccountTransferDto> insertAll(List<AccountTransferDto> accountTransfers) {
+        final List<AccountTransferDto> saved = mapper.toDtoList(repository.saveAll(accountTransfers.stream()
+                .map(mapper::toEntity)
+                .toList()));
+
+        outbox.addAll(TransferType.ACCOUNT, TransferEventType.CREATED, saved, AccountTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, AccountTransferDto::getAccountDetailsId, AccountTransferDto::getAmount,
+                AccountTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.ACCOUNT, TransferEventType.CREATED, saved,
+                AccountTransferDto::getAccountDetailsId);
+
+        return saved;
     }
 }
@@ -1,18 +1,32 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.util.BatchEntityFinder;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.CardTransferDto;
 import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.mapper.CardTransferMapper;
 import com.bank.transfer.repository.CardTransferRepository;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyExecutor;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferDailyUsage;
+import com.bank.transfer.service.common.TransferEventStream;
+import com.bank.transfer.service.common.TransferGroupCommitter;
+import com.bank.transfer.service.common.TransferOutbox;
+import com.bank.transfer.service.common.TransferPatcher;
+import com.bank.transfer.service.common.TransferRecentCache;
 import com.bank.transfer.service.CardTransferService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Реализация {@link CardTransferService}
@@ -27,6 +41,15 @@ public class CardTransferServiceImpl implements CardTransferService {
     private final CardTransferRepository repository;
     private final CardTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBatchSaver batchSaver;
+    private final IdempotencyExecutor idempotency;
+    private final TransferOutbox outbox;
+    private final TransferGroupCommitter groupCommitter;
+    private final TransferDailyUsage dailyUsage;
+    private final TransferPatcher patcher;
+    private final TransferRecentCache recentCache;
+    private final TransferEventStream eventStream;
 
     /**
      * @param ids список технических идентификаторов {@link CardTransferEntity}
@@ -34,13 +57,10 @@ public class CardTransferServiceImpl implements CardTransferService {
      */
     @Override
     public List<CardTransferDto> findAllById(List<Long> ids) {
-        final List<CardTransferDto> cardTransferDtoList = new ArrayList<>();
+        final List<CardTransferEntity> transfers = batchFinder.findAllById(
+                ids, repository::findAllById, CardTransferEntity::getId, MESSAGE);
 
-        for (Long id : ids) {
-            cardTransferDtoList.add(findById(id));
-        }
-
-        return cardTransferDtoList;
+        return mapper.toDtoList(transfers);
     }
 
     /**
@@ -56,16 +76,25 @@ public class CardTransferServiceImpl implements CardTransferService {
     }
 
     /**
+     * При включённой групповой фиксации перевод сохраняется одной транзакцией с другими одновременными запросами
+     *
      * @param cardTransfer {@link CardTransferDto}
      * @return {@link CardTransferDto}
      */
     @Override
-    @Transactional
     public CardTransferDto save(CardTransferDto cardTransfer) {
-        final CardTransferEntity transfer = repository.save(
-                mapper.toEntity(cardTransfer));
+        return groupCommitter.save(TransferType.CARD, cardTransfer, this::insert, this::insertAll);
+    }
 
-        return mapper.toDto(transfer);
+    /**
+     * @param cardTransfer {@link CardTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link CardTransferDto}
+     */
+    @Override
+    public CardTransferDto save(CardTransferDto cardTransfer, String idempotencyKey) {
+        return idempotency.execute(TransferType.CARD, idempotencyKey, cardTransfer, () -> save(cardTransfer),
+                CardTransferDto::getId, this::findById);
     }
 
     /**
@@ -79,8 +108,106 @@ public class CardTransferServiceImpl implements CardTransferService {
         final CardTransferEntity transfer = repository.findById(id)
                 .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
 
+        final Long oldAccountDetailsId = transfer.getAccountDetailsId();
+        final BigDecimal oldAmount = transfer.getAmount();
+
         final CardTransferEntity cardTransferEntity = mapper.mergeToEntity(cardTransfer, transfer);
 
-        return mapper.toDto(repository.save(cardTransferEntity));
+        final CardTransferDto updated = mapper.toDto(repository.save(cardTransferEntity));
+
+        outbox.add(TransferType.CARD, TransferEventType.UPDATED, updated, CardTransferDto::getAccountDetailsId);
+        dailyUsage.change(oldAccountDetailsId, oldAmount, updated.getAccountDetailsId(), updated.getAmount(),
+                updated.getCreatedAt());
+        recentCache.change(oldAccountDetailsId, mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.CARD, TransferEventType.UPDATED, updated,
+                CardTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * Одним оператором UPDATE ... RETURNING, без чтения перевода перед изменением
+     *
+     * @param cardTransfer {@link CardTransferDto} с изменяемыми полями и версией
+     * @param id           технический идентификатор {@link CardTransferEntity}
+     * @return {@link CardTransferDto} с новой версией
+     */
+    @Override
+    @Transactional
+    public CardTransferDto patch(Long id, CardTransferDto cardTransfer) {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("card_number", cardTransfer.getCardNumber());
+        columns.put("amount", cardTransfer.getAmount());
+        columns.put("purpose", cardTransfer.getPurpose());
+        columns.put("account_details_id", cardTransfer.getAccountDetailsId());
+
+        final TransferPatcher.Patched<CardTransferEntity> patched = patcher.patch(CardTransferEntity.class, id,
+                cardTransfer.getVersion(), columns, () -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        final CardTransferDto updated = mapper.toDto(patched.transfer());
+
+        outbox.add(TransferType.CARD, TransferEventType.UPDATED, updated, CardTransferDto::getAccountDetailsId);
+        dailyUsage.change(patched.oldAccountDetailsId(), patched.oldAmount(), updated.getAccountDetailsId(),
+                updated.getAmount(), updated.getCreatedAt());
+        recentCache.change(patched.oldAccountDetailsId(), mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.CARD, TransferEventType.UPDATED, updated,
+                CardTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * @param cardTransfers список {@link CardTransferDto}
+     * @return результат сохранения по каждому {@link CardTransferDto}
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResultDto<CardTransferDto>> saveAll(List<CardTransferDto> cardTransfers) {
+        final List<BatchItemResultDto<CardTransferDto>> results = batchSaver.saveAll(cardTransfers,
+                transfer -> batchSaver.checkTransfer(
+                        transfer.getCardNumber(), transfer.getAmount(), transfer.getAccountDetailsId()),
+                mapper::toEntity, repository::saveAll, mapper::toDto);
+
+        final List<CardTransferDto> saved = results.stream()
+                .filter(BatchItemResultDto::getSuccess)
+                .map(BatchItemResultDto::getTransfer)
+                .toList();
+
+        outbox.addAll(TransferType.CARD, TransferEventType.CREATED, saved, CardTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, CardTransferDto::getAccountDetailsId, CardTransferDto::getAmount,
+                CardTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.CARD, TransferEventType.CREATED, saved,
+                CardTransferDto::getAccountDetailsId);
+
+        return results;
+    }
+
+    private CardTransferDto insert(CardTransferDto cardTransfer) {
+        final CardTransferDto saved = mapper.toDto(repository.save(
+                mapper.toEntity(cardTransfer)));
+
+        outbox.add(TransferType.CARD, TransferEventType.CREATED, saved, CardTransferDto::getAccountDetailsId);
+        dailyUsage.add(saved, CardTransferDto::getAccountDetailsId, CardTransferDto::getAmount,
+                CardTransferDto::getCreatedAt);
+        recentCache.add(mapper.toLedgerEntry(saved));
+        eventStream.publish(TransferType.CARD, TransferEventType.CREATED, saved, CardTransferDto::getAccountDetailsId);
+
+        return saved;
+    }
+
+    private List<CardTransferDto> insertAll(List<CardTransferDto> cardTransfers) {
+        final List<CardTransferDto> saved = mapper.toDtoList(repository.saveAll(cardTransfers.stream()
+                .map(mapper::toEntity)
+                .toList()));
+
+        outbox.addAll(TransferType.CARD, TransferEventType.CREATED, saved, CardTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, CardTransferDto::getAccountDetailsId, CardTransferDto::getAmount,
+                CardTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.CARD, TransferEventType.CREATED, saved,
+                CardTransferDto::getAccountDetailsId);
+
+        return saved;
     }
 }
@@ -1,18 +1,32 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.util.BatchEntityFinder;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.PhoneTransferDto;
 import com.bank.transfer.mapper.PhoneTransferMapper;
 import com.bank.transfer.repository.PhoneTransferRepository;
 import com.bank.transfer.entity.PhoneTransferEntity;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.service.PhoneTransferService;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyExecutor;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferDailyUsage;
+import com.bank.transfer.service.common.TransferEventStream;
+import com.bank.transfer.service.common.TransferGroupCommitter;
+import com.bank.transfer.service.common.TransferOutbox;
+import com.bank.transfer.service.common.TransferPatcher;
+import com.bank.transfer.service.common.TransferRecentCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Реализация {@link PhoneTransferService}
@@ -27,6 +41,15 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
     private final PhoneTransferRepository repository;
     private final PhoneTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchEntityFinder batchFinder;
+    private final TransferBatchSaver batchSaver;
+    private final IdempotencyExecutor idempotency;
+    private final TransferOutbox outbox;
+    private final TransferGroupCommitter groupCommitter;
+    private final TransferDailyUsage dailyUsage;
+    private final TransferPatcher patcher;
+    private final TransferRecentCache recentCache;
+    private final TransferEventStream eventStream;
 
     /**
      * @param ids список технических идентификаторов {@link PhoneTransferEntity}
@@ -34,13 +57,10 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
      */
     @Override
     public List<PhoneTransferDto> findAllById(List<Long> ids) {
-        final List<PhoneTransferDto> phoneTransferDtoList = new ArrayList<>();
+        final List<PhoneTransferEntity> transfers = batchFinder.findAllById(
+                ids, repository::findAllById, PhoneTransferEntity::getId, MESSAGE);
 
-        for (Long id : ids) {
-            phoneTransferDtoList.add(findById(id));
-        }
-
-        return phoneTransferDtoList;
+        return mapper.toDtoList(transfers);
     }
 
     /**
@@ -56,16 +76,25 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
     }
 
     /**
+     * При включённой групповой фиксации перевод сохраняется одной транзакцией с другими одновременными запросами
+     *
      * @param phoneTransfer {@link PhoneTransferDto}
      * @return {@link PhoneTransferDto}
      */
     @Override
-    @Transactional
     public PhoneTransferDto save(PhoneTransferDto phoneTransfer) {
-        final PhoneTransferEntity transfer = repository.save(
-                mapper.toEntity(phoneTransfer));
+        return groupCommitter.save(TransferType.PHONE, phoneTransfer, this::insert, this::insertAll);
+    }
 
-        return mapper.toDto(transfer);
+    /**
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link PhoneTransferDto}
+     */
+    @Override
+    public PhoneTransferDto save(PhoneTransferDto phoneTransfer, String idempotencyKey) {
+        return idempotency.execute(TransferType.PHONE, idempotencyKey, phoneTransfer, () -> save(phoneTransfer),
+                PhoneTransferDto::getId, this::findById);
     }
 
     /**
@@ -79,8 +108,107 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
         final PhoneTransferEntity transfer = repository.findById(id)
                 .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
 
+        final Long oldAccountDetailsId = transfer.getAccountDetailsId();
+        final BigDecimal oldAmount = transfer.getAmount();
+
         final PhoneTransferEntity phoneTransferEntity = mapper.mergeToEntity(phoneTransfer, transfer);
 
-        return mapper.toDto(repository.save(phoneTransferEntity));
+        final PhoneTransferDto updated = mapper.toDto(repository.save(phoneTransferEntity));
+
+        outbox.add(TransferType.PHONE, TransferEventType.UPDATED, updated, PhoneTransferDto::getAccountDetailsId);
+        dailyUsage.change(oldAccountDetailsId, oldAmount, updated.getAccountDetailsId(), updated.getAmount(),
+                updated.getCreatedAt());
+        recentCache.change(oldAccountDetailsId, mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.PHONE, TransferEventType.UPDATED, updated,
+                PhoneTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * Одним оператором UPDATE ... RETURNING, без чтения перевода перед изменением
+     *
+     * @param phoneTransfer {@link PhoneTransferDto} с изменяемыми полями и версией
+     * @param id            технический идентификатор {@link PhoneTransferEntity}
+     * @return {@link PhoneTransferDto} с новой версией
+     */
+    @Override
+    @Transactional
+    public PhoneTransferDto patch(Long id, PhoneTransferDto phoneTransfer) {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("phone_number", phoneTransfer.getPhoneNumber());
+        columns.put("amount", phoneTransfer.getAmount());
+        columns.put("purpose", phoneTransfer.getPurpose());
+        columns.put("account_details_id", phoneTransfer.getAccountDetailsId());
+
+        final TransferPatcher.Patched<PhoneTransferEntity> patched = patcher.patch(PhoneTransferEntity.class, id,
+                phoneTransfer.getVersion(), columns, () -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        final PhoneTransferDto updated = mapper.toDto(patched.transfer());
+
+        outbox.add(TransferType.PHONE, TransferEventType.UPDATED, updated, PhoneTransferDto::getAccountDetailsId);
+        dailyUsage.change(patched.oldAccountDetailsId(), patched.oldAmount(), updated.getAccountDetailsId(),
+                updated.getAmount(), updated.getCreatedAt());
+        recentCache.change(patched.oldAccountDetailsId(), mapper.toLedgerEntry(updated));
+        eventStream.publish(TransferType.PHONE, TransferEventType.UPDATED, updated,
+                PhoneTransferDto::getAccountDetailsId);
+
+        return updated;
+    }
+
+    /**
+     * @param phoneTransfers список {@link PhoneTransferDto}
+     * @return результат сохранения по каждому {@link PhoneTransferDto}
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResultDto<PhoneTransferDto>> saveAll(List<PhoneTransferDto> phoneTransfers) {
+        final List<BatchItemResultDto<PhoneTransferDto>> results = batchSaver.saveAll(phoneTransfers,
+                transfer -> batchSaver.checkTransfer(
+                        transfer.getPhoneNumber(), transfer.getAmount(), transfer.getAccountDetailsId()),
+                mapper::toEntity, repository::saveAll, mapper::toDto);
+
+        final List<PhoneTransferDto> saved = results.stream()
+                .filter(BatchItemResultDto::getSuccess)
+                .map(BatchItemResultDto::getTransfer)
+                .toList();
+
+        outbox.addAll(TransferType.PHONE, TransferEventType.CREATED, saved, PhoneTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, PhoneTransferDto::getAccountDetailsId, PhoneTransferDto::getAmount,
+                PhoneTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.PHONE, TransferEventType.CREATED, saved,
+                PhoneTransferDto::getAccountDetailsId);
+
+        return results;
+    }
+
+    private PhoneTransferDto insert(PhoneTransferDto phoneTransfer) {
+        final PhoneTransferDto saved = mapper.toDto(repository.save(
+                mapper.toEntity(phoneTransfer)));
+
+        outbox.add(TransferType.PHONE, TransferEventType.CREATED, saved, PhoneTransferDto::getAccountDetailsId);
+        dailyUsage.add(saved, PhoneTransferDto::getAccountDetailsId, PhoneTransferDto::getAmount,
+                PhoneTransferDto::getCreatedAt);
+        recentCache.add(mapper.toLedgerEntry(saved));
+        eventStream.publish(TransferType.PHONE, TransferEventType.CREATED, saved,
+                PhoneTransferDto::getAccountDetailsId);
+
+        return saved;
+    }
+
+    private List<PhoneTransferDto> insertAll(List<PhoneTransferDto> phoneTransfers) {
+        final List<PhoneTransferDto> saved = mapper.toDtoList(repository.saveAll(phoneTransfers.stream()
+                .map(mapper::toEntity)
+                .toList()));
+
+        outbox.addAll(TransferType.PHONE, TransferEventType.CREATED, saved, PhoneTransferDto::getAccountDetailsId);
+        dailyUsage.addAll(saved, PhoneTransferDto::getAccountDetailsId, PhoneTransferDto::getAmount,
+                PhoneTransferDto::getCreatedAt);
+        recentCache.addAll(saved.stream().map(mapper::toLedgerEntry).toList());
+        eventStream.publishAll(TransferType.PHONE, TransferEventType.CREATED, saved,
+                PhoneTransferDto::getAccountDetailsId);
+
+        return saved;
     }
 }
@@ -0,0 +1,109 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.mapper.StandingOrderMapper;
+import com.bank.transfer.repository.StandingOrderRepository;
+import com.bank.transfer.service.StandingOrderService;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.StandingOrderScheduler;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Реализация {@link StandingOrderService}.
+ * Созданный перевод попадает в колесо сроков после фиксации, если его первый срок уже в загруженном срезе.
+ */
+@Service
+@RequiredArgsConstructor
+public class StandingOrderServiceImpl implements StandingOrderService {
+
+    private final static String MESSAGE = "Не найден регулярный перевод с ID ";
+
+    private static final String SCHEDULE_MESSAGE = "Не указаны тип перевода, периодичность или срок первого выполнения";
+
+    private static final String PAST_START_MESSAGE = "Срок первого выполнения уже прошёл: ";
+
+    private final StandingOrderRepository repository;
+    private final StandingOrderMapper mapper;
+    private final TransferBatchSaver batchSaver;
+    private final StandingOrderScheduler scheduler;
+    private final EntityNotFoundReturner notFoundReturner;
+
+    /**
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return {@link StandingOrderDto}
+     */
+    @Override
+    public StandingOrderDto findById(Long id) {
+        final StandingOrderEntity order = repository.findById(id)
+                .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        return mapper.toDto(order);
+    }
+
+    /**
+     * Сроки считаются с точностью до секунды, чтобы срок в памяти совпадал с сохранённым в БД.
+     * Прошедший срок первого выполнения не принимается: планировщик выполнил бы сразу все пропущенные сроки.
+     *
+     * @param order {@link StandingOrderDto}
+     * @return созданный {@link StandingOrderDto}
+     * @throws ValidationException если перевод заполнен некорректно или срок первого выполнения уже прошёл
+     */
+    @Override
+    @Transactional
+    public StandingOrderDto create(StandingOrderDto order) {
+        final String error = batchSaver.checkTransfer(order.getNumber(), order.getAmount(),
+                order.getAccountDetailsId());
+
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+
+        if (order.getTransferType() == null || order.getPeriod() == null || order.getStartAt() == null) {
+            throw new ValidationException(SCHEDULE_MESSAGE);
+        }
+
+        final StandingOrderEntity entity = mapper.toEntity(order);
+        final Timestamp startAt = Timestamp.valueOf(order.getStartAt().toLocalDateTime()
+                .truncatedTo(ChronoUnit.SECONDS));
+
+        if (startAt.toLocalDateTime().isBefore(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))) {
+            throw new ValidationException(PAST_START_MESSAGE + startAt);
+        }
+
+        entity.setStartAt(startAt);
+        entity.setNextRunAt(startAt);
+        entity.setRuns(0L);
+        entity.setActive(true);
+
+        final StandingOrderEntity saved = repository.save(entity);
+        scheduler.scheduleAfterCommit(saved.getId(), saved.getNextRunAt());
+
+        return mapper.toDto(saved);
+    }
+
+    /**
+     * Срок, уже стоящий в колесе, не выполнится: выполнение сверяет признак действия со строкой
+     *
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return отменённый {@link StandingOrderDto}
+     */
+    @Override
+    @Transactional
+    public StandingOrderDto cancel(Long id) {
+        final StandingOrderEntity order = repository.findById(id)
+                .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        order.setActive(false);
+
+        return mapper.toDto(repository.save(order));
+    }
+}
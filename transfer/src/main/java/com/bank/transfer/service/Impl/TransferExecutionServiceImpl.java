@@ -0,0 +1,145 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.TransferExecutionMapper;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import com.bank.transfer.service.AccountTransferService;
+import com.bank.transfer.service.CardTransferService;
+import com.bank.transfer.service.PhoneTransferService;
+import com.bank.transfer.service.TransferExecutionService;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferExecutionPipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Реализация {@link TransferExecutionService}.
+ * Перевод и его исполнение сохраняются в одной транзакции, обработка начинается после её фиксации.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferExecutionServiceImpl implements TransferExecutionService {
+
+    private final static String MESSAGE = "Не найдено исполнение перевода с ID ";
+
+    private static final String NOT_DEBITED_MESSAGE = "Сверка: списание со счёта не найдено";
+
+    private static final String NOT_UNKNOWN_MESSAGE = "Исполнение перевода не ждёт сверки, ID ";
+
+    private final TransferExecutionRepository repository;
+    private final TransferExecutionMapper mapper;
+    private final AccountTransferService accountService;
+    private final CardTransferService cardService;
+    private final PhoneTransferService phoneService;
+    private final TransferBatchSaver batchSaver;
+    private final TransferExecutionPipeline pipeline;
+    private final EntityNotFoundReturner notFoundReturner;
+
+    /**
+     * @param accountTransfer {@link AccountTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    @Override
+    @Transactional
+    public TransferExecutionDto submit(AccountTransferDto accountTransfer) {
+        validate(accountTransfer.getAccountNumber(), accountTransfer.getAmount(),
+                accountTransfer.getAccountDetailsId());
+
+        final AccountTransferDto saved = accountService.save(accountTransfer);
+
+        return start(TransferType.ACCOUNT, saved.getId(), saved.getAccountDetailsId(), saved.getAccountNumber(),
+                saved.getAmount());
+    }
+
+    /**
+     * @param cardTransfer {@link CardTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    @Override
+    @Transactional
+    public TransferExecutionDto submit(CardTransferDto cardTransfer) {
+        validate(cardTransfer.getCardNumber(), cardTransfer.getAmount(), cardTransfer.getAccountDetailsId());
+
+        final CardTransferDto saved = cardService.save(cardTransfer);
+
+        return start(TransferType.CARD, saved.getId(), saved.getAccountDetailsId(), saved.getCardNumber(),
+                saved.getAmount());
+    }
+
+    /**
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    @Override
+    @Transactional
+    public TransferExecutionDto submit(PhoneTransferDto phoneTransfer) {
+        validate(phoneTransfer.getPhoneNumber(), phoneTransfer.getAmount(), phoneTransfer.getAccountDetailsId());
+
+        final PhoneTransferDto saved = phoneService.save(phoneTransfer);
+
+        return start(TransferType.PHONE, saved.getId(), saved.getAccountDetailsId(), saved.getPhoneNumber(),
+                saved.getAmount());
+    }
+
+    /**
+     * @param id технический идентификатор {@link TransferExecutionEntity}
+     * @return {@link TransferExecutionDto}
+     */
+    @Override
+    public TransferExecutionDto findById(Long id) {
+        final TransferExecutionEntity execution = repository.findById(id)
+                .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, MESSAGE));
+
+        return mapper.toDto(execution);
+    }
+
+    /**
+     * @param id     технический идентификатор {@link TransferExecutionEntity}
+     * @param posted true - деньги списаны, исполнение переходит в POSTED, false - в REJECTED
+     * @return {@link TransferExecutionDto}
+     * @throws IllegalStateException если исполнение не в статусе UNKNOWN
+     */
+    @Override
+    public TransferExecutionDto resolve(Long id, boolean posted) {
+        final int resolved = repository.transition(id, TransferStatus.UNKNOWN,
+                posted ? TransferStatus.POSTED : TransferStatus.REJECTED, posted ? null : NOT_DEBITED_MESSAGE,
+                new Timestamp(System.currentTimeMillis()));
+
+        if (resolved == 0) {
+            throw new IllegalStateException(NOT_UNKNOWN_MESSAGE + id);
+        }
+
+        return findById(id);
+    }
+
+    private void validate(Long number, BigDecimal amount, Long accountDetailsId) {
+        final String error = batchSaver.checkTransfer(number, amount, accountDetailsId);
+
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    private TransferExecutionDto start(TransferType type, Long transferId, Long accountDetailsId, Long number,
+                                       BigDecimal amount) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final TransferExecutionEntity execution = repository.save(new TransferExecutionEntity(null, type,
+                transferId, accountDetailsId, number, amount, TransferStatus.NEW, null, now, now));
+
+        pipeline.submitAfterCommit(execution.getId());
+
+        return mapper.toDto(execution);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferExportLineDto;
+import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.PhoneTransferEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.AccountTransferMapper;
+import com.bank.transfer.mapper.CardTransferMapper;
+import com.bank.transfer.mapper.PhoneTransferMapper;
+import com.bank.transfer.repository.AccountTransferRepository;
+import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.repository.PhoneTransferRepository;
+import com.bank.transfer.service.TransferExportService;
+import com.bank.transfer.service.common.ExportCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Реализация {@link TransferExportService}.
+ * Таблицы читаются keyset-страницами по индексу (account_details_id, id) без общей транзакции,
+ * поэтому в памяти одновременно находится не больше одной страницы. При включённом open-in-view
+ * асинхронный ответ держит один EntityManager на всю выгрузку, поэтому после каждой страницы он очищается,
+ * иначе все выгруженные entity оставались бы управляемыми до конца ответа. Период выгрузки ограничивает
+ * чтение месячными секциями, в которые он попадает.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferExportServiceImpl implements TransferExportService {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 1, 1);
+
+    private final AccountTransferRepository accountRepository;
+    private final CardTransferRepository cardRepository;
+    private final PhoneTransferRepository phoneRepository;
+    private final AccountTransferMapper accountMapper;
+    private final CardTransferMapper cardMapper;
+    private final PhoneTransferMapper phoneMapper;
+    private final ObjectMapper objectMapper;
+    private final TransferProperties properties;
+    private final EntityManager entityManager;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param from             начало периода включительно, null - без ограничения
+     * @param to               конец периода не включительно, null - без ограничения
+     * @param cursor           позиция, после которой продолжить выгрузку
+     * @param out              поток ответа
+     */
+    @Override
+    public void export(Long accountDetailsId, LocalDate from, LocalDate to, ExportCursor cursor, OutputStream out)
+            throws IOException {
+        final Pageable page = PageRequest.of(0, properties.getExport().getPageSize());
+        final Timestamp fromTime = Timestamp.valueOf((from == null ? MIN_DATE : from).atStartOfDay());
+        final Timestamp toTime = Timestamp.valueOf((to == null ? MAX_DATE : to).atStartOfDay());
+
+        for (TransferType type : TransferType.values()) {
+            if (type.ordinal() < cursor.getType().ordinal()) {
+                continue;
+            }
+
+            final long afterId = type == cursor.getType() ? cursor.getLastId() : 0L;
+
+            switch (type) {
+                case ACCOUNT -> exportTable(type, afterId, page.getPageSize(),
+                        id -> accountRepository.findExportPage(
+                                accountDetailsId, id, fromTime, toTime, page),
+                        AccountTransferEntity::getId, accountMapper::toDto, out);
+                case CARD -> exportTable(type, afterId, page.getPageSize(),
+                        id -> cardRepository.findExportPage(
+                                accountDetailsId, id, fromTime, toTime, page),
+                        CardTransferEntity::getId, cardMapper::toDto, out);
+                case PHONE -> exportTable(type, afterId, page.getPageSize(),
+                        id -> phoneRepository.findExportPage(
+                                accountDetailsId, id, fromTime, toTime, page),
+                        PhoneTransferEntity::getId, phoneMapper::toDto, out);
+                default -> throw new IllegalStateException("Неизвестный тип перевода " + type);
+            }
+        }
+
+        log.info("Выгрузка переводов счёта {} завершена", accountDetailsId);
+    }
+
+    private <E> void exportTable(TransferType type, long afterId, int pageSize,
+                                 Function<Long, List<E>> pageLoader, Function<E, Long> idExtractor,
+                                 Function<E, Object> toDto, OutputStream out) throws IOException {
+        long lastId = afterId;
+        List<E> transfers;
+
+        do {
+            transfers = pageLoader.apply(lastId);
+
+            for (E transfer : transfers) {
+                lastId = idExtractor.apply(transfer);
+
+                out.write(objectMapper.writeValueAsBytes(new TransferExportLineDto(
+                        type, ExportCursor.encode(type, lastId), toDto.apply(transfer))));
+                out.write(LINE_SEPARATOR);
+            }
+
+            out.flush();
+            entityManager.clear();
+        } while (transfers.size() == pageSize);
+    }
+}
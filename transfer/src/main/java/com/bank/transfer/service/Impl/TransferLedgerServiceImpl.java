@@ -0,0 +1,90 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.dto.TransferLedgerPageDto;
+import com.bank.transfer.service.TransferLedgerService;
+import com.bank.transfer.service.common.LedgerCursor;
+import com.bank.transfer.service.common.TransferLedgerQuery;
+import com.bank.transfer.service.common.TransferRecentCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Реализация {@link TransferLedgerService}.
+ * Читается на одну строку больше страницы: лишняя строка не отдаётся и означает, что есть следующая страница.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferLedgerServiceImpl implements TransferLedgerService {
+
+    private static final String LIMIT_MESSAGE = "Размер страницы должен быть от 1 до %d";
+
+    private static final String PERIOD_MESSAGE = "Начало периода позже его конца";
+
+    private static final String AMOUNT_MESSAGE = "Минимальная сумма больше максимальной";
+
+    private final TransferLedgerQuery query;
+    private final TransferRecentCache recentCache;
+    private final TransferProperties properties;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param filter           {@link TransferLedgerQuery.Filter}
+     * @param cursor           позиция, после которой начинается страница
+     * @param limit            размер страницы, null - размер по умолчанию
+     * @return {@link TransferLedgerPageDto}
+     * @throws ValidationException если размер страницы вне допустимого или фильтры противоречат друг другу
+     */
+    @Override
+    public TransferLedgerPageDto find(Long accountDetailsId, TransferLedgerQuery.Filter filter, LedgerCursor cursor,
+                                      Integer limit) {
+        final int pageSize = checkLimit(limit == null ? properties.getLedger().getDefaultLimit() : limit);
+
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new ValidationException(PERIOD_MESSAGE);
+        }
+
+        if (filter.minAmount() != null && filter.maxAmount() != null &&
+                filter.minAmount().compareTo(filter.maxAmount()) > 0) {
+            throw new ValidationException(AMOUNT_MESSAGE);
+        }
+
+        final List<TransferLedgerEntryDto> entries = query.find(accountDetailsId, filter, cursor, pageSize + 1);
+
+        if (entries.size() <= pageSize) {
+            return new TransferLedgerPageDto(entries, null);
+        }
+
+        final TransferLedgerEntryDto last = entries.get(pageSize - 1);
+
+        return new TransferLedgerPageDto(entries.subList(0, pageSize),
+                LedgerCursor.encode(last.getCreatedAt(), last.getType(), last.getId()));
+    }
+
+    /**
+     * Короткие выборки отдаются из {@link TransferRecentCache} без обращения к БД
+     *
+     * @param accountDetailsId технический идентификатор счёта
+     * @param limit            сколько последних переводов вернуть, null - количество по умолчанию
+     * @return последние переводы счёта всех типов от новых к старым
+     * @throws ValidationException если количество вне допустимого
+     */
+    @Override
+    public List<TransferLedgerEntryDto> findRecent(Long accountDetailsId, Integer limit) {
+        return recentCache.findLatest(accountDetailsId,
+                checkLimit(limit == null ? properties.getRecent().getDefaultLimit() : limit));
+    }
+
+    private int checkLimit(int limit) {
+        final int maxLimit = properties.getLedger().getMaxLimit();
+
+        if (limit < 1 || limit > maxLimit) {
+            throw new ValidationException(LIMIT_MESSAGE.formatted(maxLimit));
+        }
+        return limit;
+    }
+}
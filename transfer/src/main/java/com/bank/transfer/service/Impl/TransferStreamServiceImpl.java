@@ -0,0 +1,27 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.transfer.service.TransferStreamService;
+import com.bank.transfer.service.common.TransferEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Реализация {@link TransferStreamService}
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferStreamServiceImpl implements TransferStreamService {
+
+    private final TransferEventStream eventStream;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @return {@link SseEmitter} с событиями переводов счёта, зафиксированных после подписки
+     * @throws IllegalStateException если у счёта слишком много подписок
+     */
+    @Override
+    public SseEmitter subscribe(Long accountDetailsId) {
+        return eventStream.subscribe(accountDetailsId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.transfer.dto.TransferDailyUsageDto;
+import com.bank.transfer.service.TransferUsageService;
+import com.bank.transfer.service.common.TransferDailyUsage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Реализация {@link TransferUsageService}
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferUsageServiceImpl implements TransferUsageService {
+
+    private final TransferDailyUsage dailyUsage;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param date             день, null - сегодня
+     * @return {@link TransferDailyUsageDto}
+     */
+    @Override
+    public TransferDailyUsageDto findDaily(Long accountDetailsId, LocalDate date) {
+        return dailyUsage.find(accountDetailsId, date == null ? LocalDate.now() : date);
+    }
+}
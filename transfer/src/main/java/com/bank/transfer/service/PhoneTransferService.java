@@ -1,5 +1,7 @@
 package com.bank.transfer.service;
 
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.PhoneTransferDto;
 import com.bank.transfer.entity.PhoneTransferEntity;
 
@@ -28,10 +30,36 @@ public interface PhoneTransferService {
      */
     PhoneTransferDto save(PhoneTransferDto phoneTransfer);
 
+    /**
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key
+     * @return созданный или ранее созданный с тем же ключом {@link PhoneTransferDto}
+     * @throws ValidationException если ключ уже использован с другим переводом
+     */
+    PhoneTransferDto save(PhoneTransferDto phoneTransfer, String idempotencyKey);
+
     /**
      * @param phoneTransfer {@link PhoneTransferDto}
      * @param id            технический идентификатор {@link PhoneTransferEntity}
      * @return {@link PhoneTransferDto}
      */
     PhoneTransferDto update(Long id, PhoneTransferDto phoneTransfer);
+
+    /**
+     * Меняет только переданные поля перевода, если его версия совпадает с phoneTransfer.version
+     *
+     * @param phoneTransfer {@link PhoneTransferDto} с изменяемыми полями и версией
+     * @param id            технический идентификатор {@link PhoneTransferEntity}
+     * @return {@link PhoneTransferDto} с новой версией
+     */
+    PhoneTransferDto patch(Long id, PhoneTransferDto phoneTransfer);
+
+    /**
+     * Невалидные переводы отбрасываются по одному, а ошибка БД при сохранении валидных откатывает весь пакет
+     * и возвращается как ошибка запроса, без результатов по переводам
+     *
+     * @param phoneTransfers список {@link PhoneTransferDto}
+     * @return результат сохранения по каждому {@link PhoneTransferDto}
+     */
+    List<BatchItemResultDto<PhoneTransferDto>> saveAll(List<PhoneTransferDto> phoneTransfers);
 }
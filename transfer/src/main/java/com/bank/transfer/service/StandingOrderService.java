@@ -0,0 +1,28 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+
+/**
+ * Сервис регулярных переводов, {@link StandingOrderEntity}
+ */
+public interface StandingOrderService {
+
+    /**
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return {@link StandingOrderDto}
+     */
+    StandingOrderDto findById(Long id);
+
+    /**
+     * @param order {@link StandingOrderDto}
+     * @return созданный {@link StandingOrderDto}
+     */
+    StandingOrderDto create(StandingOrderDto order);
+
+    /**
+     * @param id технический идентификатор {@link StandingOrderEntity}
+     * @return отменённый {@link StandingOrderDto}
+     */
+    StandingOrderDto cancel(Long id);
+}
@@ -0,0 +1,47 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+
+/**
+ * Сервис асинхронного исполнения переводов, {@link TransferExecutionEntity}
+ */
+public interface TransferExecutionService {
+
+    /**
+     * @param accountTransfer {@link AccountTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    TransferExecutionDto submit(AccountTransferDto accountTransfer);
+
+    /**
+     * @param cardTransfer {@link CardTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    TransferExecutionDto submit(CardTransferDto cardTransfer);
+
+    /**
+     * @param phoneTransfer {@link PhoneTransferDto}
+     * @return {@link TransferExecutionDto} в статусе NEW
+     */
+    TransferExecutionDto submit(PhoneTransferDto phoneTransfer);
+
+    /**
+     * @param id технический идентификатор {@link TransferExecutionEntity}
+     * @return {@link TransferExecutionDto}
+     */
+    TransferExecutionDto findById(Long id);
+
+    /**
+     * Завершает исполнение в статусе UNKNOWN по результату сверки со счётом
+     *
+     * @param id     технический идентификатор {@link TransferExecutionEntity}
+     * @param posted true - деньги списаны, исполнение переходит в POSTED, false - в REJECTED
+     * @return {@link TransferExecutionDto}
+     * @throws IllegalStateException если исполнение не в статусе UNKNOWN
+     */
+    TransferExecutionDto resolve(Long id, boolean posted);
+}
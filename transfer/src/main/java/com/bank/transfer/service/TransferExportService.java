@@ -0,0 +1,26 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.service.common.ExportCursor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Сервис потоковой выгрузки переводов по счёту
+ */
+public interface TransferExportService {
+
+    /**
+     * Пишет в поток все переводы счёта в формате NDJSON: сначала по номеру счёта, затем по карте и телефону,
+     * внутри типа в порядке возрастания id.
+     *
+     * @param accountDetailsId технический идентификатор счёта
+     * @param from             начало периода включительно, null - без ограничения
+     * @param to               конец периода не включительно, null - без ограничения
+     * @param cursor           позиция, после которой продолжить выгрузку
+     * @param out              поток ответа
+     */
+    void export(Long accountDetailsId, LocalDate from, LocalDate to, ExportCursor cursor, OutputStream out)
+            throws IOException;
+}
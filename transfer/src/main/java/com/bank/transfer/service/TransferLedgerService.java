@@ -0,0 +1,31 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.dto.TransferLedgerPageDto;
+import com.bank.transfer.service.common.LedgerCursor;
+import com.bank.transfer.service.common.TransferLedgerQuery;
+
+import java.util.List;
+
+/**
+ * Сервис общей ленты переводов счёта всех типов
+ */
+public interface TransferLedgerService {
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param filter           {@link TransferLedgerQuery.Filter}
+     * @param cursor           позиция, после которой начинается страница
+     * @param limit            размер страницы, null - размер по умолчанию
+     * @return {@link TransferLedgerPageDto}
+     */
+    TransferLedgerPageDto find(Long accountDetailsId, TransferLedgerQuery.Filter filter, LedgerCursor cursor,
+                               Integer limit);
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param limit            сколько последних переводов вернуть, null - количество по умолчанию
+     * @return последние переводы счёта всех типов от новых к старым
+     */
+    List<TransferLedgerEntryDto> findRecent(Long accountDetailsId, Integer limit);
+}
@@ -0,0 +1,15 @@
+package com.bank.transfer.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Сервис подписки на события переводов счёта
+ */
+public interface TransferStreamService {
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @return {@link SseEmitter} с событиями создания и изменения переводов счёта
+     */
+    SseEmitter subscribe(Long accountDetailsId);
+}
@@ -0,0 +1,18 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.TransferDailyUsageDto;
+
+import java.time.LocalDate;
+
+/**
+ * Сервис дневных сумм переводов по счёту
+ */
+public interface TransferUsageService {
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param date             день, null - сегодня
+     * @return {@link TransferDailyUsageDto}
+     */
+    TransferDailyUsageDto findDaily(Long accountDetailsId, LocalDate date);
+}
@@ -0,0 +1,68 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция выгрузки переводов: тип перевода и технический идентификатор последней выгруженной строки.
+ * Клиенту отдаётся непрозрачным base64url-токеном, по которому выгрузку можно продолжить после обрыва.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExportCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private static final String INVALID_MESSAGE = "Некорректный курсор выгрузки ";
+
+    TransferType type;
+
+    long lastId;
+
+    /**
+     * @return позиция начала выгрузки
+     */
+    public static ExportCursor start() {
+        return new ExportCursor(TransferType.values()[0], 0L);
+    }
+
+    /**
+     * @param type   {@link TransferType} последней выгруженной строки
+     * @param lastId технический идентификатор последней выгруженной строки
+     * @return токен курсора
+     */
+    public static String encode(TransferType type, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((type + SEPARATOR + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token токен курсора, null - выгрузка с начала
+     * @return {@link ExportCursor}
+     * @throws ValidationException если токен не выдан выгрузкой
+     */
+    public static ExportCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+
+            return new ExportCursor(TransferType.valueOf(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidationException(INVALID_MESSAGE + token);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Идемпотентное создание переводов по ключу из заголовка {@code Idempotency-Key}.
+ * Последние ключи хранятся в ограниченном LRU-кэше: повтор запроса возвращает исходный ДТО без обращения к БД,
+ * а одновременные повторы ждут результат первого запроса. Между экземплярами сервиса единственного победителя
+ * выбирает уникальный индекс таблицы idempotency_key.
+ * Вместе с ключом хранится SHA-256 тела запроса: повтор ключа с другим телом отклоняется с 422.
+ * Ключ действует {@code transfer.idempotency.retention-hours}, устаревшие ключи удаляются по расписанию
+ * {@code transfer.idempotency.cleanup-cron}.
+ */
+@Slf4j
+@Component
+public class IdempotencyExecutor {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String KEY_LENGTH_MESSAGE = "Длина Idempotency-Key больше " + MAX_KEY_LENGTH;
+
+    private static final String MISMATCH_MESSAGE = "Idempotency-Key %s уже использован с другим телом запроса";
+
+    private final IdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long retentionMs;
+    private final Map<String, Pending> recent;
+
+    public IdempotencyExecutor(IdempotencyKeyRepository repository, TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper, TransferProperties properties) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retentionMs = TimeUnit.HOURS.toMillis(properties.getIdempotency().getRetentionHours());
+        this.recent = new LruMap<>(properties.getIdempotency().getCacheSize());
+    }
+
+    /**
+     * @param type        {@link TransferType}
+     * @param key         ключ идемпотентности клиента
+     * @param request     тело запроса, по нему повтор отличается от другого запроса с тем же ключом
+     * @param creator     создание перевода, выполняется в одной транзакции с сохранением ключа
+     * @param idExtractor технический идентификатор созданного перевода
+     * @param loader      загрузка ранее созданного перевода по техническому идентификатору
+     * @param <D>         тип ДТО перевода
+     * @return созданный или ранее созданный с тем же ключом перевод
+     * @throws ValidationException если ключ слишком длинный или уже использован с другим телом запроса
+     */
+    @SuppressWarnings("unchecked")
+    public <D> D execute(TransferType type, String key, Object request, Supplier<D> creator,
+                         Function<D, Long> idExtractor, Function<Long, D> loader) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(KEY_LENGTH_MESSAGE);
+        }
+
+        final String cacheKey = type + ":" + key;
+        final long now = System.currentTimeMillis();
+        final Pending own = new Pending(fingerprint(request), now, new CompletableFuture<>());
+        final Pending winner;
+
+        synchronized (recent) {
+            final Pending cached = recent.get(cacheKey);
+            winner = cached != null && now - cached.createdAtMs() < retentionMs ? cached : null;
+            if (winner == null) {
+                recent.put(cacheKey, own);
+            }
+        }
+
+        if (winner != null) {
+            checkFingerprint(key, winner.requestHash(), own.requestHash());
+            return (D) await(winner.result());
+        }
+
+        try {
+            final D result = createOnce(type, key, own.requestHash(), creator, idExtractor, loader);
+            own.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            synchronized (recent) {
+                recent.remove(cacheKey, own);
+            }
+            own.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Удаляет ключи старше {@code transfer.idempotency.retention-hours}. Удаление идемпотентно,
+     * поэтому одновременный запуск на нескольких экземплярах сервиса безопасен
+     */
+    @Scheduled(cron = "${transfer.idempotency.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpired() {
+        final int deleted = repository.deleteCreatedBefore(new Timestamp(System.currentTimeMillis() - retentionMs));
+
+        log.info("Удалено устаревших ключей идемпотентности: {}", deleted);
+    }
+
+    private <D> D createOnce(TransferType type, String key, String requestHash, Supplier<D> creator,
+                             Function<D, Long> idExtractor, Function<Long, D> loader) {
+        final Optional<IdempotencyKeyEntity> stored = repository.findByTransferTypeAndIdempotencyKey(type, key);
+
+        if (stored.isPresent()) {
+            return loadStored(stored.get(), requestHash, loader);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                final D created = creator.get();
+                repository.save(new IdempotencyKeyEntity(null, type, key, idExtractor.apply(created), requestHash,
+                        new Timestamp(System.currentTimeMillis())));
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("Перевод {} с ключом {} уже создан другим запросом", type, key);
+            return repository.findByTransferTypeAndIdempotencyKey(type, key)
+                    .map(winner -> loadStored(winner, requestHash, loader))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * У ключей, сохранённых до появления хэша тела запроса, хэш не проверяется
+     */
+    private <D> D loadStored(IdempotencyKeyEntity stored, String requestHash, Function<Long, D> loader) {
+        if (stored.getRequestHash() != null) {
+            checkFingerprint(stored.getIdempotencyKey(), stored.getRequestHash(), requestHash);
+        }
+
+        return loader.apply(stored.getTransferId());
+    }
+
+    private static void checkFingerprint(String key, String stored, String requestHash) {
+        if (!stored.equals(requestHash)) {
+            throw new ValidationException(MISMATCH_MESSAGE.formatted(key));
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Не удалось посчитать хэш тела запроса", e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> winner) {
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Запрос с ключом из кэша
+     *
+     * @param requestHash SHA-256 тела запроса
+     * @param createdAtMs когда запрос пришёл впервые
+     * @param result      результат первого запроса
+     */
+    private record Pending(String requestHash, long createdAtMs, CompletableFuture<Object> result) {
+    }
+}
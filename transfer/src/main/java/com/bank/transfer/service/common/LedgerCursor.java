@@ -0,0 +1,77 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в общей ленте переводов счёта: время создания, тип и технический идентификатор последней строки страницы.
+ * Лента упорядочена по (created_at, тип, id), клиенту позиция отдаётся непрозрачным base64url-токеном.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String INVALID_MESSAGE = "Некорректный курсор ленты переводов ";
+
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    Timestamp createdAt;
+
+    TransferType type;
+
+    long lastId;
+
+    /**
+     * @return позиция начала ленты
+     */
+    public static LedgerCursor start() {
+        return new LedgerCursor(Timestamp.valueOf(MIN_CREATED_AT), TransferType.values()[0], 0L);
+    }
+
+    /**
+     * @param createdAt время создания последней строки страницы
+     * @param type      {@link TransferType} последней строки страницы
+     * @param lastId    технический идентификатор последней строки страницы
+     * @return токен курсора
+     */
+    public static String encode(Timestamp createdAt, TransferType type, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (createdAt.toLocalDateTime() + SEPARATOR + type + SEPARATOR + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token токен курсора, null - лента с начала
+     * @return {@link LedgerCursor}
+     * @throws ValidationException если токен не выдан лентой
+     */
+    public static LedgerCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+
+            return new LedgerCursor(Timestamp.valueOf(LocalDateTime.parse(parts[0])), TransferType.valueOf(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException(INVALID_MESSAGE + token);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.transfer.service.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link LinkedHashMap} в порядке доступа, вытесняющий самый старый ключ при переполнении.
+ * Не потокобезопасен, доступ синхронизирует владелец.
+ */
+final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+    private final int capacity;
+
+    LruMap(int capacity) {
+        super(16, 0.75f, true);
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > capacity;
+    }
+}
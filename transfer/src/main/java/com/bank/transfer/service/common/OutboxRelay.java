@@ -0,0 +1,92 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.OutboxEventEntity;
+import com.bank.transfer.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Публикация событий из outbox в kafka.
+ * Пачка строк блокируется через FOR UPDATE SKIP LOCKED, отправляется одним батчем продюсера
+ * с ключом account_details_id и удаляется в той же транзакции после подтверждения брокером.
+ * При ошибке транзакция откатывается и пачка будет отправлена повторно: доставка at-least-once.
+ * Потребители рассчитывают на порядок создания событий счёта, поэтому публикует только один экземпляр
+ * сервиса - тот, кто взял advisory lock на время транзакции пачки. Остальные пропускают опрос,
+ * и при падении публикующего его место занимает следующий опрос любого экземпляра.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final long LOCK_ID = 0x6f7574626f78L;
+
+    private final OutboxEventRepository repository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties properties;
+
+    /**
+     * Выбирает outbox пачками, пока очередная пачка заполнена целиком
+     */
+    @Scheduled(fixedDelayString = "${transfer.outbox.poll-interval-ms:500}")
+    public void relay() {
+        final int batchSize = properties.getOutbox().getBatchSize();
+        Integer relayed;
+
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch(batchSize));
+        } while (relayed != null && relayed == batchSize);
+    }
+
+    private int relayBatch(int batchSize) {
+        if (!repository.tryLock(LOCK_ID)) {
+            log.debug("События переводов публикует другой экземпляр");
+            return 0;
+        }
+
+        final List<OutboxEventEntity> events = repository.lockBatch(batchSize);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        final String topic = properties.getOutbox().getTopic();
+        final List<CompletableFuture<SendResult<String, String>>> sent = events.stream()
+                .map(event -> kafkaTemplate.send(topic, String.valueOf(event.getAccountDetailsId()),
+                        event.getPayload()).completable())
+                .toList();
+
+        kafkaTemplate.flush();
+        await(sent);
+
+        repository.deleteAllByIdInBatch(events.stream().map(OutboxEventEntity::getId).toList());
+        log.debug("Опубликовано {} событий переводов", events.size());
+
+        return events.size();
+    }
+
+    private void await(List<CompletableFuture<SendResult<String, String>>> sent) {
+        try {
+            CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new))
+                    .get(properties.getOutbox().getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Не удалось опубликовать события переводов", e);
+        }
+    }
+}
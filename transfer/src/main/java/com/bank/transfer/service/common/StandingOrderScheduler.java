@@ -0,0 +1,258 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.repository.StandingOrderRepository;
+import com.bank.transfer.service.AccountTransferService;
+import com.bank.transfer.service.CardTransferService;
+import com.bank.transfer.service.PhoneTransferService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выполнение регулярных переводов по сроку. В памяти только сроки ближайших horizon-ms: они загружаются
+ * keyset-срезами по индексу (next_run_at, id) и раскладываются по иерархическому {@link TimingWheel},
+ * так что дальние сроки не читаются и таблица не опрашивается каждую секунду. Наступившие переводы выполняет пул
+ * из {@code concurrency} потоков с ограниченной очередью.
+ * Выполнение - одна транзакция: строка блокируется, срок сверяется с ожидаемым, создаётся перевод и сдвигается срок.
+ * Невыполненный срок повторяется, пока не будет зафиксирован, а повтор уже выполненного срока, в том числе
+ * на другом экземпляре, его не дублирует. После перезапуска загружается только ближайший срез вместе с просроченными.
+ */
+@Slf4j
+@Component
+public class StandingOrderScheduler {
+
+    private static final String TYPE_MESSAGE = "Неизвестный тип перевода ";
+
+    private final StandingOrderRepository repository;
+    private final AccountTransferService accountService;
+    private final CardTransferService cardService;
+    private final PhoneTransferService phoneService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.StandingOrder properties;
+    private final TimingWheel<Due> wheel;
+    private final Map<Long, Due> scheduled = new HashMap<>();
+    private final ThreadPoolExecutor workers;
+    private final Object loadLock = new Object();
+
+    /**
+     * до какого срока переводы уже загружены в колесо, 0 - ещё ничего не загружено
+     */
+    private volatile long loadedUntil;
+
+    public StandingOrderScheduler(StandingOrderRepository repository, AccountTransferService accountService,
+                                  CardTransferService cardService, PhoneTransferService phoneService,
+                                  TransactionTemplate transactionTemplate, TransferProperties properties) {
+        this.repository = repository;
+        this.accountService = accountService;
+        this.cardService = cardService;
+        this.phoneService = phoneService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getStandingOrder();
+        this.wheel = new TimingWheel<>(this.properties.getTickMs(), this.properties.getWheelSize(),
+                System.currentTimeMillis());
+        this.workers = new ThreadPoolExecutor(this.properties.getConcurrency(), this.properties.getConcurrency(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+                new CustomizableThreadFactory("standing-order-"));
+    }
+
+    /**
+     * После запуска загружает ближайший срез вместе с просроченными сроками
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        load(0L, System.currentTimeMillis() + properties.getHorizonMs());
+    }
+
+    /**
+     * Загружает следующий срез сроков
+     */
+    @Scheduled(fixedDelayString = "${transfer.standing-order.load-interval-ms:60000}")
+    public void loadNext() {
+        load(loadedUntil, System.currentTimeMillis() + properties.getHorizonMs());
+    }
+
+    /**
+     * Сдвигает колесо и отдаёт наступившие переводы обработчикам
+     */
+    @Scheduled(fixedRateString = "${transfer.standing-order.tick-ms:1000}")
+    public void tick() {
+        final List<Due> expired = new ArrayList<>();
+
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), expired::add);
+        }
+        expired.forEach(this::dispatch);
+    }
+
+    /**
+     * Ставит срок в колесо после фиксации текущей транзакции, если его срез уже загружен,
+     * иначе срок загрузит следующий срез
+     *
+     * @param id        технический идентификатор {@link StandingOrderEntity}
+     * @param nextRunAt срок следующего выполнения
+     */
+    public void scheduleAfterCommit(Long id, Timestamp nextRunAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(id, nextRunAt);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(id, nextRunAt);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(properties.getRetryDelayMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Граница загруженного сдвигается до чтения, поэтому переводы, созданные во время загрузки,
+     * попадут в колесо через {@link #scheduleAfterCommit}. Если загрузка не удалась, срез загрузится повторно.
+     */
+    void load(long fromMs, long untilMs) {
+        synchronized (loadLock) {
+            final Timestamp from = new Timestamp(fromMs);
+            final Timestamp until = new Timestamp(untilMs);
+            final PageRequest page = PageRequest.of(0, properties.getBatchSize());
+            Timestamp lastNextRunAt = from;
+            long lastId = 0L;
+            List<StandingOrderEntity> orders;
+
+            loadedUntil = untilMs;
+
+            try {
+                do {
+                    orders = repository.findDueSlice(from, until, lastNextRunAt, lastId, page);
+
+                    for (StandingOrderEntity order : orders) {
+                        enqueue(new Due(order.getId(), order.getNextRunAt()));
+                        lastNextRunAt = order.getNextRunAt();
+                        lastId = order.getId();
+                    }
+                } while (orders.size() == page.getPageSize());
+            } catch (RuntimeException e) {
+                loadedUntil = fromMs;
+                log.error("Сроки регулярных переводов с {} по {} не загружены", from, until, e);
+            }
+        }
+    }
+
+    void run(Due due) {
+        final Timestamp next;
+
+        try {
+            next = transactionTemplate.execute(status -> execute(due));
+        } catch (RuntimeException e) {
+            log.error("Регулярный перевод {} со сроком {} не выполнен, повтор через {} мс", due.id(),
+                    due.nextRunAt(), properties.getRetryDelayMs(), e);
+            retry(due);
+            return;
+        }
+
+        synchronized (wheel) {
+            scheduled.remove(due.id(), due);
+        }
+
+        if (next != null) {
+            schedule(due.id(), next);
+        }
+    }
+
+    private Timestamp execute(Due due) {
+        final StandingOrderEntity order = repository.lockById(due.id()).orElse(null);
+
+        if (order == null || !Boolean.TRUE.equals(order.getActive()) || !due.nextRunAt().equals(order.getNextRunAt())) {
+            return null;
+        }
+
+        createTransfer(order);
+
+        final long runs = order.getRuns() + 1;
+        order.setRuns(runs);
+        order.setNextRunAt(Timestamp.valueOf(order.getPeriod().occurrence(order.getStartAt().toLocalDateTime(), runs)));
+
+        return order.getNextRunAt();
+    }
+
+    private void createTransfer(StandingOrderEntity order) {
+        switch (order.getTransferType()) {
+            case ACCOUNT -> accountService.save(new AccountTransferDto(null, order.getNumber(), order.getAmount(),
+                    order.getPurpose(), order.getAccountDetailsId(), null, null));
+            case CARD -> cardService.save(new CardTransferDto(null, order.getNumber(), order.getAmount(),
+                    order.getPurpose(), order.getAccountDetailsId(), null, null));
+            case PHONE -> phoneService.save(new PhoneTransferDto(null, order.getNumber(), order.getAmount(),
+                    order.getPurpose(), order.getAccountDetailsId(), null, null));
+            default -> throw new IllegalStateException(TYPE_MESSAGE + order.getTransferType());
+        }
+    }
+
+    private void schedule(Long id, Timestamp nextRunAt) {
+        if (nextRunAt.getTime() < loadedUntil) {
+            enqueue(new Due(id, nextRunAt));
+        }
+    }
+
+    private void enqueue(Due due) {
+        synchronized (wheel) {
+            if (due.equals(scheduled.put(due.id(), due)) || wheel.add(due.nextRunAt().getTime(), due)) {
+                return;
+            }
+        }
+        dispatch(due);
+    }
+
+    private void dispatch(Due due) {
+        try {
+            workers.execute(() -> run(due));
+        } catch (RejectedExecutionException e) {
+            log.warn("Очередь регулярных переводов заполнена, перевод {} будет выполнен повторно", due.id());
+            retry(due);
+        }
+    }
+
+    private void retry(Due due) {
+        final long delay = Math.max(properties.getRetryDelayMs(), properties.getTickMs());
+
+        synchronized (wheel) {
+            wheel.add(System.currentTimeMillis() + delay, due);
+        }
+    }
+
+    /**
+     * Наступающий срок регулярного перевода
+     *
+     * @param id        технический идентификатор {@link StandingOrderEntity}
+     * @param nextRunAt срок, с которым перевод загружен, по нему выполнение сверяется со строкой
+     */
+    record Due(Long id, Timestamp nextRunAt) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.transfer.service.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Иерархическое колесо таймеров. Уровень из {@code wheelSize} ячеек по {@code tickMs} покрывает
+ * {@code tickMs * wheelSize}, более дальние сроки уходят на следующий уровень с ячейкой во весь нижний уровень
+ * и спускаются вниз, когда до них доходит очередь. Добавление и срабатывание таймера - O(1)
+ * независимо от количества таймеров. Не потокобезопасно, доступ синхронизирует владелец.
+ *
+ * @param <T> тип элемента таймера
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Deque<Timer<T>>> buckets;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        this.buckets = new ArrayList<>(wheelSize);
+
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * @param deadlineMs срок срабатывания
+     * @param item       элемент таймера
+     * @return false, если срок уже наступил и таймер не добавлен
+     */
+    boolean add(long deadlineMs, T item) {
+        return add(new Timer<>(deadlineMs, item));
+    }
+
+    /**
+     * Сдвигает время колеса, за один вызов обходится не больше одного оборота каждого уровня
+     *
+     * @param nowMs   текущее время
+     * @param expired получатель элементов с наступившим сроком
+     */
+    void advance(long nowMs, Consumer<T> expired) {
+        advanceTimers(nowMs, timer -> expired.accept(timer.item()));
+    }
+
+    private boolean add(Timer<T> timer) {
+        if (timer.deadlineMs() < currentTime + tickMs) {
+            return false;
+        }
+
+        if (timer.deadlineMs() < currentTime + interval) {
+            buckets.get(index(timer.deadlineMs())).add(timer);
+            return true;
+        }
+
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflow.add(timer);
+    }
+
+    private void advanceTimers(long nowMs, Consumer<Timer<T>> expired) {
+        final long target = nowMs - nowMs % tickMs;
+
+        while (currentTime < target) {
+            final boolean fullTurn = target - currentTime >= interval;
+            currentTime = fullTurn ? target : currentTime + tickMs;
+
+            if (overflow != null) {
+                overflow.advanceTimers(currentTime, timer -> reschedule(timer, expired));
+            }
+
+            if (fullTurn) {
+                buckets.forEach(bucket -> drain(bucket, expired));
+            } else {
+                drain(buckets.get(index(currentTime)), expired);
+            }
+        }
+    }
+
+    private void drain(Deque<Timer<T>> bucket, Consumer<Timer<T>> expired) {
+        final List<Timer<T>> timers = new ArrayList<>(bucket);
+        bucket.clear();
+        timers.forEach(timer -> reschedule(timer, expired));
+    }
+
+    private void reschedule(Timer<T> timer, Consumer<Timer<T>> expired) {
+        if (!add(timer)) {
+            expired.accept(timer);
+        }
+    }
+
+    private int index(long timeMs) {
+        return (int) (timeMs / tickMs % wheelSize);
+    }
+
+    /**
+     * Срок и элемент таймера
+     */
+    private record Timer<T>(long deadlineMs, T item) {
+    }
+}
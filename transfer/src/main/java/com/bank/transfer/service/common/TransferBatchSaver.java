@@ -0,0 +1,95 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.BatchItemResultDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Пакетное сохранение переводов: невалидные элементы отбрасываются с ошибкой,
+ * валидные сохраняются одним вызовом, который hibernate выполняет JDBC batch-вставкой.
+ * Результат по каждому переводу есть только для ошибок валидации: ошибка БД при сохранении пакета
+ * пробрасывается и откатывает транзакцию вызывающего целиком. Повторить сохранение по одному переводу,
+ * чтобы найти строку с ошибкой, в той же транзакции нельзя - после ошибки PostgreSQL отклоняет
+ * все следующие операторы транзакции.
+ */
+@Component
+public class TransferBatchSaver {
+
+    /**
+     * Максимальное количество переводов в одном запросе.
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final String EMPTY_ITEM_MESSAGE = "Перевод не передан";
+
+    private static final String TOO_LARGE_MESSAGE = "Количество переводов в запросе больше " + MAX_BATCH_SIZE;
+
+    private static final String REQUIRED_MESSAGE = "Не заполнены номер получателя, сумма или ID банковского счета";
+
+    private static final String AMOUNT_MESSAGE = "Сумма перевода должна быть больше нуля";
+
+    /**
+     * @param transfers список ДТО переводов
+     * @param validator возвращает текст ошибки или null, если перевод корректен
+     * @param toEntity  преобразование ДТО в entity
+     * @param saver     сохранение списка entity, например {@code repository::saveAll}
+     * @param toDto     преобразование entity в ДТО
+     * @param <D>       тип ДТО
+     * @param <E>       тип entity
+     * @return результат по каждому переводу в порядке запроса
+     * @throws org.springframework.dao.DataAccessException если пакет не удалось сохранить, ни один перевод
+     *                                                     не сохранён
+     */
+    public <D, E> List<BatchItemResultDto<D>> saveAll(List<D> transfers, Function<D, String> validator,
+                                                     Function<D, E> toEntity, Function<List<E>, List<E>> saver,
+                                                     Function<E, D> toDto) {
+        if (transfers.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(TOO_LARGE_MESSAGE);
+        }
+
+        final List<BatchItemResultDto<D>> results = new ArrayList<>(transfers.size());
+        final List<E> entities = new ArrayList<>(transfers.size());
+        final List<Integer> positions = new ArrayList<>(transfers.size());
+
+        for (int i = 0; i < transfers.size(); i++) {
+            final D transfer = transfers.get(i);
+            final String error = transfer == null ? EMPTY_ITEM_MESSAGE : validator.apply(transfer);
+
+            if (error != null) {
+                results.add(new BatchItemResultDto<>(i, false, transfer, error));
+            } else {
+                positions.add(i);
+                results.add(null);
+                entities.add(toEntity.apply(transfer));
+            }
+        }
+
+        final List<E> saved = entities.isEmpty() ? entities : saver.apply(entities);
+
+        for (int i = 0; i < saved.size(); i++) {
+            final int position = positions.get(i);
+            results.set(position, new BatchItemResultDto<>(position, true, toDto.apply(saved.get(i)), null));
+        }
+
+        return results;
+    }
+
+    /**
+     * @param number           номер счёта, карты или телефона получателя
+     * @param amount           сумма перевода
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @return текст ошибки или null, если обязательные поля перевода корректны
+     */
+    public String checkTransfer(Long number, BigDecimal amount, Long accountDetailsId) {
+        if (number == null || amount == null || accountDetailsId == null) {
+            return REQUIRED_MESSAGE;
+        }
+
+        return amount.signum() > 0 ? null : AMOUNT_MESSAGE;
+    }
+}
@@ -0,0 +1,180 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferDailyUsageDto;
+import com.bank.transfer.entity.TransferDailyUsageId;
+import com.bank.transfer.repository.TransferDailyUsageRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Дневные суммы и количество переводов по счёту для проверки лимитов.
+ * Суммы обновляются атомарным upsert в транзакции сохранения перевода, поэтому чтение - одна строка по ключу,
+ * а не SUM по таблицам переводов. Последние прочитанные суммы хранятся в ограниченном LRU-кэше:
+ * после фиксации собственных изменений ключи удаляются из кэша и следующее чтение идёт в БД
+ * (прибавлять дельту к кэшу нельзя: параллельное чтение могло уже положить туда зафиксированную сумму),
+ * изменения других экземпляров видны не позже cache-ttl-ms.
+ */
+@Component
+public class TransferDailyUsage {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::accountDetailsId)
+            .thenComparing(Key::date);
+
+    private final TransferDailyUsageRepository repository;
+    private final long cacheTtlMs;
+    private final Map<Key, Usage> cache;
+
+    public TransferDailyUsage(TransferDailyUsageRepository repository, TransferProperties properties) {
+        this.repository = repository;
+        this.cacheTtlMs = properties.getUsage().getCacheTtlMs();
+        this.cache = new LruMap<>(properties.getUsage().getCacheSize());
+    }
+
+    /**
+     * @param transfer         ДТО созданного перевода
+     * @param accountDetailsId получение технического идентификатора счёта
+     * @param amount           получение суммы перевода
+     * @param createdAt        получение времени создания перевода
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void add(D transfer, Function<D, Long> accountDetailsId, Function<D, BigDecimal> amount,
+                        Function<D, Timestamp> createdAt) {
+        addAll(List.of(transfer), accountDetailsId, amount, createdAt);
+    }
+
+    /**
+     * @param transfers        ДТО созданных переводов
+     * @param accountDetailsId получение технического идентификатора счёта
+     * @param amount           получение суммы перевода
+     * @param createdAt        получение времени создания перевода
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void addAll(List<D> transfers, Function<D, Long> accountDetailsId, Function<D, BigDecimal> amount,
+                           Function<D, Timestamp> createdAt) {
+        final Map<Key, Usage> deltas = new TreeMap<>(KEY_ORDER);
+
+        for (D transfer : transfers) {
+            put(deltas, accountDetailsId.apply(transfer), createdAt.apply(transfer), amount.apply(transfer), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Переносит изменённый перевод между суммами: старые значения вычитаются, новые прибавляются
+     *
+     * @param oldAccountDetailsId технический идентификатор счёта до изменения
+     * @param oldAmount           сумма до изменения
+     * @param accountDetailsId    технический идентификатор счёта после изменения
+     * @param amount              сумма после изменения
+     * @param createdAt           когда создан перевод
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void change(Long oldAccountDetailsId, BigDecimal oldAmount, Long accountDetailsId, BigDecimal amount,
+                       Timestamp createdAt) {
+        final Map<Key, Usage> deltas = new TreeMap<>(KEY_ORDER);
+        put(deltas, oldAccountDetailsId, createdAt, negate(oldAmount), -1);
+        put(deltas, accountDetailsId, createdAt, amount, 1);
+        apply(deltas);
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param date             день
+     * @return {@link TransferDailyUsageDto}, нулевые суммы, если переводов за день не было
+     */
+    public TransferDailyUsageDto find(Long accountDetailsId, LocalDate date) {
+        final Key key = new Key(accountDetailsId, date);
+        final long now = System.currentTimeMillis();
+        Usage usage;
+
+        synchronized (cache) {
+            usage = cache.get(key);
+        }
+
+        if (usage == null || now - usage.loadedAt() > cacheTtlMs) {
+            usage = repository.findById(new TransferDailyUsageId(accountDetailsId, date))
+                    .map(stored -> new Usage(stored.getTotalAmount(), stored.getTransferCount(), now))
+                    .orElseGet(() -> new Usage(BigDecimal.ZERO, 0, now));
+
+            synchronized (cache) {
+                cache.put(key, usage);
+            }
+        }
+
+        return new TransferDailyUsageDto(accountDetailsId, date, usage.totalAmount(), usage.transferCount());
+    }
+
+    private void put(Map<Key, Usage> deltas, Long accountDetailsId, Timestamp createdAt, BigDecimal amount,
+                     long count) {
+        if (accountDetailsId == null) {
+            return;
+        }
+
+        final LocalDate date = createdAt == null ? LocalDate.now() : createdAt.toLocalDateTime().toLocalDate();
+
+        deltas.merge(new Key(accountDetailsId, date), new Usage(amount == null ? BigDecimal.ZERO : amount, count, 0),
+                Usage::plus);
+    }
+
+    /**
+     * Строки обновляются в порядке ключа, чтобы пачки с общими счетами не взаимно блокировались
+     */
+    private void apply(Map<Key, Usage> deltas) {
+        deltas.values().removeIf(Usage::isZero);
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        deltas.forEach((key, delta) -> repository.upsert(key.accountDetailsId(), key.date(), delta.totalAmount(),
+                delta.transferCount()));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (cache) {
+                    cache.keySet().removeAll(deltas.keySet());
+                }
+            }
+        });
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? null : amount.negate();
+    }
+
+    /**
+     * Счёт и день
+     */
+    private record Key(Long accountDetailsId, LocalDate date) {
+    }
+
+    /**
+     * Сумма и количество переводов, для кэша - с временем чтения из БД
+     */
+    private record Usage(BigDecimal totalAmount, long transferCount, long loadedAt) {
+
+        Usage plus(Usage other) {
+            return new Usage(totalAmount.add(other.totalAmount), transferCount + other.transferCount, loadedAt);
+        }
+
+        boolean isZero() {
+            return totalAmount.signum() == 0 && transferCount == 0;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferEventDto;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Поток событий создания и изменения переводов счёта для подписчиков SSE.
+ * У каждого подписчика своя очередь из {@code buffer-size} неотправленных событий: если клиент читает медленнее,
+ * чем появляются события, из очереди вытесняются самые старые, так что медленный клиент не удерживает память.
+ * События попадают в поток только после фиксации транзакции перевода.
+ * Отправляет события пул из {@code sender-threads} потоков, у каждого подписчика не больше одной задачи отправки,
+ * поэтому очередь пула не длиннее числа подписчиков. Запись в сокет блокирует поток отправки, и прерывание
+ * её не снимает, поэтому подписчик, отправка которому длится дольше {@code send-timeout-ms}, закрывается:
+ * его очередь очищается, новые отправки ему не ставятся, а {@link SseEmitter} завершается с ошибкой.
+ * Контейнер при этом закрывает соединение, зависшая запись завершается ошибкой, и поток возвращается в пул.
+ */
+@Slf4j
+@Component
+public class TransferEventStream {
+
+    private static final String SUBSCRIBERS_MESSAGE = "Превышено число подписок на события счёта ";
+
+    private static final String SEND_TIMEOUT_MESSAGE = "Истекло время отправки события подписчику счёта ";
+
+    private final TransferProperties.Stream properties;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter slow;
+    private final ThreadPoolExecutor senders;
+
+    public TransferEventStream(TransferProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getStream();
+        this.dropped = Counter.builder("transfer.stream.dropped")
+                .description("События, вытесненные из очереди медленного подписчика")
+                .register(meterRegistry);
+        this.slow = Counter.builder("transfer.stream.slow")
+                .description("Подписчики, отключённые из-за истёкшего времени отправки")
+                .register(meterRegistry);
+        this.senders = new ThreadPoolExecutor(this.properties.getSenderThreads(), this.properties.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("transfer-stream-"));
+
+        Gauge.builder("transfer.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Количество подписчиков на события переводов")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @return {@link SseEmitter} с событиями переводов счёта, зафиксированных после подписки
+     * @throws IllegalStateException если у счёта уже {@code max-subscribers-per-account} подписок
+     */
+    public SseEmitter subscribe(Long accountDetailsId) {
+        return register(accountDetailsId, new SseEmitter(properties.getTimeoutMs()));
+    }
+
+    /**
+     * @param type             {@link TransferType}
+     * @param event            {@link TransferEventType}
+     * @param transfer         ДТО сохранённого перевода
+     * @param accountDetailsId получение технического идентификатора счёта
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void publish(TransferType type, TransferEventType event, D transfer,
+                            Function<D, Long> accountDetailsId) {
+        publishAll(type, event, List.of(transfer), accountDetailsId);
+    }
+
+    /**
+     * @param type             {@link TransferType}
+     * @param event            {@link TransferEventType}
+     * @param transfers        ДТО сохранённых переводов
+     * @param accountDetailsId получение технического идентификатора счёта
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void publishAll(TransferType type, TransferEventType event, List<D> transfers,
+                               Function<D, Long> accountDetailsId) {
+        if (subscriberCount.get() == 0 || transfers.isEmpty()) {
+            return;
+        }
+
+        final List<Addressed> events = transfers.stream()
+                .map(transfer -> new Addressed(accountDetailsId.apply(transfer),
+                        new TransferEventDto(event, type, transfer)))
+                .toList();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(addressed -> send(addressed.accountDetailsId(), addressed.event()));
+            }
+        });
+    }
+
+    /**
+     * Закрывает подписчиков, отправка которым длится дольше {@code send-timeout-ms}
+     */
+    @Scheduled(fixedDelayString = "${transfer.stream.send-timeout-ms:5000}")
+    public void expireSlowSends() {
+        final long startedBefore = System.currentTimeMillis() - properties.getSendTimeoutMs();
+
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            synchronized (subscriber) {
+                if (subscriber.closed || subscriber.sendStartedAt == 0 || subscriber.sendStartedAt > startedBefore) {
+                    return;
+                }
+                subscriber.closed = true;
+                subscriber.buffer.clear();
+            }
+
+            log.warn("Подписчик на события счёта {} не принял событие за {} мс и отключён",
+                    subscriber.accountDetailsId, properties.getSendTimeoutMs());
+            slow.increment();
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(new TimeoutException(SEND_TIMEOUT_MESSAGE +
+                    subscriber.accountDetailsId));
+        }));
+    }
+
+    /**
+     * Закрывает подписки и останавливает отправку
+     */
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    SseEmitter register(Long accountDetailsId, SseEmitter emitter) {
+        final Subscriber subscriber = new Subscriber(accountDetailsId, emitter);
+
+        subscribers.compute(accountDetailsId, (id, current) -> {
+            final Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+
+            if (set.size() >= properties.getMaxSubscribersPerAccount()) {
+                throw new IllegalStateException(SUBSCRIBERS_MESSAGE + id);
+            }
+            set.add(subscriber);
+            subscriberCount.incrementAndGet();
+            return set;
+        });
+
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unregister(subscriber));
+        emitter.onCompletion(() -> unregister(subscriber));
+        return emitter;
+    }
+
+    private void send(Long accountDetailsId, TransferEventDto event) {
+        final Set<Subscriber> set = accountDetailsId == null ? null : subscribers.get(accountDetailsId);
+
+        if (set != null) {
+            set.forEach(subscriber -> offer(subscriber, event));
+        }
+    }
+
+    private void offer(Subscriber subscriber, TransferEventDto event) {
+        final boolean start;
+
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.buffer.size() >= properties.getBufferSize()) {
+                subscriber.buffer.pollFirst();
+                dropped.increment();
+            }
+            subscriber.buffer.addLast(event);
+            start = !subscriber.sending;
+            subscriber.sending = true;
+        }
+
+        if (start) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                unregister(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Пока поток отправки ждёт медленного клиента, новые события копятся в очереди подписчика.
+     * Очередь закрытого подписчика пуста, поэтому после зависшей записи поток сразу освобождается
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            final TransferEventDto event;
+
+            synchronized (subscriber) {
+                event = subscriber.buffer.pollFirst();
+
+                if (event == null) {
+                    subscriber.sending = false;
+                    return;
+                }
+                subscriber.sendStartedAt = System.currentTimeMillis();
+            }
+
+            try {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(event.getEvent().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Подписчик на события счёта {} отключился", subscriber.accountDetailsId, e);
+                unregister(subscriber);
+                return;
+            } finally {
+                synchronized (subscriber) {
+                    subscriber.sendStartedAt = 0;
+                }
+            }
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.accountDetailsId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Событие перевода и счёт, подписчикам которого оно отправляется
+     */
+    private record Addressed(Long accountDetailsId, TransferEventDto event) {
+    }
+
+    /**
+     * Подписчик и его очередь неотправленных событий, доступ к очереди синхронизирован по подписчику
+     */
+    private static final class Subscriber {
+
+        private final Long accountDetailsId;
+        private final SseEmitter emitter;
+        private final Deque<TransferEventDto> buffer = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+        private long sendStartedAt;
+
+        Subscriber(Long accountDetailsId, SseEmitter emitter) {
+            this.accountDetailsId = accountDetailsId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.client.AccountClient;
+import com.bank.transfer.client.AntifraudClient;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferScoringRequestDto;
+import com.bank.transfer.dto.TransferScoringResultDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронное исполнение переводов: NEW → SCREENED → POSTED | REJECTED | UNKNOWN.
+ * Исполнения обрабатываются пулом из {@code transfer.execution.concurrency} потоков с ограниченной очередью,
+ * поэтому одновременных вызовов антифрода и счёта не больше размера пула. Каждый переход статуса
+ * сохраняется условным UPDATE, так что при гонке обработчиков списание выполнит только один.
+ * Исполнения, не попавшие в очередь или не прошедшие проверку из-за недоступности антифрода,
+ * остаются в NEW и подбираются повторной попыткой.
+ * Списание со счёта не идемпотентно, поэтому оно не повторяется: если счёт ответил 5xx или не ответил,
+ * деньги могли быть списаны, и исполнение переходит в UNKNOWN до сверки. Туда же переводятся исполнения,
+ * застрявшие в SCREENED дольше {@code transfer.execution.debit-timeout-ms}, например после падения
+ * экземпляра во время списания.
+ */
+@Slf4j
+@Component
+public class TransferExecutionPipeline {
+
+    private static final String BLOCKED_MESSAGE = "Перевод заблокирован антифродом";
+
+    private static final String DEBIT_REJECTED_MESSAGE = "Списание отклонено, код ответа счёта ";
+
+    private static final String DEBIT_UNKNOWN_MESSAGE = "Результат списания неизвестен, требуется сверка";
+
+    private static final String DEBIT_INTERRUPTED_MESSAGE = "Исполнение прервано во время списания, требуется сверка";
+
+    private static final String TRANSITION_MESSAGE = "Недопустимый переход статуса перевода ";
+
+    private final TransferExecutionRepository repository;
+    private final AntifraudClient antifraudClient;
+    private final AccountClient accountClient;
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final long retryIntervalMs;
+    private final long debitTimeoutMs;
+
+    public TransferExecutionPipeline(TransferExecutionRepository repository, AntifraudClient antifraudClient,
+                                     AccountClient accountClient, TransferProperties properties) {
+        final TransferProperties.Execution execution = properties.getExecution();
+
+        this.repository = repository;
+        this.antifraudClient = antifraudClient;
+        this.accountClient = accountClient;
+        this.retryIntervalMs = execution.getRetryIntervalMs();
+        this.debitTimeoutMs = execution.getDebitTimeoutMs();
+        this.workers = new ThreadPoolExecutor(execution.getConcurrency(), execution.getConcurrency(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(execution.getQueueCapacity()),
+                new CustomizableThreadFactory("transfer-execution-"));
+    }
+
+    /**
+     * Ставит исполнение в очередь после фиксации текущей транзакции, чтобы обработчик увидел созданную строку
+     *
+     * @param id технический идентификатор {@link TransferExecutionEntity}
+     */
+    public void submitAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(id);
+            }
+        });
+    }
+
+    /**
+     * Повторная попытка для исполнений, застрявших в NEW. Исполнения, застрявшие в SCREENED, не списываются
+     * повторно, а переводятся в UNKNOWN
+     */
+    @Scheduled(fixedDelayString = "${transfer.execution.retry-interval-ms:5000}")
+    public void retryStale() {
+        final long now = System.currentTimeMillis();
+
+        repository.findTop100ByStatusAndUpdatedAtBeforeOrderById(TransferStatus.NEW,
+                        new Timestamp(now - retryIntervalMs))
+                .forEach(execution -> dispatch(execution.getId()));
+
+        repository.findTop100ByStatusAndUpdatedAtBeforeOrderById(TransferStatus.SCREENED,
+                        new Timestamp(now - debitTimeoutMs)).stream()
+                .filter(execution -> !inFlight.contains(execution.getId()))
+                .filter(execution -> transition(execution.getId(), TransferStatus.SCREENED, TransferStatus.UNKNOWN,
+                        DEBIT_INTERRUPTED_MESSAGE))
+                .forEach(execution -> log.error("Исполнение {} прервано во время списания, требуется сверка",
+                        execution.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(retryIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void dispatch(Long id) {
+        if (!inFlight.add(id)) {
+            return;
+        }
+
+        try {
+            workers.execute(() -> {
+                try {
+                    process(id);
+                } catch (RuntimeException e) {
+                    log.error("Ошибка исполнения перевода {}", id, e);
+                } finally {
+                    inFlight.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(id);
+            log.warn("Очередь исполнения переводов заполнена, исполнение {} будет обработано повторно", id);
+        }
+    }
+
+    void process(Long id) {
+        final TransferExecutionEntity execution = repository.findById(id).orElse(null);
+
+        if (execution == null || execution.getStatus() != TransferStatus.NEW) {
+            return;
+        }
+
+        if (screen(execution)) {
+            debit(execution);
+        }
+    }
+
+    /**
+     * NEW → SCREENED | REJECTED. Если антифрод недоступен, исполнение остаётся в NEW
+     *
+     * @return true, если исполнение прошло проверку и переведено в SCREENED этим обработчиком
+     */
+    private boolean screen(TransferExecutionEntity execution) {
+        final TransferScoringResultDto verdict;
+
+        try {
+            verdict = antifraudClient.score(new TransferScoringRequestDto(execution.getTransferType(),
+                    execution.getTransferId(), execution.getAccountDetailsId(), execution.getNumber(),
+                    execution.getAmount()));
+        } catch (FeignException e) {
+            log.warn("Антифрод недоступен, исполнение {} остаётся в статусе NEW", execution.getId(), e);
+            return false;
+        }
+
+        if (Boolean.TRUE.equals(verdict.getIsBlocked())) {
+            transition(execution.getId(), TransferStatus.NEW, TransferStatus.REJECTED,
+                    verdict.getBlockedReason() == null ? BLOCKED_MESSAGE : verdict.getBlockedReason());
+            return false;
+        }
+
+        return transition(execution.getId(), TransferStatus.NEW, TransferStatus.SCREENED, null);
+    }
+
+    /**
+     * SCREENED → POSTED. Если исполнение успели перевести в UNKNOWN, пока шло списание, оно всё равно POSTED
+     */
+    private void debit(TransferExecutionEntity execution) {
+        try {
+            accountClient.debit(execution.getAccountDetailsId(), execution.getAmount());
+        } catch (FeignException e) {
+            failDebit(execution.getId(), e);
+            return;
+        }
+
+        if (!transition(execution.getId(), TransferStatus.SCREENED, TransferStatus.POSTED, null)) {
+            transition(execution.getId(), TransferStatus.UNKNOWN, TransferStatus.POSTED, null);
+        }
+    }
+
+    /**
+     * SCREENED → REJECTED, если счёт отказал с 4xx, иначе SCREENED → UNKNOWN: деньги могли быть списаны
+     */
+    private void failDebit(Long id, FeignException e) {
+        if (e.status() >= 400 && e.status() < 500) {
+            transition(id, TransferStatus.SCREENED, TransferStatus.REJECTED, DEBIT_REJECTED_MESSAGE + e.status());
+        } else {
+            log.error("Результат списания по исполнению {} неизвестен", id, e);
+            transition(id, TransferStatus.SCREENED, TransferStatus.UNKNOWN, DEBIT_UNKNOWN_MESSAGE);
+        }
+    }
+
+    private boolean transition(Long id, TransferStatus current, TransferStatus next, String reason) {
+        if (!current.canMoveTo(next)) {
+            throw new IllegalStateException(TRANSITION_MESSAGE + current + " → " + next);
+        }
+
+        return repository.transition(id, current, next, reason, new Timestamp(System.currentTimeMillis())) == 1;
+    }
+}
@@ -0,0 +1,202 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.TransferType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Групповая фиксация одиночных переводов. Одновременные запросы на создание перевода одного типа
+ * копятся не дольше {@code max-wait-micros} или до {@code max-batch-size} штук и сохраняются одной транзакцией
+ * с batch-вставкой, каждый вызывающий получает свой сохранённый перевод.
+ * Если режим выключен или вызов уже идёт внутри транзакции, перевод сохраняется сразу.
+ */
+@Slf4j
+@Component
+public class TransferGroupCommitter {
+
+    private static final String STOPPED_MESSAGE = "Сервис переводов останавливается";
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.GroupCommit properties;
+    private final Map<TransferType, Lane> lanes = new EnumMap<>(TransferType.class);
+
+    private volatile boolean running;
+
+    public TransferGroupCommitter(TransactionTemplate transactionTemplate, TransferProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getGroupCommit();
+        this.running = this.properties.isEnabled();
+
+        if (running) {
+            for (TransferType type : TransferType.values()) {
+                lanes.put(type, new Lane(type, meterRegistry));
+            }
+        }
+    }
+
+    /**
+     * @param type     {@link TransferType}
+     * @param transfer ДТО перевода
+     * @param single   сохранение одного перевода, выполняется в транзакции
+     * @param batch    сохранение пачки переводов в порядке списка, выполняется в транзакции
+     * @param <D>      тип ДТО перевода
+     * @return сохранённый перевод
+     */
+    @SuppressWarnings("unchecked")
+    public <D> D save(TransferType type, D transfer, Function<D, D> single, Function<List<D>, List<D>> batch) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> single.apply(transfer));
+        }
+
+        final Lane lane = lanes.get(type);
+        final Request request = new Request(transfer, (Function<List<Object>, List<Object>>) (Function<?, ?>) batch,
+                new CompletableFuture<>());
+
+        if (!lane.queue.offer(request) || !running && lane.queue.remove(request)) {
+            return transactionTemplate.execute(status -> single.apply(transfer));
+        }
+
+        return (D) await(request.future());
+    }
+
+    /**
+     * Сохраняет уже принятые запросы и останавливает потоки фиксации
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+
+        for (Lane lane : lanes.values()) {
+            lane.thread.interrupt();
+        }
+
+        for (Lane lane : lanes.values()) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+
+            Request rest;
+            while ((rest = lane.queue.poll()) != null) {
+                rest.future().completeExceptionally(new IllegalStateException(STOPPED_MESSAGE));
+            }
+        }
+    }
+
+    private void run(Lane lane) {
+        final int maxBatchSize = properties.getMaxBatchSize();
+        final long maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(properties.getMaxWaitMicros());
+        final List<Request> batch = new ArrayList<>(maxBatchSize);
+
+        while (running) {
+            try {
+                batch.add(lane.queue.take());
+
+                final long deadline = System.nanoTime() + maxWaitNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    final long remaining = deadline - System.nanoTime();
+                    final Request next = remaining > 0 ? lane.queue.poll(remaining, TimeUnit.NANOSECONDS) :
+                            lane.queue.poll();
+
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.queue.drainTo(batch, maxBatchSize - batch.size());
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                lane.batchSizes.record(batch.size());
+                flush(lane, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(Lane lane, List<Request> batch) {
+        try {
+            final List<Object> saved = transactionTemplate.execute(status -> batch.get(0).saver()
+                    .apply(batch.stream().map(Request::transfer).toList()));
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+
+            log.warn("Пачка из {} переводов {} не сохранена, переводы сохраняются по одному", batch.size(),
+                    lane.type, e);
+
+            for (Request request : batch) {
+                flush(lane, List.of(request));
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Перевод, ожидающий групповой фиксации
+     */
+    private record Request(Object transfer, Function<List<Object>, List<Object>> saver,
+                           CompletableFuture<Object> future) {
+    }
+
+    /**
+     * Очередь и поток фиксации переводов одного типа
+     */
+    private final class Lane {
+
+        private final TransferType type;
+        private final BlockingQueue<Request> queue;
+        private final DistributionSummary batchSizes;
+        private final Thread thread;
+
+        Lane(TransferType type, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            this.batchSizes = DistributionSummary.builder("transfer.group.commit.batch.size")
+                    .description("Количество переводов в одной групповой фиксации")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue((double) properties.getMaxBatchSize())
+                    .register(meterRegistry);
+            this.thread = new Thread(() -> TransferGroupCommitter.this.run(this),
+                    "transfer-group-commit-" + type.name().toLowerCase());
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+    }
+}
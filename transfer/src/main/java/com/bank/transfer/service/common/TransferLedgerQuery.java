@@ -0,0 +1,168 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.entity.TransferType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Общая лента переводов счёта всех типов одним запросом UNION ALL.
+ * Каждая ветка читает свою таблицу по индексу (account_details_id, created_at, id) с фильтрами и keyset-условием
+ * и отдаёт не больше одной страницы, поэтому внешней сортировке достаётся не больше трёх страниц строк.
+ * Фильтр по периоду ограничивает чтение месячными секциями, в которые он попадает.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferLedgerQuery {
+
+    private static final String BRANCH_SQL = """
+            (SELECT %1$d AS type_order, id, %2$s AS number, amount, purpose, account_details_id, created_at
+            FROM transfer.%3$s
+            WHERE account_details_id = :accountDetailsId%4$s
+            ORDER BY created_at%5$s, id%5$s
+            LIMIT :limit)""";
+
+    private static final String LEDGER_SQL = """
+            SELECT * FROM (%1$s) ledger
+            ORDER BY created_at%2$s, type_order%2$s, id%2$s
+            LIMIT :limit""";
+
+    private static final String ASCENDING = "";
+
+    private static final String DESCENDING = " DESC";
+
+    private static final String ACCOUNT_DETAILS_ID = "accountDetailsId";
+
+    private static final String LIMIT = "limit";
+
+    private static final Map<TransferType, Source> SOURCES = Map.of(
+            TransferType.ACCOUNT, new Source("account_transfer", "account_number"),
+            TransferType.CARD, new Source("card_transfer", "card_number"),
+            TransferType.PHONE, new Source("phone_transfer", "phone_number"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param filter           {@link Filter}
+     * @param cursor           позиция, после которой начинается страница
+     * @param limit            размер страницы
+     * @return строки ленты в порядке (created_at, тип, id)
+     */
+    public List<TransferLedgerEntryDto> find(Long accountDetailsId, Filter filter, LedgerCursor cursor, int limit) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource(ACCOUNT_DETAILS_ID, accountDetailsId)
+                .addValue(LIMIT, limit)
+                .addValue("cursorCreatedAt", cursor.getCreatedAt())
+                .addValue("cursorId", cursor.getLastId());
+        final String conditions = conditions(filter, parameters);
+        final Set<TransferType> types = filter.types() == null || filter.types().isEmpty() ?
+                EnumSet.allOf(TransferType.class) : filter.types();
+
+        return query(types, type -> conditions + keyset(type, cursor), ASCENDING, parameters);
+    }
+
+    /**
+     * Те же индексы читаются в обратном порядке
+     *
+     * @param accountDetailsId технический идентификатор счёта
+     * @param limit            сколько последних переводов вернуть
+     * @return последние переводы счёта в порядке (created_at, тип, id) от новых к старым
+     */
+    public List<TransferLedgerEntryDto> findLatest(Long accountDetailsId, int limit) {
+        return query(EnumSet.allOf(TransferType.class), type -> ASCENDING, DESCENDING,
+                new MapSqlParameterSource(ACCOUNT_DETAILS_ID, accountDetailsId).addValue(LIMIT, limit));
+    }
+
+    private List<TransferLedgerEntryDto> query(Set<TransferType> types, Function<TransferType, String> conditions,
+                                               String direction, MapSqlParameterSource parameters) {
+        final List<String> branches = new ArrayList<>();
+
+        for (TransferType type : TransferType.values()) {
+            if (types.contains(type)) {
+                final Source source = SOURCES.get(type);
+                branches.add(BRANCH_SQL.formatted(type.ordinal(), source.numberColumn(), source.table(),
+                        conditions.apply(type), direction));
+            }
+        }
+
+        return jdbcTemplate.query(LEDGER_SQL.formatted(String.join(" UNION ALL ", branches), direction), parameters,
+                (rs, rowNum) -> new TransferLedgerEntryDto(TransferType.values()[rs.getInt("type_order")],
+                        rs.getLong("id"), rs.getObject("number", Long.class), rs.getBigDecimal("amount"),
+                        rs.getString("purpose"), rs.getObject("account_details_id", Long.class),
+                        rs.getTimestamp("created_at")));
+    }
+
+    private String conditions(Filter filter, MapSqlParameterSource parameters) {
+        final StringBuilder sql = new StringBuilder();
+
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= :from");
+            parameters.addValue("from", Timestamp.valueOf(filter.from().atStartOfDay()));
+        }
+
+        if (filter.to() != null) {
+            sql.append(" AND created_at < :to");
+            parameters.addValue("to", Timestamp.valueOf(filter.to().atStartOfDay()));
+        }
+
+        if (filter.minAmount() != null) {
+            sql.append(" AND amount >= :minAmount");
+            parameters.addValue("minAmount", filter.minAmount());
+        }
+
+        if (filter.maxAmount() != null) {
+            sql.append(" AND amount <= :maxAmount");
+            parameters.addValue("maxAmount", filter.maxAmount());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Тип внутри ветки постоянный, поэтому условие (created_at, тип, id) > курсора сводится
+     * к сравнению по индексу таблицы: строго позже курсора для типов до него,
+     * не раньше курсора для типов после него и (created_at, id) после курсора для его типа.
+     */
+    private String keyset(TransferType type, LedgerCursor cursor) {
+        final int order = type.compareTo(cursor.getType());
+
+        if (order < 0) {
+            return " AND created_at > :cursorCreatedAt";
+        }
+
+        if (order > 0) {
+            return " AND created_at >= :cursorCreatedAt";
+        }
+        return " AND (created_at, id) > (:cursorCreatedAt, :cursorId)";
+    }
+
+    /**
+     * Фильтры ленты, null - без ограничения
+     *
+     * @param types     типы переводов, пусто - все типы
+     * @param from      начало периода включительно
+     * @param to        конец периода не включительно
+     * @param minAmount минимальная сумма включительно
+     * @param maxAmount максимальная сумма включительно
+     */
+    public record Filter(Set<TransferType> types, LocalDate from, LocalDate to, BigDecimal minAmount,
+                         BigDecimal maxAmount) {
+    }
+
+    /**
+     * Таблица переводов одного типа и столбец номера получателя
+     */
+    private record Source(String table, String numberColumn) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.dto.TransferEventDto;
+import com.bank.transfer.entity.OutboxEventEntity;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Запись событий переводов в outbox. Вызывается только внутри транзакции сохранения перевода,
+ * поэтому событие появляется в outbox тогда и только тогда, когда перевод зафиксирован.
+ * Публикацию в kafka выполняет {@link OutboxRelay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferOutbox {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param type             {@link TransferType}
+     * @param event            {@link TransferEventType}
+     * @param transfer         ДТО сохранённого перевода
+     * @param accountDetailsId получение технического идентификатора счёта, ключа сообщения
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void add(TransferType type, TransferEventType event, D transfer, Function<D, Long> accountDetailsId) {
+        addAll(type, event, List.of(transfer), accountDetailsId);
+    }
+
+    /**
+     * @param type             {@link TransferType}
+     * @param event            {@link TransferEventType}
+     * @param transfers        ДТО сохранённых переводов
+     * @param accountDetailsId получение технического идентификатора счёта, ключа сообщения
+     * @param <D>              тип ДТО перевода
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <D> void addAll(TransferType type, TransferEventType event, List<D> transfers,
+                           Function<D, Long> accountDetailsId) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        repository.saveAll(transfers.stream()
+                .map(transfer -> new OutboxEventEntity(null, accountDetailsId.apply(transfer),
+                        toJson(new TransferEventDto(event, type, transfer)), now))
+                .toList());
+    }
+
+    private String toJson(TransferEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Обслуживание месячных секций таблиц переводов.
+ * Заранее создаёт секции на {@code transfer.partition.months-ahead} месяцев вперёд и, если задан
+ * {@code transfer.partition.retention-months}, отключает и удаляет секции старше срока хранения:
+ * DETACH + DROP вместо долгого DELETE. Секция {@code *_legacy} с переводами, созданными до секционирования,
+ * начинается с MINVALUE: пока её верхняя граница не вышла за срок хранения, устаревшие строки из неё
+ * удаляются DELETE пачками по {@code transfer.partition.delete-batch-size}, каждая пачка в своей транзакции,
+ * затем она удаляется целиком, как месячная. Последовательности id к этому моменту принадлежат секционированным
+ * таблицам (changelog-014), поэтому DROP секции их не задевает. Между экземплярами сервиса работу выполняет
+ * тот, кто взял advisory lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransferPartitionMaintainer {
+
+    static final List<String> TABLES = List.of("account_transfer", "card_transfer", "phone_transfer");
+
+    private static final String SCHEMA = "transfer";
+
+    private static final long LOCK_ID = 0x7472616e73666572L;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'uuuu_MM");
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS %1$s.%2$s%3$s PARTITION OF %1$s.%2$s FOR VALUES FROM ('%4$s') TO ('%5$s')";
+
+    private static final String DETACH_SQL = "ALTER TABLE %1$s.%2$s DETACH PARTITION %1$s.%3$s";
+
+    private static final String DROP_SQL = "DROP TABLE %s.%s";
+
+    private static final String LEGACY_SUFFIX = "_legacy";
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private static final String BOUND_SQL = """
+            SELECT pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = ? AND c.relname = ?""";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM %1$s.%2$s WHERE ctid = ANY(ARRAY(SELECT ctid FROM %1$s.%2$s WHERE created_at < ? LIMIT ?))";
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = ? AND p.relname = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties properties;
+
+    /**
+     * Секции следующего месяца должны существовать до первой вставки в нём, поэтому проверка идёт и при старте
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Секции создаются и удаляются под advisory lock в одной транзакции, а устаревшие строки {@code *_legacy}
+     * удаляются уже после неё, чтобы не держать блокировки строк и lock до конца всей очистки
+     */
+    @Scheduled(cron = "${transfer.partition.cron:0 0 3 * * *}")
+    public void maintain() {
+        final YearMonth current = YearMonth.now();
+        final List<String> legacyPartitions = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, LOCK_ID))) {
+                log.info("Обслуживание секций переводов выполняет другой экземпляр");
+                return;
+            }
+
+            for (String table : TABLES) {
+                createAhead(table, current);
+                dropExpired(table, current, legacyPartitions);
+            }
+        });
+
+        for (String partition : legacyPartitions) {
+            deleteExpired(partition, oldestKept(current).atDay(1).atStartOfDay());
+        }
+    }
+
+    private void createAhead(String table, YearMonth current) {
+        for (int i = 1; i <= properties.getPartition().getMonthsAhead(); i++) {
+            final YearMonth month = current.plusMonths(i);
+
+            jdbcTemplate.execute(String.format(CREATE_SQL,
+                    SCHEMA, table, SUFFIX.format(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /**
+     * @param legacyPartitions сюда добавляется секция {@code *_legacy}, если её ещё рано удалять целиком
+     */
+    private void dropExpired(String table, YearMonth current, List<String> legacyPartitions) {
+        if (properties.getPartition().getRetentionMonths() <= 0) {
+            return;
+        }
+
+        final YearMonth oldestKept = oldestKept(current);
+
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, SCHEMA, table)) {
+            final YearMonth month = monthOf(table, partition);
+
+            if (month != null && month.isBefore(oldestKept)) {
+                drop(table, partition);
+            } else if ((table + LEGACY_SUFFIX).equals(partition) &&
+                    !dropExpiredLegacy(table, partition, oldestKept.atDay(1).atStartOfDay())) {
+                legacyPartitions.add(partition);
+            }
+        }
+    }
+
+    /**
+     * @return true, если секция целиком старше срока хранения и удалена
+     */
+    private boolean dropExpiredLegacy(String table, String partition, LocalDateTime oldestKept) {
+        final LocalDateTime upperBound = upperBoundOf(
+                jdbcTemplate.queryForObject(BOUND_SQL, String.class, SCHEMA, partition));
+
+        if (upperBound != null && !upperBound.isAfter(oldestKept)) {
+            drop(table, partition);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void deleteExpired(String partition, LocalDateTime oldestKept) {
+        final String sql = String.format(DELETE_SQL, SCHEMA, partition);
+        final int batchSize = properties.getPartition().getDeleteBatchSize();
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status ->
+                    jdbcTemplate.update(sql, Timestamp.valueOf(oldestKept), batchSize)));
+            total += deleted;
+        } while (deleted > 0 && deleted == batchSize);
+
+        log.info("Из секции {} удалено {} переводов до {}", partition, total, oldestKept);
+    }
+
+    private YearMonth oldestKept(YearMonth current) {
+        return current.minusMonths(properties.getPartition().getRetentionMonths());
+    }
+
+    private void drop(String table, String partition) {
+        jdbcTemplate.execute(String.format(DETACH_SQL, SCHEMA, table, partition));
+        jdbcTemplate.execute(String.format(DROP_SQL, SCHEMA, partition));
+        log.info("Удалена секция {} старше {} мес.", partition, properties.getPartition().getRetentionMonths());
+    }
+
+    /**
+     * @param bound граница секции из {@code pg_get_expr}, например
+     *              {@code FOR VALUES FROM (MINVALUE) TO ('2024-02-01 00:00:00')}
+     * @return верхняя граница или null, если её нет
+     */
+    static LocalDateTime upperBoundOf(String bound) {
+        final Matcher matcher = UPPER_BOUND.matcher(bound == null ? "" : bound);
+
+        return matcher.find() ? Timestamp.valueOf(matcher.group(1)).toLocalDateTime() : null;
+    }
+
+    /**
+     * @return месяц секции или null, если секция создана не этим классом (например, {@code *_legacy})
+     */
+    static YearMonth monthOf(String table, String partition) {
+        try {
+            return YearMonth.parse(partition.substring(table.length()), SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
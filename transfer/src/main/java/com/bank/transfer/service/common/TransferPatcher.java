@@ -0,0 +1,110 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Частичное изменение перевода одним оператором UPDATE ... RETURNING вместо SELECT, merge и UPDATE всей строки.
+ * Меняются только переданные столбцы, версия строки проверяется в том же операторе,
+ * поэтому одновременные изменения не затирают друг друга: проигравший получает {@link IllegalStateException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferPatcher {
+
+    private static final String SCHEMA = "transfer";
+
+    private static final String AMOUNT_COLUMN = "amount";
+
+    private static final String PATCH_SQL = """
+            UPDATE %1$s.%2$s t SET %3$s
+            FROM (SELECT id, created_at, amount, account_details_id FROM %1$s.%2$s WHERE id = :id FOR UPDATE) old
+            WHERE t.id = old.id AND t.created_at = old.created_at AND t.version = :version
+            RETURNING t.*, old.amount AS old_amount, old.account_details_id AS old_account_details_id""";
+
+    private static final String EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM %s.%s WHERE id = :id)";
+
+    private static final String VERSION_MESSAGE = "Не передана версия перевода";
+
+    private static final String AMOUNT_MESSAGE = "Сумма перевода должна быть больше нуля";
+
+    private static final String CONFLICT_MESSAGE = "Перевод изменён другим запросом, версия %d устарела";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param entityClass класс entity перевода, таблица берётся из {@link Table}
+     * @param id          технический идентификатор перевода
+     * @param version     версия перевода, которую видел клиент
+     * @param columns     новые значения столбцов, столбцы со значением null не меняются
+     * @param notFound    исключение, если перевода нет
+     * @param <E>         тип entity перевода
+     * @return изменённый перевод и значения суммы и счёта до изменения
+     * @throws ValidationException   если не передана версия или сумма не больше нуля
+     * @throws IllegalStateException если версия перевода уже изменилась
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <E> Patched<E> patch(Class<E> entityClass, Long id, Long version, Map<String, Object> columns,
+                                Supplier<EntityNotFoundException> notFound) {
+        if (version == null) {
+            throw new ValidationException(VERSION_MESSAGE);
+        }
+
+        if (columns.get(AMOUNT_COLUMN) instanceof BigDecimal amount && amount.signum() <= 0) {
+            throw new ValidationException(AMOUNT_MESSAGE);
+        }
+
+        final String table = entityClass.getAnnotation(Table.class).name();
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("id", id).addValue("version", version);
+        final List<String> assignments = new ArrayList<>();
+
+        columns.forEach((column, value) -> {
+            if (value != null) {
+                assignments.add(column + " = :" + column);
+                parameters.addValue(column, value);
+            }
+        });
+        assignments.add("version = t.version + 1");
+
+        final BeanPropertyRowMapper<E> rowMapper = BeanPropertyRowMapper.newInstance(entityClass);
+        final List<Patched<E>> patched = jdbcTemplate.query(
+                PATCH_SQL.formatted(SCHEMA, table, String.join(", ", assignments)), parameters,
+                (rs, rowNum) -> new Patched<>(rowMapper.mapRow(rs, rowNum), rs.getBigDecimal("old_amount"),
+                        rs.getObject("old_account_details_id", Long.class)));
+
+        if (!patched.isEmpty()) {
+            return patched.get(0);
+        }
+
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL.formatted(SCHEMA, table), parameters,
+                Boolean.class))) {
+            throw new IllegalStateException(CONFLICT_MESSAGE.formatted(version));
+        }
+        throw notFound.get();
+    }
+
+    /**
+     * Изменённый перевод
+     *
+     * @param transfer            entity перевода после изменения
+     * @param oldAmount           сумма до изменения
+     * @param oldAccountDetailsId технический идентификатор счёта до изменения
+     * @param <E>                 тип entity перевода
+     */
+    public record Patched<E>(E transfer, BigDecimal oldAmount, Long oldAccountDetailsId) {
+    }
+}
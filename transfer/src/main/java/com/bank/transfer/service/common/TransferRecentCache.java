@@ -0,0 +1,286 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Последние переводы счёта для чтения "последних N" без обращения к БД.
+ * На каждый счёт хранится кольцевой буфер из {@code size} последних переводов всех типов, счета вытесняются
+ * по LRU, поэтому в памяти не больше {@code accounts * size} строк. Буфер заполняется из БД при первом чтении
+ * и дополняется созданными и изменёнными переводами после фиксации, изменения других экземпляров
+ * видны не позже cache-ttl-ms.
+ */
+@Component
+public class TransferRecentCache {
+
+    private static final String METRIC = "transfer.recent.requests";
+
+    private static final String RESULT_TAG = "result";
+
+    /**
+     * от новых к старым, как в {@link TransferLedgerQuery#findLatest}
+     */
+    private static final Comparator<TransferLedgerEntryDto> NEWEST_FIRST = Comparator
+            .comparing(TransferLedgerEntryDto::getCreatedAt)
+            .thenComparing(TransferLedgerEntryDto::getType)
+            .thenComparing(TransferLedgerEntryDto::getId)
+            .reversed();
+
+    private final TransferLedgerQuery query;
+    private final int size;
+    private final long cacheTtlMs;
+    private final Map<Long, Ring> cache;
+    private final Map<Long, Object> loading = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    public TransferRecentCache(TransferLedgerQuery query, TransferProperties properties, MeterRegistry meterRegistry) {
+        this.query = query;
+        this.size = properties.getRecent().getSize();
+        this.cacheTtlMs = properties.getRecent().getCacheTtlMs();
+        this.cache = new LruMap<>(properties.getRecent().getAccounts());
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.bypasses = counter(meterRegistry, "bypass");
+
+        Gauge.builder("transfer.recent.accounts", this, TransferRecentCache::cachedAccounts)
+                .description("Количество счетов с последними переводами в памяти")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор счёта
+     * @param limit            сколько последних переводов вернуть
+     * @return последние переводы счёта от новых к старым
+     */
+    public List<TransferLedgerEntryDto> findLatest(Long accountDetailsId, int limit) {
+        if (limit > size) {
+            bypasses.increment();
+            return query.findLatest(accountDetailsId, limit);
+        }
+
+        final long now = System.currentTimeMillis();
+        final Object token = new Object();
+
+        synchronized (cache) {
+            final Ring ring = cache.get(accountDetailsId);
+
+            if (ring != null && now - ring.loadedAt <= cacheTtlMs) {
+                hits.increment();
+                return ring.latest(limit);
+            }
+            loading.put(accountDetailsId, token);
+        }
+
+        misses.increment();
+
+        try {
+            final Ring ring = new Ring(size, query.findLatest(accountDetailsId, size), now);
+
+            synchronized (cache) {
+                if (loading.remove(accountDetailsId, token)) {
+                    cache.put(accountDetailsId, ring);
+                }
+                return ring.latest(limit);
+            }
+        } finally {
+            synchronized (cache) {
+                loading.remove(accountDetailsId, token);
+            }
+        }
+    }
+
+    /**
+     * @param transfers созданные переводы
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<TransferLedgerEntryDto> transfers) {
+        afterCommit(() -> transfers.forEach(this::put));
+    }
+
+    /**
+     * @param transfer созданный перевод
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(TransferLedgerEntryDto transfer) {
+        addAll(Collections.singletonList(transfer));
+    }
+
+    /**
+     * Если перевод перенесён на другой счёт, буфер старого счёта сбрасывается: вместо перевода в нём должен
+     * оказаться более старый, которого в памяти нет
+     *
+     * @param oldAccountDetailsId технический идентификатор счёта до изменения
+     * @param transfer            изменённый перевод
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void change(Long oldAccountDetailsId, TransferLedgerEntryDto transfer) {
+        afterCommit(() -> {
+            if (!Objects.equals(oldAccountDetailsId, transfer.getAccountDetailsId())) {
+                final Ring old = cache.get(oldAccountDetailsId);
+
+                loading.remove(oldAccountDetailsId);
+                if (old != null && old.indexOf(transfer) >= 0) {
+                    cache.remove(oldAccountDetailsId);
+                }
+            }
+            put(transfer);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (cache) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Чтение из БД, начатое до фиксации, может не увидеть перевод, поэтому его результат не кэшируется
+     */
+    private void put(TransferLedgerEntryDto transfer) {
+        if (transfer == null || transfer.getAccountDetailsId() == null) {
+            return;
+        }
+
+        loading.remove(transfer.getAccountDetailsId());
+
+        final Ring ring = cache.get(transfer.getAccountDetailsId());
+
+        if (ring == null) {
+            return;
+        }
+
+        if (transfer.getCreatedAt() == null || !ring.put(transfer)) {
+            cache.remove(transfer.getAccountDetailsId());
+        }
+    }
+
+    private int cachedAccounts() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC)
+                .description("Чтения последних переводов счёта по результату обращения к памяти")
+                .tag(RESULT_TAG, result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Кольцевой буфер последних переводов одного счёта, новейший перевод по индексу head.
+     * Доступ синхронизирует владелец.
+     */
+    private static final class Ring {
+
+        private final TransferLedgerEntryDto[] entries;
+        private final long loadedAt;
+        private int head;
+        private int count;
+
+        /**
+         * в буфере все переводы счёта, а не только последние
+         */
+        private boolean complete;
+
+        Ring(int size, List<TransferLedgerEntryDto> latest, long loadedAt) {
+            this.entries = new TransferLedgerEntryDto[size];
+            this.loadedAt = loadedAt;
+            this.count = Math.min(size, latest.size());
+            this.complete = latest.size() < size;
+
+            for (int i = 0; i < count; i++) {
+                entries[i] = latest.get(i);
+            }
+        }
+
+        List<TransferLedgerEntryDto> latest(int limit) {
+            final List<TransferLedgerEntryDto> result = new ArrayList<>(Math.min(limit, count));
+
+            for (int i = 0; i < count && i < limit; i++) {
+                result.add(get(i));
+            }
+            return result;
+        }
+
+        int indexOf(TransferLedgerEntryDto transfer) {
+            for (int i = 0; i < count; i++) {
+                if (get(i).getType() == transfer.getType() && get(i).getId().equals(transfer.getId())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Новый перевод почти всегда новейший и ложится в head за O(1). Изменённый перевод заменяется на месте.
+         *
+         * @return false, если позицию перевода в буфере определить нельзя
+         */
+        boolean put(TransferLedgerEntryDto transfer) {
+            final int existing = indexOf(transfer);
+
+            if (existing >= 0) {
+                if (NEWEST_FIRST.compare(get(existing), transfer) != 0) {
+                    return false;
+                }
+                set(existing, transfer);
+                return true;
+            }
+
+            int position = 0;
+            while (position < count && NEWEST_FIRST.compare(get(position), transfer) < 0) {
+                position++;
+            }
+
+            if (position == count && (!complete || count == entries.length)) {
+                complete = false;
+                return true;
+            }
+
+            if (count == entries.length) {
+                count--;
+                complete = false;
+            }
+
+            head = (head + entries.length - 1) % entries.length;
+            for (int i = 0; i < position; i++) {
+                set(i, get(i + 1));
+            }
+            set(position, transfer);
+            count++;
+            return true;
+        }
+
+        private TransferLedgerEntryDto get(int index) {
+            return entries[(head + index) % entries.length];
+        }
+
+        private void set(int index, TransferLedgerEntryDto transfer) {
+            entries[(head + index) % entries.length] = transfer;
+        }
+    }
+}
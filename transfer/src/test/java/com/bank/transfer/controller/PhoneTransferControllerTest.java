@@ -1,5 +1,6 @@
 package com.bank.transfer.controller;
 
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.PhoneTransferDto;
 import com.bank.transfer.service.Impl.PhoneTransferServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +23,7 @@ import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -118,6 +120,20 @@ class PhoneTransferControllerTest {
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("создание с Idempotency-Key, позитивный сценарий")
+    void createWithIdempotencyKeyPositiveTest() {
+        when(service.save(dto, "key-1")).thenReturn(dto);
+
+        mockMvc.perform(post("/phone/create")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("создание пользователя по несуществующему id, позитивный сценарий")
@@ -135,6 +151,28 @@ class PhoneTransferControllerTest {
                 .andExpect(jsonPath("$.accountDetailsId").value(dto.getAccountDetailsId()));
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("пакетное создание, позитивный сценарий")
+    void createAllPositiveTest() {
+        List<PhoneTransferDto> transfers = List.of(dto, dto);
+        List<BatchItemResultDto<PhoneTransferDto>> result = List.of(
+                new BatchItemResultDto<>(0, true, dto, null),
+                new BatchItemResultDto<>(1, false, dto, "error"));
+
+        when(service.saveAll(transfers)).thenReturn(result);
+
+        mockMvc.perform(post("/phone/create/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transfers)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(transfers.size())))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].transfer.id").value(dto.getId()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("error"));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("обновление пользователя, позитивный сценарий")
@@ -171,4 +209,36 @@ class PhoneTransferControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    @DisplayName("частичное обновление, позитивный сценарий")
+    void patchPositiveTest() {
+        PhoneTransferDto changes = new PhoneTransferDto();
+        changes.setAmount(new BigDecimal("200"));
+        changes.setVersion(1L);
+        dto.setVersion(2L);
+
+        when(service.patch(id, changes)).thenReturn(dto);
+
+        mockMvc.perform(patch("/phone/update/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("частичное обновление с устаревшей версией, негативный сценарий")
+    void patchStaleVersionNegativeTest() {
+        dto.setVersion(1L);
+        when(service.patch(id, dto)).thenThrow(new IllegalStateException("Перевод изменён другим запросом"));
+
+        mockMvc.perform(patch("/phone/update/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict());
+    }
+}
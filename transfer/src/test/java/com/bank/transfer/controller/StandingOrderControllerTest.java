@@ -0,0 +1,106 @@
+package com.bank.transfer.controller;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderPeriod;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.service.Impl.StandingOrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StandingOrderController.class)
+class StandingOrderControllerTest {
+
+    StandingOrderDto dto;
+
+    private final long id = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private StandingOrderServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        dto = new StandingOrderDto();
+        dto.setId(id);
+        dto.setTransferType(TransferType.PHONE);
+        dto.setNumber(79001234567L);
+        dto.setAmount(new BigDecimal("300.00"));
+        dto.setAccountDetailsId(1L);
+        dto.setPeriod(StandingOrderPeriod.WEEKLY);
+        dto.setStartAt(Timestamp.valueOf("2024-03-01 10:00:00"));
+        dto.setActive(true);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("создание регулярного перевода, позитивный сценарий")
+    void createPositiveTest() {
+        when(service.create(any(StandingOrderDto.class))).thenReturn(dto);
+
+        mockMvc.perform(post("/standing-order/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.period").value("WEEKLY"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("создание некорректного регулярного перевода, негативный сценарий")
+    void createInvalidNegativeTest() {
+        when(service.create(any(StandingOrderDto.class))).thenThrow(new ValidationException("Ошибка"));
+
+        mockMvc.perform(post("/standing-order/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("чтение по id, позитивный сценарий")
+    void readPositiveTest() {
+        when(service.findById(id)).thenReturn(dto);
+
+        mockMvc.perform(get("/standing-order/read/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferType").value("PHONE"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("отмена несуществующего перевода, негативный сценарий")
+    void cancelNonExistIdNegativeTest() {
+        when(service.cancel(id)).thenThrow(new EntityNotFoundException("Не найден"));
+
+        mockMvc.perform(put("/standing-order/cancel/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
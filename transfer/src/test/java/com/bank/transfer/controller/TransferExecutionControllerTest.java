@@ -0,0 +1,113 @@
+package com.bank.transfer.controller;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.service.Impl.TransferExecutionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferExecutionController.class)
+class TransferExecutionControllerTest {
+
+    CardTransferDto transfer;
+
+    TransferExecutionDto dto;
+
+    private final long id = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransferExecutionServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        transfer = new CardTransferDto();
+        transfer.setAmount(new BigDecimal("753426"));
+        transfer.setCardNumber(1234567890L);
+        transfer.setPurpose("Test transfer");
+        transfer.setAccountDetailsId(1L);
+
+        dto = new TransferExecutionDto();
+        dto.setId(id);
+        dto.setTransferType(TransferType.CARD);
+        dto.setTransferId(5L);
+        dto.setStatus(TransferStatus.NEW);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("запуск исполнения перевода по карте, позитивный сценарий")
+    void executeCardPositiveTest() {
+        when(service.submit(transfer)).thenReturn(dto);
+
+        mockMvc.perform(post("/execution/card")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transfer)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", Matchers.endsWith("/execution/" + id)))
+                .andExpect(jsonPath("$.id").value(dto.getId()))
+                .andExpect(jsonPath("$.status").value(TransferStatus.NEW.name()));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("запуск исполнения некорректного перевода, негативный сценарий")
+    void executeCardInvalidNegativeTest() {
+        when(service.submit(transfer)).thenThrow(new ValidationException("Сумма перевода должна быть больше нуля"));
+
+        mockMvc.perform(post("/execution/card")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transfer)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("поиск исполнения по id, позитивный сценарий")
+    void readByIdPositiveTest() {
+        dto.setStatus(TransferStatus.POSTED);
+        when(service.findById(id)).thenReturn(dto);
+
+        mockMvc.perform(get("/execution/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferId").value(dto.getTransferId()))
+                .andExpect(jsonPath("$.status").value(TransferStatus.POSTED.name()));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("поиск исполнения по несуществующему id, негативный сценарий")
+    void readByNonExistIdNegativeTest() {
+        when(service.findById(id)).thenThrow(new EntityNotFoundException("Entity not found"));
+
+        mockMvc.perform(get("/execution/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
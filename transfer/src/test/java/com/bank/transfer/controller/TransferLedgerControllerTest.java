@@ -0,0 +1,99 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.dto.TransferLedgerPageDto;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.service.Impl.TransferLedgerServiceImpl;
+import com.bank.transfer.service.common.LedgerCursor;
+import com.bank.transfer.service.common.TransferLedgerQuery;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferLedgerController.class)
+class TransferLedgerControllerTest {
+
+    private final long id = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferLedgerServiceImpl service;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("страница ленты с фильтрами, позитивный сценарий")
+    void readPositiveTest() {
+        final TransferLedgerQuery.Filter filter = new TransferLedgerQuery.Filter(
+                Set.of(TransferType.CARD, TransferType.PHONE), LocalDate.of(2024, 3, 1), null,
+                new BigDecimal("100"), null);
+        final TransferLedgerEntryDto entry = new TransferLedgerEntryDto(TransferType.CARD, 5L, 1234567890L,
+                new BigDecimal("150.00"), "Test transfer", id, Timestamp.valueOf("2024-03-15 10:30:00"));
+
+        when(service.find(eq(id), eq(filter), eq(LedgerCursor.start()), eq(1)))
+                .thenReturn(new TransferLedgerPageDto(List.of(entry), "next"));
+
+        mockMvc.perform(get("/ledger/account-details/{id}", id)
+                        .param("type", "CARD", "PHONE")
+                        .param("from", "2024-03-01")
+                        .param("minAmount", "100")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].type").value("CARD"))
+                .andExpect(jsonPath("$.entries[0].number").value(1234567890L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("лента с некорректным курсором, негативный сценарий")
+    void readInvalidCursorNegativeTest() {
+        mockMvc.perform(get("/ledger/account-details/{id}", id).param("cursor", "bm90LWEtY3Vyc29y"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("лента с неизвестным типом перевода, негативный сценарий")
+    void readUnknownTypeNegativeTest() {
+        mockMvc.perform(get("/ledger/account-details/{id}", id).param("type", "CASH"))
+                .andExpect(status().is4xxClientError());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("последние переводы счёта, позитивный сценарий")
+    void readRecentPositiveTest() {
+        final TransferLedgerEntryDto entry = new TransferLedgerEntryDto(TransferType.PHONE, 7L, 9001234567L,
+                new BigDecimal("50.00"), "Test transfer", id, Timestamp.valueOf("2024-03-15 10:30:00"));
+
+        when(service.findRecent(id, 10)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/ledger/account-details/{id}/recent", id).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("PHONE"))
+                .andExpect(jsonPath("$[0].id").value(7));
+    }
+}
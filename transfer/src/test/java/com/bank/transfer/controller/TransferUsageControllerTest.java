@@ -0,0 +1,52 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.TransferDailyUsageDto;
+import com.bank.transfer.service.Impl.TransferUsageServiceImpl;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferUsageController.class)
+class TransferUsageControllerTest {
+
+    private final long id = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferUsageServiceImpl service;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("дневные суммы счёта за день, позитивный сценарий")
+    void readDailyPositiveTest() {
+        final LocalDate date = LocalDate.of(2024, 3, 15);
+        when(service.findDaily(id, date)).thenReturn(new TransferDailyUsageDto(id, date, new BigDecimal("150.00"), 3L));
+
+        mockMvc.perform(get("/usage/account-details/{id}", id).param("date", "2024-03-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount").value(150.00))
+                .andExpect(jsonPath("$.transferCount").value(3));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("дневные суммы с некорректной датой, негативный сценарий")
+    void readDailyInvalidDateNegativeTest() {
+        mockMvc.perform(get("/usage/account-details/{id}", id).param("date", "15.03.2024"))
+                .andExpect(status().is4xxClientError());
+    }
+}
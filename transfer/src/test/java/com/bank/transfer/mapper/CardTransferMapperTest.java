@@ -1,7 +1,9 @@
 package com.bank.transfer.mapper;
 
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
 import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.TransferType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -114,4 +116,17 @@ class CardTransferMapperTest {
     public void toEmptyListDtoTest() {
         assertNull(mapper.toDtoList(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("маппинг в строку ленты переводов")
+    void toLedgerEntryTest() {
+        TransferLedgerEntryDto result = mapper.toLedgerEntry(dto);
+
+        assertAll(
+                () -> assertEquals(TransferType.CARD, result.getType()),
+                () -> assertEquals(dto.getCardNumber(), result.getNumber()),
+                () -> assertEquals(dto.getAmount(), result.getAmount()),
+                () -> assertEquals(dto.getAccountDetailsId(), result.getAccountDetailsId())
+        );
+    }
+}
@@ -1,17 +1,33 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.util.BatchEntityFinder;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.BatchItemResultDto;
 import com.bank.transfer.dto.CardTransferDto;
 import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.mapper.CardTransferMapper;
 import com.bank.transfer.repository.CardTransferRepository;
-import org.junit.jupiter.api.Assertions;
+import com.bank.transfer.service.common.IdempotencyExecutor;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferDailyUsage;
+import com.bank.transfer.service.common.TransferEventStream;
+import com.bank.transfer.service.common.TransferGroupCommitter;
+import com.bank.transfer.service.common.TransferOutbox;
+import com.bank.transfer.service.common.TransferPatcher;
+import com.bank.transfer.service.common.TransferRecentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
@@ -20,13 +36,18 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
@@ -40,6 +61,35 @@ class CardTransferServiceImplTest {
     @Mock
     private CardTransferMapper mapper;
 
+    @Spy
+    private BatchEntityFinder batchFinder = new BatchEntityFinder();
+
+    @Spy
+    private TransferBatchSaver batchSaver = new TransferBatchSaver();
+
+    @Mock
+    private IdempotencyExecutor idempotency;
+
+    @Mock
+    private TransferOutbox outbox;
+
+    @Mock
+    private TransferDailyUsage dailyUsage;
+
+    @Mock
+    private TransferPatcher patcher;
+
+    @Mock
+    private TransferRecentCache recentCache;
+
+    @Mock
+    private TransferEventStream eventStream;
+
+    @Spy
+    private TransferGroupCommitter groupCommitter = new TransferGroupCommitter(
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new TransferProperties(),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private CardTransferServiceImpl service;
 
@@ -67,22 +117,16 @@ class CardTransferServiceImplTest {
     @Test
     @DisplayName("поиск по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
-        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        List<Long> ids = Arrays.asList(1L, 1L, 1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.findById(2L)).thenReturn(Optional.of(entity));
-        when(repository.findById(3L)).thenReturn(Optional.of(entity));
-
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(entity));
+        when(mapper.toDtoList(List.of(entity))).thenReturn(List.of(dto));
 
         List<CardTransferDto> result = service.findAllById(ids);
 
-        Assertions.assertEquals(ids.size(), result.size());
-        Assertions.assertEquals(dto, result.get(0));
-        Assertions.assertEquals(dto, result.get(1));
-        Assertions.assertEquals(dto, result.get(2));
+        assertEquals(1, result.size());
+        assertEquals(dto, result.get(0));
+        verify(repository, never()).findById(anyLong());
     }
 
     @Test
@@ -90,11 +134,14 @@ class CardTransferServiceImplTest {
     void findAllByNonExistIdNegativeTest() {
         List<Long> ids = List.of(1L, 2L, 3L);
 
-        when(repository.findById(anyLong())).thenThrow(EntityNotFoundException.class);
+        when(repository.findAllById(ids)).thenReturn(List.of(entity));
 
-        assertThrows(javax.persistence.EntityNotFoundException.class, () -> {
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             service.findAllById(ids);
         });
+
+        assertTrue(exception.getMessage().endsWith("[2, 3]"));
+        verify(mapper, never()).toDtoList(anyList());
     }
 
     @Test
@@ -145,6 +192,10 @@ class CardTransferServiceImplTest {
                 () -> assertEquals(dto.getPurpose(), result.getPurpose()),
                 () -> assertEquals(dto.getAccountDetailsId(), result.getAccountDetailsId())
         );
+        verify(outbox).add(eq(TransferType.CARD), eq(TransferEventType.CREATED), eq(dto), any());
+        verify(dailyUsage).add(eq(dto), any(), any(), any());
+        verify(recentCache).add(any());
+        verify(eventStream).publish(eq(TransferType.CARD), eq(TransferEventType.CREATED), eq(dto), any());
     }
 
     @Test
@@ -181,9 +232,30 @@ class CardTransferServiceImplTest {
         verify(mapper).mergeToEntity(dto, entity);
         verify(repository).save(entity);
         verify(mapper).toDto(entity);
+        verify(outbox).add(eq(TransferType.CARD), eq(TransferEventType.UPDATED), eq(dto), any());
+        verify(dailyUsage).change(entity.getAccountDetailsId(), new BigDecimal("200.00"), dto.getAccountDetailsId(),
+                dto.getAmount(), dto.getCreatedAt());
+        verify(recentCache).change(eq(entity.getAccountDetailsId()), any());
 
     }
 
+    @Test
+    @DisplayName("частичное обновление по id, позитивный сценарий")
+    void patchByIdPositiveTest() {
+        dto.setVersion(3L);
+        when(patcher.patch(eq(CardTransferEntity.class), eq(1L), eq(3L), anyMap(), any()))
+                .thenReturn(new TransferPatcher.Patched<>(entity, new BigDecimal("50.00"), 2L));
+        when(mapper.toDto(entity)).thenReturn(dto);
+
+        CardTransferDto result = service.patch(1L, dto);
+
+        assertEquals(dto, result);
+        verify(repository, never()).findById(anyLong());
+        verify(outbox).add(eq(TransferType.CARD), eq(TransferEventType.UPDATED), eq(dto), any());
+        verify(dailyUsage).change(2L, new BigDecimal("50.00"), dto.getAccountDetailsId(), dto.getAmount(),
+                dto.getCreatedAt());
+    }
+
     @Test
     @DisplayName("обновление по несуществующему id, негативный сценарий")
     void updateByNonExistIdNegativeTest() {
@@ -194,4 +266,44 @@ class CardTransferServiceImplTest {
         });
         verify(mapper, never()).toDto(any(CardTransferEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("пакетное сохранение, позитивный сценарий")
+    void saveAllPositiveTest() {
+        when(mapper.toEntity(dto)).thenReturn(entity);
+        when(repository.saveAll(List.of(entity, entity))).thenReturn(List.of(entity, entity));
+        when(mapper.toDto(entity)).thenReturn(dto);
+
+        List<BatchItemResultDto<CardTransferDto>> result = service.saveAll(List.of(dto, dto));
+
+        assertAll(
+                () -> assertEquals(2, result.size()),
+                () -> assertTrue(result.get(0).getSuccess()),
+                () -> assertEquals(dto, result.get(1).getTransfer())
+        );
+        verify(repository).saveAll(anyList());
+        verify(outbox).addAll(eq(TransferType.CARD), eq(TransferEventType.CREATED),
+                eq(List.of(dto, dto)), any());
+    }
+
+    @Test
+    @DisplayName("пакетное сохранение с некорректным переводом, негативный сценарий")
+    void saveAllWithInvalidItemNegativeTest() {
+        CardTransferDto invalid = new CardTransferDto();
+        invalid.setAmount(BigDecimal.ZERO);
+
+        when(mapper.toEntity(dto)).thenReturn(entity);
+        when(repository.saveAll(List.of(entity))).thenReturn(List.of(entity));
+        when(mapper.toDto(entity)).thenReturn(dto);
+
+        List<BatchItemResultDto<CardTransferDto>> result = service.saveAll(Arrays.asList(invalid, dto, null));
+
+        assertAll(
+                () -> assertFalse(result.get(0).getSuccess()),
+                () -> assertNotNull(result.get(0).getError()),
+                () -> assertTrue(result.get(1).getSuccess()),
+                () -> assertEquals(1, result.get(1).getIndex()),
+                () -> assertFalse(result.get(2).getSuccess())
+        );
+    }
+}
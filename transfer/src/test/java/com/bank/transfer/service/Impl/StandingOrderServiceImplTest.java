@@ -0,0 +1,157 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.StandingOrderDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.entity.StandingOrderPeriod;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.StandingOrderMapper;
+import com.bank.transfer.repository.StandingOrderRepository;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.StandingOrderScheduler;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StandingOrderServiceImplTest {
+
+    private static final LocalDateTime START_AT = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @Mock
+    private StandingOrderRepository repository;
+
+    @Mock
+    private StandingOrderMapper mapper;
+
+    @Spy
+    private TransferBatchSaver batchSaver = new TransferBatchSaver();
+
+    @Mock
+    private StandingOrderScheduler scheduler;
+
+    @Spy
+    private EntityNotFoundReturner notFoundReturner = new EntityNotFoundReturner();
+
+    @InjectMocks
+    private StandingOrderServiceImpl service;
+
+    StandingOrderDto dto;
+
+    StandingOrderEntity entity;
+
+    @BeforeEach
+    void init() {
+        dto = new StandingOrderDto();
+        dto.setTransferType(TransferType.CARD);
+        dto.setNumber(1234567890L);
+        dto.setAmount(new BigDecimal("500.00"));
+        dto.setPurpose("Аренда");
+        dto.setAccountDetailsId(1L);
+        dto.setPeriod(StandingOrderPeriod.MONTHLY);
+        dto.setStartAt(Timestamp.valueOf(START_AT.withNano(750_000_000)));
+
+        entity = new StandingOrderEntity();
+        entity.setId(1L);
+        entity.setTransferType(TransferType.CARD);
+        entity.setActive(true);
+    }
+
+    @Test
+    @DisplayName("создание регулярного перевода, позитивный сценарий")
+    void createPositiveTest() {
+        when(mapper.toEntity(dto)).thenReturn(entity);
+        when(repository.save(entity)).thenReturn(entity);
+        when(mapper.toDto(entity)).thenReturn(dto);
+
+        final StandingOrderDto result = service.create(dto);
+
+        final Timestamp startAt = Timestamp.valueOf(START_AT);
+        assertAll(
+                () -> assertEquals(dto, result),
+                () -> assertEquals(startAt, entity.getStartAt()),
+                () -> assertEquals(startAt, entity.getNextRunAt()),
+                () -> assertEquals(0L, entity.getRuns()),
+                () -> assertTrue(entity.getActive())
+        );
+        verify(scheduler).scheduleAfterCommit(1L, startAt);
+    }
+
+    @Test
+    @DisplayName("создание без периодичности, негативный сценарий")
+    void createWithoutPeriodNegativeTest() {
+        dto.setPeriod(null);
+
+        assertThrows(ValidationException.class, () -> service.create(dto));
+
+        verify(repository, never()).save(any());
+        verify(scheduler, never()).scheduleAfterCommit(any(), any());
+    }
+
+    @Test
+    @DisplayName("создание с прошедшим сроком первого выполнения, негативный сценарий")
+    void createWithPastStartNegativeTest() {
+        dto.setStartAt(Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+
+        assertThrows(ValidationException.class, () -> service.create(dto));
+
+        verify(repository, never()).save(any());
+        verify(scheduler, never()).scheduleAfterCommit(any(), any());
+    }
+
+    @Test
+    @DisplayName("создание с нулевой суммой, негативный сценарий")
+    void createWithZeroAmountNegativeTest() {
+        dto.setAmount(BigDecimal.ZERO);
+
+        assertThrows(ValidationException.class, () -> service.create(dto));
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("отмена регулярного перевода, позитивный сценарий")
+    void cancelPositiveTest() {
+        when(repository.findById(1L)).thenReturn(Optional.of(entity));
+        when(repository.save(entity)).thenReturn(entity);
+        when(mapper.toDto(entity)).thenReturn(dto);
+
+        service.cancel(1L);
+
+        assertFalse(entity.getActive());
+    }
+
+    @Test
+    @DisplayName("отмена несуществующего перевода, негативный сценарий")
+    void cancelNonExistIdNegativeTest() {
+        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.cancel(1L));
+
+        verify(repository, never()).save(any());
+    }
+}
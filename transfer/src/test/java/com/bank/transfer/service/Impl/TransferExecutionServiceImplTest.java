@@ -0,0 +1,164 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferExecutionDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.TransferExecutionMapper;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import com.bank.transfer.service.CardTransferService;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.TransferBatchSaver;
+import com.bank.transfer.service.common.TransferExecutionPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferExecutionServiceImplTest {
+
+    @Mock
+    private TransferExecutionRepository repository;
+
+    @Mock
+    private TransferExecutionMapper mapper;
+
+    @Mock
+    private CardTransferService cardService;
+
+    @Spy
+    private TransferBatchSaver batchSaver = new TransferBatchSaver();
+
+    @Mock
+    private TransferExecutionPipeline pipeline;
+
+    @Spy
+    private EntityNotFoundReturner notFoundReturner = new EntityNotFoundReturner();
+
+    @InjectMocks
+    private TransferExecutionServiceImpl service;
+
+    CardTransferDto transfer;
+
+    TransferExecutionDto dto;
+
+    @BeforeEach
+    void init() {
+        transfer = new CardTransferDto();
+        transfer.setId(5L);
+        transfer.setAmount(new BigDecimal("100.00"));
+        transfer.setCardNumber(1234567890L);
+        transfer.setPurpose("Test transfer");
+        transfer.setAccountDetailsId(1L);
+
+        dto = new TransferExecutionDto();
+        dto.setId(1L);
+        dto.setTransferType(TransferType.CARD);
+        dto.setTransferId(5L);
+        dto.setStatus(TransferStatus.NEW);
+    }
+
+    @Test
+    @DisplayName("запуск исполнения перевода по карте, позитивный сценарий")
+    void submitCardPositiveTest() {
+        final ArgumentCaptor<TransferExecutionEntity> captor = ArgumentCaptor.forClass(TransferExecutionEntity.class);
+
+        when(cardService.save(transfer)).thenReturn(transfer);
+        when(repository.save(captor.capture())).thenAnswer(invocation -> {
+            final TransferExecutionEntity execution = invocation.getArgument(0);
+            execution.setId(1L);
+            return execution;
+        });
+        when(mapper.toDto(any(TransferExecutionEntity.class))).thenReturn(dto);
+
+        final TransferExecutionDto result = service.submit(transfer);
+
+        assertAll(
+                () -> assertEquals(dto, result),
+                () -> assertEquals(TransferStatus.NEW, captor.getValue().getStatus()),
+                () -> assertEquals(TransferType.CARD, captor.getValue().getTransferType()),
+                () -> assertEquals(5L, captor.getValue().getTransferId()),
+                () -> assertEquals(transfer.getAmount(), captor.getValue().getAmount())
+        );
+        verify(pipeline).submitAfterCommit(1L);
+    }
+
+    @Test
+    @DisplayName("запуск исполнения с нулевой суммой, негативный сценарий")
+    void submitZeroAmountNegativeTest() {
+        transfer.setAmount(BigDecimal.ZERO);
+
+        assertThrows(ValidationException.class, () -> service.submit(transfer));
+
+        verify(cardService, never()).save(any(CardTransferDto.class));
+        verify(pipeline, never()).submitAfterCommit(anyLong());
+    }
+
+    @Test
+    @DisplayName("поиск исполнения по id, позитивный сценарий")
+    void findByIdPositiveTest() {
+        final TransferExecutionEntity execution = new TransferExecutionEntity();
+
+        when(repository.findById(1L)).thenReturn(Optional.of(execution));
+        when(mapper.toDto(execution)).thenReturn(dto);
+
+        assertEquals(dto, service.findById(1L));
+    }
+
+    @Test
+    @DisplayName("сверка подтвердила списание, позитивный сценарий")
+    void resolvePositiveTest() {
+        final TransferExecutionEntity execution = new TransferExecutionEntity();
+
+        when(repository.transition(eq(1L), eq(TransferStatus.UNKNOWN), eq(TransferStatus.POSTED), isNull(), any()))
+                .thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(execution));
+        when(mapper.toDto(execution)).thenReturn(dto);
+
+        assertEquals(dto, service.resolve(1L, true));
+    }
+
+    @Test
+    @DisplayName("сверка исполнения, которое не ждёт сверки, негативный сценарий")
+    void resolveNotUnknownNegativeTest() {
+        when(repository.transition(eq(1L), eq(TransferStatus.UNKNOWN), eq(TransferStatus.REJECTED), any(), any()))
+                .thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> service.resolve(1L, false));
+
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("поиск исполнения по несуществующему id, негативный сценарий")
+    void findByNonExistIdNegativeTest() {
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.findById(1L));
+
+        verify(mapper, never()).toDto(any(TransferExecutionEntity.class));
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.AccountTransferMapper;
+import com.bank.transfer.mapper.CardTransferMapper;
+import com.bank.transfer.mapper.PhoneTransferMapper;
+import com.bank.transfer.repository.AccountTransferRepository;
+import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.repository.PhoneTransferRepository;
+import com.bank.transfer.service.common.ExportCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferExportServiceImpl}
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferExportServiceImplTest {
+
+    private static final Long ACCOUNT_DETAILS_ID = 1L;
+
+    private static final PageRequest PAGE = PageRequest.of(0, 2);
+
+    @Mock
+    private AccountTransferRepository accountRepository;
+
+    @Mock
+    private CardTransferRepository cardRepository;
+
+    @Mock
+    private PhoneTransferRepository phoneRepository;
+
+    @Mock
+    private AccountTransferMapper accountMapper;
+
+    @Mock
+    private CardTransferMapper cardMapper;
+
+    @Mock
+    private PhoneTransferMapper phoneMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TransferProperties properties = new TransferProperties();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TransferExportServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        properties.getExport().setPageSize(PAGE.getPageSize());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("выгрузка всех переводов счёта постранично, позитивный сценарий")
+    void exportPositiveTest() {
+        when(accountRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(0L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of());
+        when(cardRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(0L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of(card(1L), card(2L)));
+        when(cardRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(2L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of(card(3L)));
+        when(phoneRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(0L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of());
+        when(cardMapper.toDto(any())).thenAnswer(invocation -> toDto(invocation.getArgument(0)));
+
+        final List<JsonNode> lines = export(ExportCursor.start());
+
+        assertAll(
+                () -> assertEquals(3, lines.size()),
+                () -> assertEquals("CARD", lines.get(0).get("type").asText()),
+                () -> assertEquals(3L, lines.get(2).get("transfer").get("id").asLong()),
+                () -> assertEquals(ExportCursor.encode(TransferType.CARD, 2L), lines.get(1).get("cursor").asText())
+        );
+        verify(entityManager, times(4)).clear();
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("выгрузка продолжается с курсора, позитивный сценарий")
+    void exportFromCursorPositiveTest() {
+        when(cardRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(2L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of(card(3L)));
+        when(phoneRepository.findExportPage(eq(ACCOUNT_DETAILS_ID), eq(0L), any(), any(), eq(PAGE)))
+                .thenReturn(List.of());
+        when(cardMapper.toDto(any())).thenAnswer(invocation -> toDto(invocation.getArgument(0)));
+
+        final List<JsonNode> lines = export(ExportCursor.decode(ExportCursor.encode(TransferType.CARD, 2L)));
+
+        assertEquals(1, lines.size());
+        verify(accountRepository, never())
+                .findExportPage(eq(ACCOUNT_DETAILS_ID), anyLong(), any(), any(), any());
+    }
+
+    @SneakyThrows
+    private List<JsonNode> export(ExportCursor cursor) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ACCOUNT_DETAILS_ID, null, null, cursor, out);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        return lines.length == 1 && lines[0].isEmpty()
+                ? List.of()
+                : Arrays.stream(lines).map(this::readTree).toList();
+    }
+
+    @SneakyThrows
+    private JsonNode readTree(String line) {
+        return objectMapper.readTree(line);
+    }
+
+    private static CardTransferEntity card(Long id) {
+        return new CardTransferEntity(id, 1234567890L, new BigDecimal("100.00"), "Test transfer",
+                ACCOUNT_DETAILS_ID, null, 0L);
+    }
+
+    private static CardTransferDto toDto(CardTransferEntity entity) {
+        return new CardTransferDto(entity.getId(), entity.getCardNumber(), entity.getAmount(),
+                entity.getPurpose(), entity.getAccountDetailsId(), entity.getCreatedAt(), entity.getVersion());
+    }
+}
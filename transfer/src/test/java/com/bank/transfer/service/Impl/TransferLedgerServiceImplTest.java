@@ -0,0 +1,133 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.dto.TransferLedgerPageDto;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.service.common.LedgerCursor;
+import com.bank.transfer.service.common.TransferLedgerQuery;
+import com.bank.transfer.service.common.TransferRecentCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferLedgerServiceImplTest {
+
+    private static final TransferLedgerQuery.Filter NO_FILTER =
+            new TransferLedgerQuery.Filter(null, null, null, null, null);
+
+    @Mock
+    private TransferLedgerQuery query;
+
+    @Mock
+    private TransferRecentCache recentCache;
+
+    @Spy
+    private TransferProperties properties = new TransferProperties();
+
+    @InjectMocks
+    private TransferLedgerServiceImpl service;
+
+    @Test
+    @DisplayName("страница с продолжением, позитивный сценарий")
+    void findWithNextPagePositiveTest() {
+        final TransferLedgerEntryDto first = entry(TransferType.ACCOUNT, 1L);
+        final TransferLedgerEntryDto second = entry(TransferType.PHONE, 2L);
+
+        when(query.find(1L, NO_FILTER, LedgerCursor.start(), 2)).thenReturn(List.of(first, second));
+
+        final TransferLedgerPageDto result = service.find(1L, NO_FILTER, LedgerCursor.start(), 1);
+
+        assertAll(
+                () -> assertEquals(List.of(first), result.getEntries()),
+                () -> assertEquals(LedgerCursor.encode(first.getCreatedAt(), TransferType.ACCOUNT, 1L),
+                        result.getNextCursor())
+        );
+    }
+
+    @Test
+    @DisplayName("последняя страница с размером по умолчанию, позитивный сценарий")
+    void findLastPagePositiveTest() {
+        final TransferLedgerEntryDto first = entry(TransferType.CARD, 1L);
+
+        when(query.find(1L, NO_FILTER, LedgerCursor.start(), 101)).thenReturn(List.of(first));
+
+        final TransferLedgerPageDto result = service.find(1L, NO_FILTER, LedgerCursor.start(), null);
+
+        assertAll(
+                () -> assertEquals(List.of(first), result.getEntries()),
+                () -> assertNull(result.getNextCursor())
+        );
+    }
+
+    @Test
+    @DisplayName("размер страницы больше допустимого, негативный сценарий")
+    void findTooLargeLimitNegativeTest() {
+        assertThrows(ValidationException.class, () -> service.find(1L, NO_FILTER, LedgerCursor.start(), 1_001));
+
+        verify(query, never()).find(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("начало периода позже конца, негативный сценарий")
+    void findInvertedPeriodNegativeTest() {
+        final TransferLedgerQuery.Filter filter = new TransferLedgerQuery.Filter(null, LocalDate.of(2024, 3, 2),
+                LocalDate.of(2024, 3, 1), null, null);
+
+        assertThrows(ValidationException.class, () -> service.find(1L, filter, LedgerCursor.start(), 10));
+    }
+
+    @Test
+    @DisplayName("минимальная сумма больше максимальной, негативный сценарий")
+    void findInvertedAmountNegativeTest() {
+        final TransferLedgerQuery.Filter filter = new TransferLedgerQuery.Filter(null, null, null,
+                new BigDecimal("200"), new BigDecimal("100"));
+
+        assertThrows(ValidationException.class, () -> service.find(1L, filter, LedgerCursor.start(), 10));
+    }
+
+    @Test
+    @DisplayName("последние переводы с количеством по умолчанию, позитивный сценарий")
+    void findRecentPositiveTest() {
+        final TransferLedgerEntryDto first = entry(TransferType.CARD, 1L);
+
+        when(recentCache.findLatest(1L, 10)).thenReturn(List.of(first));
+
+        assertEquals(List.of(first), service.findRecent(1L, null));
+    }
+
+    @Test
+    @DisplayName("последние переводы с нулевым количеством, негативный сценарий")
+    void findRecentZeroLimitNegativeTest() {
+        assertThrows(ValidationException.class, () -> service.findRecent(1L, 0));
+
+        verify(recentCache, never()).findLatest(anyLong(), anyInt());
+    }
+
+    private TransferLedgerEntryDto entry(TransferType type, Long id) {
+        return new TransferLedgerEntryDto(type, id, 1234567890L, new BigDecimal("100.00"), "Test transfer", 1L,
+                Timestamp.valueOf("2024-03-15 10:30:00"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link IdempotencyExecutor}
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyExecutorTest {
+
+    private static final String KEY = "key-1";
+
+    private static final String REQUEST = "transfer";
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyExecutor executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(repository.findByTransferTypeAndIdempotencyKey(any(), anyString())).thenReturn(Optional.empty());
+
+        executor = new IdempotencyExecutor(repository, transactionTemplate, new ObjectMapper(),
+                new TransferProperties());
+    }
+
+    @Test
+    @DisplayName("повтор запроса возвращает результат из кэша, позитивный сценарий")
+    void executeRepeatedKeyPositiveTest() {
+        final AtomicInteger created = new AtomicInteger();
+
+        final Long first = executor.execute(TransferType.CARD, KEY, REQUEST, () -> (long) created.incrementAndGet(),
+                Function.identity(), id -> -1L);
+        final Long second = executor.execute(TransferType.CARD, KEY, REQUEST, () -> (long) created.incrementAndGet(),
+                Function.identity(), id -> -1L);
+
+        assertAll(
+                () -> assertEquals(1L, first),
+                () -> assertEquals(1L, second),
+                () -> assertEquals(1, created.get())
+        );
+        verify(repository, times(1)).save(any(IdempotencyKeyEntity.class));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("одновременные повторы создают один перевод, позитивный сценарий")
+    void executeConcurrentKeyPositiveTest() {
+        final int threads = 8;
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        final List<Future<Long>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return executor.execute(TransferType.ACCOUNT, KEY, REQUEST, () -> {
+                    sleep();
+                    return (long) created.incrementAndGet();
+                }, Function.identity(), id -> -1L);
+            }));
+        }
+        start.countDown();
+
+        for (Future<Long> future : futures) {
+            assertEquals(1L, future.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("ключ уже сохранен в БД, перевод загружается по id, позитивный сценарий")
+    void executeStoredKeyPositiveTest() {
+        when(repository.findByTransferTypeAndIdempotencyKey(TransferType.PHONE, KEY))
+                .thenReturn(Optional.of(new IdempotencyKeyEntity(1L, TransferType.PHONE, KEY, 42L, null, null)));
+
+        final Long result = executor.execute(TransferType.PHONE, KEY, REQUEST, () -> 1L, Function.identity(), id -> id);
+
+        assertEquals(42L, result);
+    }
+
+    @Test
+    @DisplayName("ключ сохранен другим экземпляром сервиса, позитивный сценарий")
+    void executeLostRacePositiveTest() {
+        when(repository.save(any(IdempotencyKeyEntity.class))).thenThrow(DataIntegrityViolationException.class);
+        when(repository.findByTransferTypeAndIdempotencyKey(eq(TransferType.CARD), eq(KEY)))
+                .thenReturn(Optional.empty(),
+                        Optional.of(new IdempotencyKeyEntity(1L, TransferType.CARD, KEY, 7L, null, null)));
+
+        final Long result = executor.execute(TransferType.CARD, KEY, REQUEST, () -> 1L, Function.identity(), id -> id);
+
+        assertEquals(7L, result);
+    }
+
+    @Test
+    @DisplayName("повтор ключа с другим телом запроса, негативный сценарий")
+    void executeOtherRequestNegativeTest() {
+        final AtomicInteger created = new AtomicInteger();
+
+        executor.execute(TransferType.CARD, KEY, REQUEST, () -> (long) created.incrementAndGet(),
+                Function.identity(), id -> id);
+
+        assertThrows(ValidationException.class, () -> executor.execute(TransferType.CARD, KEY, "other",
+                () -> (long) created.incrementAndGet(), Function.identity(), id -> id));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("ключ из БД с другим телом запроса, негативный сценарий")
+    void executeStoredOtherRequestNegativeTest() {
+        when(repository.findByTransferTypeAndIdempotencyKey(TransferType.PHONE, KEY))
+                .thenReturn(Optional.of(new IdempotencyKeyEntity(1L, TransferType.PHONE, KEY, 42L, "0".repeat(64),
+                        null)));
+
+        assertThrows(ValidationException.class,
+                () -> executor.execute(TransferType.PHONE, KEY, REQUEST, () -> 1L, Function.identity(), id -> id));
+    }
+
+    @Test
+    @DisplayName("слишком длинный ключ, негативный сценарий")
+    void executeTooLongKeyNegativeTest() {
+        final String key = "k".repeat(256);
+
+        assertThrows(ValidationException.class,
+                () -> executor.execute(TransferType.CARD, key, REQUEST, () -> 1L, Function.identity(), id -> id));
+    }
+
+    @Test
+    @DisplayName("ошибка создания не кэшируется, негативный сценарий")
+    void executeFailureNegativeTest() {
+        assertThrows(IllegalStateException.class, () -> executor.execute(TransferType.CARD, KEY, REQUEST,
+                () -> {
+                    throw new IllegalStateException();
+                }, Function.<Long>identity(), id -> id));
+
+        assertEquals(5L, executor.execute(TransferType.CARD, KEY, REQUEST, () -> 5L, Function.identity(), id -> id));
+    }
+
+    @SneakyThrows
+    private static void sleep() {
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,152 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.OutboxEventEntity;
+import com.bank.transfer.repository.OutboxEventRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link OutboxRelay} на встроенном брокере kafka
+ */
+@EmbeddedKafka(partitions = 3, topics = OutboxRelayTest.TOPIC)
+class OutboxRelayTest {
+
+    static final String TOPIC = "transfer-events-test";
+
+    private OutboxEventRepository repository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransferProperties properties;
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        repository = mock(OutboxEventRepository.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(repository.tryLock(anyLong())).thenReturn(true);
+
+        properties = new TransferProperties();
+        properties.getOutbox().setTopic(TOPIC);
+        properties.getOutbox().setBatchSize(2);
+    }
+
+    @AfterEach
+    void destroy() {
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("события публикуются сжатым батчем с ключом счёта и удаляются, позитивный сценарий")
+    void relayPositiveTest(EmbeddedKafkaBroker broker) {
+        final Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+        producerProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerProps, new StringSerializer(), new StringSerializer()));
+
+        when(repository.lockBatch(2))
+                .thenReturn(List.of(event(1L, 10L), event(2L, 20L)))
+                .thenReturn(List.of());
+
+        new OutboxRelay(repository, kafkaTemplate, transactionTemplate, properties).relay();
+
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+
+        final Map<String, String> received = consume(broker, 2);
+        assertEquals(Map.of("10", "{\"id\":1}", "20", "{\"id\":2}"), received);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("брокер не подтвердил отправку, события остаются в outbox, негативный сценарий")
+    void relayFailedSendNegativeTest() {
+        final KafkaTemplate<String, String> failingTemplate = mock(KafkaTemplate.class);
+        final SettableListenableFuture<SendResult<String, String>> failed = new SettableListenableFuture<>();
+        failed.setException(new IllegalStateException("broker is down"));
+
+        when(failingTemplate.send(anyString(), anyString(), anyString())).thenReturn(failed);
+        when(repository.lockBatch(2)).thenReturn(List.of(event(1L, 10L)));
+
+        final OutboxRelay relay = new OutboxRelay(repository, failingTemplate, transactionTemplate, properties);
+
+        assertThrows(IllegalStateException.class, relay::relay);
+        verify(repository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("события публикует другой экземпляр, пачка не выбирается, негативный сценарий")
+    void relayLockedNegativeTest() {
+        when(repository.tryLock(anyLong())).thenReturn(false);
+
+        new OutboxRelay(repository, mock(KafkaTemplate.class), transactionTemplate, properties).relay();
+
+        verify(repository, never()).lockBatch(anyInt());
+    }
+
+    private Map<String, String> consume(EmbeddedKafkaBroker broker, int expected) {
+        final Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-relay-test", "false", broker);
+        final Map<String, String> received = new HashMap<>();
+
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (received.size() < expected && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    received.put(record.key(), record.value());
+                }
+            }
+        }
+
+        return received;
+    }
+
+    private static OutboxEventEntity event(Long id, Long accountDetailsId) {
+        return new OutboxEventEntity(id, accountDetailsId, "{\"id\":" + id + "}",
+                new Timestamp(System.currentTimeMillis()));
+    }
+}
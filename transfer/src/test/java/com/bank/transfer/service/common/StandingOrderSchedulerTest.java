@@ -0,0 +1,156 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.entity.StandingOrderEntity;
+import com.bank.transfer.entity.StandingOrderPeriod;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.StandingOrderRepository;
+import com.bank.transfer.service.AccountTransferService;
+import com.bank.transfer.service.CardTransferService;
+import com.bank.transfer.service.PhoneTransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link StandingOrderScheduler}
+ */
+@ExtendWith(MockitoExtension.class)
+class StandingOrderSchedulerTest {
+
+    private static final Timestamp START_AT = Timestamp.valueOf("2024-01-31 09:00:00");
+
+    @Mock
+    private StandingOrderRepository repository;
+
+    @Mock
+    private AccountTransferService accountService;
+
+    @Mock
+    private CardTransferService cardService;
+
+    @Mock
+    private PhoneTransferService phoneService;
+
+    private StandingOrderScheduler scheduler;
+
+    @BeforeEach
+    void init() {
+        final TransferProperties properties = new TransferProperties();
+        properties.getStandingOrder().setBatchSize(2);
+
+        scheduler = new StandingOrderScheduler(repository, accountService, cardService, phoneService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties);
+    }
+
+    @AfterEach
+    void destroy() throws InterruptedException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("наступивший срок создаёт перевод и сдвигает срок от первого, позитивный сценарий")
+    void runDuePositiveTest() {
+        final StandingOrderEntity order = order(1L, Timestamp.valueOf("2024-02-29 09:00:00"), 1L);
+        when(repository.lockById(1L)).thenReturn(Optional.of(order));
+
+        scheduler.run(new StandingOrderScheduler.Due(1L, Timestamp.valueOf("2024-02-29 09:00:00")));
+
+        final ArgumentCaptor<CardTransferDto> transfer = ArgumentCaptor.forClass(CardTransferDto.class);
+        verify(cardService).save(transfer.capture());
+
+        assertAll(
+                () -> assertEquals(1234567890L, transfer.getValue().getCardNumber()),
+                () -> assertEquals(new BigDecimal("500.00"), transfer.getValue().getAmount()),
+                () -> assertEquals(2L, order.getRuns()),
+                () -> assertEquals(Timestamp.valueOf("2024-03-31 09:00:00"), order.getNextRunAt())
+        );
+    }
+
+    @Test
+    @DisplayName("срок уже выполнен другим обработчиком, негативный сценарий")
+    void runAlreadyExecutedNegativeTest() {
+        final StandingOrderEntity order = order(1L, Timestamp.valueOf("2024-02-29 09:00:00"), 1L);
+        when(repository.lockById(1L)).thenReturn(Optional.of(order));
+
+        scheduler.run(new StandingOrderScheduler.Due(1L, START_AT));
+
+        verify(cardService, never()).save(any(CardTransferDto.class));
+        assertEquals(1L, order.getRuns());
+    }
+
+    @Test
+    @DisplayName("отменённый перевод не выполняется, негативный сценарий")
+    void runCancelledNegativeTest() {
+        final StandingOrderEntity order = order(1L, START_AT, 0L);
+        order.setActive(false);
+        when(repository.lockById(1L)).thenReturn(Optional.of(order));
+
+        scheduler.run(new StandingOrderScheduler.Due(1L, START_AT));
+
+        verify(cardService, never()).save(any(CardTransferDto.class));
+    }
+
+    @Test
+    @DisplayName("срез читается keyset-страницами, позитивный сценарий")
+    void loadByKeysetPagesPositiveTest() {
+        final long now = System.currentTimeMillis();
+        final Timestamp first = new Timestamp(now + 60_000);
+        final Timestamp second = new Timestamp(now + 120_000);
+
+        when(repository.findDueSlice(any(), any(), eq(new Timestamp(now)), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(order(1L, first, 0L), order(2L, second, 0L)));
+        when(repository.findDueSlice(any(), any(), eq(second), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(order(3L, second, 0L)));
+
+        scheduler.load(now, now + 600_000);
+
+        verify(repository, times(2)).findDueSlice(any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("срез не загружен и загружается повторно, негативный сценарий")
+    void loadFailureRetriesSliceNegativeTest() {
+        final long now = System.currentTimeMillis();
+
+        when(repository.findDueSlice(any(), any(), any(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("БД недоступна"))
+                .thenReturn(List.of());
+
+        scheduler.load(now, now + 600_000);
+        scheduler.loadNext();
+
+        final ArgumentCaptor<Timestamp> from = ArgumentCaptor.forClass(Timestamp.class);
+        verify(repository, times(2)).findDueSlice(from.capture(), any(), any(), any(), any(Pageable.class));
+        assertEquals(new Timestamp(now), from.getAllValues().get(1));
+    }
+
+    private StandingOrderEntity order(Long id, Timestamp nextRunAt, Long runs) {
+        return new StandingOrderEntity(id, TransferType.CARD, 1234567890L, new BigDecimal("500.00"), "Аренда",
+                1L, StandingOrderPeriod.MONTHLY, START_AT, nextRunAt, runs, true, 0L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.transfer.service.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link TimingWheel}
+ */
+class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1_000L, 10, 0L);
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("таймеры срабатывают по порядку сроков, позитивный сценарий")
+    void advanceInDeadlineOrderPositiveTest() {
+        wheel.add(3_500L, "b");
+        wheel.add(1_200L, "a");
+        wheel.add(9_999L, "c");
+
+        wheel.advance(4_000L, expired::add);
+        final List<String> first = List.copyOf(expired);
+        wheel.advance(10_000L, expired::add);
+
+        assertAll(
+                () -> assertEquals(List.of("a", "b"), first),
+                () -> assertEquals(List.of("a", "b", "c"), expired)
+        );
+    }
+
+    @Test
+    @DisplayName("дальние сроки спускаются с верхних уровней, позитивный сценарий")
+    void advanceThroughOverflowPositiveTest() {
+        wheel.add(125_000L, "hour");
+        wheel.add(15_000L, "minute");
+
+        wheel.advance(120_000L, expired::add);
+        final List<String> beforeDeadline = List.copyOf(expired);
+        wheel.advance(126_000L, expired::add);
+
+        assertAll(
+                () -> assertEquals(List.of("minute"), beforeDeadline),
+                () -> assertEquals(List.of("minute", "hour"), expired)
+        );
+    }
+
+    @Test
+    @DisplayName("скачок времени больше оборота колеса, позитивный сценарий")
+    void advanceJumpPositiveTest() {
+        wheel.add(2_000L, "a");
+        wheel.add(55_000L, "b");
+        wheel.add(500_000L, "c");
+
+        wheel.advance(60_000L, expired::add);
+
+        assertEquals(List.of("a", "b"), expired.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("наступивший срок не добавляется, негативный сценарий")
+    void addExpiredNegativeTest() {
+        wheel.advance(5_000L, expired::add);
+
+        assertAll(
+                () -> assertFalse(wheel.add(5_500L, "late")),
+                () -> assertTrue(wheel.add(6_000L, "next"))
+        );
+    }
+}
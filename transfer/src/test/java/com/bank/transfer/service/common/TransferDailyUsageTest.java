@@ -0,0 +1,146 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferDailyUsageDto;
+import com.bank.transfer.entity.TransferDailyUsageEntity;
+import com.bank.transfer.entity.TransferDailyUsageId;
+import com.bank.transfer.repository.TransferDailyUsageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferDailyUsage}
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferDailyUsageTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    private static final Timestamp CREATED_AT = Timestamp.valueOf(DAY.atTime(10, 30));
+
+    @Mock
+    private TransferDailyUsageRepository repository;
+
+    private TransferDailyUsage dailyUsage;
+
+    @BeforeEach
+    void init() {
+        dailyUsage = new TransferDailyUsage(repository, new TransferProperties());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void destroy() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("пачка переводов суммируется по счёту и дню в порядке ключа, позитивный сценарий")
+    void addAllGroupsByAccountAndDayPositiveTest() {
+        final List<Usage> transfers = List.of(new Usage(2L, "10.00"), new Usage(1L, "5.00"), new Usage(2L, "2.50"),
+                new Usage(null, "1.00"));
+
+        dailyUsage.addAll(transfers, Usage::accountDetailsId, Usage::amount, transfer -> CREATED_AT);
+
+        final InOrder order = inOrder(repository);
+        order.verify(repository).upsert(1L, DAY, new BigDecimal("5.00"), 1);
+        order.verify(repository).upsert(2L, DAY, new BigDecimal("12.50"), 2);
+        verify(repository, times(2)).upsert(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("изменение суммы перевода без смены счёта, позитивный сценарий")
+    void changeAmountPositiveTest() {
+        dailyUsage.change(1L, new BigDecimal("100.00"), 1L, new BigDecimal("70.00"), CREATED_AT);
+
+        verify(repository).upsert(1L, DAY, new BigDecimal("-30.00"), 0);
+    }
+
+    @Test
+    @DisplayName("изменение без смены счёта и суммы не пишет в БД, негативный сценарий")
+    void changeNothingNegativeTest() {
+        dailyUsage.change(1L, new BigDecimal("100.00"), 1L, new BigDecimal("100.00"), CREATED_AT);
+
+        verify(repository, never()).upsert(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("зафиксированное изменение сбрасывает кэш и читается из БД, позитивный сценарий")
+    void findAfterCommitPositiveTest() {
+        when(repository.findById(new TransferDailyUsageId(1L, DAY))).thenReturn(Optional.of(
+                new TransferDailyUsageEntity(new TransferDailyUsageId(1L, DAY), new BigDecimal("40.00"), 2L)),
+                Optional.of(new TransferDailyUsageEntity(new TransferDailyUsageId(1L, DAY), new BigDecimal("50.00"),
+                        3L)));
+
+        dailyUsage.find(1L, DAY);
+        dailyUsage.add(new Usage(1L, "10.00"), Usage::accountDetailsId, Usage::amount, transfer -> CREATED_AT);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        final TransferDailyUsageDto result = dailyUsage.find(1L, DAY);
+
+        assertAll(
+                () -> assertEquals(new BigDecimal("50.00"), result.getTotalAmount()),
+                () -> assertEquals(3L, result.getTransferCount())
+        );
+        verify(repository, times(2)).findById(any());
+    }
+
+    @Test
+    @DisplayName("повторное чтение до фиксации берётся из кэша, негативный сценарий")
+    void findCachedBeforeCommitNegativeTest() {
+        when(repository.findById(new TransferDailyUsageId(1L, DAY))).thenReturn(Optional.of(
+                new TransferDailyUsageEntity(new TransferDailyUsageId(1L, DAY), new BigDecimal("40.00"), 2L)));
+
+        dailyUsage.find(1L, DAY);
+        dailyUsage.add(new Usage(1L, "10.00"), Usage::accountDetailsId, Usage::amount, transfer -> CREATED_AT);
+
+        final TransferDailyUsageDto result = dailyUsage.find(1L, DAY);
+
+        assertEquals(new BigDecimal("40.00"), result.getTotalAmount());
+        verify(repository, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("чтение дня без переводов, негативный сценарий")
+    void findEmptyDayNegativeTest() {
+        when(repository.findById(new TransferDailyUsageId(1L, DAY))).thenReturn(Optional.empty());
+
+        final TransferDailyUsageDto result = dailyUsage.find(1L, DAY);
+
+        assertAll(
+                () -> assertEquals(BigDecimal.ZERO, result.getTotalAmount()),
+                () -> assertEquals(0L, result.getTransferCount())
+        );
+    }
+
+    private record Usage(Long accountDetailsId, BigDecimal amount) {
+
+        Usage(Long accountDetailsId, String amount) {
+            this(accountDetailsId, new BigDecimal(amount));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferEventDto;
+import com.bank.transfer.entity.TransferEventType;
+import com.bank.transfer.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты для {@link TransferEventStream}
+ */
+class TransferEventStreamTest {
+
+    private static final Long ACCOUNT_DETAILS_ID = 1L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferEventStream stream;
+
+    @BeforeEach
+    void init() {
+        final TransferProperties properties = new TransferProperties();
+        properties.getStream().setBufferSize(2);
+        properties.getStream().setMaxSubscribersPerAccount(1);
+        properties.getStream().setSendTimeoutMs(0);
+
+        meterRegistry = new SimpleMeterRegistry();
+        stream = new TransferEventStream(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void destroy() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("медленный подписчик теряет самые старые события, позитивный сценарий")
+    void slowSubscriberDropsOldestPositiveTest() throws InterruptedException {
+        final RecordingEmitter emitter = new RecordingEmitter(3);
+        stream.register(ACCOUNT_DETAILS_ID, emitter);
+
+        commit(() -> publish(1L, ACCOUNT_DETAILS_ID));
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+
+        commit(() -> publish(2L, ACCOUNT_DETAILS_ID));
+        commit(() -> publish(3L, ACCOUNT_DETAILS_ID));
+        commit(() -> publish(4L, ACCOUNT_DETAILS_ID));
+        emitter.release.countDown();
+
+        assertTrue(emitter.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 3L, 4L), emitter.ids);
+        assertEquals(1.0, meterRegistry.get("transfer.stream.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("подписчик, не принявший событие вовремя, закрывается без новых отправок, негативный сценарий")
+    void slowSendExpiresNegativeTest() throws InterruptedException {
+        final RecordingEmitter emitter = new RecordingEmitter(2);
+        stream.register(ACCOUNT_DETAILS_ID, emitter);
+
+        commit(() -> publish(1L, ACCOUNT_DETAILS_ID));
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        commit(() -> publish(2L, ACCOUNT_DETAILS_ID));
+
+        stream.expireSlowSends();
+        emitter.release.countDown();
+
+        assertAll(
+                () -> assertTrue(emitter.failed.await(5, TimeUnit.SECONDS)),
+                () -> assertFalse(emitter.delivered.await(500, TimeUnit.MILLISECONDS)),
+                () -> assertEquals(List.of(1L), emitter.ids),
+                () -> assertEquals(1.0, meterRegistry.get("transfer.stream.slow").counter().count()),
+                () -> assertEquals(0.0, meterRegistry.get("transfer.stream.subscribers").gauge().value())
+        );
+    }
+
+    @Test
+    @DisplayName("события других счетов и незафиксированные события не отправляются, негативный сценарий")
+    void otherAccountAndRollbackNegativeTest() throws InterruptedException {
+        final RecordingEmitter emitter = new RecordingEmitter(1);
+        emitter.release.countDown();
+        stream.register(ACCOUNT_DETAILS_ID, emitter);
+
+        commit(() -> publish(1L, 2L));
+        TransactionSynchronizationManager.initSynchronization();
+        publish(2L, ACCOUNT_DETAILS_ID);
+        TransactionSynchronizationManager.clearSynchronization();
+        commit(() -> publish(3L, ACCOUNT_DETAILS_ID));
+
+        assertTrue(emitter.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3L), emitter.ids);
+    }
+
+    @Test
+    @DisplayName("без подписчиков событие не ждёт фиксации, позитивный сценарий")
+    void publishWithoutSubscribersPositiveTest() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            publish(1L, ACCOUNT_DETAILS_ID);
+            assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("подписок на счёт больше допустимого, негативный сценарий")
+    void tooManySubscribersNegativeTest() {
+        stream.register(ACCOUNT_DETAILS_ID, new SseEmitter());
+
+        assertThrows(IllegalStateException.class, () -> stream.register(ACCOUNT_DETAILS_ID, new SseEmitter()));
+    }
+
+    private void publish(Long id, Long accountDetailsId) {
+        final CardTransferDto transfer = new CardTransferDto(id, 1234567890L, new BigDecimal("100.00"),
+                "Test transfer", accountDetailsId, null, 0L);
+
+        stream.publish(TransferType.CARD, TransferEventType.CREATED, transfer, CardTransferDto::getAccountDetailsId);
+    }
+
+    private void commit(Runnable transaction) {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            transaction.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Подписчик, который запоминает идентификаторы переводов и ждёт разрешения перед первой отправкой,
+     * завершение с ошибкой отмечает
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private final CountDownLatch delivered;
+
+        RecordingEmitter(int expected) {
+            this.delivered = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(TransferEventDto.class::isInstance)
+                    .map(data -> ((CardTransferDto) ((TransferEventDto) data).getTransfer()).getId())
+                    .forEach(ids::add);
+            delivered.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed.countDown();
+        }
+    }
+}
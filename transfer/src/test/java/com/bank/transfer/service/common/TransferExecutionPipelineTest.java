@@ -0,0 +1,184 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.client.AccountClient;
+import com.bank.transfer.client.AntifraudClient;
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferScoringResultDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferExecutionPipeline}
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransferExecutionPipelineTest {
+
+    private static final Long ID = 1L;
+
+    private static final Long ACCOUNT_DETAILS_ID = 10L;
+
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Mock
+    private TransferExecutionRepository repository;
+
+    @Mock
+    private AntifraudClient antifraudClient;
+
+    @Mock
+    private AccountClient accountClient;
+
+    private TransferExecutionPipeline pipeline;
+
+    @BeforeEach
+    void init() {
+        pipeline = new TransferExecutionPipeline(repository, antifraudClient, accountClient,
+                new TransferProperties());
+
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        when(repository.findById(ID)).thenReturn(Optional.of(new TransferExecutionEntity(ID, TransferType.CARD,
+                5L, ACCOUNT_DETAILS_ID, 1234567890L, AMOUNT, TransferStatus.NEW, null, now, now)));
+        when(repository.transition(eq(ID), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void destroy() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("проверка пройдена и деньги списаны, позитивный сценарий")
+    void processPostedPositiveTest() {
+        when(antifraudClient.score(any())).thenReturn(new TransferScoringResultDto(false, false, null, null));
+
+        pipeline.process(ID);
+
+        verify(repository).transition(eq(ID), eq(TransferStatus.NEW), eq(TransferStatus.SCREENED), isNull(), any());
+        verify(accountClient).debit(ACCOUNT_DETAILS_ID, AMOUNT);
+        verify(repository).transition(eq(ID), eq(TransferStatus.SCREENED), eq(TransferStatus.POSTED), isNull(),
+                any());
+    }
+
+    @Test
+    @DisplayName("перевод заблокирован антифродом, негативный сценарий")
+    void processBlockedNegativeTest() {
+        when(antifraudClient.score(any())).thenReturn(new TransferScoringResultDto(true, true, "velocity", null));
+
+        pipeline.process(ID);
+
+        verify(repository).transition(eq(ID), eq(TransferStatus.NEW), eq(TransferStatus.REJECTED), eq("velocity"),
+                any());
+        verify(accountClient, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("недостаточно средств на счёте, негативный сценарий")
+    void processInsufficientFundsNegativeTest() {
+        final FeignException conflict = mock(FeignException.class);
+        when(conflict.status()).thenReturn(409);
+        when(antifraudClient.score(any())).thenReturn(new TransferScoringResultDto(false, false, null, null));
+        doThrow(conflict).when(accountClient).debit(ACCOUNT_DETAILS_ID, AMOUNT);
+
+        pipeline.process(ID);
+
+        verify(repository).transition(eq(ID), eq(TransferStatus.SCREENED), eq(TransferStatus.REJECTED),
+                startsWith("Списание отклонено"), any());
+    }
+
+    @Test
+    @DisplayName("счёт не ответил на списание, исполнение ждёт сверки, негативный сценарий")
+    void processDebitUnknownNegativeTest() {
+        final FeignException unavailable = mock(FeignException.class);
+        when(unavailable.status()).thenReturn(503);
+        when(antifraudClient.score(any())).thenReturn(new TransferScoringResultDto(false, false, null, null));
+        doThrow(unavailable).when(accountClient).debit(ACCOUNT_DETAILS_ID, AMOUNT);
+
+        pipeline.process(ID);
+
+        verify(repository).transition(eq(ID), eq(TransferStatus.SCREENED), eq(TransferStatus.UNKNOWN),
+                startsWith("Результат списания неизвестен"), any());
+        verify(repository, never()).transition(eq(ID), eq(TransferStatus.SCREENED), eq(TransferStatus.REJECTED),
+                any(), any());
+    }
+
+    @Test
+    @DisplayName("исполнение прервано во время списания, переводится в UNKNOWN, негативный сценарий")
+    void retryStaleScreenedNegativeTest() {
+        final Timestamp old = new Timestamp(0);
+        when(repository.findTop100ByStatusAndUpdatedAtBeforeOrderById(eq(TransferStatus.NEW), any()))
+                .thenReturn(List.of());
+        when(repository.findTop100ByStatusAndUpdatedAtBeforeOrderById(eq(TransferStatus.SCREENED), any()))
+                .thenReturn(List.of(new TransferExecutionEntity(ID, TransferType.CARD, 5L, ACCOUNT_DETAILS_ID,
+                        1234567890L, AMOUNT, TransferStatus.SCREENED, null, old, old)));
+
+        pipeline.retryStale();
+
+        verify(repository).transition(eq(ID), eq(TransferStatus.SCREENED), eq(TransferStatus.UNKNOWN),
+                startsWith("Исполнение прервано"), any());
+        verify(accountClient, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("антифрод недоступен, исполнение остаётся в NEW, негативный сценарий")
+    void processAntifraudUnavailableNegativeTest() {
+        final FeignException unavailable = mock(FeignException.class);
+        when(antifraudClient.score(any())).thenThrow(unavailable);
+
+        pipeline.process(ID);
+
+        verify(repository, never()).transition(anyLong(), any(), any(), any(), any());
+        verify(accountClient, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("исполнение уже проверено другим обработчиком, негативный сценарий")
+    void processLostRaceNegativeTest() {
+        when(antifraudClient.score(any())).thenReturn(new TransferScoringResultDto(false, false, null, null));
+        when(repository.transition(eq(ID), eq(TransferStatus.NEW), eq(TransferStatus.SCREENED), any(), any()))
+                .thenReturn(0);
+
+        pipeline.process(ID);
+
+        verify(accountClient, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("допустимые переходы статусов, позитивный сценарий")
+    void canMoveToPositiveTest() {
+        assertEquals(true, TransferStatus.NEW.canMoveTo(TransferStatus.SCREENED));
+        assertEquals(false, TransferStatus.NEW.canMoveTo(TransferStatus.POSTED));
+        assertEquals(false, TransferStatus.POSTED.canMoveTo(TransferStatus.REJECTED));
+        assertEquals(true, TransferStatus.UNKNOWN.canMoveTo(TransferStatus.POSTED));
+        assertEquals(false, TransferStatus.UNKNOWN.canMoveTo(TransferStatus.SCREENED));
+    }
+}
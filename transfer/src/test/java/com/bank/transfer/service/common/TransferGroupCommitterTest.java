@@ -0,0 +1,138 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link TransferGroupCommitter}
+ */
+class TransferGroupCommitterTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(BATCH_SIZE);
+
+    private final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private TransferGroupCommitter committer;
+
+    @AfterEach
+    void destroy() throws InterruptedException {
+        callers.shutdownNow();
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("одновременные переводы фиксируются одной пачкой, позитивный сценарий")
+    void saveGroupsConcurrentTransfersPositiveTest() throws Exception {
+        committer = enabled();
+
+        final List<Future<Long>> results = new ArrayList<>();
+        for (long i = 1; i <= BATCH_SIZE; i++) {
+            final long transfer = i;
+            results.add(callers.submit(() -> committer.save(TransferType.CARD, transfer, this::single, this::batch)));
+        }
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertEquals((i + 1) * 10L, results.get(i).get());
+        }
+
+        assertAll(
+                () -> assertEquals(1, batches.size()),
+                () -> assertEquals(BATCH_SIZE, batches.get(0).size()),
+                () -> assertEquals(1, meterRegistry.get("transfer.group.commit.batch.size")
+                        .tag("type", TransferType.CARD.name()).summary().count())
+        );
+        verify(transactionManager).commit(null);
+    }
+
+    @Test
+    @DisplayName("ошибка пачки не мешает сохранению остальных переводов, негативный сценарий")
+    void saveFallsBackToSingleTransfersNegativeTest() throws Exception {
+        committer = enabled();
+
+        final Function<List<Long>, List<Long>> failing = transfers -> {
+            batches.add(transfers);
+            if (transfers.contains(-1L)) {
+                throw new IllegalArgumentException("некорректный перевод");
+            }
+            return transfers.stream().map(transfer -> transfer * 10).toList();
+        };
+
+        final List<Future<Long>> results = new ArrayList<>();
+        for (long transfer : List.of(1L, -1L, 3L, 4L)) {
+            results.add(callers.submit(() -> committer.save(TransferType.PHONE, transfer, this::single, failing)));
+        }
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> results.get(1).get());
+
+        assertAll(
+                () -> assertEquals(10L, results.get(0).get()),
+                () -> assertInstanceOf(IllegalArgumentException.class, exception.getCause()),
+                () -> assertEquals(30L, results.get(2).get()),
+                () -> assertEquals(40L, results.get(3).get()),
+                () -> assertEquals(1 + BATCH_SIZE, batches.size())
+        );
+    }
+
+    @Test
+    @DisplayName("при выключенной групповой фиксации перевод сохраняется сразу, позитивный сценарий")
+    void saveWhenDisabledPositiveTest() {
+        committer = new TransferGroupCommitter(new TransactionTemplate(transactionManager), new TransferProperties(),
+                meterRegistry);
+
+        final Long result = committer.save(TransferType.ACCOUNT, 7L, this::single, this::batch);
+
+        assertAll(
+                () -> assertEquals(-7L, result),
+                () -> assertTrue(batches.isEmpty())
+        );
+        verify(transactionManager, times(1)).commit(null);
+    }
+
+    private TransferGroupCommitter enabled() {
+        final TransferProperties properties = new TransferProperties();
+        properties.getGroupCommit().setEnabled(true);
+        properties.getGroupCommit().setMaxBatchSize(BATCH_SIZE);
+        properties.getGroupCommit().setMaxWaitMicros(10_000_000);
+
+        return new TransferGroupCommitter(new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+
+    private Long single(Long transfer) {
+        return -transfer;
+    }
+
+    private List<Long> batch(List<Long> transfers) {
+        batches.add(transfers);
+        return transfers.stream().map(transfer -> transfer * 10).toList();
+    }
+}
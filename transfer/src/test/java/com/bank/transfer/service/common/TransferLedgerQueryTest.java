@@ -0,0 +1,105 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.TransferType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link TransferLedgerQuery}
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferLedgerQueryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransferLedgerQuery query;
+
+    @Test
+    @DisplayName("все типы одним запросом с фильтрами в каждой ветке, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void findAllTypesPositiveTest() {
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+
+        query.find(1L, new TransferLedgerQuery.Filter(null, LocalDate.of(2024, 3, 1), null,
+                new BigDecimal("100.00"), null), LedgerCursor.start(), 11);
+
+        verify(jdbcTemplate).query(sql.capture(), parameters.capture(), any(RowMapper.class));
+
+        assertAll(
+                () -> assertEquals(2, sql.getValue().split("UNION ALL").length - 1),
+                () -> assertEquals(3, sql.getValue().split("created_at >= :from").length - 1),
+                () -> assertEquals(3, sql.getValue().split("amount >= :minAmount").length - 1),
+                () -> assertFalse(sql.getValue().contains(":maxAmount")),
+                () -> assertTrue(sql.getValue().contains("phone_number AS number")),
+                () -> assertEquals(Timestamp.valueOf(LocalDate.of(2024, 3, 1).atStartOfDay()),
+                        parameters.getValue().getValue("from")),
+                () -> assertEquals(11, parameters.getValue().getValue("limit"))
+        );
+    }
+
+    @Test
+    @DisplayName("только выбранные типы и keyset по типу курсора, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void findSelectedTypesAfterCursorPositiveTest() {
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final String token = LedgerCursor.encode(Timestamp.valueOf("2024-03-15 10:30:00.123456"),
+                TransferType.CARD, 7L);
+
+        query.find(1L, new TransferLedgerQuery.Filter(Set.of(TransferType.CARD, TransferType.PHONE), null, null,
+                null, null), LedgerCursor.decode(token), 10);
+
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+
+        assertAll(
+                () -> assertFalse(sql.getValue().contains("account_transfer")),
+                () -> assertTrue(sql.getValue().contains("(created_at, id) > (:cursorCreatedAt, :cursorId)")),
+                () -> assertTrue(sql.getValue().contains("created_at >= :cursorCreatedAt"))
+        );
+    }
+
+    @Test
+    @DisplayName("курсор переживает кодирование с микросекундами, позитивный сценарий")
+    void cursorRoundTripPositiveTest() {
+        final Timestamp createdAt = Timestamp.valueOf("2024-03-15 10:30:00.123456");
+
+        final LedgerCursor cursor = LedgerCursor.decode(LedgerCursor.encode(createdAt, TransferType.PHONE, 42L));
+
+        assertAll(
+                () -> assertEquals(createdAt, cursor.getCreatedAt()),
+                () -> assertEquals(TransferType.PHONE, cursor.getType()),
+                () -> assertEquals(42L, cursor.getLastId())
+        );
+    }
+
+    @Test
+    @DisplayName("чужой курсор, негативный сценарий")
+    void decodeInvalidCursorNegativeTest() {
+        assertThrows(ValidationException.class, () -> LedgerCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+}
@@ -0,0 +1,163 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferPartitionMaintainer}
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransferPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TransferProperties properties;
+
+    private TransferPartitionMaintainer maintainer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        properties = new TransferProperties();
+        maintainer = new TransferPartitionMaintainer(jdbcTemplate, transactionTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("секции создаются заранее, старые удаляются, позитивный сценарий")
+    void maintainPositiveTest() {
+        properties.getPartition().setRetentionMonths(12);
+        final String expired = "card_transfer" + partitionSuffix(YearMonth.now().minusMonths(13));
+        final String kept = "card_transfer" + partitionSuffix(YearMonth.now().minusMonths(12));
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), anyString()))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), eq("card_transfer")))
+                .thenReturn(List.of("card_transfer_legacy", expired, kept));
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate, times(TransferPartitionMaintainer.TABLES.size()
+                * properties.getPartition().getMonthsAhead())).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+        verify(jdbcTemplate).execute("ALTER TABLE transfer.card_transfer DETACH PARTITION transfer." + expired);
+        verify(jdbcTemplate).execute("DROP TABLE transfer." + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE transfer." + kept);
+        verify(jdbcTemplate, never()).execute("DROP TABLE transfer.card_transfer_legacy");
+        verify(jdbcTemplate).update(eq("DELETE FROM transfer.card_transfer_legacy WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM transfer.card_transfer_legacy WHERE created_at < ? LIMIT ?))"), any(Object.class),
+                eq(properties.getPartition().getDeleteBatchSize()));
+    }
+
+    @Test
+    @DisplayName("строки секции до секционирования удаляются пачками до первой неполной, позитивный сценарий")
+    void maintainLegacyBatchesPositiveTest() {
+        properties.getPartition().setRetentionMonths(12);
+        properties.getPartition().setDeleteBatchSize(2);
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), anyString()))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), eq("account_transfer")))
+                .thenReturn(List.of("account_transfer_legacy"));
+        when(jdbcTemplate.update(anyString(), any(Object.class), anyInt())).thenReturn(2, 2, 1);
+
+        maintainer.maintain();
+
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM transfer.account_transfer_legacy"),
+                any(Object.class), eq(2));
+        verify(jdbcTemplate, never()).execute("DROP TABLE transfer.account_transfer_legacy");
+    }
+
+    @Test
+    @DisplayName("секция до секционирования удаляется, когда выходит за срок хранения, позитивный сценарий")
+    void maintainLegacyPositiveTest() {
+        properties.getPartition().setRetentionMonths(12);
+        final YearMonth bound = YearMonth.now().minusMonths(12);
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), anyString()))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transfer"), eq("phone_transfer")))
+                .thenReturn(List.of("phone_transfer_legacy"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), eq("transfer"), eq("phone_transfer_legacy")))
+                .thenReturn("FOR VALUES FROM (MINVALUE) TO ('" + bound.atDay(1) + " 00:00:00')");
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate)
+                .execute("ALTER TABLE transfer.phone_transfer DETACH PARTITION transfer.phone_transfer_legacy");
+        verify(jdbcTemplate).execute("DROP TABLE transfer.phone_transfer_legacy");
+        verify(jdbcTemplate, never()).update(anyString(), any(Object.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("блокировка занята другим экземпляром, негативный сценарий")
+    void maintainLockedNegativeTest() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("месяц определяется по имени секции, позитивный сценарий")
+    void monthOfPositiveTest() {
+        assertAll(
+                () -> assertEquals(YearMonth.of(2026, 3),
+                        TransferPartitionMaintainer.monthOf("phone_transfer", "phone_transfer_p2026_03")),
+                () -> assertNull(TransferPartitionMaintainer.monthOf("phone_transfer", "phone_transfer_legacy")),
+                () -> assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), TransferPartitionMaintainer.upperBoundOf(
+                        "FOR VALUES FROM (MINVALUE) TO ('2024-02-01 00:00:00')")),
+                () -> assertNull(TransferPartitionMaintainer.upperBoundOf(null))
+        );
+    }
+
+    private static String partitionSuffix(YearMonth month) {
+        return String.format("_p%d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
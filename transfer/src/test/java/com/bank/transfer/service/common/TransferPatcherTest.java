@@ -0,0 +1,123 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.CardTransferEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferPatcher}
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferPatcherTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransferPatcher patcher;
+
+    @Test
+    @DisplayName("меняются только переданные столбцы и версия, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void patchOnlySuppliedColumnsPositiveTest() {
+        final CardTransferEntity entity = new CardTransferEntity();
+        final TransferPatcher.Patched<CardTransferEntity> patched =
+                new TransferPatcher.Patched<>(entity, new BigDecimal("10.00"), 1L);
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+
+        when(jdbcTemplate.query(sql.capture(), parameters.capture(), any(RowMapper.class)))
+                .thenReturn(List.of(patched));
+
+        final TransferPatcher.Patched<CardTransferEntity> result = patcher.patch(CardTransferEntity.class, 5L, 3L,
+                columns(new BigDecimal("20.00"), null), EntityNotFoundException::new);
+
+        assertAll(
+                () -> assertSame(patched, result),
+                () -> assertTrue(sql.getValue().startsWith("UPDATE transfer.card_transfer t SET " +
+                        "amount = :amount, version = t.version + 1")),
+                () -> assertFalse(sql.getValue().contains("purpose")),
+                () -> assertEquals(3L, parameters.getValue().getValue("version")),
+                () -> assertEquals(5L, parameters.getValue().getValue("id"))
+        );
+    }
+
+    @Test
+    @DisplayName("изменение без версии, негативный сценарий")
+    void patchWithoutVersionNegativeTest() {
+        assertThrows(ValidationException.class, () -> patcher.patch(CardTransferEntity.class, 5L, null,
+                columns(new BigDecimal("20.00"), null), EntityNotFoundException::new));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("изменение с нулевой суммой, негативный сценарий")
+    void patchZeroAmountNegativeTest() {
+        assertThrows(ValidationException.class, () -> patcher.patch(CardTransferEntity.class, 5L, 3L,
+                columns(BigDecimal.ZERO, null), EntityNotFoundException::new));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("изменение устаревшей версии, негативный сценарий")
+    @SuppressWarnings("unchecked")
+    void patchStaleVersionNegativeTest() {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> patcher.patch(CardTransferEntity.class, 5L, 3L,
+                columns(null, "new purpose"), EntityNotFoundException::new));
+    }
+
+    @Test
+    @DisplayName("изменение несуществующего перевода, негативный сценарий")
+    @SuppressWarnings("unchecked")
+    void patchNonExistIdNegativeTest() {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> patcher.patch(CardTransferEntity.class, 5L, 3L,
+                columns(null, "new purpose"), EntityNotFoundException::new));
+    }
+
+    private static Map<String, Object> columns(BigDecimal amount, String purpose) {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("card_number", null);
+        columns.put("amount", amount);
+        columns.put("purpose", purpose);
+        return columns;
+    }
+}
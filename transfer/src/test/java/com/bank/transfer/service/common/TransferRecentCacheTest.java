@@ -0,0 +1,133 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.config.TransferProperties;
+import com.bank.transfer.dto.TransferLedgerEntryDto;
+import com.bank.transfer.entity.TransferType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link TransferRecentCache}
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferRecentCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 15, 10, 30);
+
+    @Mock
+    private TransferLedgerQuery query;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferRecentCache recentCache;
+
+    @BeforeEach
+    void init() {
+        final TransferProperties properties = new TransferProperties();
+        properties.getRecent().setSize(3);
+
+        meterRegistry = new SimpleMeterRegistry();
+        recentCache = new TransferRecentCache(query, properties, meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void destroy() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("повторное чтение из памяти с учётом нового перевода, позитивный сценарий")
+    void findCachedAfterCommitPositiveTest() {
+        when(query.findLatest(1L, 3)).thenReturn(List.of(entry(TransferType.CARD, 3L, 3),
+                entry(TransferType.ACCOUNT, 2L, 2), entry(TransferType.PHONE, 1L, 1)));
+
+        recentCache.findLatest(1L, 2);
+        recentCache.add(entry(TransferType.PHONE, 4L, 4));
+        commit();
+
+        final List<TransferLedgerEntryDto> result = recentCache.findLatest(1L, 3);
+
+        assertAll(
+                () -> assertEquals(List.of(4L, 3L, 2L), result.stream().map(TransferLedgerEntryDto::getId).toList()),
+                () -> assertEquals(1.0, hits("hit")),
+                () -> assertEquals(1.0, hits("miss"))
+        );
+        verify(query, times(1)).findLatest(1L, 3);
+    }
+
+    @Test
+    @DisplayName("изменённый перевод заменяется на месте, позитивный сценарий")
+    void changeInPlacePositiveTest() {
+        when(query.findLatest(1L, 3)).thenReturn(List.of(entry(TransferType.CARD, 3L, 3),
+                entry(TransferType.ACCOUNT, 2L, 2)));
+
+        recentCache.findLatest(1L, 3);
+
+        final TransferLedgerEntryDto changed = entry(TransferType.ACCOUNT, 2L, 2);
+        changed.setAmount(new BigDecimal("70.00"));
+        recentCache.change(1L, changed);
+        commit();
+
+        assertEquals(new BigDecimal("70.00"), recentCache.findLatest(1L, 3).get(1).getAmount());
+        verify(query, times(1)).findLatest(1L, 3);
+    }
+
+    @Test
+    @DisplayName("перевод перенесён на другой счёт, буфер старого счёта сбрасывается, негативный сценарий")
+    void changeAccountEvictsOldRingNegativeTest() {
+        when(query.findLatest(1L, 3)).thenReturn(List.of(entry(TransferType.CARD, 3L, 3)));
+
+        recentCache.findLatest(1L, 3);
+
+        final TransferLedgerEntryDto moved = entry(TransferType.CARD, 3L, 3);
+        moved.setAccountDetailsId(2L);
+        recentCache.change(1L, moved);
+        commit();
+        recentCache.findLatest(1L, 3);
+
+        verify(query, times(2)).findLatest(1L, 3);
+    }
+
+    @Test
+    @DisplayName("выборка длиннее буфера читается из БД, негативный сценарий")
+    void findLongerThanRingNegativeTest() {
+        when(query.findLatest(1L, 10)).thenReturn(List.of());
+
+        recentCache.findLatest(1L, 10);
+
+        assertEquals(1.0, hits("bypass"));
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private double hits(String result) {
+        return meterRegistry.get("transfer.recent.requests").tag("result", result).counter().count();
+    }
+
+    private TransferLedgerEntryDto entry(TransferType type, Long id, int minutes) {
+        return new TransferLedgerEntryDto(type, id, 1234567890L, new BigDecimal("100.00"), "Test transfer", 1L,
+                Timestamp.valueOf(NOW.plusMinutes(minutes)));
+    }
+}